@@ -0,0 +1,66 @@
+package com.sideforge.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Asset storage settings (prefix: sideforge.assets).
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - root: Directory GLB paths (Asset.glbPath) are resolved against.
+ * - cacheMaxBytes: Byte budget of the memory-mapped model cache (0 disables it).
+ * - cacheMaxFileBytes: Larger models are never mapped and are streamed from disk.
+ * - lodRatios: Triangle ratio of each generated level of detail (LOD 1, 2...).
+ * - lodMinTriangles: Models with fewer triangles get no LODs.
+ * - pipelineThreads: Background threads deriving model variants (LODs...).
+ * - uploadChunkSize: Chunk size of resumable uploads.
+ * - uploadMaxBytes: Largest file accepted by resumable uploads.
+ * - uploadTtl: Uncommitted uploads older than this are discarded.
+ * - partsCacheSize: Parsed parts configs kept in memory (LRU, one per asset version).
+ * - bakeThreads: Threads compositing baked design textures (0 = one per CPU).
+ * - bakeMaxSize: Largest side of a baked texture; larger design textures are scaled down.
+ * - bakeDefaultSize: Side of the baked texture of a design without a texture.
+ * - bakeCacheMaxBytes: Byte budget of baked textures kept in memory (LRU).
+ * - bakeCacheDiskMaxBytes: Byte budget of baked textures kept under {root}/.bakes (LRU).
+ * - thumbnailSize: Side of the scene thumbnails rendered under {root}/.thumbnails.
+ * - thumbnailSupersampling: Samples per pixel side (1..4); higher gives smoother edges.
+ * - thumbnailThreads: Threads rendering scene thumbnails.
+ * - thumbnailDelay: Quiet time after a change before a scene is re-rendered.
+ * - thumbnailFormat: png or jpeg.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sideforge.assets")
+public class AssetStorageProperties {
+    private String root = "./data/assets";
+    private long cacheMaxBytes = 256L * 1024 * 1024;
+    private long cacheMaxFileBytes = 64L * 1024 * 1024;
+    private List<Double> lodRatios = List.of(0.5, 0.25, 0.1);
+    private long lodMinTriangles = 1000;
+    private int pipelineThreads = 2;
+    private int uploadChunkSize = 8 * 1024 * 1024;
+    private long uploadMaxBytes = 2L * 1024 * 1024 * 1024;
+    private Duration uploadTtl = Duration.ofHours(24);
+    private int partsCacheSize = 1024;
+    private int bakeThreads = 0;
+    private int bakeMaxSize = 2048;
+    private int bakeDefaultSize = 1024;
+    private long bakeCacheMaxBytes = 64L * 1024 * 1024;
+    private long bakeCacheDiskMaxBytes = 1024L * 1024 * 1024;
+    private int thumbnailSize = 256;
+    private int thumbnailSupersampling = 2;
+    private int thumbnailThreads = 1;
+    private Duration thumbnailDelay = Duration.ofSeconds(2);
+    private String thumbnailFormat = "png";
+
+    // Absolute, normalized root directory
+    public Path getRootPath() {
+        return Paths.get(root).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,32 @@
+package com.sideforge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Async and scheduling configuration.
+ * The asset pipeline executor runs CPU-heavy model processing (LOD generation...)
+ * on a small bounded pool, off the request threads. Housekeeping jobs (expired
+ * uploads...) run on the default scheduler.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    public static final String ASSET_PIPELINE_EXECUTOR = "assetPipelineExecutor";
+
+    @Bean(name = ASSET_PIPELINE_EXECUTOR)
+    public ThreadPoolTaskExecutor assetPipelineExecutor(AssetStorageProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPipelineThreads());
+        executor.setMaxPoolSize(properties.getPipelineThreads());
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("asset-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
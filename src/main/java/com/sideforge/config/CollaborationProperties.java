@@ -0,0 +1,30 @@
+package com.sideforge.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Collaborative scene editing settings (prefix: sideforge.collab).
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - batchInterval: Operations received within this interval are broadcast as one delta.
+ * - saveInterval: Coalesced edits of a scene are written to the database at most this often.
+ * - threads: Threads broadcasting deltas and saving edits.
+ * - maxMessageBytes: Largest operation an editor may send.
+ * - sendTimeout: An editor that does not take a message within this time is disconnected.
+ * - maxQueuedMessages: Messages waiting to go out to one editor; an editor further behind is disconnected.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sideforge.collab")
+public class CollaborationProperties {
+    private Duration batchInterval = Duration.ofMillis(50);
+    private Duration saveInterval = Duration.ofSeconds(2);
+    private int threads = 2;
+    private int maxMessageBytes = 64 * 1024;
+    private Duration sendTimeout = Duration.ofSeconds(5);
+    private int maxQueuedMessages = 256;
+}
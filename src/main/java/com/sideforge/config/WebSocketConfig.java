@@ -0,0 +1,50 @@
+package com.sideforge.config;
+
+import com.sideforge.controller.SceneCollaborationEndpoint;
+import com.sideforge.service.interfaces.SceneCollaborationService;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.ServletContextAware;
+
+/**
+ * WebSocket endpoints, registered with the servlet container's (Tomcat's) WebSocket support.
+ * ----------------------------------------------------------------
+ * The scene editing endpoint gets its dependencies through a configurator
+ * that creates one SceneCollaborationEndpoint per connection. Without a
+ * WebSocket container (mock servlet environment in tests) nothing is registered.
+ */
+@Configuration
+public class WebSocketConfig implements ServletContextAware {
+
+    private final SceneCollaborationService collaborationService;
+    private final CollaborationProperties properties;
+
+    public WebSocketConfig(SceneCollaborationService collaborationService, CollaborationProperties properties) {
+        this.collaborationService = collaborationService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        if (!(servletContext.getAttribute(ServerContainer.class.getName()) instanceof ServerContainer container)) {
+            return;
+        }
+        ServerEndpointConfig endpoint = ServerEndpointConfig.Builder
+                .create(SceneCollaborationEndpoint.class, SceneCollaborationEndpoint.PATH)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(new SceneCollaborationEndpoint(collaborationService, properties));
+                    }
+                })
+                .build();
+        try {
+            container.addEndpoint(endpoint);
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("Cannot register WebSocket endpoint " + SceneCollaborationEndpoint.PATH, e);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.admin.*;
 import com.sideforge.service.interfaces.AdminService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -22,16 +31,26 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @Operation(summary = "Get all administrators", description = "Returns a list of all administrators.")
     public ResponseEntity<List<AdminResponseDTO>> getAllAdmins() {
         return ResponseEntity.ok(adminService.getAllAdmins());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all administrators", description = "Returns every administrator as newline-delimited JSON (application/x-ndjson), written while it is read from the database so the listing is never held in memory.")
+    public void streamAllAdmins(HttpServletResponse response) throws IOException {
+        NdjsonStreamer.stream(response, objectMapper, adminService::streamAllAdmins);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get administrator by ID", description = "Returns the details of an administrator by their ID.")
+    @Operation(summary = "Get administrator by ID", description = "Returns the details of an administrator by their ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<AdminResponseDTO> getAdminById(@PathVariable @Positive Long id) {
-        return ResponseEntity.ok(adminService.getAdminById(id));
+        AdminResponseDTO admin = adminService.getAdminById(id);
+        return EntityTags.ok(admin, admin.getVersion(), admin.getLastModified());
     }
 
     @PostMapping
@@ -43,9 +62,11 @@ public class AdminController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update administrator", description = "Updates the data of an existing administrator.")
-    public ResponseEntity<AdminResponseDTO> updateAdmin(@PathVariable @Positive Long id, @Valid @RequestBody AdminUpdateDTO body) {
-        return ResponseEntity.ok(adminService.updateAdmin(id, body));
+    @Operation(summary = "Update administrator", description = "Updates the data of an existing administrator. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<AdminResponseDTO> updateAdmin(@PathVariable @Positive Long id, @Valid @RequestBody AdminUpdateDTO body,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AdminResponseDTO updated = adminService.updateAdmin(id, body, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(updated, updated.getVersion(), updated.getLastModified());
     }
 
     @DeleteMapping("/{id}")
@@ -66,4 +87,17 @@ public class AdminController {
         Pageable pageable = PageRequest.of(page, size, sortObj);
         return ResponseEntity.ok(adminService.getAdminsPage(pageable));
     }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll administrators (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<AdminResponseDTO>> scrollAdmins(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(adminService.scrollAdmins(ScrollRequest.of(cursor, size, sort, count)));
+    }
 }
\ No newline at end of file
@@ -1,17 +1,38 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.asset.*;
+import com.sideforge.service.interfaces.AssetModelCache;
+import com.sideforge.service.interfaces.AssetModelIndexService;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.AssetSearchService;
 import com.sideforge.service.interfaces.AssetService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.FileRangeStreamer;
+import com.sideforge.util.ModelClientHints;
+import com.sideforge.util.ModelMediaTypes;
+import com.sideforge.util.PrecompressedFiles;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.*;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 @RestController
@@ -19,19 +40,112 @@ import java.util.List;
 @Validated
 public class AssetController {
 
+    // Level of detail actually served (lower than requested while LODs are generated)
+    private static final String MODEL_LOD_HEADER = "X-Model-LOD";
+
     @Autowired
     private AssetService assetService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AssetModelService assetModelService;
+
+    @Autowired
+    private AssetModelCache assetModelCache;
+
+    @Autowired
+    private AssetModelIndexService assetModelIndexService;
+
+    @Autowired
+    private AssetPartsService assetPartsService;
+
+    @Autowired
+    private AssetSearchService assetSearchService;
+
     @GetMapping
     @Operation(summary = "Get all assets", description = "Returns a list of all assets.")
     public ResponseEntity<List<AssetResponseDTO>> getAllAssets() {
         return ResponseEntity.ok(assetService.getAllAssets());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all assets", description = "Returns every asset as newline-delimited JSON (application/x-ndjson), one object per line in id order, written while it is read through a database cursor so the listing is never held in memory.")
+    public void streamAllAssets(HttpServletResponse response) throws IOException {
+        NdjsonStreamer.stream(response, objectMapper, assetService::streamAllAssets);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get asset by ID", description = "Returns the details of an asset by its ID.")
+    @Operation(summary = "Get asset by ID", description = "Returns the details of an asset by its ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<AssetResponseDTO> getAssetById(@PathVariable @Positive Long id) {
-        return ResponseEntity.ok(assetService.getAssetById(id));
+        AssetResponseDTO asset = assetService.getAssetById(id);
+        return EntityTags.ok(asset, asset.getVersion(), asset.getLastModified());
+    }
+
+    @GetMapping("/{id}/model")
+    @Operation(summary = "Get asset model",
+            description = "Streams the GLB model file of an asset. Supports Range, If-Range and conditional requests. "
+                    + "A lower level of detail is served with lod=1..n, or chosen from the Save-Data, Device-Memory "
+                    + "and ECT client hints when lod is not given. Clients sending Accept: model/gltf-binary; "
+                    + "ext=KHR_mesh_quantization get the quantized variant once it is generated. Precompressed gzip "
+                    + "files are served to clients accepting gzip."
+    )
+    public void getAssetModel(@PathVariable @Positive Long id,
+                              @RequestParam(required = false) @Min(0) Integer lod,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        int maxLod = assetModelService.getMaxLod();
+        if (lod == null) {
+            // The response depends on the hints, so caches must key on them
+            response.setHeader("Accept-CH", ModelClientHints.HINT_HEADERS);
+            response.addHeader(HttpHeaders.VARY, ModelClientHints.HINT_HEADERS);
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        int requested = lod != null ? lod : ModelClientHints.preferredLod(request, maxLod);
+        boolean quantized = ModelMediaTypes.acceptsQuantized(request.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = PrecompressedFiles.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        AssetModelFileDTO model = assetModelService.getModel(id, requested, quantized, gzip);
+        response.setHeader(MODEL_LOD_HEADER, Integer.toString(model.getLod()));
+        if (model.getContentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, model.getContentEncoding());
+        }
+        String contentType = model.isQuantized() ? ModelMediaTypes.QUANTIZED_GLB : ModelMediaTypes.GLB;
+        // Hot models are served from the memory-mapped cache, the rest straight from disk
+        ByteBuffer mapped = assetModelCache.get(model);
+        if (mapped != null) {
+            FileRangeStreamer.stream(request, response, mapped,
+                    model.getLastModified(), model.getEtag(), contentType);
+        } else {
+            FileRangeStreamer.stream(request, response, model.getPath(), model.getContentLength(),
+                    model.getLastModified(), model.getEtag(), contentType);
+        }
+    }
+
+    @GetMapping("/{id}/model/index")
+    @Operation(summary = "Get asset model index",
+            description = "Returns the indexed GLB metadata of an asset (meshes, nodes, materials, bounds, buffer views). The glTF JSON is included with includeJson=true."
+    )
+    public ResponseEntity<AssetModelIndexDTO> getAssetModelIndex(@PathVariable @Positive Long id,
+                                                                 @RequestParam(defaultValue = "false") boolean includeJson) {
+        return ResponseEntity.ok(assetModelIndexService.getIndex(id, includeJson));
+    }
+
+    @GetMapping("/{id}/parts")
+    @Operation(summary = "Get asset parts",
+            description = "Returns the parts designs may customize on an asset, with their allowed colors, from its parts config. "
+                    + "The config is parsed once per asset version and cached; designs are checked against it on "
+                    + "create, update and patch."
+    )
+    public ResponseEntity<AssetPartsDTO> getAssetParts(@PathVariable @Positive Long id) {
+        return ResponseEntity.ok(assetPartsService.getParts(id));
+    }
+
+    @GetMapping("/model-cache/stats")
+    @Operation(summary = "Get model cache stats", description = "Returns hit/miss/eviction counters of the memory-mapped model cache.")
+    public ResponseEntity<AssetModelCacheStatsDTO> getModelCacheStats() {
+        return ResponseEntity.ok(assetModelCache.getStats());
     }
 
     @PostMapping
@@ -42,10 +156,18 @@ public class AssetController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create assets in bulk", description = "Creates up to 10000 assets with batched inserts, one transaction per chunk. Answers 200 with one result per item: invalid items are reported and skipped.")
+    public ResponseEntity<BulkResultDTO> createAssets(@RequestBody List<AssetRequestDTO> body) {
+        return ResponseEntity.ok(assetService.createAssets(body));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update asset", description = "Updates the data of an existing asset.")
-    public ResponseEntity<AssetResponseDTO> updateAsset(@PathVariable @Positive Long id, @Valid @RequestBody AssetUpdateDTO body) {
-        return ResponseEntity.ok(assetService.updateAsset(id, body));
+    @Operation(summary = "Update asset", description = "Updates the data of an existing asset. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<AssetResponseDTO> updateAsset(@PathVariable @Positive Long id, @Valid @RequestBody AssetUpdateDTO body,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AssetResponseDTO updated = assetService.updateAsset(id, body, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(updated, updated.getVersion(), updated.getLastModified());
     }
 
     @DeleteMapping("/{id}")
@@ -67,6 +189,34 @@ public class AssetController {
         return ResponseEntity.ok(assetService.getAssetsPage(pageable));
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Get paginated asset summaries",
+            description = "Returns a page of assets with their catalog fields only (name, description, thumbnail, version); "
+                    + "the parts config JSON is not selected."
+    )
+    public ResponseEntity<Page<AssetSummaryDTO>> getAssetSummaries(
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort
+    ) {
+        Sort sortObj = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
+        Pageable pageable = PageRequest.of(page, size, sortObj);
+        return ResponseEntity.ok(assetService.getAssetSummaries(pageable));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll assets (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<AssetResponseDTO>> scrollAssets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(assetService.scrollAssets(ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search assets by name (paginated)",
             description = "Returns a paginated list of assets whose name contains the given string (case-insensitive)."
@@ -81,5 +231,19 @@ public class AssetController {
         Pageable pageable = PageRequest.of(page, size, sortObj);
         return ResponseEntity.ok(assetService.findAssetsByName(name, pageable));
     }
+
+    @GetMapping("/search/ranked")
+    @Operation(summary = "Ranked asset search (paginated)",
+            description = "Returns assets whose name or description match every word of the query, best matches "
+                    + "first. Words match as whole words, as prefixes and with small typos. Served from an in-memory "
+                    + "n-gram index, updated as assets change."
+    )
+    public ResponseEntity<Page<AssetResponseDTO>> searchAssets(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "10") @Positive int size
+    ) {
+        return ResponseEntity.ok(assetSearchService.search(q, PageRequest.of(page, size)));
+    }
 }
 
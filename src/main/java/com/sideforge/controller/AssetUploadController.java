@@ -0,0 +1,71 @@
+package com.sideforge.controller;
+
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.dto.asset.AssetUploadRequestDTO;
+import com.sideforge.dto.asset.AssetUploadResponseDTO;
+import com.sideforge.service.interfaces.AssetUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/assets/uploads")
+@Validated
+public class AssetUploadController {
+
+    @Autowired
+    private AssetUploadService assetUploadService;
+
+    @PostMapping
+    @Operation(summary = "Start asset upload",
+            description = "Starts a resumable chunked upload of a GLB file. The response gives the chunk size and count; "
+                    + "the asset is created when the upload is committed."
+    )
+    public ResponseEntity<AssetUploadResponseDTO> createUpload(@Valid @RequestBody AssetUploadRequestDTO body) {
+        AssetUploadResponseDTO created = assetUploadService.createUpload(body);
+        URI location = URI.create("/api/assets/uploads/" + created.getId());
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get asset upload", description = "Returns the received chunks of an upload, to resume it.")
+    public ResponseEntity<AssetUploadResponseDTO> getUpload(@PathVariable String id) {
+        return ResponseEntity.ok(assetUploadService.getUpload(id));
+    }
+
+    @PutMapping("/{id}/chunks/{index}")
+    @Operation(summary = "Upload chunk",
+            description = "Writes chunk index (0-based) from the raw request body. Requires a Content-Digest header "
+                    + "with the sha-256 of the chunk (sha-256=:base64:). Chunks can be sent in any order and re-sent."
+    )
+    public ResponseEntity<Void> uploadChunk(@PathVariable String id,
+                                            @PathVariable @PositiveOrZero int index,
+                                            @RequestHeader(value = "Content-Digest", required = false) String contentDigest,
+                                            HttpServletRequest request) throws IOException {
+        assetUploadService.writeChunk(id, index, request.getInputStream(), request.getContentLengthLong(), contentDigest);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/commit")
+    @Operation(summary = "Commit asset upload", description = "Creates the asset from a complete upload and returns it.")
+    public ResponseEntity<AssetResponseDTO> commitUpload(@PathVariable String id) {
+        AssetResponseDTO created = assetUploadService.commitUpload(id);
+        URI location = URI.create("/api/assets/" + created.getId());
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete asset upload", description = "Aborts an upload and deletes its data.")
+    public ResponseEntity<Void> deleteUpload(@PathVariable String id) {
+        assetUploadService.deleteUpload(id);
+        return ResponseEntity.noContent().build();
+    }
+}
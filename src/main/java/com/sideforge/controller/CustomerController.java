@@ -1,19 +1,28 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.customer.CustomerRequestDTO;
 import com.sideforge.dto.customer.CustomerResponseDTO;
 import com.sideforge.dto.customer.CustomerUpdateDTO;
 import com.sideforge.dto.user.*;
 import com.sideforge.service.interfaces.CustomerService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -25,16 +34,26 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @Operation(summary = "Get all customers", description = "Returns a list of all customers.")
     public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
         return ResponseEntity.ok(customerService.getAllCustomers());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all customers", description = "Returns every customer as newline-delimited JSON (application/x-ndjson), written while it is read from the database so the listing is never held in memory.")
+    public void streamAllCustomers(HttpServletResponse response) throws IOException {
+        NdjsonStreamer.stream(response, objectMapper, customerService::streamAllCustomers);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get customer by ID", description = "Returns the details of a customer by their ID.")
+    @Operation(summary = "Get customer by ID", description = "Returns the details of a customer by their ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable @Positive Long id) {
-        return ResponseEntity.ok(customerService.getCustomerById(id));
+        CustomerResponseDTO customer = customerService.getCustomerById(id);
+        return EntityTags.ok(customer, customer.getVersion(), customer.getLastModified());
     }
 
     @PostMapping
@@ -46,9 +65,11 @@ public class CustomerController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update customer", description = "Updates the data of an existing customer.")
-    public ResponseEntity<CustomerResponseDTO> updateCustomer(@PathVariable @Positive Long id, @Valid @RequestBody CustomerUpdateDTO body) {
-        return ResponseEntity.ok(customerService.updateCustomer(id, body));
+    @Operation(summary = "Update customer", description = "Updates the data of an existing customer. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<CustomerResponseDTO> updateCustomer(@PathVariable @Positive Long id, @Valid @RequestBody CustomerUpdateDTO body,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CustomerResponseDTO updated = customerService.updateCustomer(id, body, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(updated, updated.getVersion(), updated.getLastModified());
     }
 
     @DeleteMapping("/{id}")
@@ -69,4 +90,17 @@ public class CustomerController {
         Pageable pageable = PageRequest.of(page, size, sortObj);
         return ResponseEntity.ok(customerService.getCustomersPage(pageable));
     }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll customers (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<CustomerResponseDTO>> scrollCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(customerService.scrollCustomers(ScrollRequest.of(cursor, size, sort, count)));
+    }
 }
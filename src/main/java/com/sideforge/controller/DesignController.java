@@ -1,16 +1,41 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.design.*;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.service.interfaces.DesignExportService;
+import com.sideforge.service.interfaces.DesignRevisionService;
 import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.service.interfaces.DesignSimilarityService;
+import com.sideforge.service.interfaces.DesignTextureService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.FileRangeStreamer;
+import com.sideforge.util.ModelMediaTypes;
+import com.sideforge.util.PrecompressedFiles;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
+import com.sideforge.util.stream.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -22,6 +47,24 @@ public class DesignController {
     @Autowired
     private DesignService designService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DesignTextureService designTextureService;
+
+    @Autowired
+    private DesignBakeService designBakeService;
+
+    @Autowired
+    private DesignRevisionService designRevisionService;
+
+    @Autowired
+    private DesignSimilarityService designSimilarityService;
+
+    @Autowired
+    private DesignExportService designExportService;
+
     @PostMapping
     @Operation(summary = "Create design", description = "Creates a new design and returns it.")
     public ResponseEntity<DesignResponseDTO> createDesign(@Valid @RequestBody DesignRequestDTO dto) {
@@ -30,11 +73,85 @@ public class DesignController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create designs in bulk", description = "Creates up to 10000 designs with batched inserts, one transaction per chunk. Answers 200 with one result per item: invalid items are reported and skipped.")
+    public ResponseEntity<BulkResultDTO> createDesigns(@RequestBody List<DesignRequestDTO> body) {
+        return ResponseEntity.ok(designService.createDesigns(body));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get design by ID", description = "Returns the design with the given ID.")
+    @Operation(summary = "Get design by ID", description = "Returns the design with the given ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<DesignResponseDTO> getDesignById(@PathVariable @Positive Long id) {
         DesignResponseDTO dto = designService.getDesignById(id);
-        return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.notFound().build();
+        return dto != null ? EntityTags.ok(dto, dto.getVersion(), dto.getLastModified()) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}/texture")
+    @Operation(summary = "Get design texture",
+            description = "Streams the texture file of a design stored under the asset root. Supports Range and "
+                    + "conditional requests; a precompressed gzip copy is served to clients accepting gzip."
+    )
+    public void getDesignTexture(@PathVariable @Positive Long id,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        boolean gzip = PrecompressedFiles.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        DesignTextureFileDTO texture = designTextureService.getTexture(id, gzip);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (texture.getContentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, texture.getContentEncoding());
+        }
+        FileRangeStreamer.stream(request, response, texture.getPath(), texture.getContentLength(),
+                texture.getLastModified(), texture.getEtag(), texture.getContentType());
+    }
+
+    @GetMapping(value = "/{id}/baked-texture", produces = MediaType.IMAGE_PNG_VALUE)
+    @Operation(summary = "Get baked design texture",
+            description = "Composites the design texture, part colors (over the UV regions of the asset parts config), "
+                    + "logo and text into the final texture, returned as PNG. Bakes are cached in memory and on disk "
+                    + "by a hash of their inputs, which is also the ETag (If-None-Match gives 304): designs with the "
+                    + "same inputs share one bake, and changing a design's texture, colors, logo, text or asset "
+                    + "drops its previous bake."
+    )
+    public ResponseEntity<byte[]> getBakedTexture(@PathVariable @Positive Long id) {
+        BakedTextureDTO texture = designBakeService.getBakedTexture(id);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(texture.getEtag())
+                .contentType(MediaType.IMAGE_PNG)
+                .body(texture.getPng());
+    }
+
+    @GetMapping(value = "/{id}/export.glb", produces = ModelMediaTypes.GLB)
+    @Operation(summary = "Export design as GLB",
+            description = "Streams the asset model as one self-contained GLB with the design applied: the baked "
+                    + "texture embedded as image, part colors and materials as glTF materials. Only the JSON chunk "
+                    + "is rewritten: the BIN chunk is streamed unchanged from the model file with the texture "
+                    + "appended. Carries a strong ETag (design, asset and model versions and the bake hash); "
+                    + "If-None-Match gives 304."
+    )
+    public void exportGlb(@PathVariable @Positive Long id,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        DesignGlbExportDTO export = designExportService.exportGlb(id);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(export.getEtag())) {
+            return;
+        }
+        response.setContentType(ModelMediaTypes.GLB);
+        response.setContentLengthLong(export.getContentLength());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"design-" + id + ".glb\"");
+        export.getGlb().writeTo(export.getModelPath(), response.getOutputStream());
+    }
+
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Get similar designs",
+            description = "Returns up to 'limit' (at most 100) designs whose part colors and materials look most like "
+                    + "those of the given design, nearest first, with their palette distance. Served from an in-memory "
+                    + "index updated as designs are saved."
+    )
+    public ResponseEntity<List<SimilarDesignDTO>> getSimilarDesigns(@PathVariable @Positive Long id,
+                                                                    @RequestParam(defaultValue = "10") @Positive int limit) {
+        return ResponseEntity.ok(designSimilarityService.findSimilar(id, limit));
     }
 
     @GetMapping
@@ -43,11 +160,71 @@ public class DesignController {
         return ResponseEntity.ok(designService.getAllDesigns());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all designs", description = "Returns every design as newline-delimited JSON (application/x-ndjson), written while it is read from the database so the listing is never held in memory.")
+    public void streamAllDesigns(HttpServletResponse response) throws IOException {
+        NdjsonStreamer.stream(response, objectMapper, designService::streamAllDesigns);
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update design", description = "Updates an existing design.")
-    public ResponseEntity<DesignResponseDTO> updateDesign(@PathVariable @Positive Long id, @Valid @RequestBody DesignUpdateDTO dto) {
-        DesignResponseDTO updated = designService.updateDesign(id, dto);
-        return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
+    @Operation(summary = "Update design", description = "Updates an existing design. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<DesignResponseDTO> updateDesign(@PathVariable @Positive Long id, @Valid @RequestBody DesignUpdateDTO dto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DesignResponseDTO updated = designService.updateDesign(id, dto, EntityTags.expectedVersion(ifMatch));
+        return updated != null ? EntityTags.ok(updated, updated.getVersion(), updated.getLastModified()) : ResponseEntity.notFound().build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JsonPatches.MERGE_PATCH_JSON)
+    @Operation(summary = "Merge-patch design", description = "Applies a JSON Merge Patch (RFC 7386) to {name, textureMapUrl, materials, partsColors, logoConfig, textConfig}. Returns the new version and only the fields that changed; honours If-Match.")
+    public ResponseEntity<PatchResultDTO> mergePatchDesign(@PathVariable @Positive Long id, @RequestBody JsonNode patch,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResultDTO result = designService.patchDesign(id, PatchFormat.MERGE_PATCH, patch, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(result, result.getVersion(), result.getLastModified());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JsonPatches.JSON_PATCH_JSON)
+    @Operation(summary = "JSON-patch design", description = "Applies JSON Patch operations (RFC 6902) to the same document as the merge patch; a failing test operation or missing path answers 409.")
+    public ResponseEntity<PatchResultDTO> jsonPatchDesign(@PathVariable @Positive Long id, @RequestBody JsonNode patch,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResultDTO result = designService.patchDesign(id, PatchFormat.JSON_PATCH, patch, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(result, result.getVersion(), result.getLastModified());
+    }
+
+    @GetMapping("/{id}/revisions")
+    @Operation(summary = "Get design revisions", description = "Returns a page of the revisions recorded for a design (newest first by default), without their documents.")
+    public ResponseEntity<Page<DesignRevisionDTO>> getDesignRevisions(
+            @PathVariable @Positive Long id,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+            @RequestParam(defaultValue = "revision,desc") String[] sort
+    ) {
+        Sort sortObj = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
+        Pageable pageable = PageRequest.of(page, size, sortObj);
+        return ResponseEntity.ok(designRevisionService.getRevisions(id, pageable));
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    @Operation(summary = "Get design revision", description = "Returns the design fields {name, textureMapUrl, materials, partsColors, logoConfig, textConfig} as they were at a revision.")
+    public ResponseEntity<DesignRevisionDTO> getDesignRevision(@PathVariable @Positive Long id,
+                                                               @PathVariable @Positive int revision) {
+        return ResponseEntity.ok(designRevisionService.getRevision(id, revision));
+    }
+
+    @GetMapping("/{id}/revisions/diff")
+    @Operation(summary = "Diff design revisions", description = "Returns the JSON Patch (RFC 6902) operations turning revision 'from' into revision 'to'.")
+    public ResponseEntity<DesignRevisionDiffDTO> diffDesignRevisions(@PathVariable @Positive Long id,
+                                                                     @RequestParam @Positive int from,
+                                                                     @RequestParam @Positive int to) {
+        return ResponseEntity.ok(designRevisionService.diffRevisions(id, from, to));
+    }
+
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    @Operation(summary = "Restore design revision", description = "Rolls the design fields back to a revision, recorded as a new revision. Returns the new version and what changed; honours If-Match.")
+    public ResponseEntity<PatchResultDTO> restoreDesignRevision(@PathVariable @Positive Long id,
+                                                                @PathVariable @Positive int revision,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResultDTO result = designService.restoreRevision(id, revision, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(result, result.getVersion(), result.getLastModified());
     }
 
     @DeleteMapping("/{id}")
@@ -76,6 +253,34 @@ public class DesignController {
         return ResponseEntity.ok(designService.getDesignsPage(pageable));
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Get paginated design summaries",
+            description = "Returns a page of designs with only their listing fields (name, texture URL, asset ID, version). "
+                    + "The configuration and the asset are not read; fetch a design by ID for them."
+    )
+    public ResponseEntity<Page<DesignSummaryDTO>> getDesignSummaries(
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort
+    ) {
+        Sort sortObj = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
+        Pageable pageable = PageRequest.of(page, size, sortObj);
+        return ResponseEntity.ok(designService.getDesignSummaries(pageable));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll designs (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<DesignResponseDTO>> scrollDesigns(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(designService.scrollDesigns(ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/by-assets")
     @Operation(summary = "Get designs by assetIds (paginated)", description = "Returns a page of designs filtered by assetIds.")
     public ResponseEntity<Page<DesignResponseDTO>> getDesignsByAssetIds(
@@ -88,4 +293,18 @@ public class DesignController {
         Pageable pageable = PageRequest.of(page, size, sortObj);
         return ResponseEntity.ok(designService.getDesignsByAssetIds(assetIds, pageable));
     }
+
+    @GetMapping("/by-assets/scroll")
+    @Operation(summary = "Scroll designs by assetIds (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<DesignResponseDTO>> scrollDesignsByAssetIds(
+            @RequestParam List<Long> assetIds,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(designService.scrollDesignsByAssetIds(assetIds, ScrollRequest.of(cursor, size, sort, count)));
+    }
 }
@@ -0,0 +1,102 @@
+package com.sideforge.controller;
+
+import com.sideforge.config.CollaborationProperties;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.service.interfaces.SceneCollaborationService;
+import jakarta.websocket.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * WebSocket endpoint of a scene's editing room: ws://host/ws/scenes/{sceneId}.
+ * ----------------------------------------------------------------
+ * One instance per connection (see WebSocketConfig). Text messages are
+ * operations passed on to SceneCollaborationService; what it sends back
+ * (snapshot, deltas, errors) goes out on the connection. A missing scene or
+ * a bad id closes the connection right after the handshake.
+ */
+public class SceneCollaborationEndpoint extends Endpoint {
+
+    public static final String PATH = "/ws/scenes/{sceneId}";
+
+    private final SceneCollaborationService collaborationService;
+    private final CollaborationProperties properties;
+    private Long sceneId;
+    private volatile Long editorId;
+
+    public SceneCollaborationEndpoint(SceneCollaborationService collaborationService, CollaborationProperties properties) {
+        this.collaborationService = collaborationService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        try {
+            sceneId = Long.valueOf(session.getPathParameters().get("sceneId"));
+        } catch (NumberFormatException e) {
+            close(session, CloseReason.CloseCodes.CANNOT_ACCEPT, "Invalid scene id");
+            return;
+        }
+        session.setMaxTextMessageBufferSize(properties.getMaxMessageBytes());
+        session.getAsyncRemote().setSendTimeout(properties.getSendTimeout().toMillis());
+        try {
+            editorId = collaborationService.join(sceneId, new SessionEditor(session));
+        } catch (ResourceNotFoundException e) {
+            close(session, CloseReason.CloseCodes.CANNOT_ACCEPT, "Scene not found");
+            return;
+        }
+        long id = editorId;
+        session.addMessageHandler(String.class, message -> collaborationService.receive(sceneId, id, message));
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        leave();
+    }
+
+    @Override
+    public void onError(Session session, Throwable error) {
+        leave();
+    }
+
+    private synchronized void leave() {
+        if (editorId != null) {
+            collaborationService.leave(sceneId, editorId);
+            editorId = null;
+        }
+    }
+
+    private static void close(Session session, CloseReason.CloseCode code, String reason) {
+        try {
+            session.close(new CloseReason(code, reason));
+        } catch (IOException e) {
+            // Connection already gone
+        }
+    }
+
+    // An editor's side of the room: the WebSocket session (the service has one send in flight at a time)
+    private record SessionEditor(Session session) implements SceneCollaborationService.Editor {
+
+        @Override
+        public CompletionStage<Void> send(String message) {
+            CompletableFuture<Void> sent = new CompletableFuture<>();
+            session.getAsyncRemote().sendText(message, result -> {
+                if (result.isOK()) {
+                    sent.complete(null);
+                } else {
+                    sent.completeExceptionally(result.getException());
+                }
+            });
+            return sent;
+        }
+
+        @Override
+        public void close(String reason) {
+            if (session.isOpen()) {
+                SceneCollaborationEndpoint.close(session, CloseReason.CloseCodes.NORMAL_CLOSURE, reason);
+            }
+        }
+    }
+}
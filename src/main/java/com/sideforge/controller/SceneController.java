@@ -1,19 +1,34 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.scene.*;
 import com.sideforge.service.interfaces.SceneService;
+import com.sideforge.service.interfaces.SceneThumbnailService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.FileRangeStreamer;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/scenes")
@@ -23,6 +38,9 @@ public class SceneController {
     @Autowired
     private SceneService sceneService;
 
+    @Autowired
+    private SceneThumbnailService sceneThumbnailService;
+
     @PostMapping
     @Operation(summary = "Create scene", description = "Creates a new scene and returns it.")
     public ResponseEntity<SceneResponseDTO> createScene(@Valid @RequestBody SceneRequestDTO dto) {
@@ -31,18 +49,58 @@ public class SceneController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create scenes in bulk", description = "Creates up to 10000 scenes with batched inserts, one transaction per chunk. Answers 200 with one result per item: invalid items are reported and skipped.")
+    public ResponseEntity<BulkResultDTO> createScenes(@RequestBody List<SceneRequestDTO> body) {
+        return ResponseEntity.ok(sceneService.createScenes(body));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get scene by ID", description = "Returns the details of a scene by its ID.")
+    @Operation(summary = "Get scene by ID", description = "Returns the details of a scene by its ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<SceneResponseDTO> getSceneById(@PathVariable @Positive Long id) {
         SceneResponseDTO dto = sceneService.getSceneById(id);
-        return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.notFound().build();
+        return dto != null ? EntityTags.ok(dto, dto.getVersion(), dto.getLastModified()) : ResponseEntity.notFound().build();
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update scene", description = "Updates the data of an existing scene.")
-    public ResponseEntity<SceneResponseDTO> updateScene(@PathVariable @Positive Long id, @Valid @RequestBody SceneUpdateDTO dto) {
-        SceneResponseDTO updated = sceneService.updateScene(id, dto);
-        return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
+    @Operation(summary = "Update scene", description = "Updates the data of an existing scene. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<SceneResponseDTO> updateScene(@PathVariable @Positive Long id, @Valid @RequestBody SceneUpdateDTO dto,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        SceneResponseDTO updated = sceneService.updateScene(id, dto, EntityTags.expectedVersion(ifMatch));
+        return updated != null ? EntityTags.ok(updated, updated.getVersion(), updated.getLastModified()) : ResponseEntity.notFound().build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JsonPatches.MERGE_PATCH_JSON)
+    @Operation(summary = "Merge-patch scene", description = "Applies a JSON Merge Patch (RFC 7386) to {name, thumbnail, lighting, camera}. Returns the new version and only the fields that changed; honours If-Match.")
+    public ResponseEntity<PatchResultDTO> mergePatchScene(@PathVariable @Positive Long id, @RequestBody JsonNode patch,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResultDTO result = sceneService.patchScene(id, PatchFormat.MERGE_PATCH, patch, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(result, result.getVersion(), result.getLastModified());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JsonPatches.JSON_PATCH_JSON)
+    @Operation(summary = "JSON-patch scene", description = "Applies JSON Patch operations (RFC 6902) to the same document as the merge patch; a failing test operation or missing path answers 409.")
+    public ResponseEntity<PatchResultDTO> jsonPatchScene(@PathVariable @Positive Long id, @RequestBody JsonNode patch,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResultDTO result = sceneService.patchScene(id, PatchFormat.JSON_PATCH, patch, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(result, result.getVersion(), result.getLastModified());
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    @Operation(summary = "Get scene thumbnail",
+            description = "Streams the thumbnail rendered on the server from the design, camera and lighting of the scene "
+                    + "(PNG, or JPEG with sideforge.assets.thumbnail-format=jpeg). Re-rendered in the background once "
+                    + "the scene, its design or the asset's model changes, changes within thumbnail-delay of each "
+                    + "other rendering once; the first request renders it. Supports Range and conditional requests. "
+                    + "Camera keys: angle (or azimuth), elevation, fov, distance, position, target; lighting keys: "
+                    + "type (studio, modern, shop, outdoor), ambient, intensity, color, direction, background."
+    )
+    public void getSceneThumbnail(@PathVariable @Positive Long id,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        SceneThumbnailFileDTO thumbnail = sceneThumbnailService.getThumbnail(id);
+        FileRangeStreamer.stream(request, response, thumbnail.getPath(), thumbnail.getContentLength(),
+                thumbnail.getLastModified(), thumbnail.getEtag(), thumbnail.getContentType());
     }
 
     @DeleteMapping("/{id}")
@@ -64,6 +122,19 @@ public class SceneController {
         return ResponseEntity.ok(sceneService.getAllScenes(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll scenes (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<SceneResponseDTO>> scrollScenes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(sceneService.scrollScenes(ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/by-owner")
     @Operation(summary = "Get scenes by owner (paginated)", description = "Returns a paginated list of scenes belonging to an owner.")
     public ResponseEntity<Page<SceneResponseDTO>> getScenesByOwnerId(
@@ -77,6 +148,36 @@ public class SceneController {
         return ResponseEntity.ok(sceneService.getScenesByOwnerId(ownerId, pageable));
     }
 
+    @GetMapping("/by-owner/summary")
+    @Operation(summary = "Get scene summaries by owner (paginated)",
+            description = "Returns a page of an owner's scenes for dashboards: names, thumbnails, dates and IDs, "
+                    + "without the lighting and camera JSON."
+    )
+    public ResponseEntity<Page<SceneSummaryDTO>> getSceneSummariesByOwnerId(
+            @RequestParam @Positive Long ownerId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+            @RequestParam(defaultValue = "10") @PositiveOrZero int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort
+    ) {
+        Sort sortObj = Sort.by(Sort.Direction.fromString(sort[1]), sort[0]);
+        Pageable pageable = PageRequest.of(page, size, sortObj);
+        return ResponseEntity.ok(sceneService.getSceneSummariesByOwnerId(ownerId, pageable));
+    }
+
+    @GetMapping("/by-owner/scroll")
+    @Operation(summary = "Scroll scenes by owner (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<SceneResponseDTO>> scrollScenesByOwnerId(
+            @RequestParam @Positive Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(sceneService.scrollScenesByOwnerId(ownerId, ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/by-name-and-owner")
     @Operation(summary = "Get scene by name and owner", description = "Returns a scene by its name and owner ID.")
     public ResponseEntity<SceneResponseDTO> getSceneByNameAndOwner(
@@ -101,6 +202,21 @@ public class SceneController {
         return ResponseEntity.ok(sceneService.getScenesCreatedBetween(start, end, pageable));
     }
 
+    @GetMapping("/created-between/scroll")
+    @Operation(summary = "Scroll scenes created between dates (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<SceneResponseDTO>> scrollScenesCreatedBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(sceneService.scrollScenesCreatedBetween(start, end, ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/count-by-owner")
     @Operation(summary = "Count scenes by owner", description = "Returns the number of scenes belonging to an owner.")
     public ResponseEntity<Long> countScenesByOwner(@RequestParam @Positive Long ownerId) {
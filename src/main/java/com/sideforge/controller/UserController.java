@@ -1,16 +1,25 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.user.*;
 import com.sideforge.service.interfaces.UserService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -21,22 +30,34 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @Operation(summary = "Get all users", description = "Returns a list of all users.")
     public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all users", description = "Returns every user as newline-delimited JSON (application/x-ndjson), written while it is read from the database so the listing is never held in memory.")
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        NdjsonStreamer.stream(response, objectMapper, userService::streamAllUsers);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get user by ID", description = "Returns the details of a user by their ID.")
+    @Operation(summary = "Get user by ID", description = "Returns the details of a user by their ID. Carries a strong ETag (entity version) and Last-Modified; If-None-Match gives 304.")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable @Positive Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+        UserResponseDTO user = userService.getUserById(id);
+        return EntityTags.ok(user, user.getVersion(), user.getLastModified());
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update user", description = "Updates the data of an existing user.")
-    public ResponseEntity<UserResponseDTO> updateUser(@PathVariable @Positive Long id, @Valid @RequestBody UserUpdateDTO body) {
-        return ResponseEntity.ok(userService.updateUser(id, body));
+    @Operation(summary = "Update user", description = "Updates the data of an existing user. With If-Match, the update only applies to that ETag (412 otherwise).")
+    public ResponseEntity<UserResponseDTO> updateUser(@PathVariable @Positive Long id, @Valid @RequestBody UserUpdateDTO body,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserResponseDTO updated = userService.updateUser(id, body, EntityTags.expectedVersion(ifMatch));
+        return EntityTags.ok(updated, updated.getVersion(), updated.getLastModified());
     }
 
     @DeleteMapping("/{id}")
@@ -58,6 +79,19 @@ public class UserController {
         return ResponseEntity.ok(userService.getUsersPage(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll users (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(userService.scrollUsers(ScrollRequest.of(cursor, size, sort, count)));
+    }
+
     @GetMapping("/page/role/{role}")
     @Operation(summary = "Get paginated users by role", description = "Returns a paginated list of users filtered by role.")
     public ResponseEntity<Page<UserResponseDTO>> getUsersPageByRole(
@@ -70,5 +104,19 @@ public class UserController {
         Pageable pageable = PageRequest.of(page, size, sortObj);
         return ResponseEntity.ok(userService.getUsersPageByRole(role, pageable));
     }
+
+    @GetMapping("/scroll/role/{role}")
+    @Operation(summary = "Scroll users by role (cursor pagination)",
+            description = "Returns the next page after the cursor (keyset pagination: constant cost however deep). Pass nextCursor back as cursor with the same sort; the total is only counted with count=true."
+    )
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> scrollUsersByRole(
+            @PathVariable String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(userService.scrollUsersByRole(role, ScrollRequest.of(cursor, size, sort, count)));
+    }
 }
 
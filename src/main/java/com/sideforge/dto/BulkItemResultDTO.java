@@ -0,0 +1,23 @@
+package com.sideforge.dto;
+
+import lombok.*;
+
+/**
+ * Result of one item of a bulk create.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - index: Position of the item in the request (0-based).
+ * - status: HTTP status the item would have had on its own (201, 400, 404, 409...).
+ * - id: ID of the created resource (null if the item failed).
+ * - error: Why the item failed (null if created).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+    private int index;
+    private int status;
+    private Long id;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.sideforge.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create: counts and one result per submitted item, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDTO {
+    private int created;
+    private int failed;
+    private List<BulkItemResultDTO> items;
+}
@@ -0,0 +1,21 @@
+package com.sideforge.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a PATCH: the new version of the resource and a merge patch of
+ * what actually changed (empty when the patch changed nothing).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatchResultDTO {
+    private Long id;
+    private Long version;
+    private Instant lastModified;
+    private JsonNode changes;
+}
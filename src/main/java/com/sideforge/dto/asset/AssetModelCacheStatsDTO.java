@@ -0,0 +1,16 @@
+package com.sideforge.dto.asset;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int entries;
+    private long usedBytes;
+    private long maxBytes;
+}
@@ -0,0 +1,33 @@
+package com.sideforge.dto.asset;
+
+import lombok.*;
+
+import java.nio.file.Path;
+
+/**
+ * Resolved GLB model file of an asset, ready to be streamed.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - assetId: ID of the asset the model belongs to.
+ * - path: Absolute path of the file inside the asset root.
+ * - contentLength: Size of the file in bytes.
+ * - lastModified: Last modification time (epoch millis).
+ * - etag: Strong validator used for If-None-Match and If-Range.
+ * - lod: Level of detail of the file (0 = original model).
+ * - quantized: Whether the file is the quantized (KHR_mesh_quantization) variant.
+ * - contentEncoding: Content-Encoding of the file (gzip for a precompressed sibling, null if none).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelFileDTO {
+    private Long assetId;
+    private Path path;
+    private long contentLength;
+    private long lastModified;
+    private String etag;
+    private int lod;
+    private boolean quantized;
+    private String contentEncoding;
+}
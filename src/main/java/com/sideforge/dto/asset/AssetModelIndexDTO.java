@@ -0,0 +1,46 @@
+package com.sideforge.dto.asset;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sideforge.enums.Part;
+import com.sideforge.model.AssetModelBufferView;
+import com.sideforge.model.AssetModelMesh;
+import com.sideforge.model.AssetModelNode;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssetModelIndexDTO {
+    private Long assetId;
+    private Integer glbVersion;
+    private Long fileLength;
+    private Long binChunkOffset;
+    private Long binChunkLength;
+    private Integer accessorCount;
+    private Double minX;
+    private Double minY;
+    private Double minZ;
+    private Double maxX;
+    private Double maxY;
+    private Double maxZ;
+    private List<AssetModelMesh> meshes;
+    private List<AssetModelNode> nodes;
+    private List<String> materialNames;
+    private List<AssetModelBufferView> bufferViews;
+
+    // Node names grouped by the Part they map to
+    private Map<Part, List<String>> partNodes;
+
+    // Only included on request (can be large)
+    private String jsonChunk;
+
+    @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime indexedAt;
+}
@@ -0,0 +1,30 @@
+package com.sideforge.dto.asset;
+
+import com.sideforge.enums.Part;
+import com.sideforge.util.parts.PartConfig;
+import lombok.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parts an asset exposes, from its parsed parts config.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - assetId: ID of the asset.
+ * - version: Asset version the config was read from.
+ * - customizableParts: Parts designs may customize.
+ * - parts: Settings of every configured part (customizable or not).
+ * - options: Non-part settings of the config.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetPartsDTO {
+    private Long assetId;
+    private Long version;
+    private Set<Part> customizableParts;
+    private Map<Part, PartConfig> parts;
+    private Map<String, String> options;
+}
@@ -2,6 +2,8 @@ package com.sideforge.dto.asset;
 
 import lombok.*;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,6 +13,9 @@ public class AssetResponseDTO {
     private String name;
     private String description;
     private String glbPath;
+    private String contentHash;
     private String thumbnailDefault;
     private String partsConfigJson;
+    private Long version;
+    private Instant lastModified;
 }
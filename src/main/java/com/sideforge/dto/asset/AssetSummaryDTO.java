@@ -0,0 +1,22 @@
+package com.sideforge.dto.asset;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Asset row for catalogs, without the parts config LOB (see AssetRepository.findSummaries).
+ * Field order is the constructor order used by that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetSummaryDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private String thumbnailDefault;
+    private Long version;
+    private Instant lastModified;
+}
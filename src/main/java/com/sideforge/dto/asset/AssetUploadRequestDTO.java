@@ -0,0 +1,31 @@
+package com.sideforge.dto.asset;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetUploadRequestDTO {
+
+    @NotBlank(message = "Asset name is required")
+    private String name;
+
+    private String description;
+
+    @NotBlank(message = "File name is required")
+    @Pattern(regexp = "[A-Za-z0-9._-]+\\.(glb|GLB)", message = "File name must be a plain .glb file name")
+    @Size(max = 200, message = "File name must not exceed 200 characters")
+    private String fileName;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    @Size(max = 255, message = "Thumbnail URL must not exceed 255 characters")
+    private String thumbnailDefault;
+
+    // JSON with config data
+    private String partsConfigJson;
+}
@@ -0,0 +1,35 @@
+package com.sideforge.dto.asset;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a chunked upload, used to resume it.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - id: Upload ID used in the chunk and commit URLs.
+ * - name, fileName: Asset name and original file name.
+ * - totalSize: Size of the whole file in bytes.
+ * - chunkSize: Size of every chunk but the last one.
+ * - chunkCount: Number of chunks (indexes 0..chunkCount-1).
+ * - receivedChunks: Indexes of the chunks received and verified (sorted).
+ * - complete: Whether every chunk was received (the upload can be committed).
+ * - expiresAt: When an uncommitted upload is discarded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetUploadResponseDTO {
+    private String id;
+    private String name;
+    private String fileName;
+    private long totalSize;
+    private int chunkSize;
+    private int chunkCount;
+    private List<Integer> receivedChunks;
+    private boolean complete;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.sideforge.dto.design;
+
+import lombok.*;
+
+/**
+ * Baked texture of a design.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - designId: ID of the design the texture was baked for.
+ * - png: PNG bytes of the texture.
+ * - etag: Strong validator: the content hash the bake is cached under.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BakedTextureDTO {
+    private Long designId;
+    private byte[] png;
+    private String etag;
+}
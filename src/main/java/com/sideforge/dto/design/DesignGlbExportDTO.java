@@ -0,0 +1,28 @@
+package com.sideforge.dto.design;
+
+import com.sideforge.util.glb.GlbAppender;
+import lombok.*;
+
+import java.nio.file.Path;
+
+/**
+ * GLB export of a design, ready to be streamed.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - designId: ID of the exported design.
+ * - modelPath: Source GLB of the asset; its BIN chunk is copied from there while writing.
+ * - glb: The edited JSON and appended data (baked texture) to write with it.
+ * - contentLength: Size of the exported GLB in bytes.
+ * - etag: Strong validator (design version, asset version, model file, bake hash).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignGlbExportDTO {
+    private Long designId;
+    private Path modelPath;
+    private GlbAppender glb;
+    private long contentLength;
+    private String etag;
+}
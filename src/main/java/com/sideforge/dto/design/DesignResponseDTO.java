@@ -2,6 +2,8 @@ package com.sideforge.dto.design;
 
 import lombok.*;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,6 @@ public class DesignResponseDTO {
     private String logoConfigJson;
     private String textConfigJson;
     private Long assetId;
+    private Long version;
+    private Instant lastModified;
 }
@@ -0,0 +1,30 @@
+package com.sideforge.dto.design;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A revision of a design.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - designId: ID of the design.
+ * - revision: Number of the revision (1 is the oldest).
+ * - designVersion: Design version the revision was saved as (null for a baseline).
+ * - snapshot: Whether the revision is stored whole rather than as a delta.
+ * - createdAt: When the revision was recorded.
+ * - document: The design fields at this revision (null in revision lists).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignRevisionDTO {
+    private Long designId;
+    private Integer revision;
+    private Long designVersion;
+    private boolean snapshot;
+    private Instant createdAt;
+    private JsonNode document;
+}
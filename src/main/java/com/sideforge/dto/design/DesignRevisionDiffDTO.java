@@ -0,0 +1,23 @@
+package com.sideforge.dto.design;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+/**
+ * Difference between two revisions of a design.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - designId: ID of the design.
+ * - from / to: Compared revisions.
+ * - changes: JSON Patch (RFC 6902) operations turning revision from into revision to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignRevisionDiffDTO {
+    private Long designId;
+    private Integer from;
+    private Integer to;
+    private JsonNode changes;
+}
@@ -0,0 +1,23 @@
+package com.sideforge.dto.design;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Design row for listings, read by a constructor query that leaves out the
+ * config column and the asset row (see DesignRepository.findSummaries).
+ * Field order is the constructor order used by that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignSummaryDTO {
+    private Long id;
+    private String name;
+    private String textureMapUrl;
+    private Long assetId;
+    private Long version;
+    private Instant lastModified;
+}
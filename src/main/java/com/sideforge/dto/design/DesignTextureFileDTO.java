@@ -0,0 +1,31 @@
+package com.sideforge.dto.design;
+
+import lombok.*;
+
+import java.nio.file.Path;
+
+/**
+ * Resolved texture file of a design, ready to be streamed.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - designId: ID of the design the texture belongs to.
+ * - path: Absolute path of the file inside the asset root.
+ * - contentType: Media type of the texture (from its file name).
+ * - contentLength: Size of the file in bytes.
+ * - lastModified: Last modification time (epoch millis).
+ * - etag: Strong validator used for If-None-Match and If-Range.
+ * - contentEncoding: Content-Encoding of the file (gzip for a precompressed sibling, null if none).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignTextureFileDTO {
+    private Long designId;
+    private Path path;
+    private String contentType;
+    private long contentLength;
+    private long lastModified;
+    private String etag;
+    private String contentEncoding;
+}
@@ -0,0 +1,13 @@
+package com.sideforge.dto.design;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarDesignDTO {
+    private DesignResponseDTO design;
+    // Palette distance to the queried design (0 = same colors and materials)
+    private float distance;
+}
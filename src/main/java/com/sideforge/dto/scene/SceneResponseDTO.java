@@ -2,6 +2,7 @@ package com.sideforge.dto.scene;
 
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
@@ -24,4 +25,6 @@ public class SceneResponseDTO {
 
     private Long ownerId;
     private Long designId;
+    private Long version;
+    private Instant lastModified;
 }
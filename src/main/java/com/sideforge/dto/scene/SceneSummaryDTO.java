@@ -0,0 +1,33 @@
+package com.sideforge.dto.scene;
+
+import lombok.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Scene row for dashboards: everything but the lighting and camera JSON LOBs,
+ * read by a constructor query (see SceneRepository.findSummariesByOwnerId).
+ * Field order is the constructor order used by that query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SceneSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String thumbnail;
+
+    @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    private Long ownerId;
+    private Long designId;
+    private Long version;
+    private Instant lastModified;
+}
@@ -0,0 +1,29 @@
+package com.sideforge.dto.scene;
+
+import lombok.*;
+
+import java.nio.file.Path;
+
+/**
+ * Rendered thumbnail file of a scene, ready to be streamed.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - sceneId: ID of the scene the thumbnail shows.
+ * - path: Absolute path of the image under {root}/.thumbnails.
+ * - contentType: image/png or image/jpeg.
+ * - contentLength: Size of the file in bytes.
+ * - lastModified: Time the thumbnail was rendered (epoch millis).
+ * - etag: Strong validator used for If-None-Match and If-Range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SceneThumbnailFileDTO {
+    private Long sceneId;
+    private Path path;
+    private String contentType;
+    private long contentLength;
+    private long lastModified;
+    private String etag;
+}
@@ -4,6 +4,8 @@ import com.sideforge.enums.Role;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,4 +15,6 @@ public class UserResponseDTO {
     private String username;
     private String email;
     private Role role;
+    private Long version;
+    private Instant lastModified;
 }
@@ -0,0 +1,16 @@
+package com.sideforge.event;
+
+/**
+ * Published when an asset is created, updated or deleted.
+ * Listeners keep derived in-memory state (the search index) in step once the transaction has committed.
+ */
+public record AssetChangedEvent(Long assetId, String name, String description, boolean deleted) {
+
+    public static AssetChangedEvent saved(Long assetId, String name, String description) {
+        return new AssetChangedEvent(assetId, name, description, false);
+    }
+
+    public static AssetChangedEvent deleted(Long assetId) {
+        return new AssetChangedEvent(assetId, null, null, true);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sideforge.event;
+
+/**
+ * Published when an asset gets a new stored GLB (created, or model replaced on update).
+ * Listeners derive variants of the blob (LODs...) once the transaction has committed.
+ */
+public record AssetModelChangedEvent(Long assetId, String contentHash) {
+}
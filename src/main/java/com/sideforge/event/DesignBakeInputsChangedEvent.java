@@ -0,0 +1,9 @@
+package com.sideforge.event;
+
+/**
+ * Published when a design is updated in a way that changes its baked texture
+ * (texture, part colors, logo, text or asset), or is deleted.
+ * Listeners drop the bakes cached for it once the transaction has committed.
+ */
+public record DesignBakeInputsChangedEvent(Long designId) {
+}
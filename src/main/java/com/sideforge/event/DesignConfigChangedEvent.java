@@ -0,0 +1,19 @@
+package com.sideforge.event;
+
+import com.sideforge.util.design.DesignConfig;
+
+/**
+ * Published when a design is saved with a new configuration (created, or materials,
+ * part colors, logo or text changed), or is deleted.
+ * Listeners keep derived in-memory state (the similarity index) in step once the transaction has committed.
+ */
+public record DesignConfigChangedEvent(Long designId, DesignConfig config, boolean deleted) {
+
+    public static DesignConfigChangedEvent saved(Long designId, DesignConfig config) {
+        return new DesignConfigChangedEvent(designId, config, false);
+    }
+
+    public static DesignConfigChangedEvent deleted(Long designId) {
+        return new DesignConfigChangedEvent(designId, null, true);
+    }
+}
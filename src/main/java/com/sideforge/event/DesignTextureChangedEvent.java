@@ -0,0 +1,8 @@
+package com.sideforge.event;
+
+/**
+ * Published when a design is saved with a texture (created, or texture changed on update).
+ * Listeners precompress the texture file once the transaction has committed.
+ */
+public record DesignTextureChangedEvent(Long designId, String textureMapUrl) {
+}
@@ -0,0 +1,17 @@
+package com.sideforge.event;
+
+/**
+ * Published when a scene is created, saved with a new design, camera or lighting, or is deleted.
+ * Listeners re-render (or drop) the scene's thumbnail and refresh (or close) its editing room
+ * once the transaction has committed.
+ */
+public record SceneChangedEvent(Long sceneId, boolean deleted) {
+
+    public static SceneChangedEvent saved(Long sceneId) {
+        return new SceneChangedEvent(sceneId, false);
+    }
+
+    public static SceneChangedEvent deleted(Long sceneId) {
+        return new SceneChangedEvent(sceneId, true);
+    }
+}
@@ -0,0 +1,7 @@
+package com.sideforge.exception;
+
+public class PatchConflictException extends RuntimeException {
+    public PatchConflictException(String message) {
+        super(message);
+    }
+}
@@ -3,19 +3,24 @@ package com.sideforge.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
  * Represents the base 3D asset (t-shirt, mug, etc.).
  * ----------------------------------------------------------------
  * Attributes:
- * - id: Primary key.
+ * - id: Primary key, allocated 50 at a time from the id_blocks table.
  * - name: Name of the asset.
  * - description: Description of the asset.
  * - glbPath: Path to the GLB 3D model file.
+ * - contentHash: SHA-256 of the GLB file in the blob store (null if not stored locally).
  * - thumbnailDefault: Path or URL for the default thumbnail image.
  * - partsConfigJson: JSON with customizable parts definition.
+ * - version: Optimistic lock version, bumped on every update (ETag; keys cached data derived from the row).
+ * - lastModified: When the row was last written (Last-Modified).
  * ----------------------------------------------------------------
  * Relation:
  * - design: Unique base design associated with the asset (OneToOne, Design).
@@ -27,7 +32,8 @@ import java.util.List;
 @Builder
 public class Asset {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "asset_ids")
+    @TableGenerator(name = "asset_ids", table = "id_blocks", pkColumnValue = "assets", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Asset name is required")
@@ -38,12 +44,23 @@ public class Asset {
     @NotBlank(message = "GLB path is required")
     private String glbPath;
 
+    // Content-addressed blob (AssetBlob) holding the GLB bytes
+    @Column(length = 64)
+    private String contentHash;
+
     private String thumbnailDefault;
 
-    // JSON with config data (Lob for potentially large content)
+    // JSON with config data (Lob for potentially large content; lazy when bytecode-enhanced)
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     private String partsConfigJson;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
     // Relation: Design associated with the asset (OneToMany)
     @OneToMany(mappedBy = "asset")
     private List<Design> designs;
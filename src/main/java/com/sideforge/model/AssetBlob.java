@@ -0,0 +1,38 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content-addressed GLB file shared by every asset with the same bytes.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - hash: SHA-256 of the file content (hex, primary key).
+ * - size: File size in bytes.
+ * - refCount: Number of Asset rows referencing this blob.
+ * - createdAt: When the blob was first stored.
+ */
+@Entity
+@Table(name = "asset_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(nullable = false)
+    @PositiveOrZero
+    private Integer refCount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Indexed buffer view of a GLB model (embedded in AssetModelIndex).
+ * fileOffset: absolute offset in the .glb when the view lives in the BIN chunk (null otherwise).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelBufferView {
+    private Integer viewIndex;
+    private Integer bufferIndex;
+    private Long byteOffset;
+    private Long byteLength;
+    private Integer byteStride;
+    private Integer target;
+    private Long fileOffset;
+}
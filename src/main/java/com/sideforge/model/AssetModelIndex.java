@@ -0,0 +1,83 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Index of an asset's GLB container, built on ingest so clients can query
+ * model metadata without downloading or re-parsing the binary.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - glbVersion / fileLength: GLB header values.
+ * - jsonChunk: The glTF JSON chunk.
+ * - binChunkOffset / binChunkLength: Position of the BIN chunk data in the file.
+ * - accessorCount: Number of accessors.
+ * - minX..maxZ: Bounding box of all meshes (mesh space).
+ * - meshes / nodes / materialNames / bufferViews: Scene-graph entries.
+ * - indexedAt: When the model was indexed.
+ * ----------------------------------------------------------------
+ * Relation:
+ * - asset: Indexed asset (OneToOne).
+ */
+@Entity
+@Table(name = "asset_model_indexes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelIndex {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(optional = false)
+    @JoinColumn(name = "asset_id", nullable = false, unique = true)
+    private Asset asset;
+
+    private Integer glbVersion;
+
+    private Long fileLength;
+
+    @Lob
+    private String jsonChunk;
+
+    private Long binChunkOffset;
+
+    private Long binChunkLength;
+
+    private Integer accessorCount;
+
+    private Double minX;
+    private Double minY;
+    private Double minZ;
+    private Double maxX;
+    private Double maxY;
+    private Double maxZ;
+
+    @ElementCollection
+    @CollectionTable(name = "asset_model_meshes", joinColumns = @JoinColumn(name = "index_id"))
+    @OrderBy("meshIndex")
+    private List<AssetModelMesh> meshes;
+
+    @ElementCollection
+    @CollectionTable(name = "asset_model_nodes", joinColumns = @JoinColumn(name = "index_id"))
+    @OrderBy("nodeIndex")
+    private List<AssetModelNode> nodes;
+
+    @ElementCollection
+    @CollectionTable(name = "asset_model_materials", joinColumns = @JoinColumn(name = "index_id"))
+    @OrderColumn(name = "material_index")
+    @Column(name = "name")
+    private List<String> materialNames;
+
+    @ElementCollection
+    @CollectionTable(name = "asset_model_buffer_views", joinColumns = @JoinColumn(name = "index_id"))
+    @OrderBy("viewIndex")
+    private List<AssetModelBufferView> bufferViews;
+
+    @Column(nullable = false)
+    private LocalDateTime indexedAt;
+}
@@ -0,0 +1,27 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Indexed mesh of a GLB model (embedded in AssetModelIndex).
+ * Bounds come from the min/max of the POSITION accessors, in mesh space.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelMesh {
+    private Integer meshIndex;
+    private String name;
+    private Integer primitiveCount;
+    private Long vertexCount;
+    private Long triangleCount;
+    private Double minX;
+    private Double minY;
+    private Double minZ;
+    private Double maxX;
+    private Double maxY;
+    private Double maxZ;
+}
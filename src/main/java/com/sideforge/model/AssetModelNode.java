@@ -0,0 +1,23 @@
+package com.sideforge.model;
+
+import com.sideforge.enums.Part;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Indexed node of a GLB model (embedded in AssetModelIndex).
+ * part: customizable Part the node name maps to (null if none).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetModelNode {
+    private Integer nodeIndex;
+    private String name;
+    private Integer meshIndex;
+
+    @Enumerated(EnumType.STRING)
+    private Part part;
+}
@@ -0,0 +1,69 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Resumable chunked upload of a GLB file; the Asset row is created on commit.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - id: Random UUID (primary key, also the upload URL token).
+ * - name, description, thumbnailDefault, partsConfigJson: Data of the asset to create.
+ * - fileName: Original file name, kept in the final glbPath.
+ * - totalSize: Size of the whole file in bytes.
+ * - chunkSize: Size of every chunk but the last one.
+ * - chunkCount: Number of chunks of the file.
+ * - receivedChunks: Indexes of the chunks written and verified so far.
+ * - createdAt: When the upload was started (expired uploads are purged).
+ */
+@Entity
+@Table(name = "asset_uploads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssetUpload {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @NotBlank(message = "Asset name is required")
+    private String name;
+
+    private String description;
+
+    private String thumbnailDefault;
+
+    @Lob
+    private String partsConfigJson;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    @Positive
+    private Long totalSize;
+
+    @Column(nullable = false)
+    @Positive
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    @Positive
+    private Integer chunkCount;
+
+    // One row per chunk, inserted as chunks arrive (see AssetUploadRepository.addChunk)
+    @ElementCollection
+    @CollectionTable(name = "asset_upload_chunks", joinColumns = @JoinColumn(name = "upload_id"))
+    @Column(name = "chunk_index", nullable = false)
+    @Builder.Default
+    private Set<Integer> receivedChunks = new HashSet<>();
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
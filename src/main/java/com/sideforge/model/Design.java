@@ -1,25 +1,32 @@
 package com.sideforge.model;
 
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.DesignConfigConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 /**
  * Customization of an asset (texture, colors, materials, logos/texts).
  * ----------------------------------------------------------------
  * Attributes:
- * - id: Primary key.
+ * - id: Primary key (block-allocated from id_blocks, like assets).
  * - name: Name of the design.
  * - textureMapUrl: Custom base texture (UV).
- * - materialsJson: JSON with materials data.
- * - partsColorsJson: JSON with colors for parts.
- * - logoConfigJson: JSON with logo configuration.
- * - textConfigJson: JSON with text configuration.
+ * - config: Materials, part colors, logo and text configuration, stored as
+ *   one compact binary column (JSON views derived on demand, see DesignConfig).
+ * - version: Optimistic lock version, bumped on every update (ETag).
+ * - lastModified: When the row was last written (Last-Modified).
  * ----------------------------------------------------------------
  * Relation:
  * - asset: Base asset being customized (1:1).
  */
 @Entity
+@DynamicUpdate
 @Table(name = "designs",
         uniqueConstraints = @UniqueConstraint(columnNames = { "asset_id", "owner_id" })
 )
@@ -29,7 +36,8 @@ import lombok.*;
 @Builder
 public class Design {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "design_ids")
+    @TableGenerator(name = "design_ids", table = "id_blocks", pkColumnValue = "designs", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,26 +47,24 @@ public class Design {
     // Custom base texture (UV)
     private String textureMapUrl;
 
-    // JSONs with config data (Lob for potentially large content)
-    @Lob
-    private String materialsJson;
-
-    @Lob
-    private String partsColorsJson;
+    @Convert(converter = DesignConfigConverter.class)
+    @Column(name = "config", length = DesignConfig.MAX_BYTES)
+    @Builder.Default
+    private DesignConfig config = DesignConfig.EMPTY;
 
-    @Lob
-    private String logoConfigJson;
+    @Version
+    private Long version;
 
-    @Lob
-    private String textConfigJson;
+    @UpdateTimestamp
+    private Instant lastModified;
 
     @ManyToOne(optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
     @NotNull(message = "Owner is required")
     private Customer owner;
 
-    // Relation: base asset being customized (0:1)
-    @ManyToOne(cascade = CascadeType.ALL)
+    // Relation: base asset being customized (0:1); never removed with the design (assets go through AssetService.deleteAsset)
+    @ManyToOne(cascade = { CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH })
     @JoinColumn(name = "asset_id", nullable = false)
     @NotNull(message = "Asset reference is required")
     private Asset asset;
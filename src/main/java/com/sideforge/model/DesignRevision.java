@@ -0,0 +1,61 @@
+package com.sideforge.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * One immutable revision of a design's editable fields, the document
+ * {name, textureMapUrl, materials, partsColors, logoConfig, textConfig}.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - revision: Number of the revision within its design (1, 2, ...).
+ * - snapshot: True if content is the whole document; false if it is a JSON
+ *   Patch (RFC 6902) against the previous revision.
+ * - content: The document or the delta, as JSON.
+ * - designVersion: Design version the revision was saved as (null for the
+ *   baseline of a design that had no history yet).
+ * - createdAt: When the revision was recorded.
+ * ----------------------------------------------------------------
+ * Relation:
+ * - design: Design the revision belongs to (N:1).
+ */
+@Entity
+@Table(name = "design_revisions",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "design_id", "revision" })
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DesignRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "design_revision_ids")
+    @TableGenerator(name = "design_revision_ids", table = "id_blocks", pkColumnValue = "design_revisions", allocationSize = 50)
+    private Long id;
+
+    // Removed with the design also when a user's scenes cascade into their designs
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "design_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Design design;
+
+    @Column(nullable = false)
+    private Integer revision;
+
+    @Column(nullable = false)
+    private boolean snapshot;
+
+    @Lob
+    @Column(nullable = false)
+    private String content;
+
+    private Long designVersion;
+
+    @CreationTimestamp
+    private Instant createdAt;
+}
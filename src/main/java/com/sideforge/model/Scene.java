@@ -3,26 +3,37 @@ package com.sideforge.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 /**
  * Represents the 3D scene (camera, lights, owner, design, etc.).
  * ----------------------------------------------------------------
  * Attributes:
- * - id: Primary key.
+ * - id: Primary key (block-allocated from id_blocks, like assets).
  * - name: Scene name.
  * - lightingConfigJson: JSON with lighting configuration.
  * - cameraConfigJson: JSON with camera configuration.
  * - thumbnail: URL or path to a preview image.
  * - createdAt: When the scene was created.
  * - updatedAt: When the scene was last updated.
+ * - version: Optimistic lock version, bumped on every update (ETag).
+ * - lastModified: When the row was last written (Last-Modified).
  * - owner: Scene's owner user.
  * ----------------------------------------------------------------
  * Relations:
  * - owner: User who owns the scene (ManyToOne).
  * - design: Design shown in the scene, associated and customized (OneToOne).
+ * ----------------------------------------------------------------
+ * Updates are dynamic: patching the camera does not rewrite the lighting LOB.
+ * The LOBs load on first access (the build enhances entities for lazy
+ * attributes), so a plain findById selects neither of them.
+ * Listings read SceneSummaryDTO rows instead, which never select the LOBs.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "scenes")
 @Data
 @NoArgsConstructor
@@ -30,18 +41,21 @@ import java.time.LocalDateTime;
 @Builder
 public class Scene {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "scene_ids")
+    @TableGenerator(name = "scene_ids", table = "id_blocks", pkColumnValue = "scenes", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     @NotBlank(message = "Scene name is required")
     private String name;
 
-    // JSONs with config data (Lob for potentially large content)
+    // JSONs with config data (Lob for potentially large content; lazy when bytecode-enhanced)
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     private String lightingConfigJson;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     private String cameraConfigJson;
 
     private String thumbnail;
@@ -54,6 +68,12 @@ public class Scene {
     @NotNull(message = "Update date is required")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
     // Relation: Scene's owner user (ManyToOne)
     @ManyToOne(optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -17,6 +19,8 @@ import java.util.List;
  * - email: Unique email for the user.
  * - passwordHash: Hashed password.
  * - role: User role (CUSTOMER, ADMIN).
+ * - version: Optimistic lock version, bumped on every update (ETag).
+ * - lastModified: When the row was last written (Last-Modified).
  * ----------------------------------------------------------------
  * Relations:
  * - scenes: List of scenes owned by the user (OneToMany).
@@ -54,6 +58,12 @@ public abstract class User {
     @NotNull(message = "Role is required")
     protected Role role;
 
+    @Version
+    protected Long version;
+
+    @UpdateTimestamp
+    protected Instant lastModified;
+
     // Relation: List of scenes owned by the user (OneToMany)
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, orphanRemoval = true)
     protected List<Scene> scenes;
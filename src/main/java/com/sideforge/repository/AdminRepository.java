@@ -2,9 +2,19 @@ package com.sideforge.repository;
 
 import com.sideforge.model.Admin;
 import com.sideforge.enums.Department;
+import com.sideforge.util.stream.EntityStreamer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     // Find all admins by department
@@ -12,4 +22,12 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
 
     // Find all admins with admin level greater or equal to given value
     List<Admin> findByAdminLevelGreaterThanEqual(Integer adminLevel);
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<Admin> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // All admins in id order, read through a cursor (see EntityStreamer)
+    @Query("select a from Admin a order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<Admin> streamAll();
 }
@@ -0,0 +1,29 @@
+package com.sideforge.repository;
+
+import com.sideforge.model.AssetBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface AssetBlobRepository extends JpaRepository<AssetBlob, String> {
+    // Atomically add a reference to a blob, creating its row on first use (concurrent first stores do not collide)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "insert into asset_blobs (hash, size, ref_count, created_at) values (:hash, :size, 1, :createdAt) "
+            + "on duplicate key update ref_count = ref_count + 1", nativeQuery = true)
+    int addReference(@Param("hash") String hash, @Param("size") long size, @Param("createdAt") LocalDateTime createdAt);
+
+    // Atomically drop a reference from a blob
+    @Modifying(clearAutomatically = true)
+    @Query("update AssetBlob b set b.refCount = b.refCount - 1 where b.hash = :hash and b.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash);
+
+    // Blob row locked until the transaction ends (a missing one locks its key): decides file deletion against stores
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AssetBlob> findLockedByHash(String hash);
+}
@@ -0,0 +1,14 @@
+package com.sideforge.repository;
+
+import com.sideforge.model.AssetModelIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AssetModelIndexRepository extends JpaRepository<AssetModelIndex, Long> {
+    // Find the model index of an asset
+    Optional<AssetModelIndex> findByAsset_Id(Long assetId);
+
+    // Delete the model index of an asset
+    void deleteByAsset_Id(Long assetId);
+}
@@ -1,9 +1,24 @@
 package com.sideforge.repository;
 
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.dto.asset.AssetSummaryDTO;
 import com.sideforge.model.Asset;
+import com.sideforge.util.stream.EntityStreamer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     // Paginated: Find assets by partial name match with pagination and sorting
@@ -12,4 +27,41 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
 
     // Check if an asset exists by GLB path - recommended for asset validation
     boolean existsByGlbPath(String glbPath);
+
+    // Paginated summaries: catalog columns only, without the parts config LOB
+    @Query(value = "select new com.sideforge.dto.asset.AssetSummaryDTO(a.id, a.name, a.description, a.thumbnailDefault, "
+            + "a.version, a.lastModified) from Asset a",
+            countQuery = "select count(a) from Asset a")
+    Page<AssetSummaryDTO> findSummaries(Pageable pageable);
+
+    // Current version of an asset, without loading the row (and its LOBs)
+    @Query("select a.version from Asset a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Parts config JSON of an asset, for entities whose lazy LOB was not loaded (detached outside a session)
+    @Query("select a.partsConfigJson from Asset a where a.id = :id")
+    Optional<String> findPartsConfigJsonById(@Param("id") Long id);
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<Asset> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // All assets in id order as response rows, read through a cursor (see EntityStreamer); selects the
+    // lazy parts config with each row instead of one more query per asset
+    @Query("select new com.sideforge.dto.asset.AssetResponseDTO(a.id, a.name, a.description, a.glbPath, "
+            + "a.contentHash, a.thumbnailDefault, a.partsConfigJson, a.version, a.lastModified) from Asset a order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<AssetResponseDTO> streamAllResponses();
+
+    // Id, name and description of every asset, without the entities, read through a cursor (to rebuild indexes)
+    @Query("select a.id as id, a.name as name, a.description as description from Asset a order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<SearchView> streamAllSearchFields();
+
+    interface SearchView {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+    }
 }
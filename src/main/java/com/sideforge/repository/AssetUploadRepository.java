@@ -0,0 +1,22 @@
+package com.sideforge.repository;
+
+import com.sideforge.model.AssetUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AssetUploadRepository extends JpaRepository<AssetUpload, String> {
+    // Record a received chunk with a single insert (parallel chunk uploads never rewrite the session row)
+    @Modifying
+    @Transactional
+    @Query(value = "insert into asset_upload_chunks (upload_id, chunk_index) values (:id, :chunk)", nativeQuery = true)
+    int addChunk(@Param("id") String id, @Param("chunk") int chunk);
+
+    // Uploads started before the cutoff
+    List<AssetUpload> findByCreatedAtBefore(LocalDateTime cutoff);
+}
@@ -2,11 +2,21 @@ package com.sideforge.repository;
 
 import com.sideforge.model.Customer;
 import com.sideforge.enums.PreferredLanguage;
+import com.sideforge.util.stream.EntityStreamer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // Paginated: Find all customers by verified status with pagination and sorting
@@ -18,4 +28,12 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     // Find customer by username
     Optional<Customer> findByUsername(String username);
-}
\ No newline at end of file
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<Customer> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // All customers in id order, read through a cursor (see EntityStreamer)
+    @Query("select c from Customer c order by c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<Customer> streamAll();
+}
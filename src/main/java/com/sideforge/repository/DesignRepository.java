@@ -1,12 +1,24 @@
 package com.sideforge.repository;
 
+import com.sideforge.dto.design.DesignSummaryDTO;
 import com.sideforge.model.Design;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.stream.EntityStreamer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DesignRepository extends JpaRepository<Design, Long> {
     // Find design by asset ID
@@ -14,4 +26,35 @@ public interface DesignRepository extends JpaRepository<Design, Long> {
 
     // Paginated: Find all designs by asset IDs with pagination and sorting
     Page<Design> findAllByAsset_IdIn(List<Long> assetIds, Pageable pageable);
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<Design> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Keyset scroll: designs by asset IDs
+    Window<Design> findAllByAsset_IdIn(List<Long> assetIds, ScrollPosition position, Sort sort, Limit limit);
+
+    // Count designs by asset IDs
+    long countByAsset_IdIn(List<Long> assetIds);
+
+    // Paginated summaries: only the listed columns, without the config column or the asset row
+    @Query(value = "select new com.sideforge.dto.design.DesignSummaryDTO(d.id, d.name, d.textureMapUrl, d.asset.id, "
+            + "d.version, d.lastModified) from Design d",
+            countQuery = "select count(d) from Design d")
+    Page<DesignSummaryDTO> findSummaries(Pageable pageable);
+
+    // All designs in id order with their asset and owner, read through a cursor (see EntityStreamer)
+    @Query("select d from Design d join fetch d.asset join fetch d.owner order by d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<Design> streamAll();
+
+    // Id and configuration of every design, without the entities, read through a cursor (to rebuild indexes)
+    @Query("select d.id as id, d.config as config from Design d order by d.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<ConfigView> streamAllConfigs();
+
+    interface ConfigView {
+        Long getId();
+
+        DesignConfig getConfig();
+    }
 }
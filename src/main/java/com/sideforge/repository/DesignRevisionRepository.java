@@ -0,0 +1,26 @@
+package com.sideforge.repository;
+
+import com.sideforge.model.DesignRevision;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DesignRevisionRepository extends JpaRepository<DesignRevision, Long> {
+    // Latest revision of a design
+    Optional<DesignRevision> findFirstByDesign_IdOrderByRevisionDesc(Long designId);
+
+    // Nearest snapshot at or before a revision
+    Optional<DesignRevision> findFirstByDesign_IdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(Long designId, Integer revision);
+
+    // Revisions of a design in a range (inclusive), oldest first
+    List<DesignRevision> findByDesign_IdAndRevisionBetweenOrderByRevisionAsc(Long designId, Integer from, Integer to);
+
+    // Paginated: revisions of a design
+    Page<DesignRevision> findByDesign_Id(Long designId, Pageable pageable);
+
+    // Delete the history of a design
+    void deleteByDesign_Id(Long designId);
+}
@@ -1,9 +1,16 @@
 package com.sideforge.repository;
 
+import com.sideforge.dto.scene.SceneSummaryDTO;
 import com.sideforge.model.Scene;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +21,25 @@ public interface SceneRepository extends JpaRepository<Scene, Long> {
     // Scene history or user scenes dashboard
     Page<Scene> findByOwner_Id(Long ownerId, Pageable pageable);
 
+    // Paginated summaries of an owner's scenes: no lighting/camera LOBs and no design row
+    @Query(value = "select new com.sideforge.dto.scene.SceneSummaryDTO(s.id, s.name, s.thumbnail, s.createdAt, "
+            + "s.updatedAt, s.owner.id, s.design.id, s.version, s.lastModified) from Scene s where s.owner.id = :ownerId",
+            countQuery = "select count(s) from Scene s where s.owner.id = :ownerId")
+    Page<SceneSummaryDTO> findSummariesByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    // Ids of the scenes showing a design (at most one, as a design belongs to one scene)
+    @Query("select s.id from Scene s where s.design.id = :designId")
+    List<Long> findIdsByDesignId(@Param("designId") Long designId);
+
+    // Ids of the scenes showing a design of an asset
+    @Query("select s.id from Scene s where s.design.asset.id = :assetId")
+    List<Long> findIdsByAssetId(@Param("assetId") Long assetId);
+
+    // Camera and lighting JSON of a scene (lazy LOBs), for readers outside a persistence context
+    @Query("select s.cameraConfigJson as cameraConfigJson, s.lightingConfigJson as lightingConfigJson "
+            + "from Scene s where s.id = :id")
+    Optional<ViewConfigView> findViewConfigById(@Param("id") Long id);
+
     // Find scene by name and owner user ID
     Optional<Scene> findByNameAndOwner_Id(String name, Long ownerId);
 
@@ -22,4 +48,22 @@ public interface SceneRepository extends JpaRepository<Scene, Long> {
 
     // Count scenes by owner user ID
     long countByOwner_Id(Long ownerId);
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<Scene> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Keyset scroll: scenes by owner user ID
+    Window<Scene> findByOwner_Id(Long ownerId, ScrollPosition position, Sort sort, Limit limit);
+
+    // Keyset scroll: scenes created between two dates
+    Window<Scene> findAllByCreatedAtBetween(LocalDateTime start, LocalDateTime end, ScrollPosition position, Sort sort, Limit limit);
+
+    // Count scenes created between two dates
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    interface ViewConfigView {
+        String getCameraConfigJson();
+
+        String getLightingConfigJson();
+    }
 }
@@ -2,11 +2,21 @@ package com.sideforge.repository;
 
 import com.sideforge.model.User;
 import com.sideforge.enums.Role;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.sideforge.util.stream.EntityStreamer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     // Find user by email (for login/registration)
@@ -24,4 +34,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Paginated: Find all users by role (ADMIN, CUSTOMER) with pagination and sorting
     // User lists in admin panels or user dashboards
     Page<User> findAllByRole(Role role, Pageable pageable);
-}
\ No newline at end of file
+
+    // Keyset scroll: next rows after the position in sort order, without a count query
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Keyset scroll: users by role
+    Window<User> findAllByRole(Role role, ScrollPosition position, Sort sort, Limit limit);
+
+    // Count users by role
+    long countByRole(Role role);
+
+    // All users in id order, read through a cursor (see EntityStreamer)
+    @Query("select u from User u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EntityStreamer.FETCH_SIZE))
+    Stream<User> streamAll();
+}
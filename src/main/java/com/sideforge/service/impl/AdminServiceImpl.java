@@ -1,27 +1,34 @@
 package com.sideforge.service.impl;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.admin.*;
 import com.sideforge.enums.Role;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.Admin;
 import com.sideforge.repository.AdminRepository;
 import com.sideforge.service.interfaces.AdminService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.EntityStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
     private final AdminRepository adminRepository;
+    private final EntityStreamer entityStreamer;
 
     @Autowired
-    public AdminServiceImpl(AdminRepository adminRepository) {
+    public AdminServiceImpl(AdminRepository adminRepository, EntityStreamer entityStreamer) {
         this.adminRepository = adminRepository;
+        this.entityStreamer = entityStreamer;
     }
 
     // Create a new admin user from an AdminRequestDTO
@@ -61,12 +68,20 @@ public class AdminServiceImpl implements AdminService {
                 .collect(Collectors.toList());
     }
 
+    // Hand every admin to the sink in id order, reading through a cursor (for streamed listings)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAdmins(Consumer<AdminResponseDTO> sink) {
+        entityStreamer.forEach(adminRepository.streamAll(), AdminServiceImpl::toResponseDTO, sink);
+    }
+
     // Update an existing admin user by its unique identifier with the provided data
     @Override
     @Transactional
-    public AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO adminUpdateDTO) {
+    public AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO adminUpdateDTO, Long expectedVersion) {
         Admin admin = adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, admin.getVersion());
         admin.setUsername(adminUpdateDTO.getUsername());
         admin.setEmail(adminUpdateDTO.getEmail());
         // Only update password if provided (empty or null = ignore)
@@ -82,6 +97,7 @@ public class AdminServiceImpl implements AdminService {
         // lastLogin managed by login auth, not update here
 
         Admin saved = adminRepository.save(admin);
+        adminRepository.flush();
         return toResponseDTO(saved);
     }
 
@@ -101,6 +117,13 @@ public class AdminServiceImpl implements AdminService {
                 .map(AdminServiceImpl::toResponseDTO);
     }
 
+    // Keyset scroll of administrators (cursor pagination, count only on request)
+    @Override
+    public CursorPageDTO<AdminResponseDTO> scrollAdmins(ScrollRequest request) {
+        return request.toPage(adminRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                AdminServiceImpl::toResponseDTO, adminRepository::count);
+    }
+
     // Helper method to map Admin to AdminResponseDTO
     private static AdminResponseDTO toResponseDTO(Admin admin) {
         if (admin == null) {
@@ -111,6 +134,8 @@ public class AdminServiceImpl implements AdminService {
                 .username(admin.getUsername())
                 .email(admin.getEmail())
                 .role(admin.getRole())
+                .version(admin.getVersion())
+                .lastModified(admin.getLastModified())
                 .adminLevel(admin.getAdminLevel())
                 .department(admin.getDepartment())
                 .departmentImageUrl(admin.getDepartmentImageUrl())
@@ -0,0 +1,235 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.model.AssetBlob;
+import com.sideforge.repository.AssetBlobRepository;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.util.AssetPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content-addressed GLB store.
+ * Blobs live in {root}/.blobs/{first 2 hex chars}/{sha256}.glb and are hard-linked
+ * to every asset path with the same content, so a mesh is kept once on disk.
+ * Blob files are made read-only: an in-place edit through one of the links would
+ * otherwise change the content of every asset sharing it.
+ * Files derived from a blob (LODs...) are stored next to it as {sha256}.{variant}.glb.
+ * Reference counts change inside the caller's transaction, and a store takes
+ * the blob's row lock before touching its file. Files of a blob whose count
+ * reached 0 are deleted after that transaction commits, and a blob file a
+ * store created is deleted again if it rolls back; both only if, read under
+ * the row lock, no committed or pending store references the blob.
+ */
+@Service
+public class AssetBlobServiceImpl implements AssetBlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetBlobServiceImpl.class);
+
+    static final String BLOB_DIR = ".blobs";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final AssetBlobRepository assetBlobRepository;
+    private final Path assetRoot;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public AssetBlobServiceImpl(AssetBlobRepository assetBlobRepository, AssetStorageProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.assetBlobRepository = assetBlobRepository;
+        this.assetRoot = properties.getRootPath();
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Store the file at glbPath in the blob store (deduplicated) and return its SHA-256
+    @Override
+    @Transactional
+    public String store(String glbPath) {
+        Path file = AssetPaths.resolve(assetRoot, glbPath);
+        if (!Files.isRegularFile(file)) {
+            // Models served from another host are left unmanaged
+            return null;
+        }
+        try {
+            String hash = sha256(file);
+            Path blob = resolve(hash);
+            // Row first: its lock keeps a concurrent deletion from removing the file this store relies on
+            assetBlobRepository.addReference(hash, Files.size(file), LocalDateTime.now());
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                link(blob, file);
+                blob.toFile().setReadOnly();
+                afterRollback(() -> deleteIfUnreferenced(hash));
+            } else if (!Files.isSameFile(blob, file)) {
+                // Same bytes already stored: replace the duplicate with a link to the blob
+                Path tmp = file.resolveSibling(file.getFileName() + ".dedup");
+                Files.deleteIfExists(tmp);
+                link(tmp, blob);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store GLB file: " + glbPath, e);
+        }
+    }
+
+    // Drop one reference to a blob; its files are deleted once no asset uses it and the transaction has committed
+    @Override
+    @Transactional
+    public void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+        assetBlobRepository.decrementRefCount(hash);
+        Optional<AssetBlob> unused = assetBlobRepository.findById(hash).filter(blob -> blob.getRefCount() <= 0);
+        if (unused.isPresent()) {
+            assetBlobRepository.delete(unused.get());
+            // A rolled-back release must leave the files to the row that still references them
+            afterCommit(() -> deleteIfUnreferenced(hash));
+        }
+    }
+
+    // Check whether the file at glbPath is still the stored blob with this hash
+    @Override
+    public boolean isStored(String hash, String glbPath) {
+        if (hash == null) {
+            return false;
+        }
+        try {
+            Path file = AssetPaths.resolve(assetRoot, glbPath);
+            Path blob = resolve(hash);
+            return Files.exists(file) && Files.exists(blob) && Files.isSameFile(file, blob);
+        } catch (IOException | BadRequestException e) {
+            return false;
+        }
+    }
+
+    // Path of the blob file for a hash
+    @Override
+    public Path resolve(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new BadRequestException("Invalid content hash: " + hash);
+        }
+        return assetRoot.resolve(BLOB_DIR).resolve(hash.substring(0, 2)).resolve(hash + ".glb");
+    }
+
+    // Path of a derived file stored next to a blob ({hash}.{variant}.glb), deleted together with it
+    @Override
+    public Path resolveVariant(String hash, String variant) {
+        if (variant == null || !variant.matches("[a-z0-9-]+")) {
+            throw new BadRequestException("Invalid blob variant: " + variant);
+        }
+        return resolve(hash).resolveSibling(hash + "." + variant + ".glb");
+    }
+
+    // Helper to delete a blob's files unless a store references it, decided and done under its row lock (new transaction)
+    private void deleteIfUnreferenced(String hash) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                boolean referenced = assetBlobRepository.findLockedByHash(hash)
+                        .filter(blob -> blob.getRefCount() > 0)
+                        .isPresent();
+                if (!referenced) {
+                    deleteFiles(hash);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not delete blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    // Helper to delete a blob and its derived variants
+    private void deleteFiles(String hash) {
+        try {
+            Path path = resolve(hash);
+            path.toFile().setWritable(true);
+            Files.deleteIfExists(path);
+            // Derived variants go with their blob
+            if (Files.isDirectory(path.getParent())) {
+                try (DirectoryStream<Path> variants = Files.newDirectoryStream(path.getParent(), hash + ".*")) {
+                    for (Path variant : variants) {
+                        Files.deleteIfExists(variant);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    // Helper to run an action once the current transaction commits (right away outside a transaction)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Helper to run an action if the current transaction rolls back (never outside a transaction)
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    // Helper to hash a file with a fixed-size buffer (never loads the whole file)
+    static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Helper to hard-link a file, falling back to a copy where links are not supported
+    private static void link(Path link, Path existing) throws IOException {
+        try {
+            Files.createLink(link, existing);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(existing, link, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
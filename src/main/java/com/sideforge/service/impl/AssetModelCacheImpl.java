@@ -0,0 +1,117 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetModelCacheStatsDTO;
+import com.sideforge.dto.asset.AssetModelFileDTO;
+import com.sideforge.service.interfaces.AssetModelCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local cache of GLB files mapped read-only into memory (MappedByteBuffer).
+ * Entries are evicted in LRU order once the mapped bytes exceed the configured budget.
+ * A mapping cannot be released explicitly: evicted regions are unmapped when the
+ * buffer is garbage collected, and the page cache behind them is managed by the OS.
+ */
+@Service
+public class AssetModelCacheImpl implements AssetModelCache {
+
+    // Same path, size and mtime means same bytes (blobs are immutable, edited files change mtime)
+    private record ModelKey(Path path, long size, long lastModified) {
+    }
+
+    private final long maxBytes;
+    private final long maxFileBytes;
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<ModelKey, MappedByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public AssetModelCacheImpl(AssetStorageProperties properties) {
+        this.maxBytes = properties.getCacheMaxBytes();
+        this.maxFileBytes = Math.min(properties.getCacheMaxFileBytes(), properties.getCacheMaxBytes());
+    }
+
+    // Read-only view of the mapped model file, or null if the model cannot be cached
+    @Override
+    public ByteBuffer get(AssetModelFileDTO model) {
+        long size = model.getContentLength();
+        if (size == 0 || size > maxFileBytes) {
+            return null;
+        }
+        ModelKey key = new ModelKey(model.getPath(), size, model.getLastModified());
+
+        synchronized (entries) {
+            MappedByteBuffer cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached.asReadOnlyBuffer();
+            }
+        }
+        misses.increment();
+
+        // Map outside the lock so slow disks do not block hits on other models
+        MappedByteBuffer mapped = map(key.path(), size);
+        synchronized (entries) {
+            MappedByteBuffer existing = entries.putIfAbsent(key, mapped);
+            if (existing != null) {
+                return existing.asReadOnlyBuffer();
+            }
+            usedBytes += size;
+            evictOverBudget();
+        }
+        return mapped.asReadOnlyBuffer();
+    }
+
+    // Hit/miss/eviction counters and current usage
+    @Override
+    public AssetModelCacheStatsDTO getStats() {
+        synchronized (entries) {
+            return AssetModelCacheStatsDTO.builder()
+                    .hits(hits.sum())
+                    .misses(misses.sum())
+                    .evictions(evictions.sum())
+                    .entries(entries.size())
+                    .usedBytes(usedBytes)
+                    .maxBytes(maxBytes)
+                    .build();
+        }
+    }
+
+    // Helper to drop least recently used entries until the budget is met (caller holds the lock)
+    private void evictOverBudget() {
+        Iterator<Map.Entry<ModelKey, MappedByteBuffer>> it = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<ModelKey, MappedByteBuffer> eldest = it.next();
+            usedBytes -= eldest.getKey().size();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    // Helper to map a file read-only; the mapping stays valid after the channel is closed
+    private static MappedByteBuffer map(Path path, long size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map model file: " + path, e);
+        }
+    }
+}
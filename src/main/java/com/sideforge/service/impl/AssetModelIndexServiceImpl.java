@@ -0,0 +1,256 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.asset.AssetModelIndexDTO;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.*;
+import com.sideforge.repository.AssetModelIndexRepository;
+import com.sideforge.service.interfaces.AssetModelIndexService;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbFormatException;
+import com.sideforge.util.parts.PartsConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class AssetModelIndexServiceImpl implements AssetModelIndexService {
+
+    // glTF primitive modes
+    private static final int MODE_TRIANGLES = 4;
+    private static final int MODE_TRIANGLE_STRIP = 5;
+    private static final int MODE_TRIANGLE_FAN = 6;
+
+    private final AssetModelIndexRepository assetModelIndexRepository;
+    private final AssetModelService assetModelService;
+
+    @Autowired
+    public AssetModelIndexServiceImpl(AssetModelIndexRepository assetModelIndexRepository,
+                                      AssetModelService assetModelService) {
+        this.assetModelIndexRepository = assetModelIndexRepository;
+        this.assetModelService = assetModelService;
+    }
+
+    // Parse the asset's GLB container and (re)build its index; returns null if there is no local model file
+    @Override
+    @Transactional
+    public AssetModelIndex indexAsset(Asset asset) {
+        Path path = assetModelService.resolvePath(asset);
+        if (!Files.isRegularFile(path)) {
+            // Drop a stale index left from a previous model
+            assetModelIndexRepository.deleteByAsset_Id(asset.getId());
+            return null;
+        }
+        GlbFile glb = read(path, asset.getName());
+
+        AssetModelIndex index = assetModelIndexRepository.findByAsset_Id(asset.getId())
+                .orElseGet(AssetModelIndex::new);
+        index.setAsset(asset);
+        fill(index, glb);
+        return assetModelIndexRepository.save(index);
+    }
+
+    // Reject a local model file that is not a valid GLB, before anything of its asset is stored
+    // Not transactional: a rejection must not mark the caller's transaction (a bulk chunk) rollback-only
+    @Override
+    public void checkModel(String glbPath) {
+        Path path = assetModelService.resolvePath(Asset.builder().glbPath(glbPath).build());
+        if (Files.isRegularFile(path)) {
+            read(path, glbPath);
+        }
+    }
+
+    // Get the model index of an asset (the JSON chunk only if requested)
+    @Override
+    @Transactional(readOnly = true)
+    public AssetModelIndexDTO getIndex(Long assetId, boolean includeJson) {
+        AssetModelIndex index = assetModelIndexRepository.findByAsset_Id(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Model index not found for asset id: " + assetId));
+        return toResponseDTO(index, includeJson);
+    }
+
+    // Delete the model index of an asset
+    @Override
+    @Transactional
+    public void deleteIndex(Long assetId) {
+        assetModelIndexRepository.deleteByAsset_Id(assetId);
+    }
+
+    private static GlbFile read(Path path, String name) {
+        try {
+            return GlbFile.read(path);
+        } catch (GlbFormatException e) {
+            throw new BadRequestException("Invalid GLB file for asset " + name + ": " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read GLB file: " + path, e);
+        }
+    }
+
+    // Helper to copy header, scene-graph and buffer layout data from the GLB into the index
+    static void fill(AssetModelIndex index, GlbFile glb) {
+        JsonNode json = glb.getJson();
+        JsonNode accessors = json.path("accessors");
+
+        index.setGlbVersion(glb.getVersion());
+        index.setFileLength(glb.getLength());
+        index.setJsonChunk(glb.getJsonText());
+        index.setBinChunkOffset(glb.hasBin() ? glb.getBinOffset() : null);
+        index.setBinChunkLength(glb.hasBin() ? glb.getBinLength() : null);
+        index.setAccessorCount(accessors.size());
+
+        // Meshes: counts and POSITION bounds per mesh, unioned into the model bounds
+        double[] modelMin = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] modelMax = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        List<AssetModelMesh> meshes = new ArrayList<>();
+        JsonNode meshNodes = json.path("meshes");
+        for (int i = 0; i < meshNodes.size(); i++) {
+            JsonNode mesh = meshNodes.get(i);
+            double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+            double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            long vertices = 0;
+            long triangles = 0;
+            JsonNode primitives = mesh.path("primitives");
+            for (JsonNode primitive : primitives) {
+                JsonNode position = accessors.path(primitive.path("attributes").path("POSITION").asInt(-1));
+                long vertexCount = position.path("count").asLong(0);
+                vertices += vertexCount;
+                union(position, min, max);
+
+                JsonNode indices = accessors.path(primitive.path("indices").asInt(-1));
+                long elementCount = indices.isMissingNode() ? vertexCount : indices.path("count").asLong(0);
+                triangles += triangleCount(primitive.path("mode").asInt(MODE_TRIANGLES), elementCount);
+            }
+            boolean hasBounds = min[0] <= max[0];
+            if (hasBounds) {
+                for (int axis = 0; axis < 3; axis++) {
+                    modelMin[axis] = Math.min(modelMin[axis], min[axis]);
+                    modelMax[axis] = Math.max(modelMax[axis], max[axis]);
+                }
+            }
+            meshes.add(AssetModelMesh.builder()
+                    .meshIndex(i)
+                    .name(textOrNull(mesh.path("name")))
+                    .primitiveCount(primitives.size())
+                    .vertexCount(vertices)
+                    .triangleCount(triangles)
+                    .minX(hasBounds ? min[0] : null).minY(hasBounds ? min[1] : null).minZ(hasBounds ? min[2] : null)
+                    .maxX(hasBounds ? max[0] : null).maxY(hasBounds ? max[1] : null).maxZ(hasBounds ? max[2] : null)
+                    .build());
+        }
+        index.setMeshes(meshes);
+        boolean hasBounds = modelMin[0] <= modelMax[0];
+        index.setMinX(hasBounds ? modelMin[0] : null);
+        index.setMinY(hasBounds ? modelMin[1] : null);
+        index.setMinZ(hasBounds ? modelMin[2] : null);
+        index.setMaxX(hasBounds ? modelMax[0] : null);
+        index.setMaxY(hasBounds ? modelMax[1] : null);
+        index.setMaxZ(hasBounds ? modelMax[2] : null);
+
+        // Nodes, with the Part their name refers to
+        List<AssetModelNode> nodes = new ArrayList<>();
+        JsonNode nodeNodes = json.path("nodes");
+        for (int i = 0; i < nodeNodes.size(); i++) {
+            JsonNode node = nodeNodes.get(i);
+            String name = textOrNull(node.path("name"));
+            nodes.add(AssetModelNode.builder()
+                    .nodeIndex(i)
+                    .name(name)
+                    .meshIndex(node.has("mesh") ? node.get("mesh").asInt() : null)
+                    .part(PartsConfig.partForNodeName(name))
+                    .build());
+        }
+        index.setNodes(nodes);
+
+        // Materials (unnamed ones get a positional name, element collections cannot hold nulls)
+        List<String> materialNames = new ArrayList<>();
+        JsonNode materials = json.path("materials");
+        for (int i = 0; i < materials.size(); i++) {
+            String name = textOrNull(materials.get(i).path("name"));
+            materialNames.add(name != null ? name : "material_" + i);
+        }
+        index.setMaterialNames(materialNames);
+
+        // Buffer views; buffer 0 without uri is the GLB BIN chunk, so its views have an absolute file offset
+        boolean binBuffer = glb.hasBin() && !json.path("buffers").path(0).has("uri");
+        List<AssetModelBufferView> bufferViews = new ArrayList<>();
+        JsonNode views = json.path("bufferViews");
+        for (int i = 0; i < views.size(); i++) {
+            JsonNode view = views.get(i);
+            int buffer = view.path("buffer").asInt(0);
+            long byteOffset = view.path("byteOffset").asLong(0);
+            bufferViews.add(AssetModelBufferView.builder()
+                    .viewIndex(i)
+                    .bufferIndex(buffer)
+                    .byteOffset(byteOffset)
+                    .byteLength(view.path("byteLength").asLong(0))
+                    .byteStride(view.has("byteStride") ? view.get("byteStride").asInt() : null)
+                    .target(view.has("target") ? view.get("target").asInt() : null)
+                    .fileOffset(binBuffer && buffer == 0 ? glb.getBinOffset() + byteOffset : null)
+                    .build());
+        }
+        index.setBufferViews(bufferViews);
+        index.setIndexedAt(LocalDateTime.now());
+    }
+
+    // Helper to grow min/max with an accessor's min/max arrays
+    private static void union(JsonNode accessor, double[] min, double[] max) {
+        JsonNode accessorMin = accessor.path("min");
+        JsonNode accessorMax = accessor.path("max");
+        if (accessorMin.size() < 3 || accessorMax.size() < 3) {
+            return;
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            min[axis] = Math.min(min[axis], accessorMin.get(axis).asDouble());
+            max[axis] = Math.max(max[axis], accessorMax.get(axis).asDouble());
+        }
+    }
+
+    private static long triangleCount(int mode, long elementCount) {
+        return switch (mode) {
+            case MODE_TRIANGLES -> elementCount / 3;
+            case MODE_TRIANGLE_STRIP, MODE_TRIANGLE_FAN -> Math.max(0, elementCount - 2);
+            default -> 0;
+        };
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node.isTextual() ? node.asText() : null;
+    }
+
+    // Helper to map AssetModelIndex to AssetModelIndexDTO
+    private static AssetModelIndexDTO toResponseDTO(AssetModelIndex index, boolean includeJson) {
+        Map<Part, List<String>> partNodes = new EnumMap<>(Part.class);
+        for (AssetModelNode node : index.getNodes()) {
+            if (node.getPart() != null) {
+                partNodes.computeIfAbsent(node.getPart(), part -> new ArrayList<>()).add(node.getName());
+            }
+        }
+        return AssetModelIndexDTO.builder()
+                .assetId(index.getAsset().getId())
+                .glbVersion(index.getGlbVersion())
+                .fileLength(index.getFileLength())
+                .binChunkOffset(index.getBinChunkOffset())
+                .binChunkLength(index.getBinChunkLength())
+                .accessorCount(index.getAccessorCount())
+                .minX(index.getMinX()).minY(index.getMinY()).minZ(index.getMinZ())
+                .maxX(index.getMaxX()).maxY(index.getMaxY()).maxZ(index.getMaxZ())
+                .meshes(List.copyOf(index.getMeshes()))
+                .nodes(List.copyOf(index.getNodes()))
+                .materialNames(List.copyOf(index.getMaterialNames()))
+                .bufferViews(List.copyOf(index.getBufferViews()))
+                .partNodes(partNodes)
+                .jsonChunk(includeJson ? index.getJsonChunk() : null)
+                .indexedAt(index.getIndexedAt())
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbPrimitives;
+import com.sideforge.util.glb.GlbSimplifier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Levels of detail of stored GLB models.
+ * LOD n keeps about lodRatios[n-1] of the triangles and is written next to the
+ * blob as {sha256}.lod{n}.glb, so identical models share their LODs and a level
+ * is generated once. Levels that would not remove a meaningful share of the
+ * previous level's triangles are not generated; requests for them fall back to
+ * the closest generated level.
+ */
+@Service
+public class AssetModelLodServiceImpl implements AssetModelLodService {
+
+    // A level must drop at least 10% of the previous level's triangles to be worth a download
+    private static final double MIN_REDUCTION = 0.9;
+
+    private final AssetBlobService assetBlobService;
+    private final List<Double> lodRatios;
+    private final long lodMinTriangles;
+
+    // Hashes being processed, so concurrent events for one blob do not generate it twice
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public AssetModelLodServiceImpl(AssetBlobService assetBlobService, AssetStorageProperties properties) {
+        this.assetBlobService = assetBlobService;
+        this.lodRatios = List.copyOf(properties.getLodRatios());
+        this.lodMinTriangles = properties.getLodMinTriangles();
+    }
+
+    // Generate the missing levels of detail of a stored GLB; returns the number of levels available
+    @Override
+    public int generateLods(String contentHash) {
+        if (!inProgress.add(contentHash)) {
+            return availableLevel(contentHash, lodRatios.size());
+        }
+        try {
+            return generate(contentHash);
+        } finally {
+            inProgress.remove(contentHash);
+        }
+    }
+
+    // Highest generated level not above requested (0 = the original model)
+    @Override
+    public int availableLevel(String contentHash, int requested) {
+        if (contentHash == null) {
+            return 0;
+        }
+        for (int level = Math.min(requested, lodRatios.size()); level > 0; level--) {
+            if (Files.isRegularFile(lodPath(contentHash, level))) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    // Number of levels generated when a model allows it
+    @Override
+    public int getMaxLevel() {
+        return lodRatios.size();
+    }
+
+    // Path of a level of detail (0 = the original blob); the file may not exist yet
+    @Override
+    public Path resolveLevel(String contentHash, int level) {
+        return level > 0 ? lodPath(contentHash, level) : assetBlobService.resolve(contentHash);
+    }
+
+    // Helper to write each missing level from the original model
+    private int generate(String contentHash) {
+        Path blob = assetBlobService.resolve(contentHash);
+        if (!Files.isRegularFile(blob)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.READ)) {
+            GlbFile glb = GlbFile.read(channel);
+            long triangles = GlbPrimitives.triangleCount(glb);
+            if (!GlbPrimitives.isSupported(glb) || triangles < lodMinTriangles) {
+                return 0;
+            }
+            ByteBuffer bin = glb.mapBin(channel);
+            long previous = triangles;
+            for (int level = 1; level <= lodRatios.size(); level++) {
+                Path lod = lodPath(contentHash, level);
+                long written;
+                if (Files.isRegularFile(lod)) {
+                    written = GlbPrimitives.triangleCount(GlbFile.read(lod));
+                } else {
+                    // Written aside first: a level that is not small enough is discarded
+                    Path candidate = assetBlobService.resolveVariant(contentHash, "lod" + level + "-tmp");
+                    written = GlbSimplifier.write(glb, bin, lodRatios.get(level - 1), candidate);
+                    if (written > previous * MIN_REDUCTION) {
+                        Files.deleteIfExists(candidate);
+                        return level - 1;
+                    }
+                    Files.move(candidate, lod, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+                previous = written;
+            }
+            return lodRatios.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not generate LODs of blob: " + contentHash, e);
+        }
+    }
+
+    private Path lodPath(String contentHash, int level) {
+        return assetBlobService.resolveVariant(contentHash, "lod" + level);
+    }
+}
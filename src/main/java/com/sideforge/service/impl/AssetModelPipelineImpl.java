@@ -0,0 +1,66 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AsyncConfig;
+import com.sideforge.event.AssetModelChangedEvent;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.service.interfaces.AssetModelPipeline;
+import com.sideforge.service.interfaces.AssetModelQuantizationService;
+import com.sideforge.util.PrecompressedFiles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Background processing of changed models: LODs first, then a quantized
+ * variant of the original and of each generated level, and a gzip sibling
+ * of every one of these files.
+ */
+@Service
+public class AssetModelPipelineImpl implements AssetModelPipeline {
+
+    private final AssetModelLodService assetModelLodService;
+    private final AssetModelQuantizationService assetModelQuantizationService;
+
+    @Autowired
+    public AssetModelPipelineImpl(AssetModelLodService assetModelLodService,
+                                  AssetModelQuantizationService assetModelQuantizationService) {
+        this.assetModelLodService = assetModelLodService;
+        this.assetModelQuantizationService = assetModelQuantizationService;
+    }
+
+    // Generate the derived models (LODs, quantized variants) in the background once the asset transaction has committed
+    @Override
+    @Async(AsyncConfig.ASSET_PIPELINE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onModelChanged(AssetModelChangedEvent event) {
+        String hash = event.contentHash();
+        if (hash == null) {
+            return;
+        }
+        int levels = assetModelLodService.generateLods(hash);
+        for (int level = 0; level <= levels; level++) {
+            precompress(assetModelLodService.resolveLevel(hash, level));
+            if (assetModelQuantizationService.quantize(hash, level)) {
+                precompress(assetModelQuantizationService.findQuantized(hash, level));
+            }
+        }
+    }
+
+    // Helper to write the gzip sibling of a model file, served instead of compressing per request
+    private static void precompress(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            PrecompressedFiles.gzip(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not precompress model: " + file, e);
+        }
+    }
+}
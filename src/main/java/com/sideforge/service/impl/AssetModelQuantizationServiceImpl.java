@@ -0,0 +1,86 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.service.interfaces.AssetModelQuantizationService;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbFormatException;
+import com.sideforge.util.glb.GlbQuantizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Quantized (KHR_mesh_quantization) variants of stored GLB models.
+ * The variant of level n is written next to the blob as {sha256}.q.glb
+ * (level 0) or {sha256}.lod{n}-q.glb, once per blob. Models with nothing to
+ * quantize, or whose quantized copy would not be smaller, get no variant and
+ * are always served as they are.
+ */
+@Service
+public class AssetModelQuantizationServiceImpl implements AssetModelQuantizationService {
+
+    private final AssetBlobService assetBlobService;
+    private final AssetModelLodService assetModelLodService;
+
+    @Autowired
+    public AssetModelQuantizationServiceImpl(AssetBlobService assetBlobService,
+                                             AssetModelLodService assetModelLodService) {
+        this.assetBlobService = assetBlobService;
+        this.assetModelLodService = assetModelLodService;
+    }
+
+    // Write the quantized variant of a level of detail (0 = original); returns whether it is available
+    @Override
+    public boolean quantize(String contentHash, int level) {
+        Path target = variantPath(contentHash, level);
+        if (Files.isRegularFile(target)) {
+            return true;
+        }
+        Path source = assetModelLodService.resolveLevel(contentHash, level);
+        if (!Files.isRegularFile(source)) {
+            return false;
+        }
+        Path candidate = assetBlobService.resolveVariant(contentHash, variant(level) + "-tmp");
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            GlbFile glb = GlbFile.read(channel);
+            ByteBuffer bin = glb.mapBin(channel);
+            if (GlbQuantizer.write(glb, bin, candidate) == 0 || Files.size(candidate) >= channel.size()) {
+                Files.deleteIfExists(candidate);
+                return false;
+            }
+            Files.move(candidate, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (GlbFormatException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not quantize blob: " + contentHash, e);
+        }
+    }
+
+    // Path of the quantized variant of a level, or null if there is none
+    @Override
+    public Path findQuantized(String contentHash, int level) {
+        if (contentHash == null) {
+            return null;
+        }
+        Path path = variantPath(contentHash, level);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private Path variantPath(String contentHash, int level) {
+        return assetBlobService.resolveVariant(contentHash, variant(level));
+    }
+
+    private static String variant(int level) {
+        return level > 0 ? "lod" + level + "-q" : "q";
+    }
+}
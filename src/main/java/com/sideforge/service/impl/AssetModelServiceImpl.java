@@ -0,0 +1,114 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetModelFileDTO;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.service.interfaces.AssetModelQuantizationService;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.util.AssetPaths;
+import com.sideforge.util.PrecompressedFiles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+@Service
+public class AssetModelServiceImpl implements AssetModelService {
+
+    private final AssetRepository assetRepository;
+    private final AssetBlobService assetBlobService;
+    private final AssetModelLodService assetModelLodService;
+    private final AssetModelQuantizationService assetModelQuantizationService;
+    private final Path assetRoot;
+
+    @Autowired
+    public AssetModelServiceImpl(AssetRepository assetRepository,
+                                 AssetBlobService assetBlobService,
+                                 AssetModelLodService assetModelLodService,
+                                 AssetModelQuantizationService assetModelQuantizationService,
+                                 AssetStorageProperties properties) {
+        this.assetRepository = assetRepository;
+        this.assetBlobService = assetBlobService;
+        this.assetModelLodService = assetModelLodService;
+        this.assetModelQuantizationService = assetModelQuantizationService;
+        this.assetRoot = properties.getRootPath();
+    }
+
+    // Resolve the GLB model file of an asset inside the asset root, at the closest generated LOD not above lod
+    // (its quantized variant if requested and available), gzip-encoded if accepted and precompressed
+    @Override
+    public AssetModelFileDTO getModel(Long assetId, int lod, boolean quantized, boolean gzip) {
+        Asset asset = assetRepository.findById(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
+
+        // Deduplicated assets are served from their blob, with the content hash as strong ETag
+        String hash = asset.getContentHash();
+        // LODs only exist for stored blobs; until they are generated the original is served
+        int level = lod > 0 ? assetModelLodService.availableLevel(hash, lod) : 0;
+        Path path = level > 0 ? assetModelLodService.resolveLevel(hash, level) : resolvePath(asset);
+        Path quantizedPath = quantized ? assetModelQuantizationService.findQuantized(hash, level) : null;
+        if (quantizedPath != null) {
+            path = quantizedPath;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Model file not found for asset id: " + assetId);
+        }
+        if (!attributes.isRegularFile()) {
+            throw new ResourceNotFoundException("Model file not found for asset id: " + assetId);
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = hash != null
+                ? hash + (level > 0 ? "-lod" + level : "") + (quantizedPath != null ? "-q" : "")
+                // Size + mtime validator (same scheme as nginx/Apache) for unmanaged files
+                : Long.toHexString(length) + "-" + Long.toHexString(lastModified);
+
+        // The gzip sibling is another representation: its own length and validator
+        Path gzipPath = gzip ? PrecompressedFiles.findGzip(path) : null;
+        if (gzipPath != null) {
+            try {
+                length = Files.size(gzipPath);
+                path = gzipPath;
+                etag += "-" + PrecompressedFiles.GZIP;
+            } catch (IOException e) {
+                gzipPath = null;
+            }
+        }
+        return AssetModelFileDTO.builder()
+                .assetId(assetId)
+                .path(path)
+                .contentLength(length)
+                .lastModified(lastModified)
+                .etag("\"" + etag + "\"")
+                .lod(level)
+                .quantized(quantizedPath != null)
+                .contentEncoding(gzipPath != null ? PrecompressedFiles.GZIP : null)
+                .build();
+    }
+
+    // Number of levels of detail a model can have
+    @Override
+    public int getMaxLod() {
+        return assetModelLodService.getMaxLevel();
+    }
+
+    // Path of the GLB bytes of an asset: its blob if stored, else glbPath inside the root (may not exist)
+    @Override
+    public Path resolvePath(Asset asset) {
+        return asset.getContentHash() != null
+                ? assetBlobService.resolve(asset.getContentHash())
+                : AssetPaths.resolve(assetRoot, asset.getGlbPath());
+    }
+}
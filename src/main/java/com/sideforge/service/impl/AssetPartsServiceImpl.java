@@ -0,0 +1,138 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetPartsDTO;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.parts.DesignValidator;
+import com.sideforge.util.parts.PartsConfig;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Parsed Asset.partsConfigJson and the design checks compiled from it, held
+ * in a bounded LRU cache.
+ * Entries are keyed by asset id and version: an update bumps the version, so
+ * a changed config is parsed again and the stale entry ages out of the LRU.
+ * Lookups by id only read the version column until the entry is missing.
+ * The config is a lazy attribute: an asset detached before it was loaded
+ * (background renders and bakes) has it read by id instead.
+ */
+@Service
+public class AssetPartsServiceImpl implements AssetPartsService {
+
+    private record PartsKey(Long assetId, Long version) {
+    }
+
+    private record CompiledParts(PartsConfig config, DesignValidator validator) {
+
+        static CompiledParts of(Long assetId, String partsConfigJson) {
+            PartsConfig config = PartsConfig.parse(partsConfigJson);
+            return new CompiledParts(config, DesignValidator.compile(assetId, config));
+        }
+    }
+
+    private final AssetRepository assetRepository;
+    private final int maxEntries;
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<PartsKey, CompiledParts> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public AssetPartsServiceImpl(AssetRepository assetRepository, AssetStorageProperties properties) {
+        this.assetRepository = assetRepository;
+        this.maxEntries = properties.getPartsCacheSize();
+    }
+
+    // Parsed parts config of an asset (cached per asset version)
+    @Override
+    public PartsConfig getPartsConfig(Asset asset) {
+        return compiled(asset).config();
+    }
+
+    // Parts an asset exposes
+    @Override
+    public AssetPartsDTO getParts(Long assetId) {
+        Long version = assetRepository.findVersionById(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
+        CompiledParts cached = lookup(new PartsKey(assetId, version));
+        PartsConfig config;
+        if (cached != null) {
+            config = cached.config();
+        } else {
+            Asset asset = assetRepository.findById(assetId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
+            version = asset.getVersion();
+            config = getPartsConfig(asset);
+        }
+        return AssetPartsDTO.builder()
+                .assetId(assetId)
+                .version(version)
+                .customizableParts(config.getCustomizableParts())
+                .parts(config.getParts())
+                .options(config.getOptions())
+                .build();
+    }
+
+    // Compiled design checks of an asset (cached with its parts config)
+    @Override
+    public DesignValidator getDesignValidator(Asset asset) {
+        return compiled(asset).validator();
+    }
+
+    // Check a design's parts colors, materials and placements against the asset's parts config
+    @Override
+    public void validateDesign(Asset asset, DesignConfig design) {
+        getDesignValidator(asset).validate(design);
+    }
+
+    private CompiledParts compiled(Asset asset) {
+        if (asset.getId() == null || asset.getVersion() == null) {
+            // Not persisted yet: nothing to key the entry on
+            return CompiledParts.of(asset.getId(), asset.getPartsConfigJson());
+        }
+        PartsKey key = new PartsKey(asset.getId(), asset.getVersion());
+        CompiledParts cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        return store(key, CompiledParts.of(asset.getId(), partsConfigJson(asset)));
+    }
+
+    // Helper to read the lazy parts config, also of an asset detached before it was loaded (background renders)
+    private String partsConfigJson(Asset asset) {
+        if (Hibernate.isPropertyInitialized(asset, "partsConfigJson")) {
+            return asset.getPartsConfigJson();
+        }
+        return assetRepository.findPartsConfigJsonById(asset.getId()).orElse(null);
+    }
+
+    private CompiledParts lookup(PartsKey key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    // Helper to add an entry, dropping least recently used ones over the bound
+    private CompiledParts store(PartsKey key, CompiledParts compiled) {
+        synchronized (entries) {
+            CompiledParts existing = entries.putIfAbsent(key, compiled);
+            if (existing != null) {
+                return existing;
+            }
+            Iterator<PartsKey> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return compiled;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.event.AssetChangedEvent;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetSearchService;
+import com.sideforge.util.search.NgramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Catalog search served from an in-memory n-gram index instead of LIKE '%x%' scans.
+ * The index is loaded once the application is ready and then updated per asset
+ * as changes commit; only the assets of the requested page are read from the database.
+ */
+@Service
+public class AssetSearchServiceImpl implements AssetSearchService {
+
+    static final float NAME_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final AssetRepository assetRepository;
+    private final NgramIndex index = new NgramIndex();
+
+    @Autowired
+    public AssetSearchServiceImpl(AssetRepository assetRepository) {
+        this.assetRepository = assetRepository;
+    }
+
+    // Ranked, prefix and typo-tolerant search over asset names and descriptions
+    @Override
+    public Page<AssetResponseDTO> search(String query, Pageable pageable) {
+        NgramIndex.Result result = index.search(query, pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(NgramIndex.Hit::id).toList();
+        Map<Long, Asset> assets = assetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        // Keep the ranking; an asset deleted since the lookup is skipped
+        List<AssetResponseDTO> content = ids.stream()
+                .map(assets::get)
+                .filter(Objects::nonNull)
+                .map(AssetServiceImpl::toResponseDTO)
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    // Rebuild the index from the database (on startup)
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        index.clear();
+        try (Stream<AssetRepository.SearchView> rows = assetRepository.streamAllSearchFields()) {
+            rows.forEach(row -> put(row.getId(), row.getName(), row.getDescription()));
+        }
+    }
+
+    // Apply a committed asset change to the index
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.deleted()) {
+            index.remove(event.assetId());
+        } else {
+            put(event.assetId(), event.name(), event.description());
+        }
+    }
+
+    private void put(Long id, String name, String description) {
+        index.put(id, new NgramIndex.Field(name, NAME_WEIGHT), new NgramIndex.Field(description, DESCRIPTION_WEIGHT));
+    }
+}
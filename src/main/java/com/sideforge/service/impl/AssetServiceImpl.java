@@ -1,42 +1,68 @@
 package com.sideforge.service.impl;
 
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.asset.*;
+import com.sideforge.event.AssetChangedEvent;
+import com.sideforge.event.AssetModelChangedEvent;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.Asset;
 import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelIndexService;
 import com.sideforge.service.interfaces.AssetService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.bulk.BulkInserter;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.parts.PartsConfig;
+import com.sideforge.util.stream.EntityStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository assetRepository;
+    private final AssetBlobService assetBlobService;
+    private final AssetModelIndexService assetModelIndexService;
+    private final BulkInserter bulkInserter;
+    private final EntityStreamer entityStreamer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AssetServiceImpl(AssetRepository assetRepository) {
+    public AssetServiceImpl(AssetRepository assetRepository,
+                            AssetBlobService assetBlobService,
+                            AssetModelIndexService assetModelIndexService,
+                            BulkInserter bulkInserter,
+                            EntityStreamer entityStreamer,
+                            ApplicationEventPublisher eventPublisher) {
         this.assetRepository = assetRepository;
+        this.assetBlobService = assetBlobService;
+        this.assetModelIndexService = assetModelIndexService;
+        this.bulkInserter = bulkInserter;
+        this.entityStreamer = entityStreamer;
+        this.eventPublisher = eventPublisher;
     }
 
     // Create a new asset from AssetRequestDTO
     @Override
     @Transactional
     public AssetResponseDTO createAsset(AssetRequestDTO assetRequestDTO) {
-        Asset asset = Asset.builder()
-                .name(assetRequestDTO.getName())
-                .description(assetRequestDTO.getDescription())
-                .glbPath(assetRequestDTO.getGlbPath())
-                .thumbnailDefault(assetRequestDTO.getThumbnailDefault())
-                .partsConfigJson(assetRequestDTO.getPartsConfigJson())
-                .build();
+        return toResponseDTO(insert(assetRequestDTO));
+    }
 
-        Asset saved = assetRepository.save(asset);
-        return toResponseDTO(saved);
+    // Create many assets in batched chunks, reporting each item's outcome
+    @Override
+    public BulkResultDTO createAssets(List<AssetRequestDTO> assetRequestDTOs) {
+        return bulkInserter.insert(assetRequestDTOs, chunk -> { }, request -> insert(request).getId());
     }
 
     // Get a single asset by its ID
@@ -56,12 +82,29 @@ public class AssetServiceImpl implements AssetService {
                 .collect(Collectors.toList());
     }
 
+    // Hand every asset to the sink in id order, reading through a cursor (for streamed listings)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAssets(Consumer<AssetResponseDTO> sink) {
+        entityStreamer.forEach(assetRepository.streamAllResponses(), Function.identity(), sink);
+    }
+
     // Update an asset by its ID
     @Override
     @Transactional
-    public AssetResponseDTO updateAsset(Long id, AssetUpdateDTO assetUpdateDTO) {
+    public AssetResponseDTO updateAsset(Long id, AssetUpdateDTO assetUpdateDTO, Long expectedVersion) {
         Asset asset = assetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, asset.getVersion());
+        PartsConfig.parse(assetUpdateDTO.getPartsConfigJson());
+        // Re-store the model only if the path or the file behind it changed
+        String previousHash = asset.getContentHash();
+        boolean modelChanged = !assetBlobService.isStored(previousHash, assetUpdateDTO.getGlbPath());
+        if (modelChanged) {
+            assetModelIndexService.checkModel(assetUpdateDTO.getGlbPath());
+            asset.setContentHash(assetBlobService.store(assetUpdateDTO.getGlbPath()));
+            assetBlobService.release(previousHash);
+        }
         asset.setName(assetUpdateDTO.getName());
         asset.setDescription(assetUpdateDTO.getDescription());
         asset.setGlbPath(assetUpdateDTO.getGlbPath());
@@ -69,6 +112,13 @@ public class AssetServiceImpl implements AssetService {
         asset.setPartsConfigJson(assetUpdateDTO.getPartsConfigJson());
 
         Asset saved = assetRepository.save(asset);
+        // Flush so the response carries the bumped version and write time
+        assetRepository.flush();
+        if (modelChanged) {
+            assetModelIndexService.indexAsset(saved);
+            publishModelChanged(saved);
+        }
+        publishChanged(saved);
         return toResponseDTO(saved);
     }
 
@@ -78,7 +128,10 @@ public class AssetServiceImpl implements AssetService {
     public void deleteAsset(Long id) {
         Asset asset = assetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + id));
+        assetModelIndexService.deleteIndex(id);
         assetRepository.delete(asset);
+        assetBlobService.release(asset.getContentHash());
+        eventPublisher.publishEvent(AssetChangedEvent.deleted(id));
     }
 
     // Get a paginated list of assets
@@ -88,6 +141,19 @@ public class AssetServiceImpl implements AssetService {
                 .map(AssetServiceImpl::toResponseDTO);
     }
 
+    // Paginated asset summaries, read without the parts config LOB
+    @Override
+    public Page<AssetSummaryDTO> getAssetSummaries(Pageable pageable) {
+        return assetRepository.findSummaries(pageable);
+    }
+
+    // Keyset scroll of assets (cursor pagination, count only on request)
+    @Override
+    public CursorPageDTO<AssetResponseDTO> scrollAssets(ScrollRequest request) {
+        return request.toPage(assetRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                AssetServiceImpl::toResponseDTO, assetRepository::count);
+    }
+
     // Paginated: Find assets by name (case-insensitive)
     @Override
     public Page<AssetResponseDTO> findAssetsByName(String name, Pageable pageable) {
@@ -95,8 +161,43 @@ public class AssetServiceImpl implements AssetService {
                 .map(AssetServiceImpl::toResponseDTO);
     }
 
+    // Helper to store one asset, rejecting malformed parts configs and GLB files before anything is written
+    private Asset insert(AssetRequestDTO assetRequestDTO) {
+        PartsConfig.parse(assetRequestDTO.getPartsConfigJson());
+        assetModelIndexService.checkModel(assetRequestDTO.getGlbPath());
+        Asset asset = Asset.builder()
+                .name(assetRequestDTO.getName())
+                .description(assetRequestDTO.getDescription())
+                .glbPath(assetRequestDTO.getGlbPath())
+                .thumbnailDefault(assetRequestDTO.getThumbnailDefault())
+                .partsConfigJson(assetRequestDTO.getPartsConfigJson())
+                .contentHash(assetBlobService.store(assetRequestDTO.getGlbPath()))
+                .build();
+
+        Asset saved = assetRepository.save(asset);
+        // A new asset has no stale index to drop, so only stored models are indexed
+        if (saved.getContentHash() != null) {
+            assetModelIndexService.indexAsset(saved);
+        }
+        publishModelChanged(saved);
+        publishChanged(saved);
+        return saved;
+    }
+
+    // Helper to let listeners derive variants (LODs...) of a newly stored model after commit
+    private void publishModelChanged(Asset asset) {
+        if (asset.getContentHash() != null) {
+            eventPublisher.publishEvent(new AssetModelChangedEvent(asset.getId(), asset.getContentHash()));
+        }
+    }
+
+    // Helper to let listeners (search index) pick up the asset after commit
+    private void publishChanged(Asset asset) {
+        eventPublisher.publishEvent(AssetChangedEvent.saved(asset.getId(), asset.getName(), asset.getDescription()));
+    }
+
     // Helper to map Asset to AssetResponseDTO
-    private static AssetResponseDTO toResponseDTO(Asset asset) {
+    static AssetResponseDTO toResponseDTO(Asset asset) {
         if (asset == null) {
             return null;
         }
@@ -105,8 +206,11 @@ public class AssetServiceImpl implements AssetService {
                 .name(asset.getName())
                 .description(asset.getDescription())
                 .glbPath(asset.getGlbPath())
+                .contentHash(asset.getContentHash())
                 .thumbnailDefault(asset.getThumbnailDefault())
                 .partsConfigJson(asset.getPartsConfigJson())
+                .version(asset.getVersion())
+                .lastModified(asset.getLastModified())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,355 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.*;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.AssetUpload;
+import com.sideforge.repository.AssetUploadRepository;
+import com.sideforge.service.interfaces.AssetService;
+import com.sideforge.service.interfaces.AssetUploadService;
+import com.sideforge.util.AssetPaths;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Resumable chunked uploads of GLB files.
+ * Chunks stream from the request into a staging file next to
+ * {root}/.uploads/{id}.part through FileChannel.transferFrom, hashed on the way
+ * (never buffered whole on the heap). Only once their SHA-256 matches the
+ * Content-Digest header are they copied to their offset in the .part file and
+ * recorded. Chunks can be sent in any order, in parallel, and re-sent. On commit the file moves to uploads/{id}/{fileName}
+ * and the asset is created from it like any other model file.
+ */
+@Service
+public class AssetUploadServiceImpl implements AssetUploadService {
+
+    static final String UPLOAD_DIR = ".uploads";
+    static final String UPLOADED_MODELS_DIR = "uploads";
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    private final AssetUploadRepository assetUploadRepository;
+    private final AssetService assetService;
+    private final Path assetRoot;
+    private final int chunkSize;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    @Autowired
+    public AssetUploadServiceImpl(AssetUploadRepository assetUploadRepository,
+                                  AssetService assetService,
+                                  AssetStorageProperties properties) {
+        this.assetUploadRepository = assetUploadRepository;
+        this.assetService = assetService;
+        this.assetRoot = properties.getRootPath();
+        this.chunkSize = properties.getUploadChunkSize();
+        this.maxBytes = properties.getUploadMaxBytes();
+        this.ttl = properties.getUploadTtl();
+    }
+
+    // Start a resumable upload; the response gives the chunk size and count to send
+    @Override
+    @Transactional
+    public AssetUploadResponseDTO createUpload(AssetUploadRequestDTO assetUploadRequestDTO) {
+        long totalSize = assetUploadRequestDTO.getTotalSize();
+        if (totalSize > maxBytes) {
+            throw new BadRequestException("File is larger than the upload limit of " + maxBytes + " bytes");
+        }
+        AssetUpload upload = AssetUpload.builder()
+                .id(UUID.randomUUID().toString())
+                .name(assetUploadRequestDTO.getName())
+                .description(assetUploadRequestDTO.getDescription())
+                .thumbnailDefault(assetUploadRequestDTO.getThumbnailDefault())
+                .partsConfigJson(assetUploadRequestDTO.getPartsConfigJson())
+                .fileName(assetUploadRequestDTO.getFileName())
+                .totalSize(totalSize)
+                .chunkSize(chunkSize)
+                .chunkCount((int) ((totalSize + chunkSize - 1) / chunkSize))
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            Path part = partPath(upload.getId());
+            Files.createDirectories(part.getParent());
+            // Sized up front (sparse where supported): transferFrom does not write past the end of a file
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(1), totalSize - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload file", e);
+        }
+        return toResponseDTO(assetUploadRepository.save(upload));
+    }
+
+    // Get the state of an upload (received chunks) to resume it
+    @Override
+    @Transactional(readOnly = true)
+    public AssetUploadResponseDTO getUpload(String id) {
+        return toResponseDTO(findUpload(id));
+    }
+
+    // Write one chunk at its offset, verifying its length and Content-Digest (sha-256)
+    // Not transactional: no connection is held while the chunk streams in
+    @Override
+    public void writeChunk(String id, int index, InputStream body, long contentLength, String contentDigest) {
+        AssetUpload upload = findUpload(id);
+        if (index < 0 || index >= upload.getChunkCount()) {
+            throw new BadRequestException("Chunk index must be between 0 and " + (upload.getChunkCount() - 1));
+        }
+        long offset = (long) index * upload.getChunkSize();
+        long expected = Math.min(upload.getChunkSize(), upload.getTotalSize() - offset);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new BadRequestException("Chunk " + index + " must be " + expected + " bytes");
+        }
+        byte[] expectedDigest = parseSha256(contentDigest);
+
+        Path part = partPath(id);
+        if (!Files.exists(part)) {
+            throw new ResourceNotFoundException("Upload not found with id: " + id);
+        }
+        Path staging = null;
+        try {
+            // Staged and verified first: a bad re-send must not overwrite a chunk already recorded
+            staging = Files.createTempFile(part.getParent(), id + "." + index + ".", CHUNK_SUFFIX);
+            MessageDigest digest = sha256();
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = new DigestingChannel(Channels.newChannel(body), digest)) {
+                long written = 0;
+                while (written < expected) {
+                    long transferred = channel.transferFrom(source, written, expected - written);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                if (written != expected || body.read() != -1) {
+                    throw new BadRequestException("Chunk " + index + " must be " + expected + " bytes");
+                }
+            }
+            if (!MessageDigest.isEqual(expectedDigest, digest.digest())) {
+                throw new BadRequestException("Content-Digest does not match chunk " + index);
+            }
+            try (FileChannel source = FileChannel.open(staging, StandardOpenOption.READ);
+                 FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                long copied = 0;
+                while (copied < expected) {
+                    copied += channel.transferFrom(source, offset + copied, expected - copied);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Upload not found with id: " + id);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write chunk " + index + " of upload: " + id, e);
+        } finally {
+            deleteQuietly(staging);
+        }
+        try {
+            assetUploadRepository.addChunk(id, index);
+        } catch (DataIntegrityViolationException e) {
+            // Already recorded: the chunk was re-sent
+        }
+    }
+
+    // Create the asset from a complete upload
+    @Override
+    @Transactional
+    public AssetResponseDTO commitUpload(String id) {
+        AssetUpload upload = findUpload(id);
+        int missing = upload.getChunkCount() - upload.getReceivedChunks().size();
+        if (missing > 0) {
+            throw new BadRequestException("Upload is missing " + missing + " chunk(s)");
+        }
+        String glbPath = UPLOADED_MODELS_DIR + "/" + id + "/" + upload.getFileName();
+        Path part = partPath(id);
+        Path target = AssetPaths.resolve(assetRoot, glbPath);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Upload not found with id: " + id);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not commit upload: " + id, e);
+        }
+
+        AssetResponseDTO created;
+        try {
+            created = assetService.createAsset(AssetRequestDTO.builder()
+                    .name(upload.getName())
+                    .description(upload.getDescription())
+                    .glbPath(glbPath)
+                    .thumbnailDefault(upload.getThumbnailDefault())
+                    .partsConfigJson(upload.getPartsConfigJson())
+                    .build());
+        } catch (RuntimeException e) {
+            // Keep the upload so the commit can be retried (or the upload deleted)
+            restore(target, part);
+            throw e;
+        }
+        assetUploadRepository.delete(upload);
+        return created;
+    }
+
+    // Abort an upload and delete its data
+    @Override
+    @Transactional
+    public void deleteUpload(String id) {
+        AssetUpload upload = findUpload(id);
+        assetUploadRepository.delete(upload);
+        deletePart(id);
+    }
+
+    // Discard uploads older than the configured lifetime
+    @Override
+    @Transactional
+    @Scheduled(cron = "0 0 * * * *")
+    public void purgeExpired() {
+        for (AssetUpload upload : assetUploadRepository.findByCreatedAtBefore(LocalDateTime.now().minus(ttl))) {
+            assetUploadRepository.delete(upload);
+            deletePart(upload.getId());
+        }
+    }
+
+    private AssetUpload findUpload(String id) {
+        return assetUploadRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found with id: " + id));
+    }
+
+    private Path partPath(String id) {
+        try {
+            // Only our own UUIDs name files
+            return assetRoot.resolve(UPLOAD_DIR).resolve(UUID.fromString(id) + ".part");
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Upload not found with id: " + id);
+        }
+    }
+
+    private void deletePart(String id) {
+        Path part = partPath(id);
+        try {
+            Files.deleteIfExists(part);
+            // Staging files left by chunks interrupted mid-way
+            if (Files.isDirectory(part.getParent())) {
+                try (DirectoryStream<Path> chunks = Files.newDirectoryStream(part.getParent(), id + ".*" + CHUNK_SUFFIX)) {
+                    for (Path chunk : chunks) {
+                        Files.deleteIfExists(chunk);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete upload file: " + id, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Removed with the upload at the latest
+            }
+        }
+    }
+
+    private static void restore(Path target, Path part) {
+        try {
+            Files.move(target, part, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not restore upload file: " + part, e);
+        }
+    }
+
+    // Helper to read the sha-256 entry of a Content-Digest header (RFC 9530: sha-256=:base64:)
+    static byte[] parseSha256(String contentDigest) {
+        if (contentDigest != null) {
+            for (String entry : contentDigest.split(",")) {
+                String trimmed = entry.trim();
+                int equals = trimmed.indexOf('=');
+                if (equals > 0 && trimmed.substring(0, equals).trim().equalsIgnoreCase("sha-256")) {
+                    String value = trimmed.substring(equals + 1).trim();
+                    if (value.length() > 2 && value.startsWith(":") && value.endsWith(":")) {
+                        try {
+                            byte[] digest = Base64.getDecoder().decode(value.substring(1, value.length() - 1));
+                            if (digest.length == 32) {
+                                return digest;
+                            }
+                        } catch (IllegalArgumentException e) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        throw new BadRequestException("A Content-Digest header with a sha-256 value is required");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Helper to map AssetUpload to AssetUploadResponseDTO
+    private AssetUploadResponseDTO toResponseDTO(AssetUpload upload) {
+        return AssetUploadResponseDTO.builder()
+                .id(upload.getId())
+                .name(upload.getName())
+                .fileName(upload.getFileName())
+                .totalSize(upload.getTotalSize())
+                .chunkSize(upload.getChunkSize())
+                .chunkCount(upload.getChunkCount())
+                .receivedChunks(upload.getReceivedChunks().stream().sorted().toList())
+                .complete(upload.getReceivedChunks().size() == upload.getChunkCount())
+                .expiresAt(upload.getCreatedAt().plus(ttl))
+                .build();
+    }
+
+    // Channel updating a digest with every byte read through it
+    private static final class DigestingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel source;
+        private final MessageDigest digest;
+
+        private DigestingChannel(ReadableByteChannel source, MessageDigest digest) {
+            this.source = source;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int read = source.read(dst);
+            if (read > 0) {
+                digest.update(dst.duplicate().flip().position(start));
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return source.isOpen();
+        }
+
+        // The request stream belongs to the container
+        @Override
+        public void close() {
+        }
+    }
+}
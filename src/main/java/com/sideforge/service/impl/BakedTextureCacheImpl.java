@@ -0,0 +1,259 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.service.interfaces.BakedTextureCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache of baked design textures keyed by content hash.
+ * ----------------------------------------------------------------
+ * - memory: PNG bytes, LRU within bakeCacheMaxBytes.
+ * - disk: {root}/.bakes/{first 2 hex chars}/{key}.png, LRU (file mtime,
+ *   touched on hits) within bakeCacheDiskMaxBytes; survives restarts.
+ * A key hashes everything a bake depends on, so designs with the same inputs
+ * share one entry and a stale entry can never be served. Concurrent misses
+ * on one key wait for a single bake. The cache also remembers which key each
+ * design was last served under: when a design changes or is deleted its old
+ * entry is dropped at once, unless another design still uses it.
+ */
+@Service
+public class BakedTextureCacheImpl implements BakedTextureCache {
+
+    static final String BAKE_DIR = ".bakes";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxDiskBytes;
+
+    // Access-ordered maps: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    // Key each design was last served under, and how many designs use each key
+    private final Map<Long, String> designKeys = new HashMap<>();
+    private final Map<String, Integer> keyUsers = new HashMap<>();
+
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BakedTextureCacheImpl(AssetStorageProperties properties) {
+        this.directory = properties.getRootPath().resolve(BAKE_DIR);
+        this.maxBytes = properties.getBakeCacheMaxBytes();
+        this.maxDiskBytes = properties.getBakeCacheDiskMaxBytes();
+        loadDiskIndex();
+    }
+
+    // PNG cached under a content key (memory, then disk); baked once on a miss, even when requested concurrently
+    @Override
+    public byte[] get(Long designId, String key, Supplier<byte[]> bake) {
+        bind(designId, key);
+        synchronized (memory) {
+            byte[] cached = memory.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            byte[] png = readDisk(key);
+            if (png == null) {
+                png = bake.get();
+                writeDisk(key, png);
+            }
+            putMemory(key, png);
+            created.complete(png);
+            return png;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    // Forget the bake last served for a design, dropping it unless another design shares it
+    @Override
+    public void invalidate(Long designId) {
+        String unused;
+        synchronized (designKeys) {
+            unused = release(designKeys.remove(designId));
+        }
+        drop(unused);
+    }
+
+    // Helper to record the key a design is served under, dropping its previous one if nothing else uses it
+    private void bind(Long designId, String key) {
+        String unused = null;
+        synchronized (designKeys) {
+            String previous = designKeys.put(designId, key);
+            if (!key.equals(previous)) {
+                keyUsers.merge(key, 1, Integer::sum);
+                unused = release(previous);
+            }
+        }
+        drop(unused);
+    }
+
+    // Helper to count one user less of a key; returns the key once unused (caller holds the lock)
+    private String release(String key) {
+        if (key == null) {
+            return null;
+        }
+        Integer users = keyUsers.merge(key, -1, Integer::sum);
+        if (users != null && users <= 0) {
+            keyUsers.remove(key);
+            return key;
+        }
+        return null;
+    }
+
+    private void drop(String key) {
+        if (key == null) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.length;
+            }
+        }
+        synchronized (disk) {
+            Long size = disk.remove(key);
+            if (size != null) {
+                diskBytes -= size;
+                delete(key);
+            }
+        }
+    }
+
+    private void putMemory(String key, byte[] png) {
+        if (png.length > maxBytes) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(key, png);
+            memoryBytes += png.length - (previous != null ? previous.length : 0);
+            Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+            while (memoryBytes > maxBytes && it.hasNext()) {
+                memoryBytes -= it.next().getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    // Helper to read a cached file; a file evicted meanwhile is a miss
+    private byte[] readDisk(String key) {
+        synchronized (disk) {
+            if (disk.get(key) == null) {
+                return null;
+            }
+        }
+        Path path = path(key);
+        try {
+            byte[] png = Files.readAllBytes(path);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return png;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read baked texture: " + path, e);
+        }
+    }
+
+    // Helper to store a file atomically (readers never see a partial file) and evict over the budget
+    private void writeDisk(String key, byte[] png) {
+        if (png.length > maxDiskBytes) {
+            return;
+        }
+        Path path = path(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(key + ".tmp");
+            Files.write(tmp, png);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store baked texture: " + path, e);
+        }
+        synchronized (disk) {
+            Long previous = disk.put(key, (long) png.length);
+            diskBytes += png.length - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                diskBytes -= eldest.getValue();
+                it.remove();
+                delete(eldest.getKey());
+            }
+        }
+    }
+
+    // Helper to index files left by earlier runs, least recently used first
+    private void loadDiskIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        record CachedFile(String key, long size, long lastModified) {
+        }
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (name.matches("[0-9a-f]{64}\\.png")) {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new CachedFile(name.substring(0, 64), attributes.size(),
+                            attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index baked textures: " + directory, e);
+        }
+        files.sort(Comparator.comparingLong(CachedFile::lastModified));
+        for (CachedFile file : files) {
+            disk.put(file.key(), file.size());
+            diskBytes += file.size();
+        }
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".png");
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(path(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete baked texture: " + key, e);
+        }
+    }
+
+    // Helper to wait for a bake running in another request, rethrowing its failure as is
+    private static byte[] await(CompletableFuture<byte[]> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
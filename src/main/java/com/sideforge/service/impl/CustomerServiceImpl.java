@@ -1,27 +1,34 @@
 package com.sideforge.service.impl;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.customer.*;
 import com.sideforge.enums.Role;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.Customer;
 import com.sideforge.repository.CustomerRepository;
 import com.sideforge.service.interfaces.CustomerService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.EntityStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final EntityStreamer entityStreamer;
 
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, EntityStreamer entityStreamer) {
         this.customerRepository = customerRepository;
+        this.entityStreamer = entityStreamer;
     }
 
     // Create a new customer from the provided DTO.
@@ -60,12 +67,20 @@ public class CustomerServiceImpl implements CustomerService {
                 .collect(Collectors.toList());
     }
 
+    // Hand every customer to the sink in id order, reading through a cursor (for streamed listings)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<CustomerResponseDTO> sink) {
+        entityStreamer.forEach(customerRepository.streamAll(), CustomerServiceImpl::toResponseDTO, sink);
+    }
+
     // Update a customer by their unique ID with the provided data.
     @Override
     @Transactional
-    public CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO) {
+    public CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO, Long expectedVersion) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, customer.getVersion());
         customer.setUsername(customerUpdateDTO.getUsername());
         customer.setEmail(customerUpdateDTO.getEmail());
         // Only update password if provided (empty or null = ignore)
@@ -81,6 +96,7 @@ public class CustomerServiceImpl implements CustomerService {
         // lastLogin should be managed by login logic, not update here
 
         Customer saved = customerRepository.save(customer);
+        customerRepository.flush();
         return toResponseDTO(saved);
     }
 
@@ -100,6 +116,13 @@ public class CustomerServiceImpl implements CustomerService {
                 .map(CustomerServiceImpl::toResponseDTO);
     }
 
+    // Keyset scroll of customers (cursor pagination, count only on request)
+    @Override
+    public CursorPageDTO<CustomerResponseDTO> scrollCustomers(ScrollRequest request) {
+        return request.toPage(customerRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                CustomerServiceImpl::toResponseDTO, customerRepository::count);
+    }
+
     // Helper method to map Customer to CustomerResponseDTO
     private static CustomerResponseDTO toResponseDTO(Customer customer) {
         if (customer == null) {
@@ -110,6 +133,8 @@ public class CustomerServiceImpl implements CustomerService {
                 .username(customer.getUsername())
                 .email(customer.getEmail())
                 .role(customer.getRole())
+                .version(customer.getVersion())
+                .lastModified(customer.getLastModified())
                 .profileImageUrl(customer.getProfileImageUrl())
                 .preferredLanguage(customer.getPreferredLanguage())
                 .isVerified(customer.getIsVerified())
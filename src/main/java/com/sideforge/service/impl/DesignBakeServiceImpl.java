@@ -0,0 +1,301 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.design.BakedTextureDTO;
+import com.sideforge.enums.Part;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.BakedTextureCache;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.util.AssetPaths;
+import com.sideforge.util.bake.*;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.parts.PartConfig;
+import com.sideforge.util.parts.PartsConfig;
+import com.sideforge.util.parts.UvRect;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bakes the final UV texture of a design.
+ * ----------------------------------------------------------------
+ * Layers, bottom to top:
+ * - the design texture (textureMapUrl under the asset root), scaled down to
+ *   bakeMaxSize if larger; without one, a transparent bakeDefaultSize square.
+ * - a fill of each part color over the part's UV region from the asset parts
+ *   config (parts without a region are not on the texture and are skipped).
+ * - the logo image, then the text, centered at x, y (0..1, default 0.5) of
+ *   their part's region (the whole texture without a part) and rotated
+ *   clockwise by rotation degrees. The logo is drawn at scale (default 1) times
+ *   its own size, text at size texture pixels (default 32), both measured on
+ *   the unscaled design texture.
+ * Materials do not change the texture. Compositing runs tile by tile on a
+ * dedicated fork-join pool (bakeThreads) so bakes do not starve other work.
+ * Bakes are cached under a SHA-256 of their inputs (BakeInputs, the asset
+ * version, the size and mtime of the texture and logo files, bake settings).
+ */
+@Service
+public class DesignBakeServiceImpl implements DesignBakeService {
+
+    private static final float DEFAULT_TEXT_SIZE = 32f;
+    // Bumped whenever the bake output for the same inputs changes
+    private static final int KEY_FORMAT = 1;
+
+    private final DesignRepository designRepository;
+    private final AssetPartsService assetPartsService;
+    private final BakedTextureCache bakedTextureCache;
+    private final Path assetRoot;
+    private final int maxSize;
+    private final int defaultSize;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public DesignBakeServiceImpl(DesignRepository designRepository, AssetPartsService assetPartsService,
+                                 BakedTextureCache bakedTextureCache, AssetStorageProperties properties) {
+        this.designRepository = designRepository;
+        this.assetPartsService = assetPartsService;
+        this.bakedTextureCache = bakedTextureCache;
+        this.assetRoot = properties.getRootPath();
+        this.maxSize = properties.getBakeMaxSize();
+        this.defaultSize = Math.min(properties.getBakeDefaultSize(), maxSize);
+        this.pool = new ForkJoinPool(properties.getBakeThreads() > 0
+                ? properties.getBakeThreads() : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Not transactional: the design is read up front and no connection is held while pixels are composited
+    @Override
+    public BakedTextureDTO getBakedTexture(Long designId) {
+        Design design = designRepository.findById(designId)
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + designId));
+        BakeInputs inputs = BakeInputs.of(design);
+        PartsConfig parts = assetPartsService.getPartsConfig(design.getAsset());
+        String key = cacheKey(inputs, design.getAsset() != null ? design.getAsset().getVersion() : null);
+        byte[] png = bakedTextureCache.get(designId, key, () -> bake(inputs, parts));
+        return BakedTextureDTO.builder()
+                .designId(designId)
+                .png(png)
+                .etag("\"" + key + "\"")
+                .build();
+    }
+
+    // Drop the cached bake of a design once the change to it has committed
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBakeInputsChanged(DesignBakeInputsChangedEvent event) {
+        bakedTextureCache.invalidate(event.designId());
+    }
+
+    private byte[] bake(BakeInputs inputs, PartsConfig parts) {
+        List<Layer> layers = new ArrayList<>();
+        int width = defaultSize;
+        int height = defaultSize;
+        double scale = 1;
+        if (inputs.textureMapUrl() != null) {
+            PixelBuffer base = readImage(inputs.textureMapUrl(), "Texture");
+            scale = Math.min(1, (double) maxSize / Math.max(base.width(), base.height()));
+            width = Math.max(1, (int) Math.round(base.width() * scale));
+            height = Math.max(1, (int) Math.round(base.height() * scale));
+            layers.add(new ImageLayer(base, AffineTransform.getScaleInstance(
+                    (double) width / base.width(), (double) height / base.height()), true));
+        }
+
+        for (Map.Entry<Part, Integer> color : inputs.partsColors().entrySet()) {
+            PartConfig part = parts.get(color.getKey());
+            if (part != null && part.uv() != null) {
+                int value = color.getValue();
+                layers.add(new FillLayer(region(part.uv(), width, height).getBounds(),
+                        PixelBuffer.premultiply((value >>> 8) | (value << 24))));
+            }
+        }
+
+        DesignConfig.Placement logo = inputs.logo();
+        if (logo != null && logo.content() != null && !logo.content().isBlank()) {
+            PixelBuffer image = readImage(logo.content(), "Logo");
+            double size = scale * (logo.size() != null ? logo.size() : 1f);
+            layers.add(new ImageLayer(image, placement(logo, parts, width, height, image, size, size), false));
+        }
+
+        DesignConfig.Placement text = inputs.text();
+        if (text != null && text.content() != null && !text.content().isBlank()) {
+            float pixelSize = (float) (scale * (text.size() != null ? text.size() : DEFAULT_TEXT_SIZE));
+            if (!(pixelSize > 0) || pixelSize > maxSize) {
+                throw new BadRequestException("Text size must be positive and at most " + maxSize + " pixels");
+            }
+            int color = text.color() != null ? text.color().argb() : 0xff000000;
+            PixelBuffer image = TextRasterizer.rasterize(text.content(), text.font(), pixelSize, color, 3 * maxSize);
+            layers.add(new ImageLayer(image, placement(text, parts, width, height, image, 1, 1), false));
+        }
+
+        PixelBuffer baked = TextureCompositor.composite(width, height, layers, pool);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try {
+            PngWriter.write(baked, png);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return png.toByteArray();
+    }
+
+    // Helper to hash every input of a bake in a fixed order (hex SHA-256)
+    private String cacheKey(BakeInputs inputs, Long assetVersion) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            out.writeInt(KEY_FORMAT);
+            out.writeInt(maxSize);
+            out.writeInt(defaultSize);
+            out.writeLong(inputs.assetId() != null ? inputs.assetId() : -1);
+            out.writeLong(assetVersion != null ? assetVersion : -1);
+            writeFile(out, inputs.textureMapUrl());
+            out.writeInt(inputs.partsColors().size());
+            for (Map.Entry<Part, Integer> color : inputs.partsColors().entrySet()) {
+                out.writeUTF(color.getKey().name());
+                out.writeInt(color.getValue());
+            }
+            writePlacement(out, inputs.logo());
+            writeFile(out, inputs.logo() != null ? inputs.logo().content() : null);
+            writePlacement(out, inputs.text());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Helper to hash a file reference with its size and mtime, so replacing the file changes the key
+    private void writeFile(DataOutputStream out, String url) throws IOException {
+        writeString(out, url);
+        if (url == null || url.isBlank() || isRemote(url)) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(AssetPaths.resolve(assetRoot, url), BasicFileAttributes.class);
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            out.writeLong(-1);
+        }
+    }
+
+    private static void writePlacement(DataOutputStream out, DesignConfig.Placement placement) throws IOException {
+        out.writeBoolean(placement != null);
+        if (placement == null) {
+            return;
+        }
+        writeString(out, placement.content());
+        writeString(out, placement.font());
+        writeString(out, placement.part() != null ? placement.part().name() : null);
+        out.writeBoolean(placement.color() != null);
+        if (placement.color() != null) {
+            out.writeInt(placement.color().value());
+        }
+        for (Float value : new Float[]{placement.x(), placement.y(), placement.size(), placement.rotation()}) {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeFloat(value);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    // Helper to map an image centered on its placement: scale, rotate, then move to x, y of the part region
+    private static AffineTransform placement(DesignConfig.Placement placement, PartsConfig parts, int width, int height,
+                                             PixelBuffer image, double scaleX, double scaleY) {
+        Rectangle2D area = new Rectangle2D.Double(0, 0, width, height);
+        if (placement.part() != null) {
+            PartConfig part = parts.get(placement.part());
+            if (part != null && part.uv() != null) {
+                area = region(part.uv(), width, height);
+            }
+        }
+        double x = placement.x() != null ? placement.x() : 0.5;
+        double y = placement.y() != null ? placement.y() : 0.5;
+        AffineTransform transform = AffineTransform.getTranslateInstance(
+                area.getX() + x * area.getWidth(), area.getY() + y * area.getHeight());
+        if (placement.rotation() != null) {
+            transform.rotate(Math.toRadians(placement.rotation()));
+        }
+        if (!(scaleX > 0) || !(scaleY > 0)) {
+            throw new BadRequestException("Placement scale must be positive");
+        }
+        transform.scale(scaleX, scaleY);
+        transform.translate(-image.width() / 2.0, -image.height() / 2.0);
+        return transform;
+    }
+
+    private static Rectangle2D region(UvRect uv, int width, int height) {
+        return new Rectangle2D.Double(uv.u0() * width, uv.v0() * height,
+                (uv.u1() - uv.u0()) * width, (uv.v1() - uv.v0()) * height);
+    }
+
+    // Decode an image stored under the asset root; remote or missing files cannot be baked
+    private PixelBuffer readImage(String url, String what) {
+        if (isRemote(url)) {
+            throw new ResourceNotFoundException(what + " is not stored under the asset root: " + url);
+        }
+        Path path = AssetPaths.resolve(assetRoot, url);
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException(what + " file not found: " + url);
+        }
+        BufferedImage image;
+        try {
+            image = ImageIO.read(path.toFile());
+        } catch (IOException e) {
+            throw new BadRequestException(what + " is not a readable image: " + url);
+        }
+        if (image == null) {
+            throw new BadRequestException(what + " is not a readable image: " + url);
+        }
+        if ((long) image.getWidth() * image.getHeight() > 4L * maxSize * maxSize) {
+            throw new BadRequestException(what + " is larger than " + 2 * maxSize + "x" + 2 * maxSize + " pixels: " + url);
+        }
+        return PixelBuffer.of(image);
+    }
+
+    private static boolean isRemote(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://");
+    }
+}
@@ -0,0 +1,92 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.design.BakedTextureDTO;
+import com.sideforge.dto.design.DesignGlbExportDTO;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.service.interfaces.DesignExportService;
+import com.sideforge.util.bake.BakeInputs;
+import com.sideforge.util.glb.GlbAppender;
+import com.sideforge.util.glb.GlbCustomizer;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbFormatException;
+import com.sideforge.util.parts.PartsConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Exports a design as one GLB instead of the model, parts config, design and
+ * baked texture fetched separately. Only the glTF JSON is rewritten and the
+ * baked PNG appended (see GlbAppender and GlbCustomizer); the mesh data is
+ * streamed from the asset's model file when the response is written.
+ */
+@Service
+public class DesignExportServiceImpl implements DesignExportService {
+
+    private final DesignRepository designRepository;
+    private final AssetModelService assetModelService;
+    private final AssetPartsService assetPartsService;
+    private final DesignBakeService designBakeService;
+
+    @Autowired
+    public DesignExportServiceImpl(DesignRepository designRepository, AssetModelService assetModelService,
+                                   AssetPartsService assetPartsService, DesignBakeService designBakeService) {
+        this.designRepository = designRepository;
+        this.assetModelService = assetModelService;
+        this.assetPartsService = assetPartsService;
+        this.designBakeService = designBakeService;
+    }
+
+    // Self-contained GLB of a design: the asset model with the design's materials, colors and baked texture
+    @Override
+    public DesignGlbExportDTO exportGlb(Long designId) {
+        Design design = designRepository.findById(designId)
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + designId));
+        Asset asset = design.getAsset();
+        Path path = assetModelService.resolvePath(asset);
+        BasicFileAttributes attributes;
+        GlbFile source;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            source = GlbFile.read(path);
+        } catch (GlbFormatException e) {
+            throw new BadRequestException("Invalid GLB file for asset " + asset.getName() + ": " + e.getMessage());
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Model file not found for asset id: " + asset.getId());
+        }
+
+        PartsConfig parts = assetPartsService.getPartsConfig(asset);
+        // An empty bake would only hide the model's own textures
+        BakedTextureDTO baked = BakeInputs.of(design).hasContent(parts)
+                ? designBakeService.getBakedTexture(designId) : null;
+        GlbAppender glb = new GlbAppender(source);
+        GlbCustomizer.apply(glb, design.getConfig(), parts, baked != null ? baked.getPng() : null);
+
+        String etag = design.getVersion() + "-" + asset.getVersion()
+                + "-" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis())
+                + (baked != null ? "-" + baked.getEtag().replace("\"", "") : "");
+        try {
+            return DesignGlbExportDTO.builder()
+                    .designId(designId)
+                    .modelPath(path)
+                    .glb(glb)
+                    .contentLength(glb.getLength())
+                    .etag("\"" + etag + "\"")
+                    .build();
+        } catch (GlbFormatException e) {
+            throw new BadRequestException("Design " + designId + " cannot be exported: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.design.DesignRevisionDTO;
+import com.sideforge.dto.design.DesignRevisionDiffDTO;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.model.DesignRevision;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.repository.DesignRevisionRepository;
+import com.sideforge.service.interfaces.DesignRevisionService;
+import com.sideforge.util.patch.JsonPatches;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Design history stored as deltas with periodic snapshots.
+ * ----------------------------------------------------------------
+ * Every saved change appends a revision holding the JSON Patch (RFC 6902) from
+ * the previous revision; revisions 1, 1 + SNAPSHOT_INTERVAL, ... hold the whole
+ * document instead. A JSON Patch rather than a Merge Patch, because the
+ * sections keep explicit nulls that a merge patch would replay as removals.
+ * A revision is rebuilt from the nearest snapshot at or before it plus at
+ * most SNAPSHOT_INTERVAL - 1 deltas, read with two indexed queries on
+ * (design_id, revision). Designs saved before they had any history get their
+ * previous state recorded as revision 1 on their first change.
+ */
+@Service
+public class DesignRevisionServiceImpl implements DesignRevisionService {
+
+    static final int SNAPSHOT_INTERVAL = 20;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DesignRevisionRepository designRevisionRepository;
+    private final DesignRepository designRepository;
+
+    @Autowired
+    public DesignRevisionServiceImpl(DesignRevisionRepository designRevisionRepository,
+                                     DesignRepository designRepository) {
+        this.designRevisionRepository = designRevisionRepository;
+        this.designRepository = designRepository;
+    }
+
+    // Append a revision for a saved design (before: its document before the change, null when just created)
+    @Override
+    @Transactional
+    public void recordRevision(Design design, JsonNode before, JsonNode after) {
+        if (before == null) {
+            append(design, 0, after, null, design.getVersion());
+            return;
+        }
+        Optional<DesignRevision> latest = designRevisionRepository.findFirstByDesign_IdOrderByRevisionDesc(design.getId());
+        int revision = latest.map(DesignRevision::getRevision).orElse(0);
+        if (latest.isEmpty()) {
+            revision = append(design, revision, before, null, null);
+        }
+        JsonNode delta = JsonPatches.diffOperations(before, after);
+        if (!delta.isEmpty()) {
+            append(design, revision, after, delta, design.getVersion());
+        }
+    }
+
+    // Revisions of a design without their documents
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DesignRevisionDTO> getRevisions(Long designId, Pageable pageable) {
+        requireDesign(designId);
+        return designRevisionRepository.findByDesign_Id(designId, pageable)
+                .map(revision -> toDTO(designId, revision, null));
+    }
+
+    // A design as it was at a revision
+    @Override
+    @Transactional(readOnly = true)
+    public DesignRevisionDTO getRevision(Long designId, int revision) {
+        requireDesign(designId);
+        List<DesignRevision> chain = chain(designId, revision);
+        return toDTO(designId, chain.get(chain.size() - 1), rebuild(chain));
+    }
+
+    // JSON Patch turning one revision of a design into another
+    @Override
+    @Transactional(readOnly = true)
+    public DesignRevisionDiffDTO diffRevisions(Long designId, int from, int to) {
+        requireDesign(designId);
+        return DesignRevisionDiffDTO.builder()
+                .designId(designId)
+                .from(from)
+                .to(to)
+                .changes(JsonPatches.diffOperations(rebuild(chain(designId, from)), rebuild(chain(designId, to))))
+                .build();
+    }
+
+    // Delete the history of a design
+    @Override
+    @Transactional
+    public void deleteRevisions(Long designId) {
+        designRevisionRepository.deleteByDesign_Id(designId);
+    }
+
+    // Helper to store the next revision: a snapshot every SNAPSHOT_INTERVAL revisions (or without a delta), else the delta
+    private int append(Design design, int previous, JsonNode document, JsonNode delta, Long designVersion) {
+        int revision = previous + 1;
+        boolean snapshot = delta == null || (revision - 1) % SNAPSHOT_INTERVAL == 0;
+        designRevisionRepository.save(DesignRevision.builder()
+                .design(design)
+                .revision(revision)
+                .snapshot(snapshot)
+                .content((snapshot ? document : delta).toString())
+                .designVersion(designVersion)
+                .build());
+        return revision;
+    }
+
+    // Helper to load the nearest snapshot at or before a revision and the deltas up to it
+    private List<DesignRevision> chain(Long designId, int revision) {
+        DesignRevision snapshot = designRevisionRepository
+                .findFirstByDesign_IdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(designId, revision)
+                .orElseThrow(() -> revisionNotFound(designId, revision));
+        List<DesignRevision> chain = designRevisionRepository
+                .findByDesign_IdAndRevisionBetweenOrderByRevisionAsc(designId, snapshot.getRevision(), revision);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            throw revisionNotFound(designId, revision);
+        }
+        return chain;
+    }
+
+    private static JsonNode rebuild(List<DesignRevision> chain) {
+        JsonNode document = parse(chain.get(0).getContent());
+        for (DesignRevision delta : chain.subList(1, chain.size())) {
+            document = JsonPatches.apply(document, parse(delta.getContent()));
+        }
+        return document;
+    }
+
+    private void requireDesign(Long designId) {
+        if (!designRepository.existsById(designId)) {
+            throw new ResourceNotFoundException("Design not found with id: " + designId);
+        }
+    }
+
+    private static ResourceNotFoundException revisionNotFound(Long designId, int revision) {
+        return new ResourceNotFoundException("Revision " + revision + " not found for design id: " + designId);
+    }
+
+    private static JsonNode parse(String content) {
+        try {
+            return MAPPER.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt design revision content", e);
+        }
+    }
+
+    private static DesignRevisionDTO toDTO(Long designId, DesignRevision revision, JsonNode document) {
+        return DesignRevisionDTO.builder()
+                .designId(designId)
+                .revision(revision.getRevision())
+                .designVersion(revision.getDesignVersion())
+                .snapshot(revision.isSnapshot())
+                .createdAt(revision.getCreatedAt())
+                .document(document)
+                .build();
+    }
+}
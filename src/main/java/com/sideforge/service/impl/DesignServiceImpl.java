@@ -1,52 +1,85 @@
 package com.sideforge.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.design.*;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.DesignTextureChangedEvent;
+import com.sideforge.exception.BadRequestException;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.*;
 import com.sideforge.repository.*;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignRevisionService;
 import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.bake.BakeInputs;
+import com.sideforge.util.bulk.BulkInserter;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
+import com.sideforge.util.stream.EntityStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class DesignServiceImpl implements DesignService {
 
+    private static final Set<String> PATCH_FIELDS =
+            Set.of("name", "textureMapUrl", "materials", "partsColors", "logoConfig", "textConfig");
+
     private final DesignRepository designRepository;
     private final AssetRepository assetRepository;
     private final CustomerRepository customerRepository; // <-- NUEVO
+    private final AssetPartsService assetPartsService;
+    private final DesignRevisionService designRevisionService;
+    private final BulkInserter bulkInserter;
+    private final EntityStreamer entityStreamer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public DesignServiceImpl(DesignRepository designRepository, AssetRepository assetRepository, CustomerRepository customerRepository) {
+    public DesignServiceImpl(DesignRepository designRepository, AssetRepository assetRepository,
+                             CustomerRepository customerRepository, AssetPartsService assetPartsService,
+                             DesignRevisionService designRevisionService, BulkInserter bulkInserter,
+                             EntityStreamer entityStreamer, ApplicationEventPublisher eventPublisher) {
         this.designRepository = designRepository;
         this.assetRepository = assetRepository;
         this.customerRepository = customerRepository;
+        this.assetPartsService = assetPartsService;
+        this.designRevisionService = designRevisionService;
+        this.bulkInserter = bulkInserter;
+        this.entityStreamer = entityStreamer;
+        this.eventPublisher = eventPublisher;
     }
 
     // Create a new design
     @Override
     @Transactional
     public DesignResponseDTO createDesign(DesignRequestDTO dto) {
-        Asset asset = assetRepository.findById(dto.getAssetId())
-                .orElseThrow(() -> new ResourceNotFoundException("Asset not found: " + dto.getAssetId()));
-        Customer owner = customerRepository.findById(dto.getOwnerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Owner not found: " + dto.getOwnerId()));
-        Design design = Design.builder()
-                .name(dto.getName())
-                .textureMapUrl(dto.getTextureMapUrl())
-                .materialsJson(dto.getMaterialsJson())
-                .partsColorsJson(dto.getPartsColorsJson())
-                .logoConfigJson(dto.getLogoConfigJson())
-                .textConfigJson(dto.getTextConfigJson())
-                .asset(asset)
-                .owner(owner)   // <-- ASIGNACIÓN CLAVE
-                .build();
-        Design saved = designRepository.save(design);
-        return toResponseDTO(saved);
+        return toResponseDTO(insert(dto));
+    }
+
+    // Create many designs in batched chunks, reporting each item's outcome
+    @Override
+    public BulkResultDTO createDesigns(List<DesignRequestDTO> dtos) {
+        return bulkInserter.insert(dtos, chunk -> {
+            // Loads each chunk's assets and owners in two queries; the lookups below then hit the session
+            assetRepository.findAllById(BulkInserter.referencedIds(chunk, DesignRequestDTO::getAssetId));
+            customerRepository.findAllById(BulkInserter.referencedIds(chunk, DesignRequestDTO::getOwnerId));
+        }, dto -> insert(dto).getId());
     }
 
     // Get design by ID
@@ -65,37 +98,120 @@ public class DesignServiceImpl implements DesignService {
                 .collect(Collectors.toList());
     }
 
+    // Hand every design to the sink in id order, reading through a cursor (for streamed listings)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllDesigns(Consumer<DesignResponseDTO> sink) {
+        entityStreamer.forEach(designRepository.streamAll(), DesignServiceImpl::toResponseDTO, sink);
+    }
+
     // Update design by ID
     @Override
     @Transactional
-    public DesignResponseDTO updateDesign(Long id, DesignUpdateDTO dto) {
+    public DesignResponseDTO updateDesign(Long id, DesignUpdateDTO dto, Long expectedVersion) {
         Design design = designRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, design.getVersion());
+        ObjectNode before = toPatchDocument(design);
+        BakeInputs bakeInputs = BakeInputs.of(design);
+        DesignConfig config = design.getConfig();
 
         if (dto.getName() != null) design.setName(dto.getName());
         if (dto.getTextureMapUrl() != null) design.setTextureMapUrl(dto.getTextureMapUrl());
-        if (dto.getMaterialsJson() != null) design.setMaterialsJson(dto.getMaterialsJson());
-        if (dto.getPartsColorsJson() != null) design.setPartsColorsJson(dto.getPartsColorsJson());
-        if (dto.getLogoConfigJson() != null) design.setLogoConfigJson(dto.getLogoConfigJson());
-        if (dto.getTextConfigJson() != null) design.setTextConfigJson(dto.getTextConfigJson());
+        design.setConfig(design.getConfig().with(dto.getMaterialsJson(), dto.getPartsColorsJson(),
+                dto.getLogoConfigJson(), dto.getTextConfigJson()));
         if (dto.getAssetId() != null) {
             Asset asset = assetRepository.findById(dto.getAssetId())
                     .orElseThrow(() -> new ResourceNotFoundException("Asset not found: " + dto.getAssetId()));
             design.setAsset(asset);
         }
+        if (dto.getMaterialsJson() != null || dto.getPartsColorsJson() != null || dto.getLogoConfigJson() != null
+                || dto.getTextConfigJson() != null || dto.getAssetId() != null) {
+            assetPartsService.validateDesign(design.getAsset(), design.getConfig());
+        }
         Design saved = designRepository.save(design);
+        designRepository.flush();
+        designRevisionService.recordRevision(saved, before, toPatchDocument(saved));
+        if (dto.getTextureMapUrl() != null) {
+            publishTextureChanged(saved);
+        }
+        publishBakeInputsChanged(bakeInputs, saved);
+        publishConfigChanged(config, saved);
         return toResponseDTO(saved);
     }
 
+    // Patch a design as {name, textureMapUrl, materials, partsColors, logoConfig, textConfig}
+    @Override
+    @Transactional
+    public PatchResultDTO patchDesign(Long id, PatchFormat format, JsonNode patch, Long expectedVersion) {
+        Design design = designRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, design.getVersion());
+
+        ObjectNode before = toPatchDocument(design);
+        BakeInputs bakeInputs = BakeInputs.of(design);
+        DesignConfig config = design.getConfig();
+        ObjectNode patched = JsonPatches.requireFields(format.apply(before, patch), PATCH_FIELDS);
+        ObjectNode changes = JsonPatches.diff(before, patched);
+        if (changes.isEmpty()) {
+            return toPatchResult(design, changes);
+        }
+        if (changes.has("name")) {
+            JsonNode name = patched.path("name");
+            if (!name.isTextual() || name.asText().isBlank()) {
+                throw new BadRequestException("Design name is required");
+            }
+            design.setName(name.asText());
+        }
+        if (changes.has("textureMapUrl")) design.setTextureMapUrl(JsonPatches.toJson(patched.get("textureMapUrl")));
+        if (changes.has("materials") || changes.has("partsColors") || changes.has("logoConfig") || changes.has("textConfig")) {
+            design.setConfig(DesignConfig.of(JsonPatches.toJson(patched.get("materials")),
+                    JsonPatches.toJson(patched.get("partsColors")), JsonPatches.toJson(patched.get("logoConfig")),
+                    JsonPatches.toJson(patched.get("textConfig"))));
+            assetPartsService.validateDesign(design.getAsset(), design.getConfig());
+        }
+        Design saved = designRepository.save(design);
+        designRepository.flush();
+        designRevisionService.recordRevision(saved, before, toPatchDocument(saved));
+        if (changes.has("textureMapUrl")) {
+            publishTextureChanged(saved);
+        }
+        publishBakeInputsChanged(bakeInputs, saved);
+        publishConfigChanged(config, saved);
+        // Changes as stored: the typed config normalizes keys and colors
+        return toPatchResult(saved, JsonPatches.diff(before, toPatchDocument(saved)));
+    }
+
+    // Roll a design back to a revision; recorded as a new revision like any other change
+    @Override
+    @Transactional
+    public PatchResultDTO restoreRevision(Long id, int revision, Long expectedVersion) {
+        Design design = designRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + id));
+        JsonNode target = designRevisionService.getRevision(id, revision).getDocument();
+        // JSON Patch, not a merge patch: explicit nulls in the revision's sections come back as values, not removals
+        return patchDesign(id, PatchFormat.JSON_PATCH, JsonPatches.diffOperations(toPatchDocument(design), target), expectedVersion);
+    }
+
     // Delete design by ID
     @Override
     @Transactional
     public void deleteDesign(Long id) {
         Design design = designRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + id));
+        prepareCascadeDelete(id);
         designRepository.delete(design);
     }
 
+    // Drop the revisions of a design its scene is about to remove by cascade (they reference it), and announce the deletion
+    @Override
+    @Transactional
+    public void prepareCascadeDelete(Long id) {
+        designRevisionService.deleteRevisions(id);
+        eventPublisher.publishEvent(new DesignBakeInputsChangedEvent(id));
+        eventPublisher.publishEvent(DesignConfigChangedEvent.deleted(id));
+    }
+
     // Get design by assetId (1:1)
     @Override
     public DesignResponseDTO getDesignByAssetId(Long assetId) {
@@ -118,18 +234,108 @@ public class DesignServiceImpl implements DesignService {
                 .map(DesignServiceImpl::toResponseDTO);
     }
 
+    // Paginated design summaries, read without the config column or the asset row
+    @Override
+    public Page<DesignSummaryDTO> getDesignSummaries(Pageable pageable) {
+        return designRepository.findSummaries(pageable);
+    }
+
+    // Keyset scroll: designs by assetIds
+    @Override
+    public CursorPageDTO<DesignResponseDTO> scrollDesignsByAssetIds(List<Long> assetIds, ScrollRequest request) {
+        return request.toPage(
+                designRepository.findAllByAsset_IdIn(assetIds, request.position(), request.sort(), request.limit()),
+                DesignServiceImpl::toResponseDTO, () -> designRepository.countByAsset_IdIn(assetIds));
+    }
+
+    // Keyset scroll: all designs
+    @Override
+    public CursorPageDTO<DesignResponseDTO> scrollDesigns(ScrollRequest request) {
+        return request.toPage(designRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                DesignServiceImpl::toResponseDTO, designRepository::count);
+    }
+
+    // Helper to let listeners precompress the texture of a saved design after commit
+    private void publishTextureChanged(Design design) {
+        if (design.getTextureMapUrl() != null) {
+            eventPublisher.publishEvent(new DesignTextureChangedEvent(design.getId(), design.getTextureMapUrl()));
+        }
+    }
+
+    // Helper to drop the cached bake of a saved design after commit, only if something it is baked from changed
+    private void publishBakeInputsChanged(BakeInputs before, Design design) {
+        if (!before.equals(BakeInputs.of(design))) {
+            eventPublisher.publishEvent(new DesignBakeInputsChangedEvent(design.getId()));
+        }
+    }
+
+    // Helper to re-index a saved design for similarity lookups after commit, only if its configuration changed
+    private void publishConfigChanged(DesignConfig before, Design design) {
+        if (!before.equals(design.getConfig())) {
+            eventPublisher.publishEvent(DesignConfigChangedEvent.saved(design.getId(), design.getConfig()));
+        }
+    }
+
+    // Helper to build the document design patches apply to (absent fields are left out)
+    private static ObjectNode toPatchDocument(Design design) {
+        ObjectNode document = JsonNodeFactory.instance.objectNode();
+        DesignConfig config = design.getConfig();
+        if (design.getName() != null) document.put("name", design.getName());
+        if (design.getTextureMapUrl() != null) document.put("textureMapUrl", design.getTextureMapUrl());
+        if (config.getMaterialsJson() != null) document.set("materials", JsonPatches.toNode(config.getMaterialsJson()));
+        if (config.getPartsColorsJson() != null) document.set("partsColors", JsonPatches.toNode(config.getPartsColorsJson()));
+        if (config.getLogoConfigJson() != null) document.set("logoConfig", JsonPatches.toNode(config.getLogoConfigJson()));
+        if (config.getTextConfigJson() != null) document.set("textConfig", JsonPatches.toNode(config.getTextConfigJson()));
+        return document;
+    }
+
+    // Helper to report the new version of a patched design and what the patch changed
+    private static PatchResultDTO toPatchResult(Design design, ObjectNode changes) {
+        return PatchResultDTO.builder()
+                .id(design.getId())
+                .version(design.getVersion())
+                .lastModified(design.getLastModified())
+                .changes(changes)
+                .build();
+    }
+
+    // Helper to store one design with its first revision
+    private Design insert(DesignRequestDTO dto) {
+        Asset asset = assetRepository.findById(dto.getAssetId())
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found: " + dto.getAssetId()));
+        Customer owner = customerRepository.findById(dto.getOwnerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Owner not found: " + dto.getOwnerId()));
+        DesignConfig config = DesignConfig.of(dto.getMaterialsJson(), dto.getPartsColorsJson(),
+                dto.getLogoConfigJson(), dto.getTextConfigJson());
+        assetPartsService.validateDesign(asset, config);
+        Design design = Design.builder()
+                .name(dto.getName())
+                .textureMapUrl(dto.getTextureMapUrl())
+                .config(config)
+                .asset(asset)
+                .owner(owner)   // <-- ASIGNACIÓN CLAVE
+                .build();
+        Design saved = designRepository.save(design);
+        designRevisionService.recordRevision(saved, null, toPatchDocument(saved));
+        publishTextureChanged(saved);
+        eventPublisher.publishEvent(DesignConfigChangedEvent.saved(saved.getId(), saved.getConfig()));
+        return saved;
+    }
+
     // Helper to map Design to DesignResponseDTO
-    private static DesignResponseDTO toResponseDTO(Design design) {
+    static DesignResponseDTO toResponseDTO(Design design) {
         if (design == null)
             return null;
         return DesignResponseDTO.builder()
                 .id(design.getId())
                 .name(design.getName())
                 .textureMapUrl(design.getTextureMapUrl())
-                .materialsJson(design.getMaterialsJson())
-                .partsColorsJson(design.getPartsColorsJson())
-                .logoConfigJson(design.getLogoConfigJson())
-                .textConfigJson(design.getTextConfigJson())
+                .materialsJson(design.getConfig().getMaterialsJson())
+                .partsColorsJson(design.getConfig().getPartsColorsJson())
+                .logoConfigJson(design.getConfig().getLogoConfigJson())
+                .textConfigJson(design.getConfig().getTextConfigJson())
+                .version(design.getVersion())
+                .lastModified(design.getLastModified())
                 .assetId(design.getAsset() != null ? design.getAsset().getId() : null)
                 .build();
     }
@@ -0,0 +1,94 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.design.SimilarDesignDTO;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.DesignSimilarityService;
+import com.sideforge.util.similarity.PaletteEmbedding;
+import com.sideforge.util.similarity.VpTree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "Designs like this" served from an in-memory VP-tree over palette embeddings
+ * (per-part CIELAB colors and material mix, see PaletteEmbedding) instead of
+ * scanning every design's configuration. The index is loaded once the
+ * application is ready and then updated per design as changes commit; only
+ * the matching designs are read from the database.
+ */
+@Service
+public class DesignSimilarityServiceImpl implements DesignSimilarityService {
+
+    static final int MAX_LIMIT = 100;
+
+    private final DesignRepository designRepository;
+    private final VpTree index = new VpTree();
+
+    @Autowired
+    public DesignSimilarityServiceImpl(DesignRepository designRepository) {
+        this.designRepository = designRepository;
+    }
+
+    // Designs whose part colors and materials are nearest to those of a design, nearest first
+    @Override
+    public List<SimilarDesignDTO> findSimilar(Long designId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        float[] query = index.get(designId);
+        if (query == null) {
+            // Not indexed yet: the index is updated only after the creating transaction commits
+            Design design = designRepository.findById(designId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + designId));
+            query = PaletteEmbedding.of(design.getConfig());
+        }
+        List<VpTree.Neighbor> neighbors = index.nearest(query, limit, designId);
+        List<Long> ids = neighbors.stream().map(VpTree.Neighbor::id).toList();
+        Map<Long, Design> designs = designRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Design::getId, Function.identity()));
+        // Keep the ranking; a design deleted since the lookup is skipped
+        return neighbors.stream()
+                .filter(neighbor -> designs.containsKey(neighbor.id()))
+                .map(neighbor -> SimilarDesignDTO.builder()
+                        .design(DesignServiceImpl.toResponseDTO(designs.get(neighbor.id())))
+                        .distance(neighbor.distance())
+                        .build())
+                .toList();
+    }
+
+    // Rebuild the index from the database (on startup)
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        index.clear();
+        try (Stream<DesignRepository.ConfigView> rows = designRepository.streamAllConfigs()) {
+            rows.forEach(row -> index.put(row.getId(), PaletteEmbedding.of(row.getConfig())));
+        }
+    }
+
+    // Apply a committed design change to the index
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDesignConfigChanged(DesignConfigChangedEvent event) {
+        if (event.deleted()) {
+            index.remove(event.designId());
+        } else {
+            index.put(event.designId(), PaletteEmbedding.of(event.config()));
+        }
+    }
+}
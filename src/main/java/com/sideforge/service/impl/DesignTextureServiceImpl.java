@@ -0,0 +1,112 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.config.AsyncConfig;
+import com.sideforge.dto.design.DesignTextureFileDTO;
+import com.sideforge.event.DesignTextureChangedEvent;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.DesignTextureService;
+import com.sideforge.util.AssetPaths;
+import com.sideforge.util.PrecompressedFiles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+
+/**
+ * Design textures stored under the asset root (textureMapUrl as a relative path).
+ * Remote textures (http/https URLs) are served by their own host.
+ */
+@Service
+public class DesignTextureServiceImpl implements DesignTextureService {
+
+    private final DesignRepository designRepository;
+    private final Path assetRoot;
+
+    @Autowired
+    public DesignTextureServiceImpl(DesignRepository designRepository, AssetStorageProperties properties) {
+        this.designRepository = designRepository;
+        this.assetRoot = properties.getRootPath();
+    }
+
+    // Resolve the texture file of a design inside the asset root (its gzip sibling if accepted and precompressed)
+    @Override
+    public DesignTextureFileDTO getTexture(Long designId, boolean gzip) {
+        Design design = designRepository.findById(designId)
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found with id: " + designId));
+        String url = design.getTextureMapUrl();
+        if (url == null || url.isBlank() || isRemote(url)) {
+            throw new ResourceNotFoundException("No stored texture for design id: " + designId);
+        }
+        Path path = AssetPaths.resolve(assetRoot, url);
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Texture file not found for design id: " + designId);
+        }
+        if (!attributes.isRegularFile()) {
+            throw new ResourceNotFoundException("Texture file not found for design id: " + designId);
+        }
+
+        String contentType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = Long.toHexString(length) + "-" + Long.toHexString(lastModified);
+        Path gzipPath = gzip ? PrecompressedFiles.findGzip(path) : null;
+        if (gzipPath != null) {
+            try {
+                length = Files.size(gzipPath);
+                path = gzipPath;
+                etag += "-" + PrecompressedFiles.GZIP;
+            } catch (IOException e) {
+                gzipPath = null;
+            }
+        }
+        return DesignTextureFileDTO.builder()
+                .designId(designId)
+                .path(path)
+                .contentType(contentType)
+                .contentLength(length)
+                .lastModified(lastModified)
+                .etag("\"" + etag + "\"")
+                .contentEncoding(gzipPath != null ? PrecompressedFiles.GZIP : null)
+                .build();
+    }
+
+    // Precompress the texture in the background once the design transaction has committed
+    @Override
+    @Async(AsyncConfig.ASSET_PIPELINE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTextureChanged(DesignTextureChangedEvent event) {
+        String url = event.textureMapUrl();
+        if (url == null || url.isBlank() || isRemote(url)) {
+            return;
+        }
+        Path path = AssetPaths.resolve(assetRoot, url);
+        try {
+            PrecompressedFiles.gzip(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not precompress texture: " + url, e);
+        }
+    }
+
+    private static boolean isRemote(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("http://") || lower.startsWith("https://");
+    }
+}
@@ -0,0 +1,492 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.config.CollaborationProperties;
+import com.sideforge.dto.design.DesignResponseDTO;
+import com.sideforge.dto.scene.SceneResponseDTO;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.service.interfaces.SceneCollaborationService;
+import com.sideforge.service.interfaces.SceneService;
+import com.sideforge.util.collab.SceneRoom;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rooms of editors changing a scene's camera, lighting and design together.
+ * ----------------------------------------------------------------
+ * Each open scene has one room (SceneRoom) that sequences the operations of
+ * its editors. Instead of a full PUT per tweak:
+ * - every batchInterval, the changes of each room since the last tick go out
+ *   to all of its editors as one delta (with the operations acknowledged);
+ * - every saveInterval, and when the last editor leaves, the coalesced
+ *   changes are written through SceneService.patchScene and
+ *   DesignService.patchDesign (one merge patch each), so versions, revisions
+ *   and change events work as for any other update. A save that fails for a
+ *   transient reason is retried on the next tick; one the services reject is
+ *   dropped and the room reloaded. A room whose editors all left is closed
+ *   once its edits are saved.
+ * Messages are queued per editor while the room is locked and sent after it
+ * is released, one at a time and without blocking, so a slow connection never
+ * holds up its room or the others; an editor more than maxQueuedMessages
+ * behind is disconnected.
+ * Committed changes made outside a room (REST updates) are merged into it,
+ * under the edits it has not saved yet.
+ */
+@Service
+public class SceneCollaborationServiceImpl implements SceneCollaborationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SceneCollaborationServiceImpl.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final SceneService sceneService;
+    private final DesignService designService;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ConcurrentMap<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong editorIds = new AtomicLong();
+    private final int maxQueuedMessages;
+
+    @Autowired
+    public SceneCollaborationServiceImpl(SceneService sceneService, DesignService designService,
+                                         CollaborationProperties properties) {
+        this.sceneService = sceneService;
+        this.designService = designService;
+        this.maxQueuedMessages = Math.max(1, properties.getMaxQueuedMessages());
+        AtomicLong threads = new AtomicLong();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, properties.getThreads()), task -> {
+            Thread thread = new Thread(task, "scene-collab-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long batchMillis = Math.max(1, properties.getBatchInterval().toMillis());
+        long saveMillis = Math.max(1, properties.getSaveInterval().toMillis());
+        executor.scheduleWithFixedDelay(() -> guarded(this::broadcastAll), batchMillis, batchMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> guarded(this::saveAll), saveMillis, saveMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Stop the ticks and save what the open rooms have not saved yet
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        for (Room room : rooms.values()) {
+            save(room);
+            close(room, "Server shutting down");
+        }
+    }
+
+    // Add an editor to the scene's room (opened on first join) and send it a snapshot
+    @Override
+    public long join(Long sceneId, Editor editor) {
+        while (true) {
+            Room room = rooms.get(sceneId);
+            if (room == null) {
+                Room opened = new Room(load(sceneId));
+                room = rooms.putIfAbsent(sceneId, opened);
+                if (room == null) {
+                    room = opened;
+                }
+            }
+            Outbox outbox = new Outbox(editor);
+            long editorId;
+            synchronized (room) {
+                if (room.closed) {
+                    // Closed since it was looked up: open a new one
+                    rooms.remove(sceneId, room);
+                    continue;
+                }
+                editorId = editorIds.incrementAndGet();
+                room.editors.put(editorId, outbox);
+                outbox.offer(room.state.snapshot(editorId).toString(), maxQueuedMessages);
+            }
+            pump(room, editorId, outbox);
+            return editorId;
+        }
+    }
+
+    // Apply an operation an editor sent; malformed ones are answered with an error message to that editor
+    @Override
+    public void receive(Long sceneId, long editorId, String message) {
+        Room room = rooms.get(sceneId);
+        if (room == null) {
+            return;
+        }
+        JsonNode operation;
+        try {
+            operation = MAPPER.readTree(message);
+        } catch (Exception e) {
+            operation = null;
+        }
+        Outbox outbox;
+        synchronized (room) {
+            outbox = room.editors.get(editorId);
+            if (outbox == null) {
+                return;
+            }
+            try {
+                room.state.apply(editorId, operation);
+            } catch (BadRequestException e) {
+                outbox.offer(error(operation != null ? operation.get("id") : null, e.getMessage()), maxQueuedMessages);
+            }
+        }
+        pump(room, editorId, outbox);
+    }
+
+    // Remove an editor; once the room is empty its edits are saved and it is closed
+    @Override
+    public void leave(Long sceneId, long editorId) {
+        Room room = rooms.get(sceneId);
+        if (room == null) {
+            return;
+        }
+        synchronized (room) {
+            if (room.editors.remove(editorId) == null || !room.editors.isEmpty()) {
+                return;
+            }
+        }
+        saveAndCloseIfIdle(room);
+    }
+
+    // Bring an open room in line with a committed change made outside it, or close it if the scene was deleted
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSceneChanged(SceneChangedEvent event) {
+        Room room = rooms.get(event.sceneId());
+        if (room == null) {
+            return;
+        }
+        if (event.deleted()) {
+            close(room, "Scene deleted");
+        } else {
+            executor.execute(() -> guarded(() -> reconcile(room)));
+        }
+    }
+
+    // Bring the room showing a design in line with a committed change to the design
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDesignConfigChanged(DesignConfigChangedEvent event) {
+        if (event.deleted()) {
+            return;
+        }
+        for (Room room : rooms.values()) {
+            if (Objects.equals(room.state.getDesignId(), event.designId())) {
+                executor.execute(() -> guarded(() -> reconcile(room)));
+            }
+        }
+    }
+
+    // Send the changes of every room since the last tick to its editors, as one delta per room
+    void broadcastAll() {
+        for (Room room : rooms.values()) {
+            Map<Long, Outbox> editors;
+            synchronized (room) {
+                ObjectNode delta = room.state.drainBatch();
+                if (delta == null) {
+                    continue;
+                }
+                editors = queue(room, delta.toString());
+            }
+            editors.forEach((editorId, outbox) -> pump(room, editorId, outbox));
+        }
+    }
+
+    // Save the coalesced edits of every room, closing those left idle (also when the last leave could not save)
+    void saveAll() {
+        for (Room room : rooms.values()) {
+            save(room);
+            closeIfIdle(room);
+        }
+    }
+
+    // Helper to write a room's unsaved edits, one patch for the scene and one for its design
+    private void save(Room room) {
+        // One save per room at a time, so patches reach the database in the order they were made
+        synchronized (room.saveLock) {
+            SceneRoom.Unsaved changes;
+            synchronized (room) {
+                changes = room.state.drainUnsaved();
+            }
+            if (changes == null) {
+                return;
+            }
+            Long sceneId = room.state.getSceneId();
+            List<String> rejected = new ArrayList<>();
+            Saved scene = changes.scene() == null ? Saved.DONE : write(sceneId, rejected,
+                    () -> sceneService.patchScene(sceneId, PatchFormat.MERGE_PATCH, changes.scene(), null));
+            Saved design = changes.design() == null || scene == Saved.GONE ? scene : write(sceneId, rejected,
+                    () -> designService.patchDesign(room.state.getDesignId(), PatchFormat.MERGE_PATCH, changes.design(), null));
+            if (scene == Saved.GONE || design == Saved.GONE) {
+                close(room, "Scene deleted");
+                return;
+            }
+            if (scene == Saved.RETRY || design == Saved.RETRY) {
+                synchronized (room) {
+                    room.state.restoreUnsaved(new SceneRoom.Unsaved(scene == Saved.RETRY ? changes.scene() : null,
+                            design == Saved.RETRY ? changes.design() : null, changes.before()));
+                }
+            }
+            if (!rejected.isEmpty()) {
+                broadcast(room, error(null, "Edits rejected: " + String.join("; ", rejected)));
+                reconcile(room);
+            }
+        }
+    }
+
+    // Helper to run one write of a save and classify its outcome
+    private static Saved write(Long sceneId, List<String> rejected, Runnable write) {
+        try {
+            write.run();
+            return Saved.DONE;
+        } catch (ResourceNotFoundException e) {
+            return Saved.GONE;
+        } catch (BadRequestException e) {
+            rejected.add(e.getMessage());
+            return Saved.DONE;
+        } catch (RuntimeException e) {
+            log.warn("Could not save edits of scene {}, retrying: {}", sceneId, e.getMessage());
+            return Saved.RETRY;
+        }
+    }
+
+    // Helper to merge the stored scene and design into a room, under its unsaved edits
+    private void reconcile(Room room) {
+        // Not while a save is between draining the edits and writing them, or they would seem undone
+        synchronized (room.saveLock) {
+            SceneRoom stored;
+            try {
+                stored = load(room.state.getSceneId());
+            } catch (ResourceNotFoundException e) {
+                close(room, "Scene deleted");
+                return;
+            }
+            if (!Objects.equals(stored.getDesignId(), room.state.getDesignId())) {
+                close(room, "The scene shows another design, reconnect");
+                return;
+            }
+            synchronized (room) {
+                room.state.reconcile(stored.getState());
+            }
+        }
+    }
+
+    // Helper to save a room its last editor left, on the pool, and close it unless someone joined meanwhile
+    private void saveAndCloseIfIdle(Room room) {
+        executor.execute(() -> guarded(() -> {
+            save(room);
+            closeIfIdle(room);
+        }));
+    }
+
+    // Helper to close a room that has no editors and nothing left to save
+    private void closeIfIdle(Room room) {
+        synchronized (room) {
+            if (room.editors.isEmpty() && !room.state.hasUnsaved()) {
+                room.closed = true;
+                rooms.remove(room.state.getSceneId(), room);
+            }
+        }
+    }
+
+    private void close(Room room, String reason) {
+        List<Editor> editors;
+        synchronized (room) {
+            room.closed = true;
+            rooms.remove(room.state.getSceneId(), room);
+            editors = room.editors.values().stream().map(outbox -> outbox.editor).toList();
+            room.editors.clear();
+        }
+        editors.forEach(editor -> closeQuietly(editor, reason));
+    }
+
+    private void broadcast(Room room, String message) {
+        Map<Long, Outbox> editors;
+        synchronized (room) {
+            editors = queue(room, message);
+        }
+        editors.forEach((editorId, outbox) -> pump(room, editorId, outbox));
+    }
+
+    // Helper to queue a message for every editor of a room (caller holds the room); returns the editors to pump
+    private Map<Long, Outbox> queue(Room room, String message) {
+        room.editors.values().forEach(outbox -> outbox.offer(message, maxQueuedMessages));
+        return Map.copyOf(room.editors);
+    }
+
+    // Helper to send an editor's queued messages in order, one in flight at a time (never with the room locked)
+    private void pump(Room room, long editorId, Outbox outbox) {
+        while (true) {
+            String message;
+            synchronized (outbox) {
+                if (outbox.overflowed) {
+                    message = null;
+                } else if (outbox.sending || outbox.queue.isEmpty()) {
+                    return;
+                } else {
+                    outbox.sending = true;
+                    message = outbox.queue.poll();
+                }
+            }
+            if (message == null) {
+                drop(room, editorId, outbox, "Too far behind");
+                return;
+            }
+            CompletableFuture<Void> sent;
+            try {
+                sent = outbox.editor.send(message).toCompletableFuture();
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            if (!sent.isDone()) {
+                // Carry on from the completion, on whichever thread finishes the send
+                sent.whenComplete((ignored, e) -> {
+                    if (sent(room, editorId, outbox, e == null)) {
+                        pump(room, editorId, outbox);
+                    }
+                });
+                return;
+            }
+            if (!sent(room, editorId, outbox, !sent.isCompletedExceptionally())) {
+                return;
+            }
+        }
+    }
+
+    // Helper to finish a send of pump; false if it failed and the editor was dropped
+    private boolean sent(Room room, long editorId, Outbox outbox, boolean ok) {
+        synchronized (outbox) {
+            outbox.sending = false;
+        }
+        if (!ok) {
+            drop(room, editorId, outbox, "Send failed");
+        }
+        return ok;
+    }
+
+    // Helper to disconnect an editor that failed or fell behind; an emptied room is saved and closed like on leave
+    private void drop(Room room, long editorId, Outbox outbox, String reason) {
+        boolean emptied;
+        synchronized (room) {
+            emptied = room.editors.remove(editorId, outbox) && room.editors.isEmpty();
+        }
+        closeQuietly(outbox.editor, reason);
+        if (emptied) {
+            saveAndCloseIfIdle(room);
+        }
+    }
+
+    private static void closeQuietly(Editor editor, String reason) {
+        try {
+            editor.close(reason);
+        } catch (RuntimeException e) {
+            log.debug("Could not close editor connection: {}", e.getMessage());
+        }
+    }
+
+    // Helper to read a scene's camera and lighting and its design's configuration into a room
+    private SceneRoom load(Long sceneId) {
+        SceneResponseDTO scene = sceneService.getSceneById(sceneId);
+        DesignResponseDTO design = scene.getDesignId() != null ? designService.getDesignById(scene.getDesignId()) : null;
+        ObjectNode designDocument = JsonNodeFactory.instance.objectNode();
+        if (design != null) {
+            putNode(designDocument, "materials", design.getMaterialsJson());
+            putNode(designDocument, "partsColors", design.getPartsColorsJson());
+            putNode(designDocument, "logoConfig", design.getLogoConfigJson());
+            putNode(designDocument, "textConfig", design.getTextConfigJson());
+        }
+        return new SceneRoom(sceneId, scene.getDesignId(), SceneRoom.document(
+                JsonPatches.toNode(scene.getCameraConfigJson()), JsonPatches.toNode(scene.getLightingConfigJson()),
+                designDocument));
+    }
+
+    private static void putNode(ObjectNode document, String field, String json) {
+        JsonNode node = JsonPatches.toNode(json);
+        if (node != null) {
+            document.set(field, node);
+        }
+    }
+
+    private static String error(JsonNode id, String message) {
+        ObjectNode error = JsonNodeFactory.instance.objectNode();
+        error.put("type", "error");
+        if (id != null) {
+            error.set("id", id);
+        }
+        error.put("message", message);
+        return error.toString();
+    }
+
+    // Helper to keep a periodic task running after a failure
+    private static void guarded(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Scene collaboration task failed: {}", e.getMessage());
+        }
+    }
+
+    private enum Saved { DONE, RETRY, GONE }
+
+    // An open scene: its editing state and connected editors (guarded by the room's monitor)
+    private static final class Room {
+        final SceneRoom state;
+        final Map<Long, Outbox> editors = new LinkedHashMap<>();
+        final Object saveLock = new Object();
+        boolean closed;
+
+        Room(SceneRoom state) {
+            this.state = state;
+        }
+    }
+
+    // Messages waiting to go out to one editor (guarded by the outbox's monitor)
+    private static final class Outbox {
+        final Editor editor;
+        final Deque<String> queue = new ArrayDeque<>();
+        boolean sending;
+        boolean overflowed;
+
+        Outbox(Editor editor) {
+            this.editor = editor;
+        }
+
+        // Queue a message; an editor already holding the limit is marked to be dropped instead
+        synchronized void offer(String message, int limit) {
+            if (overflowed) {
+                return;
+            }
+            if (queue.size() >= limit) {
+                overflowed = true;
+                queue.clear();
+            } else {
+                queue.add(message);
+            }
+        }
+    }
+}
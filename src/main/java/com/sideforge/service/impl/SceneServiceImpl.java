@@ -1,57 +1,76 @@
 package com.sideforge.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.scene.*;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.*;
 import com.sideforge.repository.*;
+import com.sideforge.service.interfaces.DesignService;
 import com.sideforge.service.interfaces.SceneService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.bulk.BulkInserter;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class SceneServiceImpl implements SceneService {
 
+    private static final Set<String> PATCH_FIELDS = Set.of("name", "thumbnail", "lighting", "camera");
+
     private final SceneRepository sceneRepository;
     private final UserRepository userRepository;
     private final DesignRepository designRepository;
+    private final DesignService designService;
+    private final BulkInserter bulkInserter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SceneServiceImpl(SceneRepository sceneRepository, UserRepository userRepository, DesignRepository designRepository) {
+    public SceneServiceImpl(SceneRepository sceneRepository, UserRepository userRepository, DesignRepository designRepository,
+                            DesignService designService, BulkInserter bulkInserter, ApplicationEventPublisher eventPublisher) {
         this.sceneRepository = sceneRepository;
         this.userRepository = userRepository;
         this.designRepository = designRepository;
+        this.designService = designService;
+        this.bulkInserter = bulkInserter;
+        this.eventPublisher = eventPublisher;
     }
 
     // Create a new scene from SceneRequestDTO
     @Override
     @Transactional
     public SceneResponseDTO createScene(SceneRequestDTO dto) {
-        User owner = userRepository.findById(dto.getOwnerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Owner not found: " + dto.getOwnerId()));
-        Design design = designRepository.findById(dto.getDesignId())
-                .orElseThrow(() -> new ResourceNotFoundException("Design not found: " + dto.getDesignId()));
-
-        Scene scene = Scene.builder()
-                .name(dto.getName())
-                .lightingConfigJson(dto.getLightingConfigJson())
-                .cameraConfigJson(dto.getCameraConfigJson())
-                .thumbnail(dto.getThumbnail())
-                .createdAt(dto.getCreatedAt())
-                .updatedAt(dto.getUpdatedAt())
-                .owner(owner)
-                .design(design)
-                .build();
+        return toResponseDTO(insert(dto));
+    }
 
-        Scene saved = sceneRepository.save(scene);
-        return toResponseDTO(saved);
+    // Create many scenes in batched chunks, reporting each item's outcome
+    @Override
+    public BulkResultDTO createScenes(List<SceneRequestDTO> dtos) {
+        return bulkInserter.insert(dtos, chunk -> {
+            userRepository.findAllById(BulkInserter.referencedIds(chunk, SceneRequestDTO::getOwnerId));
+            designRepository.findAllById(BulkInserter.referencedIds(chunk, SceneRequestDTO::getDesignId));
+        }, dto -> insert(dto).getId());
     }
 
-    // Get a scene by its ID
+    // Get a scene by its ID (transactional: the lazy LOBs also load for callers outside a web request)
     @Override
+    @Transactional(readOnly = true)
     public SceneResponseDTO getSceneById(Long id) {
         Scene scene = sceneRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + id));
@@ -61,9 +80,10 @@ public class SceneServiceImpl implements SceneService {
     // Update a scene by its ID (PATCH: only not null fields are updated)
     @Override
     @Transactional
-    public SceneResponseDTO updateScene(Long id, SceneUpdateDTO dto) {
+    public SceneResponseDTO updateScene(Long id, SceneUpdateDTO dto, Long expectedVersion) {
         Scene scene = sceneRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + id));
+        EntityTags.checkVersion(expectedVersion, scene.getVersion());
 
         if (dto.getName() != null) scene.setName(dto.getName());
         if (dto.getLightingConfigJson() != null) scene.setLightingConfigJson(dto.getLightingConfigJson());
@@ -83,16 +103,59 @@ public class SceneServiceImpl implements SceneService {
         }
 
         Scene saved = sceneRepository.save(scene);
+        sceneRepository.flush();
+        // The thumbnail shows the design through the camera and lighting
+        if (dto.getLightingConfigJson() != null || dto.getCameraConfigJson() != null || dto.getDesignId() != null) {
+            eventPublisher.publishEvent(SceneChangedEvent.saved(saved.getId()));
+        }
         return toResponseDTO(saved);
     }
 
+    // Patch a scene as {name, thumbnail, lighting, camera}; only the fields that changed are written
+    @Override
+    @Transactional
+    public PatchResultDTO patchScene(Long id, PatchFormat format, JsonNode patch, Long expectedVersion) {
+        Scene scene = sceneRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + id));
+        EntityTags.checkVersion(expectedVersion, scene.getVersion());
+
+        ObjectNode before = toPatchDocument(scene);
+        ObjectNode patched = JsonPatches.requireFields(format.apply(before, patch), PATCH_FIELDS);
+        ObjectNode changes = JsonPatches.diff(before, patched);
+        if (changes.isEmpty()) {
+            return toPatchResult(scene, changes);
+        }
+        if (changes.has("name")) {
+            JsonNode name = patched.path("name");
+            if (!name.isTextual() || name.asText().isBlank()) {
+                throw new BadRequestException("Scene name is required");
+            }
+            scene.setName(name.asText());
+        }
+        if (changes.has("thumbnail")) scene.setThumbnail(JsonPatches.toJson(patched.get("thumbnail")));
+        if (changes.has("lighting")) scene.setLightingConfigJson(JsonPatches.toJson(patched.get("lighting")));
+        if (changes.has("camera")) scene.setCameraConfigJson(JsonPatches.toJson(patched.get("camera")));
+
+        Scene saved = sceneRepository.save(scene);
+        sceneRepository.flush();
+        if (changes.has("lighting") || changes.has("camera")) {
+            eventPublisher.publishEvent(SceneChangedEvent.saved(saved.getId()));
+        }
+        return toPatchResult(saved, JsonPatches.diff(before, toPatchDocument(saved)));
+    }
+
     // Delete a scene by its ID
     @Override
     @Transactional
     public void deleteScene(Long id) {
         Scene scene = sceneRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + id));
+        // The design goes with the scene (orphan removal): its revisions first, and the same events as deleteDesign
+        if (scene.getDesign() != null) {
+            designService.prepareCascadeDelete(scene.getDesign().getId());
+        }
         sceneRepository.delete(scene);
+        eventPublisher.publishEvent(SceneChangedEvent.deleted(id));
     }
 
     // Get all scenes paginated
@@ -107,6 +170,12 @@ public class SceneServiceImpl implements SceneService {
         return sceneRepository.findByOwner_Id(ownerId, pageable).map(SceneServiceImpl::toResponseDTO);
     }
 
+    // Summaries of an owner's scenes, read without the LOB columns
+    @Override
+    public Page<SceneSummaryDTO> getSceneSummariesByOwnerId(Long ownerId, Pageable pageable) {
+        return sceneRepository.findSummariesByOwnerId(ownerId, pageable);
+    }
+
     // Get a scene by name and owner
     @Override
     public SceneResponseDTO getSceneByNameAndOwner(String name, Long ownerId) {
@@ -122,12 +191,79 @@ public class SceneServiceImpl implements SceneService {
                 .map(SceneServiceImpl::toResponseDTO);
     }
 
+    // Keyset scroll of all scenes
+    @Override
+    public CursorPageDTO<SceneResponseDTO> scrollScenes(ScrollRequest request) {
+        return request.toPage(sceneRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                SceneServiceImpl::toResponseDTO, sceneRepository::count);
+    }
+
+    // Keyset scroll of the scenes of an owner
+    @Override
+    public CursorPageDTO<SceneResponseDTO> scrollScenesByOwnerId(Long ownerId, ScrollRequest request) {
+        return request.toPage(
+                sceneRepository.findByOwner_Id(ownerId, request.position(), request.sort(), request.limit()),
+                SceneServiceImpl::toResponseDTO, () -> sceneRepository.countByOwner_Id(ownerId));
+    }
+
+    // Keyset scroll of the scenes created between two dates
+    @Override
+    public CursorPageDTO<SceneResponseDTO> scrollScenesCreatedBetween(LocalDateTime start, LocalDateTime end,
+                                                                      ScrollRequest request) {
+        return request.toPage(
+                sceneRepository.findAllByCreatedAtBetween(start, end, request.position(), request.sort(), request.limit()),
+                SceneServiceImpl::toResponseDTO, () -> sceneRepository.countByCreatedAtBetween(start, end));
+    }
+
     // Count scenes by owner
     @Override
     public long countScenesByOwner(Long ownerId) {
         return sceneRepository.countByOwner_Id(ownerId);
     }
 
+    // Helper to store one scene
+    private Scene insert(SceneRequestDTO dto) {
+        User owner = userRepository.findById(dto.getOwnerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Owner not found: " + dto.getOwnerId()));
+        Design design = designRepository.findById(dto.getDesignId())
+                .orElseThrow(() -> new ResourceNotFoundException("Design not found: " + dto.getDesignId()));
+
+        Scene scene = Scene.builder()
+                .name(dto.getName())
+                .lightingConfigJson(dto.getLightingConfigJson())
+                .cameraConfigJson(dto.getCameraConfigJson())
+                .thumbnail(dto.getThumbnail())
+                .createdAt(dto.getCreatedAt())
+                .updatedAt(dto.getUpdatedAt())
+                .owner(owner)
+                .design(design)
+                .build();
+
+        Scene saved = sceneRepository.save(scene);
+        eventPublisher.publishEvent(SceneChangedEvent.saved(saved.getId()));
+        return saved;
+    }
+
+    // Helper to build the document scene patches apply to (null fields are left out)
+    private static ObjectNode toPatchDocument(Scene scene) {
+        ObjectNode document = JsonNodeFactory.instance.objectNode();
+        if (scene.getName() != null) document.put("name", scene.getName());
+        if (scene.getThumbnail() != null) document.put("thumbnail", scene.getThumbnail());
+        if (scene.getLightingConfigJson() != null) document.set("lighting", JsonPatches.toNode(scene.getLightingConfigJson()));
+        if (scene.getCameraConfigJson() != null) document.set("camera", JsonPatches.toNode(scene.getCameraConfigJson()));
+        return document;
+    }
+
+    // Helper to report the new version of a patched scene and what the patch changed
+    private static PatchResultDTO toPatchResult(Scene scene, ObjectNode changes) {
+        return PatchResultDTO.builder()
+                .id(scene.getId())
+                .version(scene.getVersion())
+                .lastModified(scene.getLastModified())
+                .changes(changes)
+                .build();
+    }
+
     // Helper to map Scene to SceneResponseDTO
     private static SceneResponseDTO toResponseDTO(Scene scene) {
         if (scene == null) return null;
@@ -139,6 +275,8 @@ public class SceneServiceImpl implements SceneService {
                 .thumbnail(scene.getThumbnail())
                 .createdAt(scene.getCreatedAt())
                 .updatedAt(scene.getUpdatedAt())
+                .version(scene.getVersion())
+                .lastModified(scene.getLastModified())
                 .ownerId(scene.getOwner() != null ? scene.getOwner().getId() : null)
                 .designId(scene.getDesign() != null ? scene.getDesign().getId() : null)
                 .build();
@@ -0,0 +1,346 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.scene.SceneThumbnailFileDTO;
+import com.sideforge.event.AssetModelChangedEvent;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.Design;
+import com.sideforge.model.Scene;
+import com.sideforge.repository.SceneRepository;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.service.interfaces.SceneThumbnailService;
+import com.sideforge.util.bake.BakeInputs;
+import com.sideforge.util.bake.PixelBuffer;
+import com.sideforge.util.bake.PngWriter;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbFormatException;
+import com.sideforge.util.glb.GlbPrimitives;
+import com.sideforge.util.parts.PartsConfig;
+import com.sideforge.util.render.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scene thumbnails rendered on the server instead of client-supplied images
+ * that go stale as soon as the design changes.
+ * ----------------------------------------------------------------
+ * The asset model is drawn with the design applied (colors, materials and
+ * baked texture, see GlbSceneLoader) through the scene's camera and lighting
+ * (SceneCamera, SceneLighting) by SoftwareRasterizer, and stored as
+ * {root}/.thumbnails/scene-{id}.png (or .jpg). Renders run on a small pool of
+ * thumbnailThreads. Committed changes to a scene, its design or the asset's
+ * model request a render after thumbnailDelay; a newer request for the same
+ * scene within the delay replaces the older one, so a burst of edits renders
+ * once. Renders of one scene never overlap: a request for a missing
+ * thumbnail joins the render in progress, and a delayed render waits for it.
+ */
+@Service
+public class SceneThumbnailServiceImpl implements SceneThumbnailService {
+
+    static final String THUMBNAIL_DIR = ".thumbnails";
+
+    private static final Logger log = LoggerFactory.getLogger(SceneThumbnailServiceImpl.class);
+
+    private final SceneRepository sceneRepository;
+    private final AssetModelService assetModelService;
+    private final AssetPartsService assetPartsService;
+    private final DesignBakeService designBakeService;
+    private final Path directory;
+    private final int size;
+    private final int supersampling;
+    private final long delayMillis;
+    private final boolean jpeg;
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Latest render request per scene: a delayed render only runs if it is still the latest
+    private final AtomicLong tickets = new AtomicLong();
+    private final ConcurrentMap<Long, Long> pending = new ConcurrentHashMap<>();
+    // Render in progress per scene, shared by every caller waiting for it
+    private final ConcurrentMap<Long, CompletableFuture<Path>> renders = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SceneThumbnailServiceImpl(SceneRepository sceneRepository, AssetModelService assetModelService,
+                                     AssetPartsService assetPartsService, DesignBakeService designBakeService,
+                                     AssetStorageProperties properties) {
+        this.sceneRepository = sceneRepository;
+        this.assetModelService = assetModelService;
+        this.assetPartsService = assetPartsService;
+        this.designBakeService = designBakeService;
+        this.directory = properties.getRootPath().resolve(THUMBNAIL_DIR);
+        this.size = Math.max(16, properties.getThumbnailSize());
+        this.supersampling = Math.max(1, Math.min(4, properties.getThumbnailSupersampling()));
+        this.delayMillis = Math.max(0, properties.getThumbnailDelay().toMillis());
+        String format = properties.getThumbnailFormat().toLowerCase(Locale.ROOT);
+        if (!format.equals("png") && !format.equals("jpeg") && !format.equals("jpg")) {
+            throw new IllegalArgumentException("Unsupported thumbnail format: " + properties.getThumbnailFormat());
+        }
+        this.jpeg = !format.equals("png");
+        AtomicLong threads = new AtomicLong();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, properties.getThumbnailThreads()), task -> {
+            Thread thread = new Thread(task, "scene-render-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Rendered thumbnail of a scene; the first request renders it (on the render pool) and waits
+    @Override
+    public SceneThumbnailFileDTO getThumbnail(Long sceneId) {
+        if (!sceneRepository.existsById(sceneId)) {
+            throw new ResourceNotFoundException("Scene not found: " + sceneId);
+        }
+        Path path = path(sceneId);
+        if (!Files.isRegularFile(path)) {
+            CompletableFuture<Path> render = new CompletableFuture<>();
+            CompletableFuture<Path> running = renders.putIfAbsent(sceneId, render);
+            if (running == null) {
+                executor.execute(() -> render(sceneId, render));
+                running = render;
+            }
+            path = await(running);
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            return SceneThumbnailFileDTO.builder()
+                    .sceneId(sceneId)
+                    .path(path)
+                    .contentType(jpeg ? "image/jpeg" : "image/png")
+                    .contentLength(attributes.size())
+                    .lastModified(lastModified)
+                    .etag("\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"")
+                    .build();
+        } catch (IOException e) {
+            // Replaced or dropped between the render and the read
+            throw new ResourceNotFoundException("Thumbnail not available for scene: " + sceneId);
+        }
+    }
+
+    // Render the thumbnail of a scene now (on the calling thread) and return its file
+    @Override
+    public Path renderThumbnail(Long sceneId) {
+        Scene scene = sceneRepository.findById(sceneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + sceneId));
+        Design design = scene.getDesign();
+        Asset asset = design.getAsset();
+        PartsConfig parts = assetPartsService.getPartsConfig(asset);
+        PixelBuffer baked = BakeInputs.of(design).hasContent(parts)
+                ? decode(designBakeService.getBakedTexture(design.getId()).getPng()) : null;
+
+        Path model = assetModelService.resolvePath(asset);
+        List<RenderPrimitive> primitives;
+        try (FileChannel channel = FileChannel.open(model, StandardOpenOption.READ)) {
+            GlbFile glb = GlbFile.read(channel);
+            if (!GlbPrimitives.isSupported(glb)) {
+                throw new BadRequestException("Model of asset " + asset.getName() + " cannot be rendered "
+                        + "(compressed geometry or external buffers)");
+            }
+            primitives = GlbSceneLoader.load(glb, glb.mapBin(channel), design.getConfig(), parts, baked);
+        } catch (GlbFormatException e) {
+            throw new BadRequestException("Invalid GLB file for asset " + asset.getName() + ": " + e.getMessage());
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Model file not found for asset id: " + asset.getId());
+        }
+
+        // The camera and lighting are lazy LOBs of a scene that is detached here off a web request
+        SceneRepository.ViewConfigView view = sceneRepository.findViewConfigById(sceneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Scene not found: " + sceneId));
+        PixelBuffer image = SoftwareRasterizer.render(primitives, SceneCamera.parse(view.getCameraConfigJson()),
+                SceneLighting.parse(view.getLightingConfigJson()), size, size, supersampling);
+        return write(sceneId, image);
+    }
+
+    // Render the thumbnail of a scene in the background once no newer request for it came within the delay
+    @Override
+    public void requestRender(Long sceneId) {
+        long ticket = tickets.incrementAndGet();
+        pending.put(sceneId, ticket);
+        schedule(sceneId, ticket);
+    }
+
+    // Re-render (or drop) the thumbnail of a scene once the change to it has committed
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSceneChanged(SceneChangedEvent event) {
+        if (!event.deleted()) {
+            requestRender(event.sceneId());
+            return;
+        }
+        pending.remove(event.sceneId());
+        try {
+            Files.deleteIfExists(path(event.sceneId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete thumbnail of scene: " + event.sceneId(), e);
+        }
+    }
+
+    // Re-render the thumbnail showing a design whose baked texture changed
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDesignBakeInputsChanged(DesignBakeInputsChangedEvent event) {
+        requestRenders(() -> sceneRepository.findIdsByDesignId(event.designId()));
+    }
+
+    // Re-render the thumbnail showing a design whose materials or colors changed
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDesignConfigChanged(DesignConfigChangedEvent event) {
+        if (!event.deleted()) {
+            requestRenders(() -> sceneRepository.findIdsByDesignId(event.designId()));
+        }
+    }
+
+    // Re-render the thumbnails showing designs of an asset whose model changed
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetModelChanged(AssetModelChangedEvent event) {
+        requestRenders(() -> sceneRepository.findIdsByAssetId(event.assetId()));
+    }
+
+    // Helper to look up the affected scenes on the render pool, off the committing thread
+    private void requestRenders(Callable<List<Long>> sceneIds) {
+        executor.execute(() -> {
+            try {
+                sceneIds.call().forEach(this::requestRender);
+            } catch (Exception e) {
+                log.warn("Could not look up scenes to re-render: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void schedule(Long sceneId, long ticket) {
+        executor.schedule(() -> run(sceneId, ticket), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Helper to run a delayed render unless a newer request replaced it; waits for a render of the scene in progress
+    private void run(Long sceneId, long ticket) {
+        if (!pending.remove(sceneId, ticket)) {
+            return;
+        }
+        CompletableFuture<Path> render = new CompletableFuture<>();
+        if (renders.putIfAbsent(sceneId, render) != null) {
+            if (pending.putIfAbsent(sceneId, ticket) == null) {
+                schedule(sceneId, ticket);
+            }
+            return;
+        }
+        render.whenComplete((path, e) -> {
+            if (e != null) {
+                log.warn("Could not render thumbnail of scene {}: {}", sceneId, e.getMessage());
+            }
+        });
+        render(sceneId, render);
+    }
+
+    // Helper to run a render registered in renders and hand its outcome to everyone waiting for it
+    private void render(Long sceneId, CompletableFuture<Path> render) {
+        try {
+            render.complete(renderThumbnail(sceneId));
+        } catch (Throwable e) {
+            render.completeExceptionally(e);
+        } finally {
+            renders.remove(sceneId, render);
+        }
+    }
+
+    // Helper to store the image atomically (readers never see a partial file)
+    private Path write(Long sceneId, PixelBuffer image) {
+        Path path = path(sceneId);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "scene-" + sceneId + "-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    if (jpeg) {
+                        ImageIO.write(opaque(image), "jpeg", out);
+                    } else {
+                        PngWriter.write(image, out);
+                    }
+                }
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store thumbnail: " + path, e);
+        }
+        return path;
+    }
+
+    private Path path(Long sceneId) {
+        return directory.resolve("scene-" + sceneId + (jpeg ? ".jpg" : ".png"));
+    }
+
+    // Helper to flatten an image onto white, as JPEG has no alpha
+    private static BufferedImage opaque(PixelBuffer image) {
+        BufferedImage rgb = new BufferedImage(image.width(), image.height(), BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.height(); y++) {
+            for (int x = 0; x < image.width(); x++) {
+                rgb.setRGB(x, y, PixelBuffer.over(image.get(x, y), 0xFFFFFFFF));
+            }
+        }
+        return rgb;
+    }
+
+    private static PixelBuffer decode(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IllegalStateException("Baked texture is not a readable image");
+            }
+            return PixelBuffer.of(image);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode baked texture", e);
+        }
+    }
+
+    // Helper to wait for a render on the pool, rethrowing its failure as is
+    private static Path await(Future<Path> render) {
+        try {
+            return render.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Thumbnail render failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering thumbnail", e);
+        }
+    }
+}
@@ -1,26 +1,33 @@
 package com.sideforge.service.impl;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.user.*;
 import com.sideforge.enums.Role;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.User;
 import com.sideforge.repository.UserRepository;
 import com.sideforge.service.interfaces.UserService;
+import com.sideforge.util.EntityTags;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.stream.EntityStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityStreamer entityStreamer;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, EntityStreamer entityStreamer) {
         this.userRepository = userRepository;
+        this.entityStreamer = entityStreamer;
     }
 
     // User is abstract. This method must not be used.
@@ -48,12 +55,20 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    // Hand every user to the sink in id order, reading through a cursor (for streamed listings)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponseDTO> sink) {
+        entityStreamer.forEach(userRepository.streamAll(), UserServiceImpl::toResponseDTO, sink);
+    }
+
     // Update a user by its unique identifier with the provided data
     @Override
     @Transactional
-    public UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO) {
+    public UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO, Long expectedVersion) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        EntityTags.checkVersion(expectedVersion, user.getVersion());
         user.setUsername(userUpdateDTO.getUsername());
         user.setEmail(userUpdateDTO.getEmail());
         // Only update password if provided (empty or null = ignore)
@@ -64,6 +79,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setRole(userUpdateDTO.getRole());
         User saved = userRepository.save(user);
+        userRepository.flush();
         return toResponseDTO(saved);
     }
 
@@ -90,6 +106,21 @@ public class UserServiceImpl implements UserService {
                 .map(UserServiceImpl::toResponseDTO);
     }
 
+    // Keyset scroll of users
+    @Override
+    public CursorPageDTO<UserResponseDTO> scrollUsers(ScrollRequest request) {
+        return request.toPage(userRepository.findAllBy(request.position(), request.sort(), request.limit()),
+                UserServiceImpl::toResponseDTO, userRepository::count);
+    }
+
+    // Keyset scroll of users by role
+    @Override
+    public CursorPageDTO<UserResponseDTO> scrollUsersByRole(String role, ScrollRequest request) {
+        Role parsed = Role.valueOf(role.toUpperCase());
+        return request.toPage(userRepository.findAllByRole(parsed, request.position(), request.sort(), request.limit()),
+                UserServiceImpl::toResponseDTO, () -> userRepository.countByRole(parsed));
+    }
+
     // Helper method to convert User to UserResponseDTO
     private static UserResponseDTO toResponseDTO(User user) {
         if (user == null) {
@@ -100,6 +131,8 @@ public class UserServiceImpl implements UserService {
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .role(user.getRole())
+                .version(user.getVersion())
+                .lastModified(user.getLastModified())
                 .build();
     }
 }
@@ -1,9 +1,12 @@
 package com.sideforge.service.interfaces;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.admin.*;
+import com.sideforge.util.paging.ScrollRequest;
 import org.springframework.data.domain.*;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AdminService {
 
@@ -16,12 +19,18 @@ public interface AdminService {
     // Retrieve all admin users as a list (not paginated)
     List<AdminResponseDTO> getAllAdmins();
 
-    // Update an existing admin user by its unique identifier with the provided data
-    AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO adminUpdateDTO);
+    // Hand every admin to the sink in id order, reading through a cursor (for streamed listings)
+    void streamAllAdmins(Consumer<AdminResponseDTO> sink);
+
+    // Update an existing admin user by its unique identifier with the provided data (expectedVersion: from If-Match, null for an unconditional update)
+    AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO adminUpdateDTO, Long expectedVersion);
 
     // Delete an admin user by its unique identifier
     void deleteAdmin(Long id);
 
     // Retrieve all admin users as a paginated list
     Page<AdminResponseDTO> getAdminsPage(Pageable pageable);
+
+    // Keyset scroll of administrators (cursor pagination, count only on request)
+    CursorPageDTO<AdminResponseDTO> scrollAdmins(ScrollRequest request);
 }
@@ -0,0 +1,20 @@
+package com.sideforge.service.interfaces;
+
+import java.nio.file.Path;
+
+public interface AssetBlobService {
+    // Store the file at glbPath in the blob store (deduplicated) and return its SHA-256, or null if there is no local file
+    String store(String glbPath);
+
+    // Drop one reference to a blob, deleting it (after commit) when no asset uses it anymore
+    void release(String hash);
+
+    // Check whether the file at glbPath is still the stored blob with this hash
+    boolean isStored(String hash, String glbPath);
+
+    // Path of the blob file for a hash
+    Path resolve(String hash);
+
+    // Path of a derived file stored next to a blob ({hash}.{variant}.glb), deleted together with it
+    Path resolveVariant(String hash, String variant);
+}
@@ -0,0 +1,14 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetModelCacheStatsDTO;
+import com.sideforge.dto.asset.AssetModelFileDTO;
+
+import java.nio.ByteBuffer;
+
+public interface AssetModelCache {
+    // Read-only view of the mapped model file, or null if the model cannot be cached
+    ByteBuffer get(AssetModelFileDTO model);
+
+    // Hit/miss/eviction counters and current usage
+    AssetModelCacheStatsDTO getStats();
+}
@@ -0,0 +1,19 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetModelIndexDTO;
+import com.sideforge.model.Asset;
+import com.sideforge.model.AssetModelIndex;
+
+public interface AssetModelIndexService {
+    // Parse the asset's GLB container and (re)build its index; returns null if there is no local model file
+    AssetModelIndex indexAsset(Asset asset);
+
+    // Reject (BadRequestException) a local model file at glbPath that is not a valid GLB; no-op if there is no local file
+    void checkModel(String glbPath);
+
+    // Get the model index of an asset (the JSON chunk only if requested)
+    AssetModelIndexDTO getIndex(Long assetId, boolean includeJson);
+
+    // Delete the model index of an asset
+    void deleteIndex(Long assetId);
+}
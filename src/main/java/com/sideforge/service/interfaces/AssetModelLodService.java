@@ -0,0 +1,17 @@
+package com.sideforge.service.interfaces;
+
+import java.nio.file.Path;
+
+public interface AssetModelLodService {
+    // Generate the missing levels of detail of a stored GLB; returns the number of levels available
+    int generateLods(String contentHash);
+
+    // Highest generated level not above requested (0 = the original model)
+    int availableLevel(String contentHash, int requested);
+
+    // Number of levels generated when a model allows it
+    int getMaxLevel();
+
+    // Path of a level of detail (0 = the original blob); the file may not exist yet
+    Path resolveLevel(String contentHash, int level);
+}
@@ -0,0 +1,8 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.event.AssetModelChangedEvent;
+
+public interface AssetModelPipeline {
+    // Generate the derived models (LODs, quantized variants) in the background once the asset transaction has committed
+    void onModelChanged(AssetModelChangedEvent event);
+}
@@ -0,0 +1,11 @@
+package com.sideforge.service.interfaces;
+
+import java.nio.file.Path;
+
+public interface AssetModelQuantizationService {
+    // Write the quantized variant of a level of detail (0 = original); returns whether it is available
+    boolean quantize(String contentHash, int level);
+
+    // Path of the quantized variant of a level, or null if there is none
+    Path findQuantized(String contentHash, int level);
+}
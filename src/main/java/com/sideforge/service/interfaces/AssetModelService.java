@@ -0,0 +1,18 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetModelFileDTO;
+import com.sideforge.model.Asset;
+
+import java.nio.file.Path;
+
+public interface AssetModelService {
+    // Resolve the GLB model file of an asset inside the asset root, at the closest generated LOD not above lod
+    // (its quantized variant if requested and available), gzip-encoded if accepted and precompressed
+    AssetModelFileDTO getModel(Long assetId, int lod, boolean quantized, boolean gzip);
+
+    // Number of levels of detail a model can have
+    int getMaxLod();
+
+    // Path of the GLB bytes of an asset: its blob if stored, else glbPath inside the root (may not exist)
+    Path resolvePath(Asset asset);
+}
@@ -0,0 +1,21 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetPartsDTO;
+import com.sideforge.model.Asset;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.parts.DesignValidator;
+import com.sideforge.util.parts.PartsConfig;
+
+public interface AssetPartsService {
+    // Parsed parts config of an asset (cached per asset version)
+    PartsConfig getPartsConfig(Asset asset);
+
+    // Parts an asset exposes
+    AssetPartsDTO getParts(Long assetId);
+
+    // Compiled design checks of an asset (cached with its parts config)
+    DesignValidator getDesignValidator(Asset asset);
+
+    // Check a design's parts colors, materials and placements against the asset's parts config
+    void validateDesign(Asset asset, DesignConfig design);
+}
@@ -0,0 +1,17 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.event.AssetChangedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface AssetSearchService {
+    // Ranked, prefix and typo-tolerant search over asset names and descriptions
+    Page<AssetResponseDTO> search(String query, Pageable pageable);
+
+    // Rebuild the index from the database (on startup)
+    void rebuild();
+
+    // Apply a committed asset change to the index
+    void onAssetChanged(AssetChangedEvent event);
+}
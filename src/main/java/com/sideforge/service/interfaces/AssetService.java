@@ -1,24 +1,35 @@
 package com.sideforge.service.interfaces;
 
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.asset.AssetRequestDTO;
 import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.dto.asset.AssetSummaryDTO;
 import com.sideforge.dto.asset.AssetUpdateDTO;
+import com.sideforge.util.paging.ScrollRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AssetService {
     // Create a new asset from AssetRequestDTO
     AssetResponseDTO createAsset(AssetRequestDTO assetRequestDTO);
 
+    // Create many assets in batched chunks, reporting each item's outcome
+    BulkResultDTO createAssets(List<AssetRequestDTO> assetRequestDTOs);
+
     // Get a single asset by its ID
     AssetResponseDTO getAssetById(Long id);
 
     // Get all assets as a list
     List<AssetResponseDTO> getAllAssets();
 
-    // Update an asset by its ID
-    AssetResponseDTO updateAsset(Long id, AssetUpdateDTO assetUpdateDTO);
+    // Hand every asset to the sink in id order, reading through a cursor (for streamed listings)
+    void streamAllAssets(Consumer<AssetResponseDTO> sink);
+
+    // Update an asset by its ID (expectedVersion: from If-Match, null for an unconditional update)
+    AssetResponseDTO updateAsset(Long id, AssetUpdateDTO assetUpdateDTO, Long expectedVersion);
 
     // Delete an asset by its ID
     void deleteAsset(Long id);
@@ -26,6 +37,12 @@ public interface AssetService {
     // Get a paginated list of assets
     Page<AssetResponseDTO> getAssetsPage(Pageable pageable);
 
+    // Get a paginated list of asset summaries (no parts config)
+    Page<AssetSummaryDTO> getAssetSummaries(Pageable pageable);
+
     // Paginated: Find assets by name (case-insensitive)
     Page<AssetResponseDTO> findAssetsByName(String name, Pageable pageable);
+
+    // Keyset scroll of assets (cursor pagination, count only on request)
+    CursorPageDTO<AssetResponseDTO> scrollAssets(ScrollRequest request);
 }
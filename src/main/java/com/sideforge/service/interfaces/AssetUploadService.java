@@ -0,0 +1,27 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.dto.asset.AssetUploadRequestDTO;
+import com.sideforge.dto.asset.AssetUploadResponseDTO;
+
+import java.io.InputStream;
+
+public interface AssetUploadService {
+    // Start a resumable upload; the response gives the chunk size and count to send
+    AssetUploadResponseDTO createUpload(AssetUploadRequestDTO assetUploadRequestDTO);
+
+    // Get the state of an upload (received chunks) to resume it
+    AssetUploadResponseDTO getUpload(String id);
+
+    // Write one chunk at its offset, verifying its length and Content-Digest (sha-256)
+    void writeChunk(String id, int index, InputStream body, long contentLength, String contentDigest);
+
+    // Create the asset from a complete upload
+    AssetResponseDTO commitUpload(String id);
+
+    // Abort an upload and delete its data
+    void deleteUpload(String id);
+
+    // Discard uploads older than the configured lifetime
+    void purgeExpired();
+}
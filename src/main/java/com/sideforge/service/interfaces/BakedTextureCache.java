@@ -0,0 +1,11 @@
+package com.sideforge.service.interfaces;
+
+import java.util.function.Supplier;
+
+public interface BakedTextureCache {
+    // PNG cached under a content key (memory, then disk); baked once on a miss, even when requested concurrently
+    byte[] get(Long designId, String key, Supplier<byte[]> bake);
+
+    // Forget the bake last served for a design, dropping it unless another design shares it
+    void invalidate(Long designId);
+}
@@ -1,9 +1,12 @@
 package com.sideforge.service.interfaces;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.customer.*;
+import com.sideforge.util.paging.ScrollRequest;
 import org.springframework.data.domain.*;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     // Create a new customer user from a CustomerRequestDTO.
@@ -15,12 +18,18 @@ public interface CustomerService {
     // Retrieve all customer users as a list (not paginated).
     List<CustomerResponseDTO> getAllCustomers();
 
-    // Update an existing customer user by its unique identifier with the provided data.
-    CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO);
+    // Hand every customer to the sink in id order, reading through a cursor (for streamed listings)
+    void streamAllCustomers(Consumer<CustomerResponseDTO> sink);
+
+    // Update an existing customer user by its unique identifier with the provided data. (expectedVersion: from If-Match, null for an unconditional update)
+    CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO, Long expectedVersion);
 
     // Delete a customer user by its unique identifier.
     void deleteCustomer(Long id);
 
     // Retrieve all customer users as a paginated list.
     Page<CustomerResponseDTO> getCustomersPage(Pageable pageable);
+
+    // Keyset scroll of customers (cursor pagination, count only on request)
+    CursorPageDTO<CustomerResponseDTO> scrollCustomers(ScrollRequest request);
 }
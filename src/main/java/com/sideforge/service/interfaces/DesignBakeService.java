@@ -0,0 +1,12 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.design.BakedTextureDTO;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+
+public interface DesignBakeService {
+    // Final UV texture of a design (texture, part colors, logo and text composited) as PNG, cached by content hash
+    BakedTextureDTO getBakedTexture(Long designId);
+
+    // Drop the cached bake of a design once the change to it has committed
+    void onBakeInputsChanged(DesignBakeInputsChangedEvent event);
+}
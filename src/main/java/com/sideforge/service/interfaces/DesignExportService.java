@@ -0,0 +1,8 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.design.DesignGlbExportDTO;
+
+public interface DesignExportService {
+    // Self-contained GLB of a design: the asset model with the design's materials, colors and baked texture
+    DesignGlbExportDTO exportGlb(Long designId);
+}
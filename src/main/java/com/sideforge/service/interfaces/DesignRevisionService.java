@@ -0,0 +1,25 @@
+package com.sideforge.service.interfaces;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.design.DesignRevisionDTO;
+import com.sideforge.dto.design.DesignRevisionDiffDTO;
+import com.sideforge.model.Design;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface DesignRevisionService {
+    // Append a revision for a saved design (before: its document before the change, null when just created)
+    void recordRevision(Design design, JsonNode before, JsonNode after);
+
+    // Revisions of a design without their documents
+    Page<DesignRevisionDTO> getRevisions(Long designId, Pageable pageable);
+
+    // A design as it was at a revision
+    DesignRevisionDTO getRevision(Long designId, int revision);
+
+    // JSON Patch turning one revision of a design into another
+    DesignRevisionDiffDTO diffRevisions(Long designId, int from, int to);
+
+    // Delete the history of a design
+    void deleteRevisions(Long designId);
+}
@@ -1,25 +1,47 @@
 package com.sideforge.service.interfaces;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.design.*;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.PatchFormat;
 import org.springframework.data.domain.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DesignService {
     // Create a new design from DesignRequestDTO
     DesignResponseDTO createDesign(DesignRequestDTO designRequestDTO);
 
+    // Create many designs in batched chunks, reporting each item's outcome
+    BulkResultDTO createDesigns(List<DesignRequestDTO> designRequestDTOs);
+
     // Get a design by its ID
     DesignResponseDTO getDesignById(Long id);
 
     // Get all designs as a list
     List<DesignResponseDTO> getAllDesigns();
 
-    // Update a design by its ID
-    DesignResponseDTO updateDesign(Long id, DesignUpdateDTO designUpdateDTO);
+    // Hand every design to the sink in id order, reading through a cursor (for streamed listings)
+    void streamAllDesigns(Consumer<DesignResponseDTO> sink);
+
+    // Update a design by its ID (expectedVersion: from If-Match, null for an unconditional update)
+    DesignResponseDTO updateDesign(Long id, DesignUpdateDTO designUpdateDTO, Long expectedVersion);
+
+    // Patch the editable fields of a design as the document {name, textureMapUrl, materials, partsColors, logoConfig, textConfig}; only changed fields are written
+    PatchResultDTO patchDesign(Long id, PatchFormat format, JsonNode patch, Long expectedVersion);
+
+    // Roll a design back to the fields of one of its revisions (a new revision is recorded)
+    PatchResultDTO restoreRevision(Long id, int revision, Long expectedVersion);
 
     // Delete a design by its ID
     void deleteDesign(Long id);
 
+    // Drop the revisions of a design its scene is about to remove by cascade, and announce the deletion
+    void prepareCascadeDelete(Long id);
+
     // Get a design by asset ID (1:1 relation)
     DesignResponseDTO getDesignByAssetId(Long assetId);
 
@@ -28,4 +50,13 @@ public interface DesignService {
 
     // Get paginated list of all designs
     Page<DesignResponseDTO> getDesignsPage(Pageable pageable);
-}
\ No newline at end of file
+
+    // Get paginated summaries of all designs (no configuration)
+    Page<DesignSummaryDTO> getDesignSummaries(Pageable pageable);
+
+    // Keyset scroll of designs by assetIds (cursor pagination, count only on request)
+    CursorPageDTO<DesignResponseDTO> scrollDesignsByAssetIds(List<Long> assetIds, ScrollRequest request);
+
+    // Keyset scroll of all designs (cursor pagination, count only on request)
+    CursorPageDTO<DesignResponseDTO> scrollDesigns(ScrollRequest request);
+}
@@ -0,0 +1,17 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.design.SimilarDesignDTO;
+import com.sideforge.event.DesignConfigChangedEvent;
+
+import java.util.List;
+
+public interface DesignSimilarityService {
+    // Designs whose part colors and materials are nearest to those of a design, nearest first
+    List<SimilarDesignDTO> findSimilar(Long designId, int limit);
+
+    // Rebuild the index from the database (on startup)
+    void rebuild();
+
+    // Apply a committed design change to the index
+    void onDesignConfigChanged(DesignConfigChangedEvent event);
+}
@@ -0,0 +1,12 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.design.DesignTextureFileDTO;
+import com.sideforge.event.DesignTextureChangedEvent;
+
+public interface DesignTextureService {
+    // Resolve the texture file of a design inside the asset root (its gzip sibling if accepted and precompressed)
+    DesignTextureFileDTO getTexture(Long designId, boolean gzip);
+
+    // Precompress the texture in the background once the design transaction has committed
+    void onTextureChanged(DesignTextureChangedEvent event);
+}
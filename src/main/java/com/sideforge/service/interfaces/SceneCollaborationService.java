@@ -0,0 +1,32 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.SceneChangedEvent;
+
+import java.util.concurrent.CompletionStage;
+
+public interface SceneCollaborationService {
+    // Add an editor to the scene's room and send it a snapshot; returns the editor's id
+    long join(Long sceneId, Editor editor);
+
+    // Apply an operation an editor sent (malformed ones are answered with an error message to that editor)
+    void receive(Long sceneId, long editorId, String message);
+
+    // Remove an editor; the last one to leave saves and closes the room
+    void leave(Long sceneId, long editorId);
+
+    // Bring an open room in line with a committed change made outside it (REST update, delete)
+    void onSceneChanged(SceneChangedEvent event);
+
+    // Bring the room showing a design in line with a committed change to the design
+    void onDesignConfigChanged(DesignConfigChangedEvent event);
+
+    // Connection of one editor
+    interface Editor {
+        // Start sending a text message without waiting for it; completes once sent (exceptionally if it failed)
+        CompletionStage<Void> send(String message);
+
+        // Close the connection with a reason
+        void close(String reason);
+    }
+}
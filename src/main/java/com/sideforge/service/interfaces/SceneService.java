@@ -1,19 +1,32 @@
 package com.sideforge.service.interfaces;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.scene.*;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.PatchFormat;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface SceneService {
     // Create a new scene from SceneRequestDTO
     SceneResponseDTO createScene(SceneRequestDTO sceneRequestDTO);
 
+    // Create many scenes in batched chunks, reporting each item's outcome
+    BulkResultDTO createScenes(List<SceneRequestDTO> sceneRequestDTOs);
+
     // Get a scene by its ID
     SceneResponseDTO getSceneById(Long id);
 
-    // Update a scene by its ID
-    SceneResponseDTO updateScene(Long id, SceneUpdateDTO sceneUpdateDTO);
+    // Update a scene by its ID (expectedVersion: from If-Match, null for an unconditional update)
+    SceneResponseDTO updateScene(Long id, SceneUpdateDTO sceneUpdateDTO, Long expectedVersion);
+
+    // Patch the editable fields of a scene as the document {name, thumbnail, lighting, camera}; only changed fields are written
+    PatchResultDTO patchScene(Long id, PatchFormat format, JsonNode patch, Long expectedVersion);
 
     // Delete a scene by its ID
     void deleteScene(Long id);
@@ -24,6 +37,9 @@ public interface SceneService {
     // Get all scenes belonging to an owner (paginated)
     Page<SceneResponseDTO> getScenesByOwnerId(Long ownerId, Pageable pageable);
 
+    // Summaries (no lighting/camera JSON) of an owner's scenes (paginated)
+    Page<SceneSummaryDTO> getSceneSummariesByOwnerId(Long ownerId, Pageable pageable);
+
     // Get a scene by name and owner
     SceneResponseDTO getSceneByNameAndOwner(String name, Long ownerId);
 
@@ -32,4 +48,13 @@ public interface SceneService {
 
     // Count scenes by owner
     long countScenesByOwner(Long ownerId);
+
+    // Keyset scroll of all scenes (cursor pagination, count only on request)
+    CursorPageDTO<SceneResponseDTO> scrollScenes(ScrollRequest request);
+
+    // Keyset scroll of the scenes of an owner
+    CursorPageDTO<SceneResponseDTO> scrollScenesByOwnerId(Long ownerId, ScrollRequest request);
+
+    // Keyset scroll of the scenes created between two dates
+    CursorPageDTO<SceneResponseDTO> scrollScenesCreatedBetween(LocalDateTime start, LocalDateTime end, ScrollRequest request);
 }
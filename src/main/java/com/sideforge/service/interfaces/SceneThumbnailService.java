@@ -0,0 +1,32 @@
+package com.sideforge.service.interfaces;
+
+import com.sideforge.dto.scene.SceneThumbnailFileDTO;
+import com.sideforge.event.AssetModelChangedEvent;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.SceneChangedEvent;
+
+import java.nio.file.Path;
+
+public interface SceneThumbnailService {
+    // Rendered thumbnail of a scene, rendering it first if there is none yet
+    SceneThumbnailFileDTO getThumbnail(Long sceneId);
+
+    // Render the thumbnail of a scene now and return its file
+    Path renderThumbnail(Long sceneId);
+
+    // Render the thumbnail of a scene in the background once no further request for it came within the delay
+    void requestRender(Long sceneId);
+
+    // Re-render (or drop) the thumbnail of a scene once the change to it has committed
+    void onSceneChanged(SceneChangedEvent event);
+
+    // Re-render the thumbnail showing a design whose baked texture changed
+    void onDesignBakeInputsChanged(DesignBakeInputsChangedEvent event);
+
+    // Re-render the thumbnail showing a design whose materials or colors changed
+    void onDesignConfigChanged(DesignConfigChangedEvent event);
+
+    // Re-render the thumbnails showing designs of an asset whose model changed
+    void onAssetModelChanged(AssetModelChangedEvent event);
+}
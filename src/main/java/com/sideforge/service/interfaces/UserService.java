@@ -1,9 +1,12 @@
 package com.sideforge.service.interfaces;
 
+import com.sideforge.dto.CursorPageDTO;
 import com.sideforge.dto.user.*;
+import com.sideforge.util.paging.ScrollRequest;
 import org.springframework.data.domain.*;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -17,8 +20,11 @@ public interface UserService {
     // Retrieve all users as a list (not paginated)
     List<UserResponseDTO> getAllUsers();
 
-    // Update a user by its unique identifier with the provided data
-    UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO);
+    // Hand every user to the sink in id order, reading through a cursor (for streamed listings)
+    void streamAllUsers(Consumer<UserResponseDTO> sink);
+
+    // Update a user by its unique identifier with the provided data (expectedVersion: from If-Match, null for an unconditional update)
+    UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO, Long expectedVersion);
 
     // Delete a user by its unique identifier
     void deleteUser(Long id);
@@ -28,4 +34,10 @@ public interface UserService {
 
     // Retrieve users by role as a paginated list
     Page<UserResponseDTO> getUsersPageByRole(String role, Pageable pageable);
+
+    // Keyset scroll of users (cursor pagination, count only on request)
+    CursorPageDTO<UserResponseDTO> scrollUsers(ScrollRequest request);
+
+    // Keyset scroll of users by role
+    CursorPageDTO<UserResponseDTO> scrollUsersByRole(String role, ScrollRequest request);
 }
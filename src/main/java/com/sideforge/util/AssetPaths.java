@@ -0,0 +1,35 @@
+package com.sideforge.util;
+
+import com.sideforge.exception.BadRequestException;
+
+import java.nio.file.Path;
+
+/**
+ * Helpers to resolve client-supplied asset paths inside the asset root.
+ */
+public final class AssetPaths {
+
+    private AssetPaths() {
+    }
+
+    // Resolve a (possibly absolute-looking) path against the root, rejecting paths that escape it
+    public static Path resolve(Path root, String assetPath) {
+        if (assetPath == null || assetPath.isBlank()) {
+            throw new BadRequestException("Asset path is required");
+        }
+        String relative = assetPath.replace('\\', '/');
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        Path path;
+        try {
+            path = root.resolve(relative).normalize();
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid asset path: " + assetPath);
+        }
+        if (!path.startsWith(root)) {
+            throw new BadRequestException("Asset path is outside the asset root: " + assetPath);
+        }
+        return path;
+    }
+}
@@ -3,6 +3,7 @@ package com.sideforge.util;
 import com.sideforge.model.*;
 import com.sideforge.enums.*;
 import com.sideforge.repository.*;
+import com.sideforge.util.design.DesignConfig;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -102,10 +103,8 @@ public class DataLoader implements CommandLineRunner {
             Design design1 = new Design();
             design1.setName("Modernist Mug");
             design1.setTextureMapUrl("/textures/mug-modernist.png");
-            design1.setMaterialsJson("{\"material\":\"ceramic\"}");
-            design1.setPartsColorsJson("{\"handle\":\"blue\"}");
-            design1.setLogoConfigJson("{\"logo\":\"/logos/modern.png\"}");
-            design1.setTextConfigJson("{\"text\":\"Hello Mug\"}");
+            design1.setConfig(DesignConfig.of("{\"material\":\"ceramic\"}", "{\"handle\":\"blue\"}",
+                    "{\"logo\":\"/logos/modern.png\"}", "{\"text\":\"Hello Mug\"}"));
             design1.setAsset(asset1);
             design1.setOwner(customer1);
             designRepository.save(design1);
@@ -114,10 +113,8 @@ public class DataLoader implements CommandLineRunner {
             Design design2 = new Design();
             design2.setName("Urban T-Shirt");
             design2.setTextureMapUrl("/textures/tshirt-urban.png");
-            design2.setMaterialsJson("{\"material\":\"cotton\"}");
-            design2.setPartsColorsJson("{\"sleeve\":\"black\"}");
-            design2.setLogoConfigJson("{\"logo\":\"/logos/urban.png\"}");
-            design2.setTextConfigJson("{\"text\":\"Urban Style\"}");
+            design2.setConfig(DesignConfig.of("{\"material\":\"cotton\"}", "{\"sleeve\":\"black\"}",
+                    "{\"logo\":\"/logos/urban.png\"}", "{\"text\":\"Urban Style\"}"));
             design2.setAsset(asset2);
             design2.setOwner(customer2);
             designRepository.save(design2);
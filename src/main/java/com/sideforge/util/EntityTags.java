@@ -0,0 +1,63 @@
+package com.sideforge.util;
+
+import com.sideforge.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Strong ETags and Last-Modified for JSON resources, taken from the entity's
+ * version column and write timestamp (never from hashing the body).
+ * ----------------------------------------------------------------
+ * - GET: the response carries ETag "<version>" and Last-Modified; Spring MVC
+ *   answers If-None-Match / If-Modified-Since with 304 before the body is
+ *   serialized.
+ * - PUT: If-Match "<version>" is checked against the row being updated
+ *   (412 on mismatch); the @Version column catches updates racing the check.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    // Strong ETag of an entity version
+    public static String etag(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    // 200 response with the validators of the entity version
+    public static <T> ResponseEntity<T> ok(T body, Long version, Instant lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag(etag(version));
+        }
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    // Version required by an If-Match header (null when absent or "*"); weak tags, lists and foreign tags never match
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"") && tag.indexOf(',') < 0) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our tags
+            }
+        }
+        return -1L;
+    }
+
+    // Check the version the client based its update on
+    public static void checkVersion(Long expected, Long current) {
+        if (expected != null && !Objects.equals(expected, current)) {
+            throw new PreconditionFailedException("The resource has changed (current ETag " + etag(current) + ")");
+        }
+    }
+}
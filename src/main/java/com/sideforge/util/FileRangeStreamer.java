@@ -0,0 +1,166 @@
+package com.sideforge.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Writes a file to an HTTP response without buffering it on the heap.
+ * ----------------------------------------------------------------
+ * - Conditional requests (If-None-Match / If-Modified-Since) answer 304.
+ * - A single byte range (Range) answers 206, honoring If-Range.
+ *   Multiple ranges are ignored and the full file is sent (RFC 9110 allows it).
+ * - On Tomcat connectors with sendfile support the file is handed to the
+ *   container (kernel sendfile); otherwise it is copied with FileChannel.transferTo.
+ * - Memory-mapped content is written straight from the mapped region.
+ */
+public final class FileRangeStreamer {
+
+    // Tomcat request attributes used by its DefaultServlet to delegate to sendfile
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileRangeStreamer() {
+    }
+
+    // Stream the file (or the requested range of it) to the response
+    public static void stream(HttpServletRequest request, HttpServletResponse response, Path path,
+                              long length, long lastModified, String etag, String contentType) throws IOException {
+        long[] range = prepare(request, response, length, lastModified, etag, contentType);
+        if (range == null) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container writes the file with sendfile once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range[0]);
+            request.setAttribute(SENDFILE_END, range[0] + range[1]);
+            return;
+        }
+
+        transfer(path, range[0], range[1], Channels.newChannel(response.getOutputStream()));
+    }
+
+    // Stream an in-memory (e.g. memory-mapped) copy of the file, or the requested range of it
+    public static void stream(HttpServletRequest request, HttpServletResponse response, ByteBuffer content,
+                              long lastModified, String etag, String contentType) throws IOException {
+        long[] range = prepare(request, response, content.remaining(), lastModified, etag, contentType);
+        if (range == null) {
+            return;
+        }
+
+        ByteBuffer slice = content.duplicate();
+        slice.position(slice.position() + (int) range[0]);
+        slice.limit(slice.position() + (int) range[1]);
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (slice.hasRemaining()) {
+            out.write(slice);
+        }
+    }
+
+    // Copy count bytes starting at position with FileChannel.transferTo (no whole-file heap buffer)
+    public static void transfer(Path path, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    throw new EOFException("File truncated while streaming: " + path);
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    // Helper to answer conditional and range headers; returns {start, count} of the body to write, or null if done
+    private static long[] prepare(HttpServletRequest request, HttpServletResponse response,
+                                  long length, long lastModified, String etag, String contentType) {
+        // Sets ETag/Last-Modified and answers 304 (or 412) when the client copy is still valid
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType);
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    rangeNotSatisfiable(response, length);
+                    return null;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return null;
+        }
+        return new long[]{start, count};
+    }
+
+    // If-Range: the range applies only if the validator still matches (strong comparison)
+    static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return etag != null && !value.startsWith("W/") && value.equals(etag);
+        }
+        try {
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return date == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    // Helper to parse the Range header; invalid ranges are ignored as allowed by RFC 9110
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static void rangeNotSatisfiable(HttpServletResponse response, long length) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.setContentLength(0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sideforge.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+/**
+ * Helpers to pick a model level of detail from client hints.
+ * ----------------------------------------------------------------
+ * - Save-Data: on, or ECT slow-2g/2g: coarsest level.
+ * - Device-Memory below 2 GiB: coarsest level; below 4 GiB, or ECT 3g: level 1.
+ * Responses selected this way must vary on the hint headers.
+ */
+public final class ModelClientHints {
+
+    // Hints that select the LOD (for Accept-CH and Vary)
+    public static final String HINT_HEADERS = "Save-Data, Device-Memory, ECT";
+
+    private ModelClientHints() {
+    }
+
+    // Preferred level of detail (0 = original) for the hints of the request
+    public static int preferredLod(HttpServletRequest request, int maxLod) {
+        if (maxLod <= 0) {
+            return 0;
+        }
+        String saveData = request.getHeader("Save-Data");
+        String ect = lower(request.getHeader("ECT"));
+        double deviceMemory = parseDouble(request.getHeader("Device-Memory"));
+
+        if ("on".equals(lower(saveData)) || "slow-2g".equals(ect) || "2g".equals(ect) || deviceMemory < 2) {
+            return maxLod;
+        }
+        if ("3g".equals(ect) || deviceMemory < 4) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Missing or invalid values mean no memory constraint
+    private static double parseDouble(String value) {
+        if (value == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.sideforge.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Media types of served models and Accept negotiation of the quantized variant.
+ * ----------------------------------------------------------------
+ * Clients that decode KHR_mesh_quantization opt in with
+ * Accept: model/gltf-binary; ext=KHR_mesh_quantization
+ * The quantized variant is chosen unless plain GLB is preferred by quality.
+ */
+public final class ModelMediaTypes {
+
+    public static final String GLB = "model/gltf-binary";
+    public static final String QUANTIZED_GLB = GLB + "; ext=KHR_mesh_quantization";
+
+    private static final MediaType GLB_TYPE = MediaType.parseMediaType(GLB);
+    private static final String EXT_PARAMETER = "ext";
+    private static final String QUANTIZATION_EXTENSION = "KHR_mesh_quantization";
+
+    private ModelMediaTypes() {
+    }
+
+    // Whether the Accept header asks for the quantized GLB variant
+    public static boolean acceptsQuantized(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        double quantized = 0;
+        double plain = 0;
+        for (MediaType mediaType : mediaTypes) {
+            if (!mediaType.includes(GLB_TYPE)) {
+                continue;
+            }
+            if (hasQuantization(mediaType.getParameter(EXT_PARAMETER))) {
+                quantized = Math.max(quantized, mediaType.getQualityValue());
+            } else {
+                plain = Math.max(plain, mediaType.getQualityValue());
+            }
+        }
+        return quantized > 0 && quantized >= plain;
+    }
+
+    private static boolean hasQuantization(String extensions) {
+        if (extensions == null) {
+            return false;
+        }
+        String unquoted = extensions.replace("\"", "");
+        return Arrays.stream(unquoted.split("[,\\s]+")).anyMatch(QUANTIZATION_EXTENSION::equals);
+    }
+}
@@ -0,0 +1,119 @@
+package com.sideforge.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precompressed (gzip) siblings of served files, as nginx gzip_static does.
+ * ----------------------------------------------------------------
+ * - {file}.gz is written once, at ingest, with the best compression level,
+ *   and only kept when it saves at least 10% (JPEG/PNG textures rarely do).
+ * - The sibling carries the modification time of its source: a sibling whose
+ *   time differs is stale (the source was replaced) and is not served.
+ * - Serving it is then a plain (zero-copy) file transfer with Content-Encoding: gzip.
+ */
+public final class PrecompressedFiles {
+
+    public static final String GZIP = "gzip";
+    static final String GZIP_SUFFIX = ".gz";
+
+    // Largest compressed/original size ratio worth keeping
+    private static final double MAX_RATIO = 0.9;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PrecompressedFiles() {
+    }
+
+    // Write the gzip sibling of a file if missing or stale; returns whether a fresh sibling exists
+    public static boolean gzip(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        if (findGzip(file) != null) {
+            return true;
+        }
+        Path target = gzipPath(file);
+        FileTime sourceTime = Files.getLastModifiedTime(file);
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".gz.tmp");
+        try {
+            try (OutputStream out = new BestGzipOutputStream(Files.newOutputStream(tmp))) {
+                Files.copy(file, out);
+            }
+            if (Files.size(tmp) > Files.size(file) * MAX_RATIO) {
+                Files.deleteIfExists(target);
+                return false;
+            }
+            Files.setLastModifiedTime(tmp, sourceTime);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Fresh gzip sibling of a file, or null if there is none
+    public static Path findGzip(Path file) {
+        Path gzip = gzipPath(file);
+        try {
+            return Files.isRegularFile(gzip)
+                    && Files.getLastModifiedTime(gzip).equals(Files.getLastModifiedTime(file)) ? gzip : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Whether an Accept-Encoding header allows gzip (explicitly or through *)
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        double effective = gzip != null ? gzip : any != null ? any : 0;
+        return effective > 0;
+    }
+
+    private static Path gzipPath(Path file) {
+        return file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+    }
+
+    // Helper to read the q parameter of an Accept-Encoding entry (1 if absent or invalid)
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // GZIPOutputStream at the best compression level: written once, served many times
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        private BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sideforge.util.bake;
+
+import com.sideforge.enums.Part;
+import com.sideforge.model.Design;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+import com.sideforge.util.parts.PartsConfig;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Design fields a baked texture depends on, in canonical form.
+ * ----------------------------------------------------------------
+ * Colors compare by value ("red" equals "#ff0000") and part colors are kept
+ * in Part order, so equal inputs always bake to the same pixels whatever the
+ * JSON they were written as. The name and materials are not inputs.
+ */
+public record BakeInputs(Long assetId, String textureMapUrl, Map<Part, Integer> partsColors,
+                         DesignConfig.Placement logo, DesignConfig.Placement text) {
+
+    public static BakeInputs of(Design design) {
+        DesignConfig config = design.getConfig();
+        EnumMap<Part, Integer> colors = new EnumMap<>(Part.class);
+        config.getPartsColors().forEach((part, color) -> colors.put(part, color.value()));
+        String texture = design.getTextureMapUrl();
+        return new BakeInputs(design.getAsset() != null ? design.getAsset().getId() : null,
+                texture != null && !texture.isBlank() ? texture : null,
+                Collections.unmodifiableMap(colors), canonical(config.getLogo()), canonical(config.getText()));
+    }
+
+    // Whether a bake draws anything: a texture, a logo, text or a part color on a UV region of parts
+    public boolean hasContent(PartsConfig parts) {
+        if (textureMapUrl != null || logo != null || text != null) {
+            return true;
+        }
+        return partsColors.keySet().stream().map(parts::get).anyMatch(part -> part != null && part.uv() != null);
+    }
+
+    // Helper to drop how a placement color was written (name or hex)
+    private static DesignConfig.Placement canonical(DesignConfig.Placement placement) {
+        if (placement == null || placement.color() == null) {
+            return placement;
+        }
+        int value = placement.color().value();
+        return new DesignConfig.Placement(placement.content(), placement.font(), placement.part(),
+                new Rgba(value, Rgba.paletteIndex(value) >= 0), placement.x(), placement.y(), placement.size(),
+                placement.rotation());
+    }
+}
@@ -0,0 +1,18 @@
+package com.sideforge.util.bake;
+
+import java.awt.Rectangle;
+
+/**
+ * Solid color over a rectangle of the canvas.
+ */
+public record FillLayer(Rectangle bounds, int premultipliedColor) implements Layer {
+
+    @Override
+    public void composite(PixelBuffer canvas, int x0, int y0, int x1, int y1) {
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                canvas.set(x, y, PixelBuffer.over(premultipliedColor, canvas.get(x, y)));
+            }
+        }
+    }
+}
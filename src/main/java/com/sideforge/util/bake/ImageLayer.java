@@ -0,0 +1,84 @@
+package com.sideforge.util.bake;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Image drawn through an affine transform (scale, rotation, translation).
+ * ----------------------------------------------------------------
+ * Each canvas pixel center is mapped back into the source and sampled
+ * bilinearly, with edge texels repeated so borders do not fade. With
+ * clampEdges the source also extends beyond its bounds (used for the base
+ * texture); otherwise pixels mapping outside it are left untouched.
+ */
+public final class ImageLayer implements Layer {
+
+    private final PixelBuffer source;
+    private final Rectangle bounds;
+    private final boolean clampEdges;
+    // Canvas to source: sx = m[0] * x + m[2] * y + m[4], sy = m[1] * x + m[3] * y + m[5]
+    private final double[] m = new double[6];
+
+    public ImageLayer(PixelBuffer source, AffineTransform toCanvas, boolean clampEdges) {
+        this.source = source;
+        this.clampEdges = clampEdges;
+        try {
+            toCanvas.createInverse().getMatrix(m);
+        } catch (NoninvertibleTransformException e) {
+            throw new IllegalArgumentException("Image transform is not invertible", e);
+        }
+        Rectangle covered = toCanvas.createTransformedShape(
+                new Rectangle2D.Double(0, 0, source.width(), source.height())).getBounds();
+        covered.grow(1, 1);
+        this.bounds = covered;
+    }
+
+    @Override
+    public Rectangle bounds() {
+        return bounds;
+    }
+
+    @Override
+    public void composite(PixelBuffer canvas, int x0, int y0, int x1, int y1) {
+        for (int y = y0; y < y1; y++) {
+            double py = y + 0.5;
+            for (int x = x0; x < x1; x++) {
+                double px = x + 0.5;
+                double sx = m[0] * px + m[2] * py + m[4];
+                double sy = m[1] * px + m[3] * py + m[5];
+                if (!clampEdges && (sx < 0 || sy < 0 || sx >= source.width() || sy >= source.height())) {
+                    continue;
+                }
+                int sample = sample(sx - 0.5, sy - 0.5);
+                if (sample != 0) {
+                    canvas.set(x, y, PixelBuffer.over(sample, canvas.get(x, y)));
+                }
+            }
+        }
+    }
+
+    // Bilinear sample at source coordinates measured between pixel centers
+    private int sample(double sx, double sy) {
+        int ix = (int) Math.floor(sx);
+        int iy = (int) Math.floor(sy);
+        double fx = sx - ix;
+        double fy = sy - iy;
+        int p00 = texel(ix, iy);
+        int p10 = texel(ix + 1, iy);
+        int p01 = texel(ix, iy + 1);
+        int p11 = texel(ix + 1, iy + 1);
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            double top = ((p00 >>> shift) & 0xff) * (1 - fx) + ((p10 >>> shift) & 0xff) * fx;
+            double bottom = ((p01 >>> shift) & 0xff) * (1 - fx) + ((p11 >>> shift) & 0xff) * fx;
+            result |= ((int) (top * (1 - fy) + bottom * fy + 0.5)) << shift;
+        }
+        return result;
+    }
+
+    private int texel(int x, int y) {
+        return source.get(Math.max(0, Math.min(source.width() - 1, x)), Math.max(0, Math.min(source.height() - 1, y)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.sideforge.util.bake;
+
+import java.awt.Rectangle;
+
+/**
+ * One layer of a baked texture, blended source-over onto the canvas.
+ */
+public interface Layer {
+
+    // Canvas pixels the layer may cover
+    Rectangle bounds();
+
+    // Blend the layer into the canvas pixels x0 <= x < x1, y0 <= y < y1 (a tile, already clipped to bounds)
+    void composite(PixelBuffer canvas, int x0, int y0, int x1, int y1);
+}
@@ -0,0 +1,114 @@
+package com.sideforge.util.bake;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Off-heap canvas of premultiplied ARGB pixels (one int per pixel, row-major).
+ * ----------------------------------------------------------------
+ * Backed by a direct buffer so large bakes stay off the heap. Access is
+ * absolute, so threads may write disjoint pixels concurrently.
+ */
+public final class PixelBuffer {
+
+    private final int width;
+    private final int height;
+    private final IntBuffer pixels;
+
+    private PixelBuffer(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("Invalid canvas size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = ByteBuffer.allocateDirect(width * height * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    // Transparent canvas
+    public static PixelBuffer allocate(int width, int height) {
+        return new PixelBuffer(width, height);
+    }
+
+    // Premultiplied copy of an image
+    public static PixelBuffer of(BufferedImage image) {
+        PixelBuffer buffer = new PixelBuffer(image.getWidth(), image.getHeight());
+        int[] row = new int[buffer.width];
+        for (int y = 0; y < buffer.height; y++) {
+            image.getRGB(0, y, buffer.width, 1, row, 0, buffer.width);
+            for (int x = 0; x < buffer.width; x++) {
+                buffer.pixels.put(y * buffer.width + x, premultiply(row[x]));
+            }
+        }
+        return buffer;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    // Premultiplied pixel
+    public int get(int x, int y) {
+        return pixels.get(y * width + x);
+    }
+
+    public void set(int x, int y, int premultiplied) {
+        pixels.put(y * width + x, premultiplied);
+    }
+
+    // Straight (non-premultiplied) ARGB pixel
+    public int getArgb(int x, int y) {
+        return unpremultiply(get(x, y));
+    }
+
+    public static int premultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 255) {
+            return argb;
+        }
+        if (a == 0) {
+            return 0;
+        }
+        return (a << 24) | (mul((argb >> 16) & 0xff, a) << 16) | (mul((argb >> 8) & 0xff, a) << 8) | mul(argb & 0xff, a);
+    }
+
+    public static int unpremultiply(int premultiplied) {
+        int a = premultiplied >>> 24;
+        if (a == 255 || a == 0) {
+            return a == 0 ? 0 : premultiplied;
+        }
+        return (a << 24) | (div((premultiplied >> 16) & 0xff, a) << 16)
+                | (div((premultiplied >> 8) & 0xff, a) << 8) | div(premultiplied & 0xff, a);
+    }
+
+    // Source-over of two premultiplied pixels
+    public static int over(int source, int destination) {
+        int sa = source >>> 24;
+        if (sa == 255) {
+            return source;
+        }
+        if (sa == 0) {
+            return destination;
+        }
+        int inverse = 255 - sa;
+        return ((sa + mul(destination >>> 24, inverse)) << 24)
+                | ((((source >> 16) & 0xff) + mul((destination >> 16) & 0xff, inverse)) << 16)
+                | ((((source >> 8) & 0xff) + mul((destination >> 8) & 0xff, inverse)) << 8)
+                | ((source & 0xff) + mul(destination & 0xff, inverse));
+    }
+
+    // Helper for value * factor / 255, rounded
+    private static int mul(int value, int factor) {
+        int t = value * factor + 128;
+        return (t + (t >> 8)) >> 8;
+    }
+
+    private static int div(int value, int alpha) {
+        return Math.min(255, (value * 255 + alpha / 2) / alpha);
+    }
+}
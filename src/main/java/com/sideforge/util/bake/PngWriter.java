@@ -0,0 +1,171 @@
+package com.sideforge.util.bake;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Streams a canvas as an 8-bit RGBA PNG.
+ * ----------------------------------------------------------------
+ * Rows are un-premultiplied one at a time and each gets the PNG filter (None,
+ * Sub, Up, Average or Paeth) with the smallest sum of absolute residuals, the
+ * usual heuristic for good zlib compression. Compressed data is cut into
+ * IDAT chunks as it is produced, so only a few rows are held in memory.
+ */
+public final class PngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private PngWriter() {
+    }
+
+    public static void write(PixelBuffer canvas, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream fields = new DataOutputStream(header);
+        fields.writeInt(canvas.width());
+        fields.writeInt(canvas.height());
+        fields.writeByte(8);  // bit depth
+        fields.writeByte(6);  // color type: RGBA
+        fields.writeByte(0);  // deflate
+        fields.writeByte(0);  // adaptive filtering
+        fields.writeByte(0);  // no interlace
+        writeChunk(data, "IHDR", header.toByteArray(), header.size());
+
+        int stride = canvas.width() * BYTES_PER_PIXEL;
+        byte[] previous = new byte[stride];
+        byte[] current = new byte[stride];
+        byte[][] candidates = new byte[5][stride];
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DeflaterOutputStream idat = new DeflaterOutputStream(new IdatStream(data), deflater, CHUNK_SIZE)) {
+            for (int y = 0; y < canvas.height(); y++) {
+                for (int x = 0; x < canvas.width(); x++) {
+                    int argb = canvas.getArgb(x, y);
+                    int i = x * BYTES_PER_PIXEL;
+                    current[i] = (byte) (argb >> 16);
+                    current[i + 1] = (byte) (argb >> 8);
+                    current[i + 2] = (byte) argb;
+                    current[i + 3] = (byte) (argb >>> 24);
+                }
+                int filter = filter(current, previous, candidates);
+                idat.write(filter);
+                idat.write(candidates[filter]);
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+        } finally {
+            deflater.end();
+        }
+        writeChunk(data, "IEND", new byte[0], 0);
+        data.flush();
+    }
+
+    // Fill each candidate with the row filtered by that type and return the best type
+    private static int filter(byte[] row, byte[] above, byte[][] candidates) {
+        long bestSum = Long.MAX_VALUE;
+        int best = 0;
+        for (int type = 0; type < candidates.length; type++) {
+            byte[] out = candidates[type];
+            long sum = 0;
+            for (int i = 0; i < row.length; i++) {
+                int a = i >= BYTES_PER_PIXEL ? row[i - BYTES_PER_PIXEL] & 0xff : 0;
+                int b = above[i] & 0xff;
+                int c = i >= BYTES_PER_PIXEL ? above[i - BYTES_PER_PIXEL] & 0xff : 0;
+                int predictor = switch (type) {
+                    case 1 -> a;
+                    case 2 -> b;
+                    case 3 -> (a + b) >>> 1;
+                    case 4 -> paeth(a, b, c);
+                    default -> 0;
+                };
+                byte residual = (byte) ((row[i] & 0xff) - predictor);
+                out[i] = residual;
+                sum += Math.abs(residual);
+            }
+            if (sum < bestSum) {
+                bestSum = sum;
+                best = type;
+            }
+        }
+        return best;
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(name);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    // Buffers compressed bytes and emits them as IDAT chunks of at most CHUNK_SIZE bytes
+    private static final class IdatStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int length;
+
+        private IdatStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == buffer.length) {
+                flushChunk();
+            }
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) throws IOException {
+            while (count > 0) {
+                if (length == buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(count, buffer.length - length);
+                System.arraycopy(bytes, offset, buffer, length, n);
+                length += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        // The last chunk is written on close; the underlying stream stays open
+        @Override
+        public void close() throws IOException {
+            if (length > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            writeChunk(out, "IDAT", buffer, length);
+            length = 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sideforge.util.bake;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Renders a line of text into a tight, transparent pixel buffer with Java2D.
+ */
+public final class TextRasterizer {
+
+    private TextRasterizer() {
+    }
+
+    // Antialiased text in one color; wider text keeps only its middle maxWidth pixels
+    public static PixelBuffer rasterize(String text, String fontName, float pixelSize, int argb, int maxWidth) {
+        Font font = new Font(fontName != null ? fontName : Font.SANS_SERIF, Font.PLAIN, 1).deriveFont(pixelSize);
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+
+        int textWidth = Math.max(1, metrics.stringWidth(text));
+        int width = Math.min(textWidth, maxWidth);
+        int height = Math.max(1, metrics.getAscent() + metrics.getDescent());
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            g.setFont(font);
+            g.setColor(new Color(argb, true));
+            g.drawString(text, -(textWidth - width) / 2f, metrics.getAscent());
+        } finally {
+            g.dispose();
+        }
+        return PixelBuffer.of(image);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sideforge.util.bake;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Composites layers onto a new canvas, tile by tile, in parallel.
+ * ----------------------------------------------------------------
+ * The canvas is cut into TILE x TILE tiles; a fork-join task splits the tile
+ * range in halves until it is small enough, then runs every layer over each
+ * of its tiles in order. Tiles never overlap, so no pixel is shared between
+ * threads and the result equals a sequential composite.
+ */
+public final class TextureCompositor {
+
+    public static final int TILE = 64;
+    private static final int TILES_PER_TASK = 4;
+
+    private TextureCompositor() {
+    }
+
+    // Canvas of the given size with the layers blended bottom to top
+    public static PixelBuffer composite(int width, int height, List<Layer> layers, ForkJoinPool pool) {
+        PixelBuffer canvas = PixelBuffer.allocate(width, height);
+        int columns = (width + TILE - 1) / TILE;
+        int rows = (height + TILE - 1) / TILE;
+        pool.invoke(new TileTask(canvas, layers, columns, 0, columns * rows));
+        return canvas;
+    }
+
+    private static final class TileTask extends RecursiveAction {
+
+        private final PixelBuffer canvas;
+        private final List<Layer> layers;
+        private final int columns;
+        private final int from;
+        private final int to;
+
+        private TileTask(PixelBuffer canvas, List<Layer> layers, int columns, int from, int to) {
+            this.canvas = canvas;
+            this.layers = layers;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(canvas, layers, columns, from, middle),
+                        new TileTask(canvas, layers, columns, middle, to));
+                return;
+            }
+            for (int tile = from; tile < to; tile++) {
+                int x0 = (tile % columns) * TILE;
+                int y0 = (tile / columns) * TILE;
+                Rectangle area = new Rectangle(x0, y0,
+                        Math.min(TILE, canvas.width() - x0), Math.min(TILE, canvas.height() - y0));
+                for (Layer layer : layers) {
+                    Rectangle clip = area.intersection(layer.bounds());
+                    if (!clip.isEmpty()) {
+                        layer.composite(canvas, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.sideforge.util.bulk;
+
+import com.sideforge.dto.BulkItemResultDTO;
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many independent items in chunks of the JDBC batch size.
+ * ----------------------------------------------------------------
+ * Each chunk is one transaction: items are validated and persisted one by
+ * one (a rejected item is reported and skipped), the chunk is flushed as
+ * batched inserts, and the persistence context is cleared so memory stays
+ * flat however many items are sent. A chunk that fails to commit (a unique
+ * constraint, say) is replayed one transaction per item, so only the items
+ * at fault fail.
+ */
+@Component
+public class BulkInserter {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public BulkInserter(PlatformTransactionManager transactionManager, Validator validator,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Create every request with writer (returns the new id); preload runs first in each chunk to fetch shared references
+    public <T> BulkResultDTO insert(List<T> requests, Consumer<List<T>> preload, Function<T, Long> writer) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one item is required");
+        }
+        if (requests.size() > MAX_ITEMS) {
+            throw new BadRequestException("At most " + MAX_ITEMS + " items can be created per request");
+        }
+        BulkItemResultDTO[] results = new BulkItemResultDTO[requests.size()];
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            insertChunk(requests, from, Math.min(from + chunkSize, requests.size()), preload, writer, results);
+        }
+        int created = (int) Arrays.stream(results).filter(result -> result.getId() != null).count();
+        return BulkResultDTO.builder()
+                .created(created)
+                .failed(results.length - created)
+                .items(List.of(results))
+                .build();
+    }
+
+    private <T> void insertChunk(List<T> requests, int from, int to, Consumer<List<T>> preload,
+                                 Function<T, Long> writer, BulkItemResultDTO[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                preload.accept(requests.subList(from, to));
+                for (int i = from; i < to; i++) {
+                    results[i] = write(i, requests.get(i), writer);
+                }
+                entityManager.flush();
+            });
+        } catch (RuntimeException chunkFailure) {
+            entityManager.clear();
+            for (int i = from; i < to; i++) {
+                if (results[i] == null || results[i].getId() != null) {
+                    results[i] = writeAlone(i, requests.get(i), writer);
+                }
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    // Distinct non-null ids the items of a chunk refer to, for preloading them in one query
+    public static <T> Set<Long> referencedIds(List<T> chunk, Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (T item : chunk) {
+            if (item != null && id.apply(item) != null) {
+                ids.add(id.apply(item));
+            }
+        }
+        return ids;
+    }
+
+    // Helper to write one item inside the chunk transaction; business rejections are reported, anything else aborts the chunk
+    private <T> BulkItemResultDTO write(int index, T request, Function<T, Long> writer) {
+        String invalid = validate(request);
+        if (invalid != null) {
+            return failed(index, 400, invalid);
+        }
+        try {
+            return created(index, writer.apply(request));
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            return failed(index, status(e), e.getMessage());
+        }
+    }
+
+    private <T> BulkItemResultDTO writeAlone(int index, T request, Function<T, Long> writer) {
+        String invalid = validate(request);
+        if (invalid != null) {
+            return failed(index, 400, invalid);
+        }
+        try {
+            Long id = transactionTemplate.execute(status -> {
+                Long created = writer.apply(request);
+                entityManager.flush();
+                return created;
+            });
+            return created(index, id);
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            return failed(index, status(e), message(e));
+        }
+    }
+
+    private <T> String validate(T request) {
+        if (request == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static int status(RuntimeException e) {
+        if (e instanceof BadRequestException) {
+            return 400;
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return 404;
+        }
+        return isConstraintViolation(e) ? 409 : 500;
+    }
+
+    // Driver messages quote SQL, so storage failures get a fixed text
+    private static String message(RuntimeException e) {
+        if (e instanceof BadRequestException || e instanceof ResourceNotFoundException) {
+            return e.getMessage();
+        }
+        return isConstraintViolation(e) ? "Conflicts with existing data" : "Could not be stored";
+    }
+
+    // Flushing through the EntityManager is not translated by Spring, so look for Hibernate's exception too
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BulkItemResultDTO created(int index, Long id) {
+        return BulkItemResultDTO.builder().index(index).status(201).id(id).build();
+    }
+
+    private static BulkItemResultDTO failed(int index, int status, String error) {
+        return BulkItemResultDTO.builder().index(index).status(status).error(error).build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.sideforge.util.collab;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.util.patch.JsonPatches;
+
+import java.util.*;
+
+/**
+ * Shared editing state of one scene and the operations its editors send.
+ * ----------------------------------------------------------------
+ * The state is one document, {camera, lighting, design: {materials,
+ * partsColors, logoConfig, textConfig}}. An operation is a JSON Merge Patch
+ * of one of its three targets:
+ *   {"id": 17, "target": "camera", "patch": {"fov": 50}}
+ * Operations are applied in arrival order, each under the next sequence
+ * number, so every editor converges on the same state. Besides the state the
+ * room keeps two earlier versions of it, and coalesces operations by diffing
+ * (JsonPatches.diff) against them:
+ * - broadcast: the state editors last received, so one delta carries all
+ *   changes since, with the last sequence number and the last operation id
+ *   acknowledged per editor.
+ * - saved: the state last written or read from the database, so one scene
+ *   patch and one design patch save any number of operations.
+ * Diffing (rather than composing the operations) keeps a delete followed by
+ * a new value exact, which a single merge patch cannot otherwise express.
+ * Not thread-safe: callers synchronize on the room.
+ */
+public final class SceneRoom {
+
+    public static final Set<String> SCENE_FIELDS = Set.of("camera", "lighting");
+    public static final Set<String> DESIGN_FIELDS = Set.of("materials", "partsColors", "logoConfig", "textConfig");
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Long sceneId;
+    private final Long designId;
+    private ObjectNode state;
+    private ObjectNode broadcast;
+    private ObjectNode saved;
+    private long sequence;
+    private final Map<Long, Long> acks = new TreeMap<>();
+
+    public SceneRoom(Long sceneId, Long designId, ObjectNode state) {
+        this.sceneId = sceneId;
+        this.designId = designId;
+        this.state = state.deepCopy();
+        this.broadcast = this.state;
+        this.saved = this.state;
+    }
+
+    // Document of a scene's camera and lighting and its design's configuration (null members left out)
+    public static ObjectNode document(JsonNode camera, JsonNode lighting, ObjectNode design) {
+        ObjectNode document = NODES.objectNode();
+        if (camera != null) document.set("camera", camera);
+        if (lighting != null) document.set("lighting", lighting);
+        document.set("design", design != null ? design : NODES.objectNode());
+        return document;
+    }
+
+    // Apply an editor's operation, returning its sequence number (BadRequestException if malformed)
+    public long apply(long clientId, JsonNode operation) {
+        if (operation == null || !operation.isObject()) {
+            throw new BadRequestException("An operation must be a JSON object");
+        }
+        String target = operation.path("target").asText("");
+        JsonNode patch = operation.get("patch");
+        if (!SCENE_FIELDS.contains(target) && !target.equals("design")) {
+            throw new BadRequestException("Unknown operation target: '" + target + "'");
+        }
+        if (patch == null) {
+            throw new BadRequestException("An operation needs a patch");
+        }
+        if (target.equals("design")) {
+            JsonPatches.requireFields(patch, DESIGN_FIELDS);
+        }
+        JsonNode id = operation.get("id");
+        if (id != null && !id.canConvertToLong()) {
+            throw new BadRequestException("An operation id must be a number");
+        }
+
+        ObjectNode change = NODES.objectNode();
+        change.set(target, patch);
+        state = (ObjectNode) JsonPatches.mergePatch(state, change);
+        sequence++;
+        if (id != null) {
+            acks.put(clientId, id.asLong());
+        }
+        return sequence;
+    }
+
+    // Bring the state in line with the stored document, keeping unsaved edits on top; false if nothing changed
+    public boolean reconcile(ObjectNode stored) {
+        ObjectNode expected = (ObjectNode) JsonPatches.mergePatch(stored, JsonPatches.diff(saved, state));
+        saved = stored.deepCopy();
+        if (JsonPatches.diff(state, expected).isEmpty()) {
+            return false;
+        }
+        state = expected;
+        sequence++;
+        return true;
+    }
+
+    // Delta message of the changes since the last call ({type, seq, patch, acks}), or null if there were none
+    public ObjectNode drainBatch() {
+        ObjectNode patch = JsonPatches.diff(broadcast, state);
+        if (patch.isEmpty() && acks.isEmpty()) {
+            return null;
+        }
+        ObjectNode message = NODES.objectNode();
+        message.put("type", "delta");
+        message.put("seq", sequence);
+        message.set("patch", patch);
+        ObjectNode acked = message.putObject("acks");
+        acks.forEach((client, id) -> acked.put(String.valueOf(client), id));
+        broadcast = state;
+        acks.clear();
+        return message;
+    }
+
+    // Changes since the last save as {scene, design} patches (null when nothing is unsaved), then counted as saved
+    public Unsaved drainUnsaved() {
+        ObjectNode changes = JsonPatches.diff(saved, state);
+        if (changes.isEmpty()) {
+            return null;
+        }
+        ObjectNode scene = NODES.objectNode();
+        SCENE_FIELDS.forEach(field -> {
+            if (changes.has(field)) {
+                scene.set(field, changes.get(field));
+            }
+        });
+        JsonNode design = changes.get("design");
+        Unsaved unsaved = new Unsaved(scene.isEmpty() ? null : scene,
+                design != null && design.isObject() && !design.isEmpty() ? (ObjectNode) design : null, saved);
+        saved = state;
+        return unsaved;
+    }
+
+    // Count changes whose save failed as unsaved again (the parts left null were saved)
+    public void restoreUnsaved(Unsaved failed) {
+        ObjectNode restored = saved.deepCopy();
+        if (failed.scene() != null) {
+            SCENE_FIELDS.forEach(field -> revert(restored, failed.before(), field));
+        }
+        if (failed.design() != null) {
+            revert(restored, failed.before(), "design");
+        }
+        saved = restored;
+    }
+
+    // Snapshot message for a joining editor ({type, clientId, seq, state})
+    public ObjectNode snapshot(long clientId) {
+        ObjectNode message = NODES.objectNode();
+        message.put("type", "snapshot");
+        message.put("clientId", clientId);
+        message.put("seq", sequence);
+        message.set("state", state.deepCopy());
+        return message;
+    }
+
+    public Long getSceneId() {
+        return sceneId;
+    }
+
+    public Long getDesignId() {
+        return designId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ObjectNode getState() {
+        return state.deepCopy();
+    }
+
+    public boolean hasUnsaved() {
+        return !JsonPatches.diff(saved, state).isEmpty();
+    }
+
+    private static void revert(ObjectNode document, ObjectNode before, String field) {
+        if (before.has(field)) {
+            document.set(field, before.get(field));
+        } else {
+            document.remove(field);
+        }
+    }
+
+    // Coalesced changes of the scene (camera, lighting) and of its design, either may be null,
+    // and the saved state they apply to
+    public record Unsaved(ObjectNode scene, ObjectNode design, ObjectNode before) {
+    }
+}
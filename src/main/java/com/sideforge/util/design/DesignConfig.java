@@ -0,0 +1,554 @@
+package com.sideforge.util.design;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.util.parts.PartsConfig;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Typed configuration of a design, stored as one compact binary value.
+ * ----------------------------------------------------------------
+ * Sections (each may be absent):
+ * - materials: a MaterialType per Part, "material" applying to the rest.
+ * - parts colors: a packed RGBA int per Part.
+ * - logo / text: fixed-layout placement (content, font, part, color, x, y,
+ *   scale or size, rotation).
+ * Keys the model does not understand are kept as residual JSON, and a section
+ * that is not a JSON object is kept as its text, so nothing sent is lost.
+ * The JSON views are rendered on demand: typed keys first, Part keys
+ * lowercase ("left_sleeve"), hex colors lowercase.
+ * Part, MaterialType and palette ordinals are stored, so those lists may only
+ * be appended to. Instances are immutable and encoded once.
+ */
+public final class DesignConfig {
+
+    // Largest encoded configuration (the size of the column)
+    public static final int MAX_BYTES = 32768;
+
+    public static final DesignConfig EMPTY = new DesignConfig(null, null, null, null);
+
+    // Key of the material used by parts without one of their own
+    static final String DEFAULT_MATERIAL_KEY = "material";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int FORMAT = 1;
+    private static final int ABSENT = 0;
+    private static final int TYPED = 1;
+    private static final int RAW = 2;
+    private static final int NONE = 0xff;
+
+    private static final Codec<Materials> MATERIALS = new MaterialsCodec();
+    private static final Codec<Map<Part, Rgba>> PARTS_COLORS = new PartsColorsCodec();
+    private static final Codec<Placement> LOGO = new PlacementCodec("logo", "scale");
+    private static final Codec<Placement> TEXT = new PlacementCodec("text", "size");
+
+    private final Section<Materials> materials;
+    private final Section<Map<Part, Rgba>> partsColors;
+    private final Section<Placement> logo;
+    private final Section<Placement> text;
+    private final byte[] encoded;
+
+    private DesignConfig(Section<Materials> materials, Section<Map<Part, Rgba>> partsColors,
+                         Section<Placement> logo, Section<Placement> text) {
+        this.materials = materials;
+        this.partsColors = partsColors;
+        this.logo = logo;
+        this.text = text;
+        this.encoded = encode();
+    }
+
+    // Configuration from the JSON of each section (null for an absent section)
+    public static DesignConfig of(String materialsJson, String partsColorsJson,
+                                  String logoConfigJson, String textConfigJson) {
+        return new DesignConfig(Section.parse(materialsJson, MATERIALS), Section.parse(partsColorsJson, PARTS_COLORS),
+                Section.parse(logoConfigJson, LOGO), Section.parse(textConfigJson, TEXT));
+    }
+
+    // Copy with the sections given replaced (null keeps the current one)
+    public DesignConfig with(String materialsJson, String partsColorsJson,
+                             String logoConfigJson, String textConfigJson) {
+        return new DesignConfig(
+                materialsJson != null ? Section.parse(materialsJson, MATERIALS) : materials,
+                partsColorsJson != null ? Section.parse(partsColorsJson, PARTS_COLORS) : partsColors,
+                logoConfigJson != null ? Section.parse(logoConfigJson, LOGO) : logo,
+                textConfigJson != null ? Section.parse(textConfigJson, TEXT) : text);
+    }
+
+    // Decode a stored configuration
+    public static DesignConfig fromBytes(byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readUnsignedByte() != FORMAT) {
+                throw new IllegalArgumentException("Unknown design configuration format");
+            }
+            DesignConfig config = new DesignConfig(Section.read(in, MATERIALS), Section.read(in, PARTS_COLORS),
+                    Section.read(in, LOGO), Section.read(in, TEXT));
+            if (in.available() > 0) {
+                throw new IOException("Trailing bytes");
+            }
+            return config;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Design configuration is corrupt", e);
+        }
+    }
+
+    // Encoded form, as stored
+    public byte[] toBytes() {
+        return encoded.clone();
+    }
+
+    public int encodedSize() {
+        return encoded.length;
+    }
+
+    public String getMaterialsJson() {
+        return Section.render(materials, MATERIALS);
+    }
+
+    public String getPartsColorsJson() {
+        return Section.render(partsColors, PARTS_COLORS);
+    }
+
+    public String getLogoConfigJson() {
+        return Section.render(logo, LOGO);
+    }
+
+    public String getTextConfigJson() {
+        return Section.render(text, TEXT);
+    }
+
+    // Material of a part (its own, else the default), or null
+    public MaterialType getMaterial(Part part) {
+        Materials value = Section.value(materials);
+        if (value == null) {
+            return null;
+        }
+        MaterialType material = value.parts().get(part);
+        return material != null ? material : value.defaultMaterial();
+    }
+
+    // Typed materials section (default and per-part materials), or null
+    public Materials getMaterials() {
+        return Section.value(materials);
+    }
+
+    // Colors set per part
+    public Map<Part, Rgba> getPartsColors() {
+        Map<Part, Rgba> value = Section.value(partsColors);
+        return value != null ? value : Map.of();
+    }
+
+    // Untyped rest of the materials section (residual JSON object, or text that is not an object), or null
+    public String getUntypedMaterialsJson() {
+        return Section.untyped(materials);
+    }
+
+    // Untyped rest of the parts colors section (residual JSON object, or text that is not an object), or null
+    public String getUntypedPartsColorsJson() {
+        return Section.untyped(partsColors);
+    }
+
+    // Logo placement, or null
+    public Placement getLogo() {
+        return Section.value(logo);
+    }
+
+    // Text placement, or null
+    public Placement getText() {
+        return Section.value(text);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof DesignConfig other && Arrays.equals(encoded, other.encoded);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(encoded);
+    }
+
+    private byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            Section.write(out, materials, MATERIALS);
+            Section.write(out, partsColors, PARTS_COLORS);
+            Section.write(out, logo, LOGO);
+            Section.write(out, text, TEXT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (bytes.size() > MAX_BYTES) {
+            throw new BadRequestException("Design configuration is larger than " + MAX_BYTES + " bytes");
+        }
+        return bytes.toByteArray();
+    }
+
+    // Materials section: default material and per-part overrides
+    public record Materials(MaterialType defaultMaterial, Map<Part, MaterialType> parts) {
+    }
+
+    // Logo or text placement; null components were not given
+    public record Placement(String content, String font, Part part, Rgba color,
+                            Float x, Float y, Float size, Float rotation) {
+    }
+
+    // Typed value of a section plus what it could not type (residual JSON object), or its raw text
+    private record Section<T>(T value, String extra, String raw) {
+
+        static <T> Section<T> parse(String json, Codec<T> codec) {
+            if (json == null) {
+                return null;
+            }
+            JsonNode root;
+            try {
+                root = MAPPER.readTree(json);
+            } catch (JsonProcessingException e) {
+                root = null;
+            }
+            if (root == null || !root.isObject()) {
+                return new Section<>(null, null, json);
+            }
+            ObjectNode remaining = (ObjectNode) root;
+            T value = codec.parse(remaining);
+            return new Section<>(value, remaining.isEmpty() ? null : remaining.toString(), null);
+        }
+
+        static <T> T value(Section<T> section) {
+            return section != null ? section.value() : null;
+        }
+
+        static <T> String untyped(Section<T> section) {
+            if (section == null) {
+                return null;
+            }
+            return section.raw() != null ? section.raw() : section.extra();
+        }
+
+        static <T> String render(Section<T> section, Codec<T> codec) {
+            if (section == null) {
+                return null;
+            }
+            if (section.raw() != null) {
+                return section.raw();
+            }
+            ObjectNode out = MAPPER.createObjectNode();
+            codec.render(section.value(), out);
+            if (section.extra() != null) {
+                try {
+                    out.setAll((ObjectNode) MAPPER.readTree(section.extra()));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Stored design configuration is not valid JSON", e);
+                }
+            }
+            return out.toString();
+        }
+
+        static <T> void write(DataOutputStream out, Section<T> section, Codec<T> codec) throws IOException {
+            if (section == null) {
+                out.writeByte(ABSENT);
+            } else if (section.raw() != null) {
+                out.writeByte(RAW);
+                writeString(out, section.raw());
+            } else {
+                out.writeByte(TYPED);
+                codec.write(section.value(), out);
+                writeString(out, section.extra() != null ? section.extra() : "");
+            }
+        }
+
+        static <T> Section<T> read(DataInputStream in, Codec<T> codec) throws IOException {
+            int kind = in.readUnsignedByte();
+            if (kind == ABSENT) {
+                return null;
+            }
+            if (kind == RAW) {
+                return new Section<>(null, null, readString(in));
+            }
+            if (kind != TYPED) {
+                throw new IOException("Unknown section kind " + kind);
+            }
+            T value = codec.read(in);
+            String extra = readString(in);
+            return new Section<>(value, extra.isEmpty() ? null : extra, null);
+        }
+    }
+
+    // JSON and binary form of the typed part of a section
+    private interface Codec<T> {
+
+        // Take the keys this section understands out of the object
+        T parse(ObjectNode node);
+
+        void render(T value, ObjectNode out);
+
+        void write(T value, DataOutputStream out) throws IOException;
+
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static final class MaterialsCodec implements Codec<Materials> {
+
+        @Override
+        public Materials parse(ObjectNode node) {
+            MaterialType defaultMaterial = null;
+            EnumMap<Part, MaterialType> parts = new EnumMap<>(Part.class);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.properties().iterator();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                MaterialType material = field.getValue().isTextual()
+                        ? PartsConfig.parseMaterial(field.getValue().asText()) : null;
+                if (material == null) {
+                    continue;
+                }
+                if (field.getKey().equals(DEFAULT_MATERIAL_KEY) && defaultMaterial == null) {
+                    defaultMaterial = material;
+                    fields.remove();
+                } else {
+                    Part part = PartsConfig.parsePart(field.getKey());
+                    if (part != null && !parts.containsKey(part)) {
+                        parts.put(part, material);
+                        fields.remove();
+                    }
+                }
+            }
+            return new Materials(defaultMaterial, Collections.unmodifiableMap(parts));
+        }
+
+        @Override
+        public void render(Materials value, ObjectNode out) {
+            if (value.defaultMaterial() != null) {
+                out.put(DEFAULT_MATERIAL_KEY, key(value.defaultMaterial()));
+            }
+            value.parts().forEach((part, material) -> out.put(key(part), key(material)));
+        }
+
+        @Override
+        public void write(Materials value, DataOutputStream out) throws IOException {
+            out.writeByte(value.defaultMaterial() != null ? value.defaultMaterial().ordinal() : NONE);
+            out.writeByte(value.parts().size());
+            for (Map.Entry<Part, MaterialType> entry : value.parts().entrySet()) {
+                out.writeByte(entry.getKey().ordinal());
+                out.writeByte(entry.getValue().ordinal());
+            }
+        }
+
+        @Override
+        public Materials read(DataInputStream in) throws IOException {
+            int defaultOrdinal = in.readUnsignedByte();
+            EnumMap<Part, MaterialType> parts = new EnumMap<>(Part.class);
+            for (int i = in.readUnsignedByte(); i > 0; i--) {
+                parts.put(Part.values()[in.readUnsignedByte()], MaterialType.values()[in.readUnsignedByte()]);
+            }
+            return new Materials(defaultOrdinal != NONE ? MaterialType.values()[defaultOrdinal] : null,
+                    Collections.unmodifiableMap(parts));
+        }
+    }
+
+    private static final class PartsColorsCodec implements Codec<Map<Part, Rgba>> {
+
+        @Override
+        public Map<Part, Rgba> parse(ObjectNode node) {
+            EnumMap<Part, Rgba> colors = new EnumMap<>(Part.class);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.properties().iterator();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Part part = PartsConfig.parsePart(field.getKey());
+                Rgba color = field.getValue().isTextual() ? Rgba.parse(field.getValue().asText()) : null;
+                if (part != null && color != null && !colors.containsKey(part)) {
+                    colors.put(part, color);
+                    fields.remove();
+                }
+            }
+            return Collections.unmodifiableMap(colors);
+        }
+
+        @Override
+        public void render(Map<Part, Rgba> value, ObjectNode out) {
+            value.forEach((part, color) -> out.put(key(part), color.toString()));
+        }
+
+        @Override
+        public void write(Map<Part, Rgba> value, DataOutputStream out) throws IOException {
+            out.writeByte(value.size());
+            for (Map.Entry<Part, Rgba> entry : value.entrySet()) {
+                out.writeByte(entry.getKey().ordinal());
+                writeColor(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public Map<Part, Rgba> read(DataInputStream in) throws IOException {
+            EnumMap<Part, Rgba> colors = new EnumMap<>(Part.class);
+            for (int i = in.readUnsignedByte(); i > 0; i--) {
+                colors.put(Part.values()[in.readUnsignedByte()], readColor(in));
+            }
+            return Collections.unmodifiableMap(colors);
+        }
+    }
+
+    // Fixed layout: presence flags, then only the fields present
+    private static final class PlacementCodec implements Codec<Placement> {
+
+        private static final int CONTENT = 1;
+        private static final int FONT = 1 << 1;
+        private static final int PART = 1 << 2;
+        private static final int COLOR = 1 << 3;
+        private static final int X = 1 << 4;
+        private static final int Y = 1 << 5;
+        private static final int SIZE = 1 << 6;
+        private static final int ROTATION = 1 << 7;
+
+        private final String contentKey;
+        private final String sizeKey;
+
+        private PlacementCodec(String contentKey, String sizeKey) {
+            this.contentKey = contentKey;
+            this.sizeKey = sizeKey;
+        }
+
+        @Override
+        public Placement parse(ObjectNode node) {
+            String content = takeText(node, contentKey);
+            String font = takeText(node, "font");
+            String partText = node.path("part").isTextual() ? node.get("part").asText() : null;
+            Part part = PartsConfig.parsePart(partText);
+            if (part != null) {
+                node.remove("part");
+            }
+            Rgba color = node.path("color").isTextual() ? Rgba.parse(node.get("color").asText()) : null;
+            if (color != null) {
+                node.remove("color");
+            }
+            return new Placement(content, font, part, color, takeFloat(node, "x"), takeFloat(node, "y"),
+                    takeFloat(node, sizeKey), takeFloat(node, "rotation"));
+        }
+
+        @Override
+        public void render(Placement value, ObjectNode out) {
+            if (value.content() != null) out.put(contentKey, value.content());
+            if (value.font() != null) out.put("font", value.font());
+            if (value.part() != null) out.put("part", key(value.part()));
+            if (value.color() != null) out.put("color", value.color().toString());
+            if (value.x() != null) out.put("x", value.x());
+            if (value.y() != null) out.put("y", value.y());
+            if (value.size() != null) out.put(sizeKey, value.size());
+            if (value.rotation() != null) out.put("rotation", value.rotation());
+        }
+
+        @Override
+        public void write(Placement value, DataOutputStream out) throws IOException {
+            int flags = (value.content() != null ? CONTENT : 0) | (value.font() != null ? FONT : 0)
+                    | (value.part() != null ? PART : 0) | (value.color() != null ? COLOR : 0)
+                    | (value.x() != null ? X : 0) | (value.y() != null ? Y : 0)
+                    | (value.size() != null ? SIZE : 0) | (value.rotation() != null ? ROTATION : 0);
+            out.writeByte(flags);
+            if (value.content() != null) writeString(out, value.content());
+            if (value.font() != null) writeString(out, value.font());
+            if (value.part() != null) out.writeByte(value.part().ordinal());
+            if (value.color() != null) writeColor(out, value.color());
+            if (value.x() != null) out.writeFloat(value.x());
+            if (value.y() != null) out.writeFloat(value.y());
+            if (value.size() != null) out.writeFloat(value.size());
+            if (value.rotation() != null) out.writeFloat(value.rotation());
+        }
+
+        @Override
+        public Placement read(DataInputStream in) throws IOException {
+            int flags = in.readUnsignedByte();
+            String content = (flags & CONTENT) != 0 ? readString(in) : null;
+            String font = (flags & FONT) != 0 ? readString(in) : null;
+            Part part = (flags & PART) != 0 ? Part.values()[in.readUnsignedByte()] : null;
+            Rgba color = (flags & COLOR) != 0 ? readColor(in) : null;
+            Float x = (flags & X) != 0 ? in.readFloat() : null;
+            Float y = (flags & Y) != 0 ? in.readFloat() : null;
+            Float size = (flags & SIZE) != 0 ? in.readFloat() : null;
+            Float rotation = (flags & ROTATION) != 0 ? in.readFloat() : null;
+            return new Placement(content, font, part, color, x, y, size, rotation);
+        }
+
+        private static String takeText(ObjectNode node, String key) {
+            JsonNode value = node.get(key);
+            if (value == null || !value.isTextual()) {
+                return null;
+            }
+            node.remove(key);
+            return value.asText();
+        }
+
+        // Only numbers a float gives back unchanged are typed; others (0.1234567891, 2^24 + 1) stay in the residual JSON
+        private static Float takeFloat(ObjectNode node, String key) {
+            JsonNode value = node.get(key);
+            if (value == null || !value.isNumber()) {
+                return null;
+            }
+            float typed = value.floatValue();
+            // Compared through the float's shortest decimal form, so that 0.3 (no exact binary value) is typed as 0.3f
+            if (!Float.isFinite(typed) || Double.parseDouble(Float.toString(typed)) != value.doubleValue()) {
+                return null;
+            }
+            node.remove(key);
+            return typed;
+        }
+    }
+
+    private static String key(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    // Helper to write a color: its palette index, or NONE and the packed value
+    private static void writeColor(DataOutputStream out, Rgba color) throws IOException {
+        if (color.named()) {
+            out.writeByte(Rgba.paletteIndex(color.value()));
+        } else {
+            out.writeByte(NONE);
+            out.writeInt(color.value());
+        }
+    }
+
+    private static Rgba readColor(DataInputStream in) throws IOException {
+        int index = in.readUnsignedByte();
+        return index != NONE ? Rgba.ofPalette(index) : new Rgba(in.readInt(), false);
+    }
+
+    // Helper to write UTF-8 text with a varint length
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while (length >= 0x80) {
+            out.writeByte(length & 0x7f | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            length |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            if (shift > 21) {
+                throw new IOException("String length too long");
+            }
+        }
+        if (length > in.available()) {
+            throw new IOException("String longer than the data left");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.sideforge.util.design;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
+
+/**
+ * Stores a DesignConfig as its binary encoding.
+ * DesignConfig is immutable, so Hibernate compares values with equals()
+ * instead of deep-copying them through this converter on every flush.
+ */
+@Converter
+@Mutability(Immutability.class)
+public class DesignConfigConverter implements AttributeConverter<DesignConfig, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(DesignConfig config) {
+        return config != null ? config.toBytes() : null;
+    }
+
+    @Override
+    public DesignConfig convertToEntityAttribute(byte[] bytes) {
+        return bytes != null ? DesignConfig.fromBytes(bytes) : DesignConfig.EMPTY;
+    }
+}
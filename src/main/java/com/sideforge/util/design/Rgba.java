@@ -0,0 +1,87 @@
+package com.sideforge.util.design;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A color packed as one RGBA int (0xRRGGBBAA).
+ * ----------------------------------------------------------------
+ * Parsed from "#rgb", "#rrggbb", "#rrggbbaa" or a basic CSS color name (any
+ * case). Named colors remember it and render back as their name; the others
+ * render as lowercase hex ("#rrggbb" when opaque).
+ */
+public record Rgba(int value, boolean named) {
+
+    // Only appended to: palette indexes are stored
+    private static final List<String> NAMES = List.of(
+            "black", "silver", "gray", "white", "maroon", "red", "purple", "fuchsia",
+            "green", "lime", "olive", "yellow", "navy", "blue", "teal", "aqua", "orange");
+    private static final int[] PALETTE = {
+            0x000000ff, 0xc0c0c0ff, 0x808080ff, 0xffffffff, 0x800000ff, 0xff0000ff, 0x800080ff, 0xff00ffff,
+            0x008000ff, 0x00ff00ff, 0x808000ff, 0xffff00ff, 0x000080ff, 0x0000ffff, 0x008080ff, 0x00ffffff,
+            0xffa500ff};
+
+    public Rgba {
+        if (named && paletteIndex(value) < 0) {
+            throw new IllegalArgumentException("Not a named color: " + String.format("#%08x", value));
+        }
+    }
+
+    // Color of a hex or named color text, or null if it is neither
+    public static Rgba parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        int name = NAMES.indexOf(value);
+        if (name >= 0) {
+            return new Rgba(PALETTE[name], true);
+        }
+        if (!value.startsWith("#")) {
+            return null;
+        }
+        String hex = value.substring(1);
+        if (hex.length() == 3) {
+            hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
+        }
+        if (hex.length() == 6) {
+            hex += "ff";
+        }
+        if (hex.length() != 8 || !hex.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            return null;
+        }
+        return new Rgba(Integer.parseUnsignedInt(hex, 16), false);
+    }
+
+    // Named color at a palette index
+    public static Rgba ofPalette(int index) {
+        if (index < 0 || index >= PALETTE.length) {
+            throw new IllegalArgumentException("Unknown palette index: " + index);
+        }
+        return new Rgba(PALETTE[index], true);
+    }
+
+    // Palette index of a packed color, or -1 if no named color has it
+    public static int paletteIndex(int value) {
+        for (int i = 0; i < PALETTE.length; i++) {
+            if (PALETTE[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Same color as 0xAARRGGBB (java.awt order)
+    public int argb() {
+        return (value >>> 8) | (value << 24);
+    }
+
+    @Override
+    public String toString() {
+        if (named) {
+            return NAMES.get(paletteIndex(value));
+        }
+        String hex = String.format("%08x", value);
+        return "#" + ((value & 0xff) == 0xff ? hex.substring(0, 6) : hex);
+    }
+}
@@ -0,0 +1,176 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Typed view of a glTF accessor stored in the GLB BIN chunk.
+ * ----------------------------------------------------------------
+ * Only plain accessors can be read: backed by a bufferView of buffer 0,
+ * without sparse substitution. Element bytes are read in place from the
+ * (usually memory-mapped) BIN buffer.
+ */
+public final class GlbAccessor {
+
+    public static final int BYTE = 5120;
+    public static final int UNSIGNED_BYTE = 5121;
+    public static final int SHORT = 5122;
+    public static final int UNSIGNED_SHORT = 5123;
+    public static final int UNSIGNED_INT = 5125;
+    public static final int FLOAT = 5126;
+
+    private final ByteBuffer bin;
+    private final int count;
+    private final int componentType;
+    private final int componentSize;
+    private final int components;
+    private final boolean normalized;
+    private final int elementSize;
+    private final int stride;
+    private final long offset;
+
+    private GlbAccessor(ByteBuffer bin, int count, int componentType, int components,
+                        boolean normalized, int stride, long offset) {
+        this.bin = bin;
+        this.count = count;
+        this.componentType = componentType;
+        this.componentSize = componentSize(componentType);
+        this.components = components;
+        this.normalized = normalized;
+        this.elementSize = componentSize * components;
+        this.stride = stride;
+        this.offset = offset;
+    }
+
+    // Accessor number index of the glTF JSON over the BIN chunk, or null if it is not plain
+    public static GlbAccessor of(JsonNode json, int index, ByteBuffer bin) {
+        JsonNode accessor = json.path("accessors").path(index);
+        if (accessor.isMissingNode() || accessor.has("sparse") || !accessor.has("bufferView")) {
+            return null;
+        }
+        JsonNode view = json.path("bufferViews").path(accessor.get("bufferView").asInt());
+        if (view.isMissingNode() || view.path("buffer").asInt(0) != 0
+                || json.path("buffers").path(0).has("uri")) {
+            return null;
+        }
+        int componentType = accessor.path("componentType").asInt();
+        int components = componentCount(accessor.path("type").asText());
+        if (componentSize(componentType) == 0 || components == 0) {
+            return null;
+        }
+        int count = accessor.path("count").asInt();
+        int elementSize = componentSize(componentType) * components;
+        int stride = view.path("byteStride").asInt(elementSize);
+        long offset = view.path("byteOffset").asLong(0) + accessor.path("byteOffset").asLong(0);
+        long end = count == 0 ? offset : offset + (long) stride * (count - 1) + elementSize;
+        if (end > view.path("byteOffset").asLong(0) + view.path("byteLength").asLong(0) || end > bin.capacity()) {
+            return null;
+        }
+        return new GlbAccessor(bin.duplicate().order(ByteOrder.LITTLE_ENDIAN), count, componentType,
+                components, accessor.path("normalized").asBoolean(false), stride, offset);
+    }
+
+    // Bytes per component (0 for unknown component types)
+    public static int componentSize(int componentType) {
+        return switch (componentType) {
+            case BYTE, UNSIGNED_BYTE -> 1;
+            case SHORT, UNSIGNED_SHORT -> 2;
+            case UNSIGNED_INT, FLOAT -> 4;
+            default -> 0;
+        };
+    }
+
+    // Components per element (0 for unknown accessor types)
+    public static int componentCount(String type) {
+        return switch (type) {
+            case "SCALAR" -> 1;
+            case "VEC2" -> 2;
+            case "VEC3" -> 3;
+            case "VEC4", "MAT2" -> 4;
+            case "MAT3" -> 9;
+            case "MAT4" -> 16;
+            default -> 0;
+        };
+    }
+
+    // Component value as float (normalized integers are mapped to [0,1] or [-1,1])
+    public float getFloat(int element, int component) {
+        int position = position(element, component);
+        return switch (componentType) {
+            case FLOAT -> bin.getFloat(position);
+            case BYTE -> normalized ? Math.max(bin.get(position) / 127f, -1f) : bin.get(position);
+            case UNSIGNED_BYTE -> normalized ? (bin.get(position) & 0xFF) / 255f : bin.get(position) & 0xFF;
+            case SHORT -> normalized ? Math.max(bin.getShort(position) / 32767f, -1f) : bin.getShort(position);
+            case UNSIGNED_SHORT -> normalized ? (bin.getShort(position) & 0xFFFF) / 65535f : bin.getShort(position) & 0xFFFF;
+            default -> bin.getInt(position);
+        };
+    }
+
+    // Component value as integer (for index accessors)
+    public int getInt(int element, int component) {
+        int position = position(element, component);
+        return switch (componentType) {
+            case BYTE -> bin.get(position);
+            case UNSIGNED_BYTE -> bin.get(position) & 0xFF;
+            case SHORT -> bin.getShort(position);
+            case UNSIGNED_SHORT -> bin.getShort(position) & 0xFFFF;
+            case FLOAT -> (int) bin.getFloat(position);
+            default -> bin.getInt(position);
+        };
+    }
+
+    // All components as a flat float array (element-major)
+    public float[] toFloatArray() {
+        float[] values = new float[count * components];
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < components; c++) {
+                values[i * components + c] = getFloat(i, c);
+            }
+        }
+        return values;
+    }
+
+    // All elements of a SCALAR accessor as ints
+    public int[] toIntArray() {
+        int[] values = new int[count * components];
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < components; c++) {
+                values[i * components + c] = getInt(i, c);
+            }
+        }
+        return values;
+    }
+
+    // Copy the raw bytes of one element to dst (at its position)
+    public void copyElement(int element, ByteBuffer dst) {
+        int position = position(element, 0);
+        dst.put(bin.slice(position, elementSize));
+    }
+
+    private int position(int element, int component) {
+        return Math.toIntExact(offset + (long) element * stride + (long) component * componentSize);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getComponentType() {
+        return componentType;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public boolean isNormalized() {
+        return normalized;
+    }
+
+    // Bytes of one tightly packed element
+    public int getElementSize() {
+        return elementSize;
+    }
+}
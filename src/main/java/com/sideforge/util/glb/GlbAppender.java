@@ -0,0 +1,170 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.util.FileRangeStreamer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams an existing GLB with an edited JSON chunk and data appended to its BIN chunk.
+ * ----------------------------------------------------------------
+ * Unlike GlbBuilder nothing is repacked: the source BIN chunk is copied byte
+ * for byte straight from the file (FileChannel.transferTo), so every existing
+ * bufferView keeps its offset, and views added here (images, ...) follow it,
+ * 4-byte aligned, in the same chunk. Only the JSON chunk and the appended data
+ * are held in memory. A source without a BIN chunk gets one when data is
+ * appended (its other buffers move up one index, as the GLB buffer must be first).
+ * The JSON is serialized once the length is first asked for; edit it before.
+ */
+public final class GlbAppender {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final GlbFile source;
+    private final ObjectNode json;
+    private final List<ByteBuffer> appended = new ArrayList<>();
+    private final List<Long> appendedOffsets = new ArrayList<>();
+    private boolean glbBuffer;
+    private long binLength;
+    private byte[] head;
+
+    public GlbAppender(GlbFile source) {
+        this.source = source;
+        this.json = source.getJson().deepCopy();
+        this.glbBuffer = source.hasBin();
+        this.binLength = source.hasBin() ? source.getBinLength() : 0;
+    }
+
+    // Copy of the source glTF JSON, edited in place until the GLB is written
+    public ObjectNode getJson() {
+        return json;
+    }
+
+    // Append data (position to limit) to the BIN chunk as a new bufferView and return its index
+    public int addBufferView(ByteBuffer data) {
+        if (head != null) {
+            throw new IllegalStateException("The GLB is already serialized");
+        }
+        if (!glbBuffer) {
+            addGlbBuffer();
+        }
+        long offset = align4(binLength);
+        ArrayNode views = json.withArray("bufferViews");
+        ObjectNode view = views.addObject();
+        view.put("buffer", 0);
+        view.put("byteOffset", offset);
+        view.put("byteLength", data.remaining());
+        appended.add(data.slice());
+        appendedOffsets.add(offset);
+        binLength = offset + data.remaining();
+        return views.size() - 1;
+    }
+
+    // Total size of the GLB in bytes
+    public long getLength() throws GlbFormatException {
+        long length = GlbFile.HEADER_LENGTH + head().length;
+        if (glbBuffer) {
+            length += GlbFile.CHUNK_HEADER_LENGTH + align4(binLength);
+        }
+        if (length > 0xFFFFFFFFL) {
+            throw new GlbFormatException("GLB exceeds 4 GiB");
+        }
+        return length;
+    }
+
+    // Write the GLB; sourcePath must be the file the source was read from
+    public void writeTo(Path sourcePath, OutputStream out) throws IOException {
+        long length = getLength();
+        WritableByteChannel channel = Channels.newChannel(out);
+        ByteBuffer header = ByteBuffer.allocate(GlbFile.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(GlbFile.MAGIC).putInt(2).putInt((int) length);
+        out.write(header.array());
+        out.write(head);
+        if (!glbBuffer) {
+            return;
+        }
+        ByteBuffer binHeader = ByteBuffer.allocate(GlbFile.CHUNK_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        binHeader.putInt((int) align4(binLength)).putInt(GlbFile.CHUNK_BIN);
+        out.write(binHeader.array());
+        long position = 0;
+        if (source.hasBin()) {
+            out.flush();
+            FileRangeStreamer.transfer(sourcePath, source.getBinOffset(), source.getBinLength(), channel);
+            position = source.getBinLength();
+        }
+        for (int i = 0; i < appended.size(); i++) {
+            position = pad(out, position, appendedOffsets.get(i));
+            ByteBuffer data = appended.get(i).duplicate();
+            position += data.remaining();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        pad(out, position, align4(binLength));
+        out.flush();
+    }
+
+    // Helper to serialize the JSON chunk (header, JSON, space padding) once
+    private byte[] head() throws GlbFormatException {
+        if (head == null) {
+            ArrayNode buffers = json.withArray("buffers");
+            if (glbBuffer && (buffers.isEmpty() || !appended.isEmpty())) {
+                if (buffers.isEmpty()) {
+                    buffers.addObject();
+                }
+                ((ObjectNode) buffers.get(0)).put("byteLength", binLength);
+            }
+            if (buffers.isEmpty()) {
+                json.remove("buffers");
+            }
+            byte[] jsonBytes;
+            try {
+                jsonBytes = MAPPER.writeValueAsBytes(json);
+            } catch (IOException e) {
+                throw new GlbFormatException("Cannot serialize glTF JSON: " + e.getMessage());
+            }
+            int padded = (int) align4(jsonBytes.length);
+            ByteBuffer buffer = ByteBuffer.allocate(GlbFile.CHUNK_HEADER_LENGTH + padded).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(padded).putInt(GlbFile.CHUNK_JSON).put(jsonBytes);
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) ' ');
+            }
+            head = buffer.array();
+        }
+        return head;
+    }
+
+    // Helper to make buffer 0 the (new) BIN chunk, shifting references to the source's external buffers
+    private void addGlbBuffer() {
+        for (JsonNode view : json.withArray("bufferViews")) {
+            if (view.path("buffer").isIntegralNumber()) {
+                ((ObjectNode) view).put("buffer", view.get("buffer").asInt() + 1);
+            }
+        }
+        json.withArray("buffers").insertObject(0);
+        glbBuffer = true;
+    }
+
+    // Helper to write zero bytes from position up to target
+    private static long pad(OutputStream out, long position, long target) throws IOException {
+        for (; position < target; position++) {
+            out.write(0);
+        }
+        return position;
+    }
+
+    private static long align4(long value) {
+        return (value + 3) & ~3L;
+    }
+}
@@ -0,0 +1,259 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Writes a new GLB from the glTF JSON of an existing one plus new buffer data.
+ * ----------------------------------------------------------------
+ * Usage: copy the JSON, add bufferViews/accessors for rewritten geometry,
+ * point primitives at them and write. Accessors no longer referenced by
+ * meshes, skins or animations are dropped together with bufferViews nothing
+ * references, so replaced geometry does not travel with the new file.
+ * Kept views are copied from the source BIN chunk, 4-byte aligned.
+ */
+public final class GlbBuilder {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ObjectNode json;
+    private final ByteBuffer sourceBin;
+    // New bufferView index -> data, for views added through addBufferView
+    private final Map<Integer, ByteBuffer> addedViews = new HashMap<>();
+
+    // json is modified in place; sourceBin is the BIN chunk the existing views point into (may be null)
+    public GlbBuilder(ObjectNode json, ByteBuffer sourceBin) {
+        this.json = json;
+        this.sourceBin = sourceBin;
+    }
+
+    public ObjectNode getJson() {
+        return json;
+    }
+
+    // Add a bufferView over data (position to limit) and return its index
+    public int addBufferView(ByteBuffer data, Integer byteStride, Integer target) {
+        ArrayNode views = json.withArray("bufferViews");
+        ObjectNode view = views.addObject();
+        view.put("buffer", 0);
+        view.put("byteLength", data.remaining());
+        if (byteStride != null) {
+            view.put("byteStride", byteStride);
+        }
+        if (target != null) {
+            view.put("target", target);
+        }
+        int index = views.size() - 1;
+        addedViews.put(index, data.slice());
+        return index;
+    }
+
+    // Add an accessor over a whole bufferView and return its index
+    public int addAccessor(int bufferView, int componentType, boolean normalized, int count, String type,
+                           double[] min, double[] max) {
+        ArrayNode accessors = json.withArray("accessors");
+        ObjectNode accessor = accessors.addObject();
+        accessor.put("bufferView", bufferView);
+        accessor.put("componentType", componentType);
+        if (normalized) {
+            accessor.put("normalized", true);
+        }
+        accessor.put("count", count);
+        accessor.put("type", type);
+        if (min != null && max != null) {
+            ArrayNode minNode = accessor.putArray("min");
+            ArrayNode maxNode = accessor.putArray("max");
+            for (int i = 0; i < min.length; i++) {
+                minNode.add(integral(componentType) ? Math.round(min[i]) : min[i]);
+                maxNode.add(integral(componentType) ? Math.round(max[i]) : max[i]);
+            }
+        }
+        return accessors.size() - 1;
+    }
+
+    // Drop unused accessors/views, rebuild the BIN chunk and write the GLB atomically
+    public void write(Path target) throws IOException {
+        removeUnusedAccessors();
+        ByteBuffer bin = rebuildBin();
+        byte[] jsonBytes = MAPPER.writeValueAsBytes(json);
+        int jsonPadded = align4(jsonBytes.length);
+        int binPadded = align4(bin.remaining());
+        long length = GlbFile.HEADER_LENGTH + GlbFile.CHUNK_HEADER_LENGTH + jsonPadded
+                + (binPadded > 0 ? GlbFile.CHUNK_HEADER_LENGTH + binPadded : 0);
+        if (length > 0xFFFFFFFFL) {
+            throw new GlbFormatException("GLB exceeds 4 GiB");
+        }
+
+        ByteBuffer head = ByteBuffer.allocate(GlbFile.HEADER_LENGTH + GlbFile.CHUNK_HEADER_LENGTH + jsonPadded)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(GlbFile.MAGIC).putInt(2).putInt((int) length);
+        head.putInt(jsonPadded).putInt(GlbFile.CHUNK_JSON).put(jsonBytes);
+        while (head.hasRemaining()) {
+            head.put((byte) ' ');
+        }
+        head.flip();
+        ByteBuffer binHeader = ByteBuffer.allocate(GlbFile.CHUNK_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        binHeader.putInt(binPadded).putInt(GlbFile.CHUNK_BIN).flip();
+        ByteBuffer binPadding = ByteBuffer.allocate(binPadded - bin.remaining());
+
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = binPadded > 0
+                    ? new ByteBuffer[]{head, binHeader, bin, binPadding}
+                    : new ByteBuffer[]{head};
+            long remaining = Arrays.stream(buffers).mapToLong(ByteBuffer::remaining).sum();
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Helper to keep only accessors referenced by meshes, skins and animations (indexes are remapped)
+    private void removeUnusedAccessors() {
+        ArrayNode accessors = json.withArray("accessors");
+        BitSet used = new BitSet(accessors.size());
+        forEachAccessorRef((node, field) -> used.set(node.get(field).asInt()));
+
+        int[] remap = new int[accessors.size()];
+        ArrayNode kept = MAPPER.createArrayNode();
+        for (int i = 0; i < accessors.size(); i++) {
+            remap[i] = used.get(i) ? kept.size() : -1;
+            if (used.get(i)) {
+                kept.add(accessors.get(i));
+            }
+        }
+        forEachAccessorRef((node, field) -> node.put(field, remap[node.get(field).asInt()]));
+        json.set("accessors", kept);
+    }
+
+    // Helper to copy every referenced bufferView into a new BIN chunk (indexes are remapped)
+    private ByteBuffer rebuildBin() {
+        ArrayNode views = json.withArray("bufferViews");
+        BitSet used = new BitSet(views.size());
+        forEachViewRef(json, (node, field) -> used.set(node.get(field).asInt()));
+
+        int[] remap = new int[views.size()];
+        ArrayNode kept = MAPPER.createArrayNode();
+        long size = 0;
+        for (int i = 0; i < views.size(); i++) {
+            remap[i] = -1;
+            if (used.get(i)) {
+                remap[i] = kept.size();
+                kept.add(views.get(i));
+                size = align4(size) + views.get(i).path("byteLength").asLong();
+            }
+        }
+        ByteBuffer bin = ByteBuffer.allocate(Math.toIntExact(size));
+        for (int i = 0; i < views.size(); i++) {
+            if (remap[i] < 0) {
+                continue;
+            }
+            ObjectNode view = (ObjectNode) views.get(i);
+            bin.position(align4(bin.position()));
+            ByteBuffer data = addedViews.containsKey(i)
+                    ? addedViews.get(i).duplicate()
+                    : sourceBin.slice(Math.toIntExact(view.path("byteOffset").asLong(0)),
+                    Math.toIntExact(view.path("byteLength").asLong()));
+            view.put("buffer", 0);
+            view.put("byteOffset", bin.position());
+            bin.put(data);
+        }
+        forEachViewRef(json, (node, field) -> node.put(field, remap[node.get(field).asInt()]));
+        json.set("bufferViews", kept);
+
+        ArrayNode buffers = json.putArray("buffers");
+        if (size > 0) {
+            buffers.addObject().put("byteLength", size);
+        } else {
+            json.remove("buffers");
+        }
+        return bin.flip();
+    }
+
+    // Helper to visit every accessor reference of the core glTF schema
+    private void forEachAccessorRef(Reference visitor) {
+        for (JsonNode mesh : json.path("meshes")) {
+            for (JsonNode primitive : mesh.path("primitives")) {
+                visitFields(primitive.path("attributes"), visitor);
+                visitField(primitive, "indices", visitor);
+                for (JsonNode morphTarget : primitive.path("targets")) {
+                    visitFields(morphTarget, visitor);
+                }
+            }
+        }
+        for (JsonNode skin : json.path("skins")) {
+            visitField(skin, "inverseBindMatrices", visitor);
+        }
+        for (JsonNode animation : json.path("animations")) {
+            for (JsonNode sampler : animation.path("samplers")) {
+                visitField(sampler, "input", visitor);
+                visitField(sampler, "output", visitor);
+            }
+        }
+        // EXT_mesh_gpu_instancing keeps per-instance attributes on nodes
+        for (JsonNode node : json.path("nodes")) {
+            visitFields(node.path("extensions").path("EXT_mesh_gpu_instancing").path("attributes"), visitor);
+        }
+    }
+
+    // Helper to visit every "bufferView" reference (accessors, sparse data, images, extensions)
+    private static void forEachViewRef(JsonNode node, Reference visitor) {
+        if (node.isObject()) {
+            visitField(node, "bufferView", visitor);
+            node.properties().forEach(entry -> {
+                if (!entry.getKey().equals("bufferViews")) {
+                    forEachViewRef(entry.getValue(), visitor);
+                }
+            });
+        } else if (node.isArray()) {
+            node.forEach(child -> forEachViewRef(child, visitor));
+        }
+    }
+
+    private static void visitFields(JsonNode node, Reference visitor) {
+        if (node.isObject()) {
+            List<String> fields = new ArrayList<>();
+            node.fieldNames().forEachRemaining(fields::add);
+            fields.forEach(field -> visitField(node, field, visitor));
+        }
+    }
+
+    private static void visitField(JsonNode node, String field, Reference visitor) {
+        if (node.path(field).isIntegralNumber()) {
+            visitor.visit((ObjectNode) node, field);
+        }
+    }
+
+    private static boolean integral(int componentType) {
+        return componentType != GlbAccessor.FLOAT;
+    }
+
+    private static int align4(int value) {
+        return (value + 3) & ~3;
+    }
+
+    private static long align4(long value) {
+        return (value + 3) & ~3L;
+    }
+
+    @FunctionalInterface
+    private interface Reference {
+        void visit(ObjectNode node, String field);
+    }
+}
@@ -0,0 +1,187 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+import com.sideforge.util.parts.PartConfig;
+import com.sideforge.util.parts.PartsConfig;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Applies a design to the glTF JSON of its asset's model.
+ * ----------------------------------------------------------------
+ * Meshes belong to the Part their node (or nearest named ancestor) refers to
+ * (PartsConfig.partForNodeName). Each primitive that the design changes gets
+ * a copy of its material, shared by primitives with the same source material
+ * and changes:
+ * - the baked texture (if given) as base color texture, with a white base
+ *   color factor, on primitives with TEXCOORD_0.
+ * - the part color as base color factor (linear) when it is not already on
+ *   the baked texture (no texture, or the part has no UV region).
+ * - metallic and roughness factors of the part's material (the design's
+ *   default material on meshes outside any part).
+ * Source materials, images and buffer views are left as they are.
+ */
+public final class GlbCustomizer {
+
+    // Metallic and roughness factors per material
+    private static final Map<MaterialType, float[]> PBR = new EnumMap<>(MaterialType.class);
+
+    static {
+        pbr(0f, 0.9f, MaterialType.COTTON, MaterialType.DENIM, MaterialType.PAPER, MaterialType.CARDBOARD);
+        pbr(0f, 1f, MaterialType.WOOL);
+        pbr(0f, 0.6f, MaterialType.POLYESTER, MaterialType.LEATHER, MaterialType.NYLON);
+        pbr(0f, 0.35f, MaterialType.SILK);
+        pbr(0f, 0.8f, MaterialType.RUBBER);
+        pbr(0f, 0.5f, MaterialType.LATEX, MaterialType.SILICONE);
+        pbr(0f, 0.7f, MaterialType.PINE, MaterialType.OAK, MaterialType.BEECH);
+        pbr(1f, 0.25f, MaterialType.STAINLESS_STEEL);
+        pbr(1f, 0.35f, MaterialType.ALUMINUM);
+        pbr(1f, 0.5f, MaterialType.IRON);
+    }
+
+    private GlbCustomizer() {
+    }
+
+    // Embed the baked texture (PNG, may be null) and the design's colors and materials into the model
+    public static void apply(GlbAppender glb, DesignConfig design, PartsConfig parts, byte[] bakedPng) {
+        ObjectNode json = glb.getJson();
+        Integer texture = bakedPng != null ? addTexture(glb, bakedPng) : null;
+        Part[] meshParts = meshParts(json);
+        ArrayNode materials = json.withArray("materials");
+        DesignConfig.Materials designMaterials = design.getMaterials();
+        MaterialType defaultMaterial = designMaterials != null ? designMaterials.defaultMaterial() : null;
+        Map<String, Integer> derived = new HashMap<>();
+
+        JsonNode meshes = json.path("meshes");
+        for (int mesh = 0; mesh < meshes.size(); mesh++) {
+            Part part = meshParts[mesh];
+            MaterialType material = part != null ? design.getMaterial(part) : defaultMaterial;
+            Rgba color = part != null ? design.getPartsColors().get(part) : null;
+            PartConfig partConfig = part != null ? parts.get(part) : null;
+            for (JsonNode primitive : meshes.get(mesh).path("primitives")) {
+                boolean textured = texture != null && primitive.path("attributes").has("TEXCOORD_0");
+                Rgba factor = color != null && !(textured && partConfig != null && partConfig.uv() != null)
+                        ? color : null;
+                if (!textured && factor == null && material == null) {
+                    continue;
+                }
+                int source = primitive.path("material").isIntegralNumber() ? primitive.get("material").asInt() : -1;
+                String key = source + "/" + textured + "/" + (factor != null ? factor.value() : "") + "/" + material;
+                Integer index = derived.get(key);
+                if (index == null) {
+                    index = materials.size();
+                    materials.add(deriveMaterial(materials, source, part, textured ? texture : null, factor, material));
+                    derived.put(key, index);
+                }
+                ((ObjectNode) primitive).put("material", index);
+            }
+        }
+        if (materials.isEmpty()) {
+            json.remove("materials");
+        }
+    }
+
+    // Helper to add the PNG as image and texture, returning the texture index
+    private static int addTexture(GlbAppender glb, byte[] png) {
+        ObjectNode json = glb.getJson();
+        int view = glb.addBufferView(ByteBuffer.wrap(png));
+        ArrayNode images = json.withArray("images");
+        images.addObject().put("name", "design").put("mimeType", "image/png").put("bufferView", view);
+        ArrayNode textures = json.withArray("textures");
+        textures.addObject().put("source", images.size() - 1);
+        return textures.size() - 1;
+    }
+
+    // Helper to copy a material (a default one for -1) with the design's changes
+    private static ObjectNode deriveMaterial(ArrayNode materials, int source, Part part, Integer texture,
+                                             Rgba color, MaterialType material) {
+        ObjectNode copy = source >= 0 && materials.get(source) instanceof ObjectNode original
+                ? original.deepCopy() : materials.objectNode();
+        String name = copy.path("name").asText(part != null ? part.name().toLowerCase(Locale.ROOT) : "material");
+        copy.put("name", name + " (design)");
+        ObjectNode pbr = copy.withObject("pbrMetallicRoughness");
+        if (texture != null) {
+            pbr.putObject("baseColorTexture").put("index", texture);
+            pbr.putArray("baseColorFactor").add(1f).add(1f).add(1f).add(1f);
+        }
+        if (color != null) {
+            int value = color.value();
+            pbr.putArray("baseColorFactor")
+                    .add(linear(value >>> 24)).add(linear((value >>> 16) & 0xff)).add(linear((value >>> 8) & 0xff))
+                    .add((value & 0xff) / 255f);
+        }
+        if (material != null) {
+            float[] factors = PBR.get(material);
+            pbr.put("metallicFactor", factors[0]);
+            pbr.put("roughnessFactor", factors[1]);
+        }
+        return copy;
+    }
+
+    // Metallic and roughness factors of a material
+    public static float[] pbrFactors(MaterialType material) {
+        return PBR.get(material).clone();
+    }
+
+    // Part of each mesh (null outside any part), found by walking the node hierarchy from the roots
+    public static Part[] meshParts(JsonNode json) {
+        JsonNode nodes = json.path("nodes");
+        Part[] meshParts = new Part[json.path("meshes").size()];
+        boolean[] child = new boolean[nodes.size()];
+        for (JsonNode node : nodes) {
+            for (JsonNode index : node.path("children")) {
+                if (index.isIntegralNumber() && index.asInt() >= 0 && index.asInt() < child.length) {
+                    child[index.asInt()] = true;
+                }
+            }
+        }
+        boolean[] visited = new boolean[nodes.size()];
+        Deque<Visit> stack = new ArrayDeque<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!child[i]) {
+                stack.push(new Visit(i, null));
+            }
+        }
+        while (!stack.isEmpty()) {
+            Visit visit = stack.pop();
+            int index = visit.node();
+            if (index < 0 || index >= nodes.size() || visited[index]) {
+                continue;
+            }
+            visited[index] = true;
+            JsonNode node = nodes.get(index);
+            Part own = PartsConfig.partForNodeName(node.path("name").asText(null));
+            Part part = own != null ? own : visit.inherited();
+            int mesh = node.path("mesh").asInt(-1);
+            if (mesh >= 0 && mesh < meshParts.length && meshParts[mesh] == null) {
+                meshParts[mesh] = part;
+            }
+            for (JsonNode childIndex : node.path("children")) {
+                stack.push(new Visit(childIndex.asInt(-1), part));
+            }
+        }
+        return meshParts;
+    }
+
+    // sRGB channel (0..255) to the linear value glTF factors use
+    private static float linear(int channel) {
+        double c = channel / 255.0;
+        return (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+    }
+
+    private record Visit(int node, Part inherited) {
+    }
+
+    private static void pbr(float metallic, float roughness, MaterialType... materials) {
+        for (MaterialType material : materials) {
+            PBR.put(material, new float[]{metallic, roughness});
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary glTF 2.0 container (.glb), read without loading the binary chunk.
+ * ----------------------------------------------------------------
+ * Layout (little endian):
+ * - Header: magic "glTF", version (2), total length.
+ * - Chunks: length, type, data. The JSON chunk comes first and is
+ *   optionally followed by one BIN chunk; unknown chunk types are skipped.
+ */
+public final class GlbFile {
+
+    public static final int MAGIC = 0x46546C67;      // "glTF"
+    public static final int CHUNK_JSON = 0x4E4F534A; // "JSON"
+    public static final int CHUNK_BIN = 0x004E4942;  // "BIN\0"
+    public static final int HEADER_LENGTH = 12;
+    public static final int CHUNK_HEADER_LENGTH = 8;
+
+    // The JSON chunk is parsed in memory; anything bigger is not a sane scene description
+    private static final int MAX_JSON_LENGTH = 64 * 1024 * 1024;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int version;
+    private final long length;
+    private final String jsonText;
+    private final JsonNode json;
+    private final long binOffset;
+    private final long binLength;
+
+    private GlbFile(int version, long length, String jsonText, JsonNode json, long binOffset, long binLength) {
+        this.version = version;
+        this.length = length;
+        this.jsonText = jsonText;
+        this.json = json;
+        this.binOffset = binOffset;
+        this.binLength = binLength;
+    }
+
+    // Read the header, the JSON chunk and the position of the BIN chunk
+    public static GlbFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    // Read the header, the JSON chunk and the position of the BIN chunk
+    public static GlbFile read(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+        if (header.getInt() != MAGIC) {
+            throw new GlbFormatException("Not a GLB file (bad magic)");
+        }
+        int version = header.getInt();
+        if (version != 2) {
+            throw new GlbFormatException("Unsupported GLB version: " + version);
+        }
+        long length = Integer.toUnsignedLong(header.getInt());
+        if (length > fileSize) {
+            throw new GlbFormatException("GLB header length " + length + " exceeds file size " + fileSize);
+        }
+
+        ByteBuffer jsonHeader = readFully(channel, HEADER_LENGTH, CHUNK_HEADER_LENGTH);
+        long jsonLength = Integer.toUnsignedLong(jsonHeader.getInt());
+        if (jsonHeader.getInt() != CHUNK_JSON) {
+            throw new GlbFormatException("First GLB chunk is not JSON");
+        }
+        long jsonStart = HEADER_LENGTH + CHUNK_HEADER_LENGTH;
+        if (jsonLength > MAX_JSON_LENGTH || jsonStart + jsonLength > length) {
+            throw new GlbFormatException("Invalid JSON chunk length: " + jsonLength);
+        }
+        ByteBuffer jsonBuffer = readFully(channel, jsonStart, (int) jsonLength);
+        // Trailing spaces are the chunk padding
+        String jsonText = StandardCharsets.UTF_8.decode(jsonBuffer).toString().stripTrailing();
+        JsonNode json;
+        try {
+            json = MAPPER.readTree(jsonText);
+        } catch (IOException e) {
+            throw new GlbFormatException("Invalid JSON chunk: " + e.getMessage());
+        }
+        if (json == null || !json.isObject()) {
+            throw new GlbFormatException("JSON chunk is not an object");
+        }
+
+        // Walk the remaining chunk headers (data is never read)
+        long binOffset = -1;
+        long binLength = -1;
+        long position = jsonStart + jsonLength;
+        while (position + CHUNK_HEADER_LENGTH <= length) {
+            ByteBuffer chunkHeader = readFully(channel, position, CHUNK_HEADER_LENGTH);
+            long chunkLength = Integer.toUnsignedLong(chunkHeader.getInt());
+            int chunkType = chunkHeader.getInt();
+            long dataStart = position + CHUNK_HEADER_LENGTH;
+            if (dataStart + chunkLength > length) {
+                throw new GlbFormatException("Chunk exceeds GLB length at offset " + position);
+            }
+            if (chunkType == CHUNK_BIN && binOffset < 0) {
+                binOffset = dataStart;
+                binLength = chunkLength;
+            }
+            position = dataStart + chunkLength;
+        }
+        return new GlbFile(version, length, jsonText, json, binOffset, binLength);
+    }
+
+    // Map the BIN chunk data read-only (empty buffer if there is none); channel must be the parsed file
+    public ByteBuffer mapBin(FileChannel channel) throws IOException {
+        if (!hasBin()) {
+            return ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, binOffset, binLength).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Helper to read exactly length bytes at position (little endian)
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of GLB file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getJsonText() {
+        return jsonText;
+    }
+
+    public JsonNode getJson() {
+        return json;
+    }
+
+    public boolean hasBin() {
+        return binOffset >= 0;
+    }
+
+    // Absolute file offset of the BIN chunk data (-1 if there is none)
+    public long getBinOffset() {
+        return binOffset;
+    }
+
+    public long getBinLength() {
+        return binLength;
+    }
+}
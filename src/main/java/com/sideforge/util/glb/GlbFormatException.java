@@ -0,0 +1,9 @@
+package com.sideforge.util.glb;
+
+import java.io.IOException;
+
+public class GlbFormatException extends IOException {
+    public GlbFormatException(String message) {
+        super(message);
+    }
+}
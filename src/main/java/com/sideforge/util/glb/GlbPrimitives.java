@@ -0,0 +1,178 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * Helpers shared by the GLB mesh rewriters (LOD, quantization).
+ * ----------------------------------------------------------------
+ * A rewritten triangle-list primitive gets a new index buffer and new
+ * accessors holding only the vertices it uses, in order of first use.
+ */
+public final class GlbPrimitives {
+
+    public static final int MODE_TRIANGLES = 4;
+    static final int ARRAY_BUFFER = 34962;
+    static final int ELEMENT_ARRAY_BUFFER = 34963;
+
+    private static final Set<String> COMPRESSION_EXTENSIONS =
+            Set.of("KHR_draco_mesh_compression", "EXT_meshopt_compression");
+
+    private GlbPrimitives() {
+    }
+
+    // Whether the meshes of the GLB can be read (no compressed geometry, no external buffers)
+    public static boolean isSupported(GlbFile glb) {
+        JsonNode json = glb.getJson();
+        for (JsonNode extension : json.path("extensionsRequired")) {
+            if (COMPRESSION_EXTENSIONS.contains(extension.asText())) {
+                return false;
+            }
+        }
+        for (JsonNode buffer : json.path("buffers")) {
+            if (buffer.has("uri")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Total triangles of all triangle-list primitives
+    public static long triangleCount(GlbFile glb) {
+        JsonNode json = glb.getJson();
+        long triangles = 0;
+        for (JsonNode mesh : json.path("meshes")) {
+            for (JsonNode primitive : mesh.path("primitives")) {
+                if (primitive.path("mode").asInt(MODE_TRIANGLES) == MODE_TRIANGLES) {
+                    triangles += elementCount(json, primitive) / 3;
+                }
+            }
+        }
+        return triangles;
+    }
+
+    // Indices or vertex count of a primitive
+    static long elementCount(JsonNode json, JsonNode primitive) {
+        JsonNode accessors = json.path("accessors");
+        return primitive.has("indices")
+                ? accessors.path(primitive.get("indices").asInt()).path("count").asLong(0)
+                : accessors.path(primitive.path("attributes").path("POSITION").asInt(-1)).path("count").asLong(0);
+    }
+
+    // Whether every attribute and morph target of a primitive can be read in place
+    static boolean readable(JsonNode json, JsonNode primitive, ByteBuffer bin) {
+        List<JsonNode> sets = new ArrayList<>();
+        sets.add(primitive.path("attributes"));
+        primitive.path("targets").forEach(sets::add);
+        for (JsonNode set : sets) {
+            Iterator<JsonNode> accessors = set.elements();
+            while (accessors.hasNext()) {
+                if (GlbAccessor.of(json, accessors.next().asInt(-1), bin) == null) {
+                    return false;
+                }
+            }
+        }
+        return !primitive.path("extensions").has("KHR_draco_mesh_compression");
+    }
+
+    // Triangle indices of a primitive (sequential if it has none), or null if they cannot be read
+    public static int[] readIndices(JsonNode json, JsonNode primitive, ByteBuffer bin, int vertexCount) {
+        int[] indices;
+        if (primitive.has("indices")) {
+            GlbAccessor accessor = GlbAccessor.of(json, primitive.get("indices").asInt(), bin);
+            if (accessor == null) {
+                return null;
+            }
+            indices = accessor.toIntArray();
+        } else {
+            indices = new int[vertexCount];
+            Arrays.setAll(indices, i -> i);
+        }
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                return null;
+            }
+        }
+        return Arrays.copyOf(indices, indices.length - indices.length % 3);
+    }
+
+    // Renumber vertices in order of first use (in place); returns the original vertex of each new one
+    static int[] compact(int[] indices, int vertexCount) {
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        int[] used = new int[vertexCount];
+        int count = 0;
+        for (int i = 0; i < indices.length; i++) {
+            int vertex = indices[i];
+            if (remap[vertex] < 0) {
+                remap[vertex] = count;
+                used[count++] = vertex;
+            }
+            indices[i] = remap[vertex];
+        }
+        return Arrays.copyOf(used, count);
+    }
+
+    // Copy the used elements of an attribute into a new tightly packed accessor; returns its index
+    static int copyAttribute(GlbBuilder builder, GlbAccessor accessor, String name, String type, int[] used) {
+        // Vertex attribute elements must be 4-byte aligned
+        int stride = (accessor.getElementSize() + 3) & ~3;
+        ByteBuffer data = ByteBuffer.allocate(stride * used.length).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < used.length; i++) {
+            data.position(i * stride);
+            accessor.copyElement(used[i], data);
+        }
+        data.clear();
+
+        // POSITION accessors (morph targets included) require bounds
+        double[] min = null;
+        double[] max = null;
+        if (name.equals("POSITION") && used.length > 0) {
+            min = new double[]{Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+            max = new double[]{Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            for (int vertex : used) {
+                for (int c = 0; c < 3; c++) {
+                    min[c] = Math.min(min[c], accessor.getFloat(vertex, c));
+                    max[c] = Math.max(max[c], accessor.getFloat(vertex, c));
+                }
+            }
+        }
+        int view = builder.addBufferView(data, stride != accessor.getElementSize() ? stride : null, ARRAY_BUFFER);
+        return builder.addAccessor(view, accessor.getComponentType(), accessor.isNormalized(),
+                used.length, type, min, max);
+    }
+
+    // Copy every attribute of a set (primitive attributes or a morph target) for the used vertices
+    static void copyAttributes(GlbBuilder builder, ObjectNode attributes, ByteBuffer bin, int[] used) {
+        JsonNode json = builder.getJson();
+        List<String> names = new ArrayList<>();
+        attributes.fieldNames().forEachRemaining(names::add);
+        for (String name : names) {
+            int accessorIndex = attributes.get(name).asInt();
+            GlbAccessor accessor = GlbAccessor.of(json, accessorIndex, bin);
+            String type = json.path("accessors").get(accessorIndex).path("type").asText();
+            attributes.put(name, copyAttribute(builder, accessor, name, type, used));
+        }
+    }
+
+    // Write an index buffer with the smallest component type that fits; returns the accessor index
+    static int writeIndices(GlbBuilder builder, int[] indices, int vertexCount) {
+        boolean shortIndices = vertexCount <= 0xFFFF;
+        ByteBuffer data = ByteBuffer.allocate(indices.length * (shortIndices ? 2 : 4)).order(ByteOrder.LITTLE_ENDIAN);
+        for (int index : indices) {
+            if (shortIndices) {
+                data.putShort((short) index);
+            } else {
+                data.putInt(index);
+            }
+        }
+        data.flip();
+        int view = builder.addBufferView(data, null, ELEMENT_ARRAY_BUFFER);
+        return builder.addAccessor(view, shortIndices ? GlbAccessor.UNSIGNED_SHORT : GlbAccessor.UNSIGNED_INT,
+                false, indices.length, "SCALAR", null, null);
+    }
+}
@@ -0,0 +1,247 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.util.mesh.VertexCacheOptimizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Writes a quantized copy of a GLB (KHR_mesh_quantization).
+ * ----------------------------------------------------------------
+ * Per mesh:
+ * - POSITION: normalized SHORT relative to the mesh bounds; the mesh moves to
+ *   a child node whose translation/uniform scale dequantizes it.
+ * - NORMAL / TANGENT: normalized BYTE. TEXCOORD in [0,1]: normalized
+ *   UNSIGNED_SHORT. COLOR: normalized UNSIGNED_BYTE. Other attributes are
+ *   copied as they are.
+ * - Triangles are reordered for the vertex cache and vertices renumbered in
+ *   order of first use.
+ * Skinned, instanced and morphed meshes, and meshes that cannot be read, are
+ * copied unchanged (node transforms do not apply to skinned vertices).
+ */
+public final class GlbQuantizer {
+
+    public static final String EXTENSION = "KHR_mesh_quantization";
+
+    private static final int POSITION_RANGE = 32767;
+    private static final int NORMAL_RANGE = 127;
+
+    private GlbQuantizer() {
+    }
+
+    // Write the quantized copy to target; returns the number of meshes quantized (nothing is written if 0)
+    public static int write(GlbFile glb, ByteBuffer bin, Path target) throws IOException {
+        ObjectNode json = glb.getJson().deepCopy();
+        GlbBuilder builder = new GlbBuilder(json, bin);
+        Set<Integer> excluded = excludedMeshes(json);
+
+        JsonNode meshes = json.path("meshes");
+        double[][] dequantization = new double[meshes.size()][];
+        for (int i = 0; i < meshes.size(); i++) {
+            if (!excluded.contains(i) && quantizable(json, meshes.get(i), bin)) {
+                dequantization[i] = quantizeMesh(builder, meshes.get(i), bin);
+            }
+        }
+        int quantized = (int) Arrays.stream(dequantization).filter(Objects::nonNull).count();
+        if (quantized == 0) {
+            return 0;
+        }
+
+        // Meshes move to a child node carrying the dequantization transform
+        ArrayNode nodes = json.withArray("nodes");
+        int nodeCount = nodes.size();
+        for (int n = 0; n < nodeCount; n++) {
+            ObjectNode node = (ObjectNode) nodes.get(n);
+            if (!node.has("mesh") || dequantization[node.get("mesh").asInt()] == null) {
+                continue;
+            }
+            double[] transform = dequantization[node.get("mesh").asInt()];
+            ObjectNode child = nodes.addObject();
+            child.put("mesh", node.get("mesh").asInt());
+            child.putArray("translation").add(transform[0]).add(transform[1]).add(transform[2]);
+            child.putArray("scale").add(transform[3]).add(transform[3]).add(transform[3]);
+            node.remove("mesh");
+            node.withArray("children").add(nodes.size() - 1);
+        }
+        addExtension(json.withArray("extensionsUsed"));
+        addExtension(json.withArray("extensionsRequired"));
+        builder.write(target);
+        return quantized;
+    }
+
+    // Helper to quantize every primitive of a mesh; returns {translation x, y, z, scale}
+    private static double[] quantizeMesh(GlbBuilder builder, JsonNode mesh, ByteBuffer bin) {
+        JsonNode json = builder.getJson();
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (JsonNode primitive : mesh.path("primitives")) {
+            GlbAccessor position = GlbAccessor.of(json, primitive.path("attributes").get("POSITION").asInt(), bin);
+            for (int v = 0; v < position.getCount(); v++) {
+                for (int c = 0; c < 3; c++) {
+                    min[c] = Math.min(min[c], position.getFloat(v, c));
+                    max[c] = Math.max(max[c], position.getFloat(v, c));
+                }
+            }
+        }
+        double[] center = new double[3];
+        double scale = 0;
+        for (int c = 0; c < 3; c++) {
+            center[c] = min[c] <= max[c] ? (min[c] + max[c]) / 2 : 0;
+            scale = Math.max(scale, (max[c] - min[c]) / 2);
+        }
+        // Uniform scale keeps normals valid under the dequantization transform
+        if (scale == 0) {
+            scale = 1;
+        }
+        for (JsonNode primitive : mesh.path("primitives")) {
+            quantizePrimitive(builder, (ObjectNode) primitive, bin, center, scale);
+        }
+        return new double[]{center[0], center[1], center[2], scale};
+    }
+
+    // Helper to reorder and re-encode one primitive
+    private static void quantizePrimitive(GlbBuilder builder, ObjectNode primitive, ByteBuffer bin,
+                                          double[] center, double scale) {
+        JsonNode json = builder.getJson();
+        ObjectNode attributes = (ObjectNode) primitive.get("attributes");
+        int vertexCount = GlbAccessor.of(json, attributes.get("POSITION").asInt(), bin).getCount();
+        int[] indices = GlbPrimitives.readIndices(json, primitive, bin, vertexCount);
+        int[] optimized = VertexCacheOptimizer.optimize(indices, vertexCount);
+        int[] used = GlbPrimitives.compact(optimized, vertexCount);
+
+        List<String> names = new ArrayList<>();
+        attributes.fieldNames().forEachRemaining(names::add);
+        for (String name : names) {
+            int accessorIndex = attributes.get(name).asInt();
+            GlbAccessor accessor = GlbAccessor.of(json, accessorIndex, bin);
+            String type = json.path("accessors").get(accessorIndex).path("type").asText();
+            attributes.put(name, encodeAttribute(builder, name, type, accessor, used, center, scale));
+        }
+        primitive.put("indices", GlbPrimitives.writeIndices(builder, optimized, used.length));
+    }
+
+    // Helper to write one attribute in its quantized encoding (or copied unchanged); returns the accessor index
+    private static int encodeAttribute(GlbBuilder builder, String name, String type, GlbAccessor accessor,
+                                       int[] used, double[] center, double scale) {
+        boolean floats = accessor.getComponentType() == GlbAccessor.FLOAT;
+        if (name.equals("POSITION") && floats) {
+            return encode(builder, accessor, used, GlbAccessor.SHORT, type, true, (component, value) ->
+                    quantize((value - center[component]) / scale, POSITION_RANGE));
+        }
+        if ((name.equals("NORMAL") || name.equals("TANGENT")) && floats) {
+            return encode(builder, accessor, used, GlbAccessor.BYTE, type, false, (component, value) ->
+                    quantize(value, NORMAL_RANGE));
+        }
+        if (name.startsWith("TEXCOORD_") && floats && inUnitRange(accessor, used)) {
+            return encode(builder, accessor, used, GlbAccessor.UNSIGNED_SHORT, type, false, (component, value) ->
+                    (int) Math.round(value * 65535.0));
+        }
+        if (name.startsWith("COLOR_") && floats) {
+            return encode(builder, accessor, used, GlbAccessor.UNSIGNED_BYTE, type, false, (component, value) ->
+                    (int) Math.round(Math.min(1, Math.max(0, value)) * 255.0));
+        }
+        return GlbPrimitives.copyAttribute(builder, accessor, name, type, used);
+    }
+
+    // Helper to write the used elements with a normalized integer component type
+    private static int encode(GlbBuilder builder, GlbAccessor accessor, int[] used, int componentType,
+                              String type, boolean bounds, ComponentEncoder encoder) {
+        int components = accessor.getComponents();
+        int componentSize = GlbAccessor.componentSize(componentType);
+        int stride = (components * componentSize + 3) & ~3;
+        ByteBuffer data = ByteBuffer.allocate(stride * used.length).order(ByteOrder.LITTLE_ENDIAN);
+        double[] min = bounds ? new double[components] : null;
+        double[] max = bounds ? new double[components] : null;
+        if (bounds) {
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+        for (int i = 0; i < used.length; i++) {
+            data.position(i * stride);
+            for (int c = 0; c < components; c++) {
+                int value = encoder.encode(c, accessor.getFloat(used[i], c));
+                if (componentSize == 1) {
+                    data.put((byte) value);
+                } else {
+                    data.putShort((short) value);
+                }
+                if (bounds) {
+                    min[c] = Math.min(min[c], value);
+                    max[c] = Math.max(max[c], value);
+                }
+            }
+        }
+        data.clear();
+        int view = builder.addBufferView(data, stride != components * componentSize ? stride : null,
+                GlbPrimitives.ARRAY_BUFFER);
+        return builder.addAccessor(view, componentType, true, used.length, type,
+                used.length > 0 ? min : null, used.length > 0 ? max : null);
+    }
+
+    // Helper to check whether a mesh can be quantized: readable float positions, triangle lists, no morph targets
+    private static boolean quantizable(JsonNode json, JsonNode mesh, ByteBuffer bin) {
+        if (mesh.path("primitives").isEmpty()) {
+            return false;
+        }
+        for (JsonNode primitive : mesh.path("primitives")) {
+            if (primitive.path("mode").asInt(GlbPrimitives.MODE_TRIANGLES) != GlbPrimitives.MODE_TRIANGLES
+                    || primitive.has("targets") || !GlbPrimitives.readable(json, primitive, bin)) {
+                return false;
+            }
+            GlbAccessor position = GlbAccessor.of(json, primitive.path("attributes").path("POSITION").asInt(-1), bin);
+            if (position == null || position.getComponents() != 3
+                    || position.getComponentType() != GlbAccessor.FLOAT
+                    || GlbPrimitives.readIndices(json, primitive, bin, position.getCount()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Helper to find meshes whose node transform cannot carry the dequantization (skins, instancing)
+    private static Set<Integer> excludedMeshes(JsonNode json) {
+        Set<Integer> excluded = new HashSet<>();
+        for (JsonNode node : json.path("nodes")) {
+            if (node.has("mesh") && (node.has("skin") || node.has("extensions") || node.has("weights"))) {
+                excluded.add(node.get("mesh").asInt());
+            }
+        }
+        return excluded;
+    }
+
+    private static boolean inUnitRange(GlbAccessor accessor, int[] used) {
+        for (int vertex : used) {
+            for (int c = 0; c < accessor.getComponents(); c++) {
+                float value = accessor.getFloat(vertex, c);
+                if (!(value >= 0f && value <= 1f)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int quantize(double value, int range) {
+        return (int) Math.round(Math.max(-1, Math.min(1, value)) * range);
+    }
+
+    private static void addExtension(ArrayNode extensions) {
+        for (JsonNode extension : extensions) {
+            if (extension.asText().equals(EXTENSION)) {
+                return;
+            }
+        }
+        extensions.add(EXTENSION);
+    }
+
+    @FunctionalInterface
+    private interface ComponentEncoder {
+        int encode(int component, float value);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sideforge.util.glb;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.util.mesh.MeshSimplifier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Writes a decimated level of detail of a GLB.
+ * ----------------------------------------------------------------
+ * Every indexed (or non-indexed) triangle list is simplified with
+ * MeshSimplifier; the surviving vertices are compacted into new tightly
+ * packed attribute accessors (morph targets included) and a new index
+ * buffer. Other primitives, materials, textures, skins and animations are
+ * copied unchanged. Check GlbPrimitives.isSupported first: Draco/meshopt
+ * compressed meshes cannot be read.
+ */
+public final class GlbSimplifier {
+
+    private GlbSimplifier() {
+    }
+
+    // Write a copy keeping about ratio of the triangles to target; returns the triangles written
+    public static long write(GlbFile glb, ByteBuffer bin, double ratio, Path target) throws IOException {
+        ObjectNode json = glb.getJson().deepCopy();
+        GlbBuilder builder = new GlbBuilder(json, bin);
+        long triangles = 0;
+        for (JsonNode mesh : json.path("meshes")) {
+            for (JsonNode primitive : mesh.path("primitives")) {
+                triangles += simplifyPrimitive(builder, (ObjectNode) primitive, bin, ratio);
+            }
+        }
+        builder.write(target);
+        return triangles;
+    }
+
+    // Helper to replace one primitive's geometry with its simplified version; returns its triangle count
+    private static long simplifyPrimitive(GlbBuilder builder, ObjectNode primitive, ByteBuffer bin, double ratio) {
+        JsonNode json = builder.getJson();
+        if (primitive.path("mode").asInt(GlbPrimitives.MODE_TRIANGLES) != GlbPrimitives.MODE_TRIANGLES) {
+            return 0;
+        }
+        long originalTriangles = GlbPrimitives.elementCount(json, primitive) / 3;
+        GlbAccessor position = GlbAccessor.of(json, primitive.path("attributes").path("POSITION").asInt(-1), bin);
+        if (position == null || position.getComponents() != 3 || !GlbPrimitives.readable(json, primitive, bin)) {
+            return originalTriangles;
+        }
+        int[] indices = GlbPrimitives.readIndices(json, primitive, bin, position.getCount());
+        if (indices == null) {
+            return originalTriangles;
+        }
+
+        int target = (int) Math.max(3, Math.round(indices.length / 3.0 * ratio) * 3);
+        int[] simplified = MeshSimplifier.simplify(position.toFloatArray(), indices, target);
+        int[] used = GlbPrimitives.compact(simplified, position.getCount());
+
+        GlbPrimitives.copyAttributes(builder, (ObjectNode) primitive.get("attributes"), bin, used);
+        for (JsonNode morphTarget : primitive.path("targets")) {
+            GlbPrimitives.copyAttributes(builder, (ObjectNode) morphTarget, bin, used);
+        }
+        primitive.put("indices", GlbPrimitives.writeIndices(builder, simplified, used.length));
+        return simplified.length / 3;
+    }
+}
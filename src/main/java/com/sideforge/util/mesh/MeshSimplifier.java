@@ -0,0 +1,300 @@
+package com.sideforge.util.mesh;
+
+import java.util.*;
+
+/**
+ * Triangle mesh simplification by quadric edge collapse (Garland &amp; Heckbert).
+ * ----------------------------------------------------------------
+ * - Every vertex accumulates the area-weighted plane quadrics of its triangles;
+ *   the cost of collapsing an edge is the quadric error at the kept vertex.
+ * - Collapses are half-edge collapses: a vertex is merged into a neighbour
+ *   that keeps its position, so normals, UVs, skin weights... of the surviving
+ *   vertices stay valid and the result only needs a new index buffer.
+ * - Open edges (mesh borders and UV/normal seams, where vertices are split)
+ *   get a heavily weighted perpendicular plane so borders do not shrink, and
+ *   collapses that would flip a triangle are rejected.
+ */
+public final class MeshSimplifier {
+
+    // Penalty of moving a vertex away from an open edge, relative to its surface planes
+    private static final double BOUNDARY_WEIGHT = 10.0;
+
+    private record Collapse(double cost, int from, int to, int fromVersion, int toVersion) {
+    }
+
+    private final float[] positions;
+    private final int[] triangles;
+    private final boolean[] triangleAlive;
+    private final double[] quadrics;
+    private final int[][] vertexTriangles;
+    private final int[] vertexTriangleCount;
+    private final boolean[] collapsed;
+    private final int[] version;
+    private final PriorityQueue<Collapse> queue = new PriorityQueue<>(Comparator.comparingDouble(Collapse::cost));
+    private int aliveTriangles;
+
+    private MeshSimplifier(float[] positions, int[] indices) {
+        int vertexCount = positions.length / 3;
+        this.positions = positions;
+        this.triangles = indices.clone();
+        this.triangleAlive = new boolean[indices.length / 3];
+        this.quadrics = new double[vertexCount * 10];
+        this.vertexTriangles = new int[vertexCount][];
+        this.vertexTriangleCount = new int[vertexCount];
+        this.collapsed = new boolean[vertexCount];
+        this.version = new int[vertexCount];
+    }
+
+    // Simplify an indexed triangle list until at most targetIndexCount indices remain (or nothing can collapse)
+    public static int[] simplify(float[] positions, int[] indices, int targetIndexCount) {
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("Index count must be a multiple of 3");
+        }
+        int vertexCount = positions.length / 3;
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new IllegalArgumentException("Index out of range: " + index);
+            }
+        }
+        MeshSimplifier simplifier = new MeshSimplifier(positions, indices);
+        simplifier.build();
+        simplifier.run(targetIndexCount);
+        return simplifier.result();
+    }
+
+    // Helper to set up adjacency, quadrics and the initial collapse candidates
+    private void build() {
+        for (int t = 0; t < triangleAlive.length; t++) {
+            int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            if (a == b || b == c || a == c) {
+                continue;
+            }
+            triangleAlive[t] = true;
+            aliveTriangles++;
+            for (int k = 0; k < 3; k++) {
+                addTriangle(triangles[t * 3 + k], t);
+            }
+            double[] normal = normal(a, b, c);
+            double area2 = length(normal);
+            if (area2 > 0) {
+                double nx = normal[0] / area2, ny = normal[1] / area2, nz = normal[2] / area2;
+                double d = -(nx * x(a) + ny * y(a) + nz * z(a));
+                for (int k = 0; k < 3; k++) {
+                    addPlane(triangles[t * 3 + k], nx, ny, nz, d, area2 * 0.5);
+                }
+            }
+        }
+
+        // Edges used by a single triangle are open: constrain their vertices to stay on them
+        Map<Long, Integer> edgeUse = new HashMap<>();
+        forEachEdge((t, a, b) -> edgeUse.merge(edgeKey(a, b), 1, Integer::sum));
+        forEachEdge((t, a, b) -> {
+            if (edgeUse.get(edgeKey(a, b)) != 1) {
+                return;
+            }
+            double[] face = normal(triangles[t * 3], triangles[t * 3 + 1], triangles[t * 3 + 2]);
+            double ex = x(b) - x(a), ey = y(b) - y(a), ez = z(b) - z(a);
+            double[] perpendicular = {ey * face[2] - ez * face[1], ez * face[0] - ex * face[2], ex * face[1] - ey * face[0]};
+            double len = length(perpendicular);
+            if (len == 0) {
+                return;
+            }
+            double nx = perpendicular[0] / len, ny = perpendicular[1] / len, nz = perpendicular[2] / len;
+            double d = -(nx * x(a) + ny * y(a) + nz * z(a));
+            double weight = BOUNDARY_WEIGHT * (ex * ex + ey * ey + ez * ez);
+            addPlane(a, nx, ny, nz, d, weight);
+            addPlane(b, nx, ny, nz, d, weight);
+        });
+
+        Set<Long> seen = new HashSet<>();
+        forEachEdge((t, a, b) -> {
+            if (seen.add(edgeKey(a, b))) {
+                pushCandidate(a, b);
+            }
+        });
+    }
+
+    // Helper to collapse the cheapest valid edges until the target is met
+    private void run(int targetIndexCount) {
+        while (aliveTriangles * 3 > targetIndexCount && !queue.isEmpty()) {
+            Collapse collapse = queue.poll();
+            int from = collapse.from(), to = collapse.to();
+            if (collapsed[from] || collapsed[to]
+                    || version[from] != collapse.fromVersion() || version[to] != collapse.toVersion()) {
+                continue;
+            }
+            if (flipsTriangle(from, to)) {
+                continue;
+            }
+            collapse(from, to);
+        }
+    }
+
+    // Helper to merge vertex from into vertex to
+    private void collapse(int from, int to) {
+        for (int i = 0; i < vertexTriangleCount[from]; i++) {
+            int t = vertexTriangles[from][i];
+            if (!triangleAlive[t]) {
+                continue;
+            }
+            if (contains(t, to)) {
+                triangleAlive[t] = false;
+                aliveTriangles--;
+            } else {
+                for (int k = 0; k < 3; k++) {
+                    if (triangles[t * 3 + k] == from) {
+                        triangles[t * 3 + k] = to;
+                    }
+                }
+                addTriangle(to, t);
+            }
+        }
+        for (int k = 0; k < 10; k++) {
+            quadrics[to * 10 + k] += quadrics[from * 10 + k];
+        }
+        collapsed[from] = true;
+        version[to]++;
+
+        // Edges of the kept vertex changed cost (the version bump invalidates the queued ones)
+        Set<Integer> neighbours = new HashSet<>();
+        for (int i = 0; i < vertexTriangleCount[to]; i++) {
+            int t = vertexTriangles[to][i];
+            if (triangleAlive[t]) {
+                for (int k = 0; k < 3; k++) {
+                    int other = triangles[t * 3 + k];
+                    if (other != to) {
+                        neighbours.add(other);
+                    }
+                }
+            }
+        }
+        for (int other : neighbours) {
+            pushCandidate(to, other);
+        }
+    }
+
+    // Helper to check whether moving vertex from onto to turns any of its remaining triangles over
+    private boolean flipsTriangle(int from, int to) {
+        for (int i = 0; i < vertexTriangleCount[from]; i++) {
+            int t = vertexTriangles[from][i];
+            if (!triangleAlive[t] || contains(t, to)) {
+                continue;
+            }
+            int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            double[] before = normal(a, b, c);
+            double[] after = normal(a == from ? to : a, b == from ? to : b, c == from ? to : c);
+            double dot = before[0] * after[0] + before[1] * after[1] + before[2] * after[2];
+            if (length(after) == 0 || dot <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Helper to queue the cheaper direction of an edge
+    private void pushCandidate(int a, int b) {
+        double costAB = error(a, b, b);
+        double costBA = error(a, b, a);
+        if (costAB <= costBA) {
+            queue.add(new Collapse(costAB, a, b, version[a], version[b]));
+        } else {
+            queue.add(new Collapse(costBA, b, a, version[b], version[a]));
+        }
+    }
+
+    // Quadric error of (Q[a] + Q[b]) at the position of vertex at
+    private double error(int a, int b, int at) {
+        double px = x(at), py = y(at), pz = z(at);
+        double[] q = new double[10];
+        for (int k = 0; k < 10; k++) {
+            q[k] = quadrics[a * 10 + k] + quadrics[b * 10 + k];
+        }
+        return q[0] * px * px + 2 * q[1] * px * py + 2 * q[2] * px * pz + 2 * q[3] * px
+                + q[4] * py * py + 2 * q[5] * py * pz + 2 * q[6] * py
+                + q[7] * pz * pz + 2 * q[8] * pz
+                + q[9];
+    }
+
+    private int[] result() {
+        int[] result = new int[aliveTriangles * 3];
+        int n = 0;
+        for (int t = 0; t < triangleAlive.length; t++) {
+            if (triangleAlive[t]) {
+                System.arraycopy(triangles, t * 3, result, n, 3);
+                n += 3;
+            }
+        }
+        return result;
+    }
+
+    private void addPlane(int vertex, double a, double b, double c, double d, double weight) {
+        int q = vertex * 10;
+        quadrics[q] += weight * a * a;
+        quadrics[q + 1] += weight * a * b;
+        quadrics[q + 2] += weight * a * c;
+        quadrics[q + 3] += weight * a * d;
+        quadrics[q + 4] += weight * b * b;
+        quadrics[q + 5] += weight * b * c;
+        quadrics[q + 6] += weight * b * d;
+        quadrics[q + 7] += weight * c * c;
+        quadrics[q + 8] += weight * c * d;
+        quadrics[q + 9] += weight * d * d;
+    }
+
+    private void addTriangle(int vertex, int triangle) {
+        int[] list = vertexTriangles[vertex];
+        if (list == null) {
+            list = vertexTriangles[vertex] = new int[6];
+        } else if (vertexTriangleCount[vertex] == list.length) {
+            list = vertexTriangles[vertex] = Arrays.copyOf(list, list.length * 2);
+        }
+        list[vertexTriangleCount[vertex]++] = triangle;
+    }
+
+    private void forEachEdge(EdgeVisitor visitor) {
+        for (int t = 0; t < triangleAlive.length; t++) {
+            if (triangleAlive[t]) {
+                for (int k = 0; k < 3; k++) {
+                    visitor.visit(t, triangles[t * 3 + k], triangles[t * 3 + (k + 1) % 3]);
+                }
+            }
+        }
+    }
+
+    private boolean contains(int triangle, int vertex) {
+        return triangles[triangle * 3] == vertex || triangles[triangle * 3 + 1] == vertex
+                || triangles[triangle * 3 + 2] == vertex;
+    }
+
+    // Unnormalized face normal (length = twice the area)
+    private double[] normal(int a, int b, int c) {
+        double ux = x(b) - x(a), uy = y(b) - y(a), uz = z(b) - z(a);
+        double vx = x(c) - x(a), vy = y(c) - y(a), vz = z(c) - z(a);
+        return new double[]{uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx};
+    }
+
+    private static double length(double[] v) {
+        return Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+    }
+
+    private static long edgeKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    private double x(int vertex) {
+        return positions[vertex * 3];
+    }
+
+    private double y(int vertex) {
+        return positions[vertex * 3 + 1];
+    }
+
+    private double z(int vertex) {
+        return positions[vertex * 3 + 2];
+    }
+
+    @FunctionalInterface
+    private interface EdgeVisitor {
+        void visit(int triangle, int a, int b);
+    }
+}
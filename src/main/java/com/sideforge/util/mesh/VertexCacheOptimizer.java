@@ -0,0 +1,185 @@
+package com.sideforge.util.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Triangle reordering for the GPU post-transform vertex cache (Forsyth's linear-speed algorithm).
+ * ----------------------------------------------------------------
+ * Triangles are emitted greedily by score: vertices recently used (in a
+ * simulated LRU cache) and vertices with few remaining triangles score
+ * higher, so meshes are walked in compact strips and each vertex is
+ * transformed about once. Together with first-use vertex order it also makes
+ * the index buffer close to sequential, which compresses well.
+ */
+public final class VertexCacheOptimizer {
+
+    public static final int CACHE_SIZE = 32;
+
+    private static final double CACHE_DECAY_POWER = 1.5;
+    private static final double LAST_TRIANGLE_SCORE = 0.75;
+    private static final double VALENCE_BOOST_SCALE = 2.0;
+    private static final double VALENCE_BOOST_POWER = 0.5;
+
+    private VertexCacheOptimizer() {
+    }
+
+    // Reorder the triangles of an indexed triangle list (returns a new array)
+    public static int[] optimize(int[] indices, int vertexCount) {
+        int triangleCount = indices.length / 3;
+        int[] result = new int[triangleCount * 3];
+        if (triangleCount == 0) {
+            return result;
+        }
+
+        // vertex -> triangles using it (CSR layout); the first remaining[v] entries are the unused ones
+        int[] remaining = new int[vertexCount];
+        for (int i = 0; i < triangleCount * 3; i++) {
+            remaining[indices[i]]++;
+        }
+        int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + remaining[v];
+        }
+        int[] vertexTriangles = new int[triangleCount * 3];
+        int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (int t = 0; t < triangleCount; t++) {
+            for (int k = 0; k < 3; k++) {
+                vertexTriangles[fill[indices[t * 3 + k]]++] = t;
+            }
+        }
+
+        int[] cachePosition = new int[vertexCount];
+        Arrays.fill(cachePosition, -1);
+        double[] vertexScore = new double[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexScore[v] = score(-1, remaining[v]);
+        }
+        double[] triangleScore = new double[triangleCount];
+        for (int t = 0; t < triangleCount; t++) {
+            triangleScore[t] = vertexScore[indices[t * 3]] + vertexScore[indices[t * 3 + 1]]
+                    + vertexScore[indices[t * 3 + 2]];
+        }
+        boolean[] emitted = new boolean[triangleCount];
+
+        int[] cache = new int[CACHE_SIZE + 3];
+        int[] nextCache = new int[CACHE_SIZE + 3];
+        int cacheCount = 0;
+        int best = bestTriangle(triangleScore);
+        int cursor = 0;
+        int written = 0;
+
+        while (best >= 0) {
+            emitted[best] = true;
+            System.arraycopy(indices, best * 3, result, written, 3);
+            written += 3;
+
+            // Detach the triangle from its vertices
+            for (int k = 0; k < 3; k++) {
+                int v = indices[best * 3 + k];
+                int start = offsets[v];
+                int end = start + remaining[v];
+                for (int i = start; i < end; i++) {
+                    if (vertexTriangles[i] == best) {
+                        vertexTriangles[i] = vertexTriangles[end - 1];
+                        vertexTriangles[end - 1] = best;
+                        break;
+                    }
+                }
+                remaining[v]--;
+            }
+
+            // The triangle's vertices move to the front of the LRU cache
+            int nextCount = 0;
+            for (int k = 0; k < 3; k++) {
+                nextCache[nextCount++] = indices[best * 3 + k];
+            }
+            for (int i = 0; i < cacheCount; i++) {
+                int v = cache[i];
+                if (v != indices[best * 3] && v != indices[best * 3 + 1] && v != indices[best * 3 + 2]) {
+                    nextCache[nextCount++] = v;
+                }
+            }
+            int[] swap = cache;
+            cache = nextCache;
+            nextCache = swap;
+            cacheCount = nextCount;
+
+            // Rescore cached vertices and their remaining triangles; pick the best of those next
+            best = -1;
+            double bestScore = -1;
+            for (int i = 0; i < cacheCount; i++) {
+                int v = cache[i];
+                int position = i < CACHE_SIZE ? i : -1;
+                cachePosition[v] = position;
+                double newScore = score(position, remaining[v]);
+                double delta = newScore - vertexScore[v];
+                vertexScore[v] = newScore;
+                for (int j = offsets[v]; j < offsets[v] + remaining[v]; j++) {
+                    int t = vertexTriangles[j];
+                    triangleScore[t] += delta;
+                    if (triangleScore[t] > bestScore) {
+                        bestScore = triangleScore[t];
+                        best = t;
+                    }
+                }
+            }
+            cacheCount = Math.min(cacheCount, CACHE_SIZE);
+
+            if (best < 0) {
+                // Dead end: continue with the next unused triangle in input order
+                while (cursor < triangleCount && emitted[cursor]) {
+                    cursor++;
+                }
+                best = cursor < triangleCount ? cursor : -1;
+            }
+        }
+        return result;
+    }
+
+    // Average transformed vertices per triangle with a FIFO cache of the given size (lower is better)
+    public static double acmr(int[] indices, int vertexCount, int cacheSize) {
+        if (indices.length < 3) {
+            return 0;
+        }
+        int[] fifo = new int[cacheSize];
+        Arrays.fill(fifo, -1);
+        boolean[] cached = new boolean[vertexCount];
+        int head = 0;
+        int misses = 0;
+        for (int index : indices) {
+            if (!cached[index]) {
+                misses++;
+                if (fifo[head] >= 0) {
+                    cached[fifo[head]] = false;
+                }
+                fifo[head] = index;
+                cached[index] = true;
+                head = (head + 1) % cacheSize;
+            }
+        }
+        return (double) misses / (indices.length / 3);
+    }
+
+    private static int bestTriangle(double[] scores) {
+        int best = 0;
+        for (int t = 1; t < scores.length; t++) {
+            if (scores[t] > scores[best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private static double score(int cachePosition, int remainingTriangles) {
+        if (remainingTriangles == 0) {
+            return -1;
+        }
+        double score = 0;
+        if (cachePosition >= 0) {
+            score = cachePosition < 3
+                    ? LAST_TRIANGLE_SCORE
+                    : Math.pow(1.0 - (double) (cachePosition - 3) / (CACHE_SIZE - 3), CACHE_DECAY_POWER);
+        }
+        return score + VALENCE_BOOST_SCALE * Math.pow(remainingTriangles, -VALENCE_BOOST_POWER);
+    }
+}
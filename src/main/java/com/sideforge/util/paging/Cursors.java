@@ -0,0 +1,136 @@
+package com.sideforge.util.paging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Opaque continuation tokens for keyset scrolling.
+ * ----------------------------------------------------------------
+ * A cursor is the base64url JSON of the sort keys of the last row returned,
+ * in sort order: [["name", "s", "Mug"], ["id", "l", "42"]]. Each value keeps
+ * a type tag so it binds to the query with its original type. A cursor only
+ * continues the sort it was created for; anything else is a bad request.
+ */
+public final class Cursors {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<List<String>>> KEYS = new TypeReference<>() {
+    };
+    private static final Map<Class<?>, String> TAGS = Map.of(
+            String.class, "s", Long.class, "l", Integer.class, "i", Short.class, "h", Double.class, "d",
+            Float.class, "f", Boolean.class, "b", BigDecimal.class, "n", LocalDateTime.class, "t", LocalDate.class, "D");
+    private static final String ENUM_PREFIX = "e:";
+    // Only enums of the application can be named by a cursor
+    private static final String ENUM_PACKAGE = "com.sideforge.";
+
+    private Cursors() {
+    }
+
+    // Encode the keys of a keyset position in sort order (null when there is no position to continue from)
+    public static String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        List<List<String>> keys = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Object value = keyset.getKeys().get(order.getProperty());
+            keys.add(Arrays.asList(order.getProperty(), tag(value), text(value)));
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    // Decode a cursor created for the given sort into the position after its row
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        List<List<String>> keys;
+        try {
+            keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        if (keys == null || keys.size() != properties.size()) {
+            throw new BadRequestException("Cursor does not match the sort order");
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<String> key = keys.get(i);
+            if (key == null || key.size() != 3 || !properties.get(i).equals(key.get(0))) {
+                throw new BadRequestException("Cursor does not match the sort order");
+            }
+            Object value = value(key.get(1), key.get(2));
+            if (value == null && !"null".equals(key.get(1))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            values.put(key.get(0), value);
+        }
+        return ScrollPosition.forward(values);
+    }
+
+    private static String tag(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Enum<?> constant) {
+            return ENUM_PREFIX + constant.getDeclaringClass().getName();
+        }
+        String tag = TAGS.get(value.getClass());
+        if (tag == null) {
+            throw new IllegalStateException("Unsupported sort key type: " + value.getClass().getName());
+        }
+        return tag;
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object value(String tag, String text) {
+        if ("null".equals(tag)) {
+            return null;
+        }
+        if (tag == null || text == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            if (tag.startsWith(ENUM_PREFIX + ENUM_PACKAGE)) {
+                Class<?> type = Class.forName(tag.substring(ENUM_PREFIX.length()), false, Cursors.class.getClassLoader());
+                if (type.isEnum()) {
+                    return Enum.valueOf((Class<? extends Enum>) type, text);
+                }
+            }
+            return switch (tag) {
+                case "s" -> text;
+                case "l" -> Long.valueOf(text);
+                case "i" -> Integer.valueOf(text);
+                case "h" -> Short.valueOf(text);
+                case "d" -> Double.valueOf(text);
+                case "f" -> Float.valueOf(text);
+                case "b" -> Boolean.valueOf(text);
+                case "n" -> new BigDecimal(text);
+                case "t" -> LocalDateTime.parse(text);
+                case "D" -> LocalDate.parse(text);
+                default -> null;
+            };
+        } catch (ClassNotFoundException | RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sideforge.util.paging;
+
+import com.sideforge.dto.CursorPageDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyset scroll request: page size, sort (always ending with id so the order
+ * is total), the cursor to continue from, and whether to also count all rows.
+ * Rows are read with "where (sort keys) > (cursor keys) order by ... limit n",
+ * so every page costs the same however deep it is.
+ */
+public record ScrollRequest(String cursor, int size, Sort sort, boolean count) {
+
+    public static final String ID = "id";
+
+    public ScrollRequest {
+        if (sort.getOrderFor(ID) == null) {
+            sort = sort.and(Sort.by(ID));
+        }
+    }
+
+    // Build a scroll request from the "property,direction" sort parameter used by the page endpoints
+    public static ScrollRequest of(String cursor, int size, String[] sort, boolean count) {
+        return new ScrollRequest(cursor, size, Sort.by(Sort.Direction.fromString(sort[1]), sort[0]), count);
+    }
+
+    // Position to continue from (the start when there is no cursor)
+    public ScrollPosition position() {
+        return cursor == null || cursor.isBlank() ? ScrollPosition.keyset() : Cursors.decode(cursor, sort);
+    }
+
+    public Limit limit() {
+        return Limit.of(size);
+    }
+
+    // Map a window of rows to a cursor page; the counter runs only when the count was requested
+    public <T, R> CursorPageDTO<R> toPage(Window<T> window, Function<T, R> mapper, LongSupplier counter) {
+        boolean hasNext = window.hasNext() && !window.isEmpty();
+        return CursorPageDTO.<R>builder()
+                .content(window.map(mapper).getContent())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? Cursors.encode(window.positionAt(window.size() - 1), sort) : null)
+                .totalElements(count ? counter.getAsLong() : null)
+                .build();
+    }
+}
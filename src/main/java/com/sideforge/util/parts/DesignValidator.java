@@ -0,0 +1,184 @@
+package com.sideforge.util.parts;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A design configuration check compiled from one asset's parts config.
+ * ----------------------------------------------------------------
+ * The parts config is turned into tables indexed by Part ordinal (customizable
+ * flags, sorted RGBA values, material bit masks), so checking a design walks
+ * its already typed sections without parsing JSON or comparing strings. Only
+ * keys the design config could not type are parsed, to report them.
+ * Rules:
+ * - Assets that define no parts accept any parts colors and materials.
+ * - Parts colors and per-part materials: customizable parts only, colors from
+ *   the part's list (compared as RGBA, so "white" matches "#fff"), materials
+ *   from its "materials" list. The default material must suit every
+ *   customizable part that restricts materials and sets none of its own.
+ * - Logo and text (any asset): the part, if given, is customizable; x and y
+ *   within [0, 1]; size positive, at most MAX_LOGO_SCALE or MAX_TEXT_SIZE;
+ *   rotation within [-360, 360] degrees.
+ * Instances are immutable and cached with the parts config.
+ */
+public final class DesignValidator {
+
+    public static final float MAX_LOGO_SCALE = 10f;
+    public static final float MAX_TEXT_SIZE = 512f;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Part[] PARTS = Part.values();
+
+    private final Long assetId;
+    private final boolean definesParts;
+    private final boolean[] customizable = new boolean[PARTS.length];
+    // Sorted allowed RGBA values per part, null for any color
+    private final int[][] colors = new int[PARTS.length][];
+    // Allowed materials per part as bits by MaterialType ordinal, 0 for any material
+    private final long[] materials = new long[PARTS.length];
+
+    private DesignValidator(Long assetId, PartsConfig config) {
+        this.assetId = assetId;
+        this.definesParts = !config.getParts().isEmpty();
+        config.getParts().forEach((part, partConfig) -> {
+            int index = part.ordinal();
+            customizable[index] = partConfig.customizable();
+            if (!partConfig.colors().isEmpty()) {
+                colors[index] = partConfig.colors().stream()
+                        .mapToInt(color -> Rgba.parse(color).value())
+                        .sorted()
+                        .toArray();
+            }
+            for (MaterialType material : partConfig.materials()) {
+                materials[index] |= 1L << material.ordinal();
+            }
+        });
+    }
+
+    // Compile the checks of an asset's parts config (assetId is only used in messages)
+    public static DesignValidator compile(Long assetId, PartsConfig config) {
+        return new DesignValidator(assetId, config);
+    }
+
+    // Reject the first rule the design breaks with a bad request
+    public void validate(DesignConfig design) {
+        if (definesParts) {
+            checkPartsColors(design);
+            checkMaterials(design);
+        }
+        checkPlacement("Logo", design.getLogo(), MAX_LOGO_SCALE);
+        checkPlacement("Text", design.getText(), MAX_TEXT_SIZE);
+    }
+
+    private void checkPartsColors(DesignConfig design) {
+        for (Map.Entry<Part, Rgba> entry : design.getPartsColors().entrySet()) {
+            Part part = entry.getKey();
+            requireCustomizable(part.ordinal(), name(part));
+            int[] allowed = colors[part.ordinal()];
+            if (allowed != null && Arrays.binarySearch(allowed, entry.getValue().value()) < 0) {
+                throw new BadRequestException("Color '" + entry.getValue() + "' is not allowed on part " + part);
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> untyped = untypedFields("Parts colors", design.getUntypedPartsColorsJson());
+        if (untyped.hasNext()) {
+            Map.Entry<String, JsonNode> field = untyped.next();
+            Part part = PartsConfig.parsePart(field.getKey());
+            requireCustomizable(part != null ? part.ordinal() : -1, field.getKey());
+            throw new BadRequestException("Color " + field.getValue() + " of part '" + field.getKey()
+                    + "' is not a color (or the part is given twice)");
+        }
+    }
+
+    private void checkMaterials(DesignConfig design) {
+        DesignConfig.Materials typed = design.getMaterials();
+        if (typed != null) {
+            for (Map.Entry<Part, MaterialType> entry : typed.parts().entrySet()) {
+                requireCustomizable(entry.getKey().ordinal(), name(entry.getKey()));
+                requireMaterial(entry.getKey(), entry.getValue(), "");
+            }
+            if (typed.defaultMaterial() != null) {
+                for (Part part : PARTS) {
+                    if (customizable[part.ordinal()] && !typed.parts().containsKey(part)) {
+                        requireMaterial(part, typed.defaultMaterial(), " (default material)");
+                    }
+                }
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> untyped = untypedFields("Materials", design.getUntypedMaterialsJson());
+        while (untyped.hasNext()) {
+            Map.Entry<String, JsonNode> field = untyped.next();
+            if (field.getKey().equals("material") || PartsConfig.parsePart(field.getKey()) != null) {
+                throw new BadRequestException("Material " + field.getValue() + " of '" + field.getKey()
+                        + "' is unknown (or given twice)");
+            }
+        }
+    }
+
+    private void checkPlacement(String what, DesignConfig.Placement placement, float maxSize) {
+        if (placement == null) {
+            return;
+        }
+        if (definesParts && placement.part() != null) {
+            requireCustomizable(placement.part().ordinal(), name(placement.part()));
+        }
+        if (!within(placement.x(), 0, 1) || !within(placement.y(), 0, 1)) {
+            throw new BadRequestException(what + " position must be within [0, 1]");
+        }
+        if (placement.size() != null && !(placement.size() > 0 && placement.size() <= maxSize)) {
+            throw new BadRequestException(what + " size must be positive and at most " + maxSize);
+        }
+        if (!within(placement.rotation(), -360, 360)) {
+            throw new BadRequestException(what + " rotation must be within [-360, 360] degrees");
+        }
+    }
+
+    private void requireCustomizable(int index, String key) {
+        if (index < 0 || !customizable[index]) {
+            throw new BadRequestException("Part '" + key + "' is not customizable on asset " + assetId);
+        }
+    }
+
+    private void requireMaterial(Part part, MaterialType material, String note) {
+        long allowed = materials[part.ordinal()];
+        if (allowed != 0 && (allowed & (1L << material.ordinal())) == 0) {
+            throw new BadRequestException("Material '" + name(material) + "' is not allowed on part " + part + note);
+        }
+    }
+
+    // Helper to walk the untyped keys of a section; text that is not an object is rejected outright
+    private static Iterator<Map.Entry<String, JsonNode>> untypedFields(String section, String json) {
+        if (json == null) {
+            return Collections.emptyIterator();
+        }
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            node = null;
+        }
+        if (node == null || !node.isObject()) {
+            throw new BadRequestException(section + " must be a JSON object");
+        }
+        return node.properties().iterator();
+    }
+
+    private static boolean within(Float value, float min, float max) {
+        return value == null || (value >= min && value <= max);
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sideforge.util.parts;
+
+import com.sideforge.enums.MaterialType;
+
+import java.util.List;
+
+/**
+ * Customization settings of one part of an asset.
+ * ----------------------------------------------------------------
+ * Attributes:
+ * - customizable: Whether designs may customize the part (false hides it).
+ * - label: Display name of the part (null to use the part name).
+ * - colors: Colors designs may use on the part (empty = any color).
+ * - materials: Materials designs may use on the part (empty = any material).
+ * - uv: Region of the UV texture the part covers (null if not given), used to bake part colors.
+ */
+public record PartConfig(boolean customizable, String label, List<String> colors, List<MaterialType> materials,
+                         UvRect uv) {
+
+    // Part given as "part": true
+    public static final PartConfig DEFAULT = new PartConfig(true, null, List.of(), List.of(), null);
+
+    // Part given as "part": false
+    public static final PartConfig DISABLED = new PartConfig(false, null, List.of(), List.of(), null);
+
+    public PartConfig {
+        colors = List.copyOf(colors);
+        materials = List.copyOf(materials);
+    }
+
+    // Whether a design may paint the part with this color
+    public boolean allowsColor(String color) {
+        return colors.isEmpty() || colors.stream().anyMatch(allowed -> allowed.equalsIgnoreCase(color));
+    }
+}
@@ -0,0 +1,188 @@
+package com.sideforge.util.parts;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.util.design.Rgba;
+
+import java.util.*;
+
+/**
+ * Typed view of Asset.partsConfigJson.
+ * ----------------------------------------------------------------
+ * Keys naming a Part (any case, '-' or ' ' for '_') configure that part:
+ * - true / false: customizable with defaults / not customizable.
+ * - object: {"customizable": true, "label": "Handle", "colors": ["white", "black"],
+ *   "materials": ["cotton"], "uv": [u0, v0, u1, v1]} (colors: hex or color
+ *   names, materials: MaterialType names, uv: the part's region of the texture).
+ * Other keys are asset options ("color": "white") kept as text.
+ * Instances are immutable and shared through the parts cache.
+ */
+public final class PartsConfig {
+
+    public static final PartsConfig EMPTY = new PartsConfig(new EnumMap<>(Part.class), Map.of());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Longest names first so LEFT_CHEST wins over CHEST
+    private static final List<Part> PARTS_BY_NAME_LENGTH = Arrays.stream(Part.values())
+            .sorted(Comparator.comparingInt((Part part) -> part.name().length()).reversed())
+            .toList();
+
+    private final Map<Part, PartConfig> parts;
+    private final Map<String, String> options;
+
+    private PartsConfig(EnumMap<Part, PartConfig> parts, Map<String, String> options) {
+        this.parts = Collections.unmodifiableMap(parts);
+        this.options = Collections.unmodifiableMap(options);
+    }
+
+    // Parse partsConfigJson (null or blank gives EMPTY); invalid content is a bad request
+    public static PartsConfig parse(String json) {
+        if (json == null || json.isBlank()) {
+            return EMPTY;
+        }
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Parts config is not valid JSON");
+        }
+        if (!root.isObject()) {
+            throw new BadRequestException("Parts config must be a JSON object");
+        }
+        EnumMap<Part, PartConfig> parts = new EnumMap<>(Part.class);
+        Map<String, String> options = new LinkedHashMap<>();
+        root.properties().forEach(field -> {
+            Part part = parsePart(field.getKey());
+            if (part != null) {
+                parts.put(part, parsePartConfig(field.getKey(), field.getValue()));
+            } else {
+                JsonNode value = field.getValue();
+                options.put(field.getKey(), value.isValueNode() ? value.asText() : value.toString());
+            }
+        });
+        return new PartsConfig(parts, options);
+    }
+
+    // Part named by a config or design key (e.g. "left-sleeve" -> LEFT_SLEEVE), or null
+    public static Part parsePart(String key) {
+        if (key == null) {
+            return null;
+        }
+        String name = key.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+        try {
+            return Part.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Part a model node name such as "Tshirt_Left_Sleeve" or "mug-handle" refers to, or null
+    public static Part partForNodeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = "_" + name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_") + "_";
+        for (Part part : PARTS_BY_NAME_LENGTH) {
+            if (normalized.contains("_" + part.name() + "_")) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    // Material named by a config or design value (e.g. "stainless steel" -> STAINLESS_STEEL), or null
+    public static MaterialType parseMaterial(String text) {
+        if (text == null) {
+            return null;
+        }
+        String name = text.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+        try {
+            return MaterialType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Configured parts, in Part order
+    public Map<Part, PartConfig> getParts() {
+        return parts;
+    }
+
+    // Non-part keys of the config
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    // Parts designs may customize
+    public Set<Part> getCustomizableParts() {
+        EnumSet<Part> customizable = EnumSet.noneOf(Part.class);
+        parts.forEach((part, config) -> {
+            if (config.customizable()) {
+                customizable.add(part);
+            }
+        });
+        return customizable;
+    }
+
+    // Settings of a part, or null if the config does not mention it
+    public PartConfig get(Part part) {
+        return parts.get(part);
+    }
+
+    public boolean isCustomizable(Part part) {
+        PartConfig config = parts.get(part);
+        return config != null && config.customizable();
+    }
+
+    private static PartConfig parsePartConfig(String key, JsonNode value) {
+        if (value.isBoolean()) {
+            return value.booleanValue() ? PartConfig.DEFAULT : PartConfig.DISABLED;
+        }
+        if (!value.isObject()) {
+            throw new BadRequestException("Parts config of '" + key + "' must be a boolean or an object");
+        }
+        List<String> colors = new ArrayList<>();
+        for (JsonNode color : array(key, value, "colors")) {
+            if (Rgba.parse(color.asText()) == null) {
+                throw new BadRequestException("Color '" + color.asText() + "' of part '" + key + "' is not a color");
+            }
+            colors.add(color.asText());
+        }
+        List<MaterialType> materials = new ArrayList<>();
+        for (JsonNode material : array(key, value, "materials")) {
+            MaterialType type = parseMaterial(material.asText());
+            if (type == null) {
+                throw new BadRequestException("Material '" + material.asText() + "' of part '" + key + "' is unknown");
+            }
+            materials.add(type);
+        }
+        JsonNode label = value.get("label");
+        return new PartConfig(value.path("customizable").asBoolean(true),
+                label != null && !label.isNull() ? label.asText() : null, colors, materials,
+                parseUv(key, value.get("uv")));
+    }
+
+    private static JsonNode array(String key, JsonNode value, String name) {
+        JsonNode node = value.path(name);
+        if (!node.isMissingNode() && !node.isArray()) {
+            throw new BadRequestException(Character.toUpperCase(name.charAt(0)) + name.substring(1)
+                    + " of part '" + key + "' must be an array");
+        }
+        return node;
+    }
+
+    private static UvRect parseUv(String key, JsonNode uv) {
+        if (uv == null || uv.isNull()) {
+            return null;
+        }
+        if (!uv.isArray() || uv.size() != 4 || !uv.get(0).isNumber() || !uv.get(1).isNumber()
+                || !uv.get(2).isNumber() || !uv.get(3).isNumber()) {
+            throw new BadRequestException("UV region of part '" + key + "' must be [u0, v0, u1, v1]");
+        }
+        return new UvRect(uv.get(0).asDouble(), uv.get(1).asDouble(), uv.get(2).asDouble(), uv.get(3).asDouble());
+    }
+}
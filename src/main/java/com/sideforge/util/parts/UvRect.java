@@ -0,0 +1,16 @@
+package com.sideforge.util.parts;
+
+import com.sideforge.exception.BadRequestException;
+
+/**
+ * Region of the UV texture a part is mapped to, in UV units (0..1, origin at
+ * the top-left of the image as in glTF): u0 <= u < u1, v0 <= v < v1.
+ */
+public record UvRect(double u0, double v0, double u1, double v1) {
+
+    public UvRect {
+        if (!(0 <= u0 && u0 < u1 && u1 <= 1 && 0 <= v0 && v0 < v1 && v1 <= 1)) {
+            throw new BadRequestException("UV region must satisfy 0 <= u0 < u1 <= 1 and 0 <= v0 < v1 <= 1");
+        }
+    }
+}
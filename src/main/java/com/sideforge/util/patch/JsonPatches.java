@@ -0,0 +1,306 @@
+package com.sideforge.util.patch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.PatchConflictException;
+
+import java.util.*;
+
+/**
+ * JSON Merge Patch (RFC 7386) and JSON Patch (RFC 6902) over Jackson trees.
+ * ----------------------------------------------------------------
+ * - mergePatch: objects merge member by member, null removes a member,
+ *   any other value replaces the target.
+ * - apply: add, remove, replace, move, copy and test operations on JSON
+ *   Pointer paths (RFC 6901). Malformed operations are bad requests; a path
+ *   that does not exist or a failing test is a conflict.
+ * - diff: the merge patch turning one document into another, used to answer
+ *   a patch with only what changed (arrays and scalars are replaced whole).
+ * None of them modifies its arguments.
+ */
+public final class JsonPatches {
+
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    public static final String JSON_PATCH_JSON = "application/json-patch+json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    // Numbers compare by value (1 equals 1.0), everything else structurally
+    private static final Comparator<JsonNode> VALUE_EQUALITY = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private JsonPatches() {
+    }
+
+    // Apply a merge patch to a copy of the target (a null target is treated as absent)
+    public static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch != null ? patch.deepCopy() : NODES.nullNode();
+        }
+        ObjectNode result = target != null && target.isObject() ? ((ObjectNode) target).deepCopy() : NODES.objectNode();
+        patch.properties().forEach(field -> {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), mergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        });
+        return result;
+    }
+
+    // Apply a JSON Patch (array of operations) to a copy of the target
+    public static JsonNode apply(JsonNode target, JsonNode operations) {
+        if (operations == null || !operations.isArray()) {
+            throw new BadRequestException("A JSON Patch must be an array of operations");
+        }
+        JsonNode document = target.deepCopy();
+        for (int i = 0; i < operations.size(); i++) {
+            document = applyOperation(document, operations.get(i), i);
+        }
+        return document;
+    }
+
+    // Merge patch turning before into after (empty object when they are equal)
+    public static ObjectNode diff(JsonNode before, JsonNode after) {
+        ObjectNode patch = NODES.objectNode();
+        before.fieldNames().forEachRemaining(name -> {
+            if (!after.has(name)) {
+                patch.putNull(name);
+            }
+        });
+        after.properties().forEach(field -> {
+            JsonNode previous = before.get(field.getKey());
+            JsonNode value = field.getValue();
+            if (previous != null && previous.isObject() && value.isObject()) {
+                ObjectNode nested = diff(previous, value);
+                if (!nested.isEmpty()) {
+                    patch.set(field.getKey(), nested);
+                }
+            } else if (previous == null || !previous.equals(VALUE_EQUALITY, value)) {
+                patch.set(field.getKey(), value.deepCopy());
+            }
+        });
+        return patch;
+    }
+
+    // JSON Patch turning before into after: add, remove and replace operations (explicit nulls are kept as values)
+    public static ArrayNode diffOperations(JsonNode before, JsonNode after) {
+        ArrayNode operations = NODES.arrayNode();
+        diffOperations(before, after, "", operations);
+        return operations;
+    }
+
+    private static void diffOperations(JsonNode before, JsonNode after, String path, ArrayNode operations) {
+        if (before.isObject() && after.isObject()) {
+            before.fieldNames().forEachRemaining(name -> {
+                if (!after.has(name)) {
+                    operations.addObject().put("op", "remove").put("path", path + "/" + escape(name));
+                }
+            });
+            after.properties().forEach(field -> {
+                String member = path + "/" + escape(field.getKey());
+                JsonNode previous = before.get(field.getKey());
+                if (previous == null) {
+                    operations.addObject().put("op", "add").put("path", member).set("value", field.getValue().deepCopy());
+                } else {
+                    diffOperations(previous, field.getValue(), member, operations);
+                }
+            });
+        } else if (!before.equals(VALUE_EQUALITY, after)) {
+            operations.addObject().put("op", "replace").put("path", path).set("value", after.deepCopy());
+        }
+    }
+
+    // A patched document as an object holding only the given fields
+    public static ObjectNode requireFields(JsonNode document, Set<String> fields) {
+        if (document == null || !document.isObject()) {
+            throw new BadRequestException("The patched document must be a JSON object");
+        }
+        document.fieldNames().forEachRemaining(name -> {
+            if (!fields.contains(name)) {
+                throw new BadRequestException("Field '" + name + "' cannot be patched");
+            }
+        });
+        return (ObjectNode) document;
+    }
+
+    // Tree of a stored JSON document (text that is not JSON becomes a string node), or null
+    public static JsonNode toNode(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            return node != null && !node.isMissingNode() ? node : TextNode.valueOf(json);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(json);
+        }
+    }
+
+    // Stored form of a patched document: strings are kept as plain text, null or missing is absent
+    public static String toJson(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        return node.isTextual() ? node.asText() : node.toString();
+    }
+
+    private static JsonNode applyOperation(JsonNode document, JsonNode operation, int index) {
+        String op = member(operation, "op", index);
+        List<String> path = parsePointer(member(operation, "path", index), index);
+        switch (op) {
+            case "add":
+                return add(document, path, value(operation, index), index);
+            case "remove":
+                remove(document, path, index);
+                return document;
+            case "replace":
+                get(document, path, index);
+                if (path.isEmpty()) {
+                    return value(operation, index);
+                }
+                remove(document, path, index);
+                return add(document, path, value(operation, index), index);
+            case "move": {
+                List<String> from = parsePointer(member(operation, "from", index), index);
+                if (path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                    throw new BadRequestException("Patch operation " + index + " moves a value into itself");
+                }
+                JsonNode value = get(document, from, index);
+                if (from.equals(path)) {
+                    return document;
+                }
+                remove(document, from, index);
+                return add(document, path, value, index);
+            }
+            case "copy": {
+                List<String> from = parsePointer(member(operation, "from", index), index);
+                return add(document, path, get(document, from, index).deepCopy(), index);
+            }
+            case "test":
+                if (!get(document, path, index).equals(VALUE_EQUALITY, value(operation, index))) {
+                    throw new PatchConflictException("Patch operation " + index + " failed: test of "
+                            + pointer(path) + " did not match");
+                }
+                return document;
+            default:
+                throw new BadRequestException("Patch operation " + index + " has unknown op '" + op + "'");
+        }
+    }
+
+    private static JsonNode add(JsonNode document, List<String> path, JsonNode value, int index) {
+        if (path.isEmpty()) {
+            return value;
+        }
+        JsonNode parent = get(document, path.subList(0, path.size() - 1), index);
+        String last = path.get(path.size() - 1);
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(last, value);
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            if (last.equals("-")) {
+                array.add(value);
+            } else {
+                array.insert(arrayIndex(last, array.size(), path, index), value);
+            }
+        } else {
+            throw missing(path, index);
+        }
+        return document;
+    }
+
+    private static void remove(JsonNode document, List<String> path, int index) {
+        if (path.isEmpty()) {
+            throw new BadRequestException("Patch operation " + index + " cannot remove the whole document");
+        }
+        JsonNode parent = get(document, path.subList(0, path.size() - 1), index);
+        String last = path.get(path.size() - 1);
+        if (parent.isObject() && parent.has(last)) {
+            ((ObjectNode) parent).remove(last);
+        } else if (parent.isArray()) {
+            ((ArrayNode) parent).remove(arrayIndex(last, parent.size() - 1, path, index));
+        } else {
+            throw missing(path, index);
+        }
+    }
+
+    private static JsonNode get(JsonNode document, List<String> path, int index) {
+        JsonNode node = document;
+        for (int i = 0; i < path.size(); i++) {
+            String token = path.get(i);
+            if (node.isObject() && node.has(token)) {
+                node = node.get(token);
+            } else if (node.isArray()) {
+                node = node.get(arrayIndex(token, node.size() - 1, path, index));
+            } else {
+                throw missing(path, index);
+            }
+        }
+        return node;
+    }
+
+    // Helper to read an array index token (digits, no leading zeros) no larger than max
+    private static int arrayIndex(String token, int max, List<String> path, int index) {
+        if (!token.matches("0|[1-9][0-9]{0,8}") || Integer.parseInt(token) > max) {
+            throw missing(path, index);
+        }
+        return Integer.parseInt(token);
+    }
+
+    // Helper to split a JSON Pointer into unescaped reference tokens
+    private static List<String> parsePointer(String pointer, int index) {
+        if (pointer.isEmpty()) {
+            return List.of();
+        }
+        if (!pointer.startsWith("/")) {
+            throw new BadRequestException("Patch operation " + index + " has an invalid path: " + pointer);
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    private static String pointer(List<String> path) {
+        StringBuilder pointer = new StringBuilder();
+        for (String token : path) {
+            pointer.append('/').append(escape(token));
+        }
+        return pointer.toString();
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String member(JsonNode operation, String name, int index) {
+        JsonNode value = operation.get(name);
+        if (value == null || !value.isTextual()) {
+            throw new BadRequestException("Patch operation " + index + " needs a string '" + name + "'");
+        }
+        return value.asText();
+    }
+
+    private static JsonNode value(JsonNode operation, int index) {
+        if (!operation.has("value")) {
+            throw new BadRequestException("Patch operation " + index + " needs a 'value'");
+        }
+        return operation.get("value").deepCopy();
+    }
+
+    private static PatchConflictException missing(List<String> path, int index) {
+        return new PatchConflictException("Patch operation " + index + " failed: " + pointer(path) + " does not exist");
+    }
+}
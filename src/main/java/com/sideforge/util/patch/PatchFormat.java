@@ -0,0 +1,22 @@
+package com.sideforge.util.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.BinaryOperator;
+
+// Patch document formats accepted by PATCH endpoints
+public enum PatchFormat {
+    MERGE_PATCH(JsonPatches::mergePatch),
+    JSON_PATCH(JsonPatches::apply);
+
+    private final BinaryOperator<JsonNode> operator;
+
+    PatchFormat(BinaryOperator<JsonNode> operator) {
+        this.operator = operator;
+    }
+
+    // Patched copy of the document (the document itself is left unchanged)
+    public JsonNode apply(JsonNode document, JsonNode patch) {
+        return operator.apply(document, patch);
+    }
+}
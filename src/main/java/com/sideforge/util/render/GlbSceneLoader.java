@@ -0,0 +1,307 @@
+package com.sideforge.util.render;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.util.bake.PixelBuffer;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+import com.sideforge.util.glb.GlbAccessor;
+import com.sideforge.util.glb.GlbCustomizer;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbPrimitives;
+import com.sideforge.util.parts.PartConfig;
+import com.sideforge.util.parts.PartsConfig;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Reads the triangles of a GLB's default scene into world space, with the design applied.
+ * ----------------------------------------------------------------
+ * Node transforms (matrix or translation/rotation/scale) are baked into the
+ * positions and normals. Materials follow GlbCustomizer, so a thumbnail shows
+ * what the exported GLB shows:
+ * - primitives with TEXCOORD_0 get the baked texture (if any) as overlay.
+ * - a part color not on the baked texture replaces the base color factor.
+ * - the part's material (or the design's default) sets metallic/roughness.
+ * The baked texture is drawn over the model's own base color texture instead
+ * of replacing it, so areas the bake leaves transparent keep the model's look.
+ * Non-triangle primitives and accessors GlbAccessor cannot read are skipped;
+ * embedded PNG/JPEG images are decoded with ImageIO.
+ */
+public final class GlbSceneLoader {
+
+    private GlbSceneLoader() {
+    }
+
+    // Primitives of the default scene (every root node if there is none); baked may be null
+    public static List<RenderPrimitive> load(GlbFile glb, ByteBuffer bin, DesignConfig design, PartsConfig parts,
+                                             PixelBuffer baked) {
+        Loader loader = new Loader(glb.getJson(), bin, design, parts, baked);
+        for (int root : roots(glb.getJson())) {
+            loader.visit(root, identity(), new boolean[glb.getJson().path("nodes").size()]);
+        }
+        return loader.primitives;
+    }
+
+    // Helper to list the root nodes of the default scene
+    private static List<Integer> roots(JsonNode json) {
+        JsonNode nodes = json.path("nodes");
+        JsonNode scene = json.path("scenes").path(json.path("scene").asInt(0));
+        List<Integer> roots = new ArrayList<>();
+        if (scene.has("nodes")) {
+            scene.get("nodes").forEach(index -> roots.add(index.asInt(-1)));
+            return roots;
+        }
+        boolean[] child = new boolean[nodes.size()];
+        for (JsonNode node : nodes) {
+            for (JsonNode index : node.path("children")) {
+                if (index.asInt(-1) >= 0 && index.asInt() < child.length) {
+                    child[index.asInt()] = true;
+                }
+            }
+        }
+        for (int i = 0; i < child.length; i++) {
+            if (!child[i]) {
+                roots.add(i);
+            }
+        }
+        return roots;
+    }
+
+    private static final class Loader {
+        final JsonNode json;
+        final ByteBuffer bin;
+        final DesignConfig design;
+        final PartsConfig parts;
+        final PixelBuffer baked;
+        final Part[] meshParts;
+        final Map<String, RenderMaterial> materials = new HashMap<>();
+        final Map<Integer, Optional<PixelBuffer>> images = new HashMap<>();
+        final List<RenderPrimitive> primitives = new ArrayList<>();
+
+        Loader(JsonNode json, ByteBuffer bin, DesignConfig design, PartsConfig parts, PixelBuffer baked) {
+            this.json = json;
+            this.bin = bin;
+            this.design = design;
+            this.parts = parts;
+            this.baked = baked;
+            this.meshParts = GlbCustomizer.meshParts(json);
+        }
+
+        // Helper to add the primitives of a node and its children; onPath guards against cycles
+        void visit(int index, float[] parentMatrix, boolean[] onPath) {
+            JsonNode node = json.path("nodes").path(index);
+            if (node.isMissingNode() || onPath[index]) {
+                return;
+            }
+            onPath[index] = true;
+            float[] matrix = multiply(parentMatrix, localMatrix(node));
+            int mesh = node.path("mesh").asInt(-1);
+            if (mesh >= 0 && mesh < meshParts.length) {
+                for (JsonNode primitive : json.path("meshes").get(mesh).path("primitives")) {
+                    RenderPrimitive read = read(primitive, mesh, matrix);
+                    if (read != null) {
+                        primitives.add(read);
+                    }
+                }
+            }
+            for (JsonNode child : node.path("children")) {
+                visit(child.asInt(-1), matrix, onPath);
+            }
+            onPath[index] = false;
+        }
+
+        // Helper to read one primitive, transformed by matrix
+        RenderPrimitive read(JsonNode primitive, int mesh, float[] matrix) {
+            if (primitive.path("mode").asInt(GlbPrimitives.MODE_TRIANGLES) != GlbPrimitives.MODE_TRIANGLES) {
+                return null;
+            }
+            JsonNode attributes = primitive.path("attributes");
+            GlbAccessor position = GlbAccessor.of(json, attributes.path("POSITION").asInt(-1), bin);
+            if (position == null || position.getComponents() != 3) {
+                return null;
+            }
+            int count = position.getCount();
+            int[] indices = GlbPrimitives.readIndices(json, primitive, bin, count);
+            if (indices == null || indices.length == 0) {
+                return null;
+            }
+            GlbAccessor normal = GlbAccessor.of(json, attributes.path("NORMAL").asInt(-1), bin);
+            GlbAccessor uv = GlbAccessor.of(json, attributes.path("TEXCOORD_0").asInt(-1), bin);
+            if (normal != null && (normal.getComponents() != 3 || normal.getCount() != count)) {
+                normal = null;
+            }
+            if (uv != null && (uv.getComponents() != 2 || uv.getCount() != count)) {
+                uv = null;
+            }
+
+            float[] normalMatrix = normalMatrix(matrix);
+            float[] positions = new float[count * 3];
+            float[] normals = normal != null ? new float[count * 3] : null;
+            for (int i = 0; i < count; i++) {
+                transform(matrix, position.getFloat(i, 0), position.getFloat(i, 1), position.getFloat(i, 2),
+                        true, positions, i * 3);
+                if (normals != null) {
+                    transform(normalMatrix, normal.getFloat(i, 0), normal.getFloat(i, 1), normal.getFloat(i, 2),
+                            false, normals, i * 3);
+                    normalize(normals, i * 3);
+                }
+            }
+            float[] uvs = uv != null ? uv.toFloatArray() : null;
+            return new RenderPrimitive(positions, normals, uvs, indices, material(primitive, mesh, uvs != null));
+        }
+
+        // Helper to resolve (once per source material and part) the surface of a primitive
+        RenderMaterial material(JsonNode primitive, int mesh, boolean hasUv) {
+            int source = primitive.path("material").isIntegralNumber() ? primitive.get("material").asInt() : -1;
+            Part part = meshParts[mesh];
+            String key = source + "/" + part + "/" + hasUv;
+            return materials.computeIfAbsent(key, ignored -> resolveMaterial(source, part, hasUv));
+        }
+
+        RenderMaterial resolveMaterial(int source, Part part, boolean hasUv) {
+            JsonNode material = json.path("materials").path(source);
+            JsonNode pbr = material.path("pbrMetallicRoughness");
+            float[] baseColor = RenderMaterial.DEFAULT.baseColor().clone();
+            JsonNode factor = pbr.path("baseColorFactor");
+            for (int i = 0; i < 4 && factor.size() == 4; i++) {
+                baseColor[i] = (float) factor.get(i).asDouble(1);
+            }
+            PixelBuffer texture = pbr.has("baseColorTexture") && hasUv
+                    ? image(json.path("textures").path(pbr.path("baseColorTexture").path("index").asInt(-1))
+                    .path("source").asInt(-1))
+                    : null;
+            float metallic = material.isMissingNode() ? RenderMaterial.DEFAULT.metallic()
+                    : (float) pbr.path("metallicFactor").asDouble(1);
+            float roughness = material.isMissingNode() ? RenderMaterial.DEFAULT.roughness()
+                    : (float) pbr.path("roughnessFactor").asDouble(1);
+
+            boolean overlaid = baked != null && hasUv;
+            Rgba color = part != null ? design.getPartsColors().get(part) : null;
+            PartConfig partConfig = part != null ? parts.get(part) : null;
+            if (color != null && !(overlaid && partConfig != null && partConfig.uv() != null)) {
+                int value = color.value();
+                float[] rgb = Shading.linearRgb(value >>> 8);
+                baseColor = new float[]{rgb[0], rgb[1], rgb[2], (value & 0xff) / 255f};
+            }
+            DesignConfig.Materials designMaterials = design.getMaterials();
+            MaterialType type = part != null ? design.getMaterial(part)
+                    : designMaterials != null ? designMaterials.defaultMaterial() : null;
+            if (type != null) {
+                float[] factors = GlbCustomizer.pbrFactors(type);
+                metallic = factors[0];
+                roughness = factors[1];
+            }
+            return new RenderMaterial(baseColor, texture, overlaid ? baked : null, metallic, roughness);
+        }
+
+        // Helper to decode an embedded image once (null if it is external or cannot be decoded)
+        PixelBuffer image(int index) {
+            return images.computeIfAbsent(index, ignored -> {
+                JsonNode view = json.path("bufferViews").path(json.path("images").path(index).path("bufferView").asInt(-1));
+                long offset = view.path("byteOffset").asLong(0);
+                long length = view.path("byteLength").asLong(0);
+                if (view.isMissingNode() || view.path("buffer").asInt(0) != 0 || offset + length > bin.capacity()) {
+                    return Optional.empty();
+                }
+                byte[] bytes = new byte[(int) length];
+                bin.duplicate().position((int) offset).get(bytes);
+                try {
+                    BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+                    return Optional.ofNullable(image).map(PixelBuffer::of);
+                } catch (IOException | RuntimeException e) {
+                    return Optional.empty();
+                }
+            }).orElse(null);
+        }
+    }
+
+    // Column-major 4x4 matrices, as glTF stores them
+
+    private static float[] identity() {
+        return new float[]{1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1};
+    }
+
+    // Helper to read a node's local transform (matrix, or T * R * S)
+    private static float[] localMatrix(JsonNode node) {
+        JsonNode matrix = node.path("matrix");
+        if (matrix.size() == 16) {
+            float[] m = new float[16];
+            for (int i = 0; i < 16; i++) {
+                m[i] = (float) matrix.get(i).asDouble();
+            }
+            return m;
+        }
+        JsonNode t = node.path("translation");
+        JsonNode r = node.path("rotation");
+        JsonNode s = node.path("scale");
+        double x = r.path(0).asDouble(0), y = r.path(1).asDouble(0), z = r.path(2).asDouble(0), w = r.path(3).asDouble(1);
+        float sx = (float) s.path(0).asDouble(1), sy = (float) s.path(1).asDouble(1), sz = (float) s.path(2).asDouble(1);
+        return new float[]{
+                (float) (1 - 2 * (y * y + z * z)) * sx, (float) (2 * (x * y + z * w)) * sx, (float) (2 * (x * z - y * w)) * sx, 0,
+                (float) (2 * (x * y - z * w)) * sy, (float) (1 - 2 * (x * x + z * z)) * sy, (float) (2 * (y * z + x * w)) * sy, 0,
+                (float) (2 * (x * z + y * w)) * sz, (float) (2 * (y * z - x * w)) * sz, (float) (1 - 2 * (x * x + y * y)) * sz, 0,
+                (float) t.path(0).asDouble(0), (float) t.path(1).asDouble(0), (float) t.path(2).asDouble(0), 1};
+    }
+
+    private static float[] multiply(float[] a, float[] b) {
+        float[] m = new float[16];
+        for (int column = 0; column < 4; column++) {
+            for (int row = 0; row < 4; row++) {
+                float sum = 0;
+                for (int k = 0; k < 4; k++) {
+                    sum += a[k * 4 + row] * b[column * 4 + k];
+                }
+                m[column * 4 + row] = sum;
+            }
+        }
+        return m;
+    }
+
+    // Helper to get the cofactor matrix of the upper 3x3 (inverse transpose up to scale), sign-corrected for mirroring
+    private static float[] normalMatrix(float[] m) {
+        float a = m[0], b = m[4], c = m[8];
+        float d = m[1], e = m[5], f = m[9];
+        float g = m[2], h = m[6], i = m[10];
+        float[] cofactor = {
+                e * i - f * h, -(b * i - c * h), b * f - c * e, 0,
+                -(d * i - f * g), a * i - c * g, -(a * f - c * d), 0,
+                d * h - e * g, -(a * h - b * g), a * e - b * d, 0,
+                0, 0, 0, 1};
+        // Stored so that transform() (column-major) applies the cofactor matrix C: n' = C n
+        float[] columnMajor = {
+                cofactor[0], cofactor[4], cofactor[8], 0,
+                cofactor[1], cofactor[5], cofactor[9], 0,
+                cofactor[2], cofactor[6], cofactor[10], 0,
+                0, 0, 0, 1};
+        float determinant = a * cofactor[0] + b * cofactor[4] + c * cofactor[8];
+        if (determinant < 0) {
+            for (int k = 0; k < 12; k++) {
+                columnMajor[k] = -columnMajor[k];
+            }
+        }
+        return columnMajor;
+    }
+
+    private static void transform(float[] m, float x, float y, float z, boolean point, float[] out, int offset) {
+        float w = point ? 1 : 0;
+        out[offset] = m[0] * x + m[4] * y + m[8] * z + m[12] * w;
+        out[offset + 1] = m[1] * x + m[5] * y + m[9] * z + m[13] * w;
+        out[offset + 2] = m[2] * x + m[6] * y + m[10] * z + m[14] * w;
+    }
+
+    private static void normalize(float[] v, int offset) {
+        float length = (float) Math.sqrt(v[offset] * v[offset] + v[offset + 1] * v[offset + 1] + v[offset + 2] * v[offset + 2]);
+        if (length > 0) {
+            v[offset] /= length;
+            v[offset + 1] /= length;
+            v[offset + 2] /= length;
+        }
+    }
+}
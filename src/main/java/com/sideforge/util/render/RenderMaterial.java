@@ -0,0 +1,16 @@
+package com.sideforge.util.render;
+
+import com.sideforge.util.bake.PixelBuffer;
+
+/**
+ * Surface of a rendered primitive.
+ * ----------------------------------------------------------------
+ * - baseColor: linear r, g, b, a factor (glTF baseColorFactor).
+ * - texture: base color texture, multiplied by the factor (null if none).
+ * - overlay: the design's baked texture, drawn over the base color by its alpha (null if none).
+ * - metallic, roughness: glTF metallic/roughness factors.
+ */
+public record RenderMaterial(float[] baseColor, PixelBuffer texture, PixelBuffer overlay, float metallic, float roughness) {
+
+    public static final RenderMaterial DEFAULT = new RenderMaterial(new float[]{1f, 1f, 1f, 1f}, null, null, 0f, 0.8f);
+}
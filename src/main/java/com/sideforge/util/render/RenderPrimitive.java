@@ -0,0 +1,16 @@
+package com.sideforge.util.render;
+
+/**
+ * Triangle list ready to rasterize, in model (world) space.
+ * ----------------------------------------------------------------
+ * - positions: x, y, z per vertex.
+ * - normals: unit x, y, z per vertex, or null to shade with face normals.
+ * - uvs: u, v per vertex (TEXCOORD_0), or null.
+ * - indices: three vertices per triangle.
+ */
+public record RenderPrimitive(float[] positions, float[] normals, float[] uvs, int[] indices, RenderMaterial material) {
+
+    public int vertexCount() {
+        return positions.length / 3;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sideforge.util.render;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Camera of a rendered scene, read from Scene.cameraConfigJson.
+ * ----------------------------------------------------------------
+ * By default the camera orbits the model: it looks at the center of the
+ * model's bounds from azimuth degrees around the vertical axis (0 = from +Z,
+ * the glTF front) and elevation degrees above the horizon, far enough for the
+ * whole model to fit the field of view. Recognized keys (all optional):
+ * - angle or azimuth: degrees (default 30).
+ * - elevation: degrees, -89..89 (default 20).
+ * - fov: vertical field of view in degrees, 10..120 (default 40).
+ * - distance: from the target, in model units (default: fit the model).
+ * - position, target: [x, y, z] in model units, overriding the orbit.
+ * Unknown keys, malformed values and malformed JSON fall back to the defaults,
+ * as the column is free-form client JSON.
+ */
+public record SceneCamera(double azimuth, double elevation, double fov, Double distance,
+                          double[] position, double[] target) {
+
+    public static final SceneCamera DEFAULT = new SceneCamera(30, 20, 40, null, null, null);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Camera of a cameraConfigJson value (null or blank gives the default)
+    public static SceneCamera parse(String json) {
+        JsonNode node = readObject(json);
+        if (node == null) {
+            return DEFAULT;
+        }
+        JsonNode angle = node.has("azimuth") ? node.get("azimuth") : node.path("angle");
+        double distance = node.path("distance").asDouble(0);
+        return new SceneCamera(
+                finite(angle, DEFAULT.azimuth),
+                clamp(finite(node.path("elevation"), DEFAULT.elevation), -89, 89),
+                clamp(finite(node.path("fov"), DEFAULT.fov), 10, 120),
+                distance > 0 && Double.isFinite(distance) ? distance : null,
+                vector(node.path("position")),
+                vector(node.path("target")));
+    }
+
+    // Helper to read a JSON object leniently (null if absent or not an object)
+    static JsonNode readObject(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            return node != null && node.isObject() ? node : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Helper to read [x, y, z] of finite numbers, or null
+    static double[] vector(JsonNode node) {
+        if (!node.isArray() || node.size() != 3) {
+            return null;
+        }
+        double[] vector = new double[3];
+        for (int i = 0; i < 3; i++) {
+            if (!node.get(i).isNumber() || !Double.isFinite(node.get(i).asDouble())) {
+                return null;
+            }
+            vector[i] = node.get(i).asDouble();
+        }
+        return vector;
+    }
+
+    static double finite(JsonNode node, double fallback) {
+        return node.isNumber() && Double.isFinite(node.asDouble()) ? node.asDouble() : fallback;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,53 @@
+package com.sideforge.util.render;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.util.design.Rgba;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lighting of a rendered scene, read from Scene.lightingConfigJson.
+ * ----------------------------------------------------------------
+ * One directional key light plus uniform ambient light. A preset ("type")
+ * sets all values, which single keys can then override:
+ * - type or preset: studio (default), modern, shop, outdoor.
+ * - ambient: ambient intensity, 0..2.
+ * - intensity: key light intensity, 0..4.
+ * - color: key light color (any design color: name, #rgb, #rrggbb).
+ * - direction: [x, y, z] towards the light, in model space. Without it the key
+ *   light sits above, left of and in front of the camera, so it follows the view.
+ * - background: background color; transparent when not set.
+ * Malformed values fall back to the preset (see SceneCamera).
+ */
+public record SceneLighting(float ambient, float intensity, float[] color, float[] direction, int background) {
+
+    public static final SceneLighting DEFAULT = new SceneLighting(0.35f, 0.9f, new float[]{1f, 1f, 1f}, null, 0);
+
+    private static final Map<String, SceneLighting> PRESETS = Map.of(
+            "studio", DEFAULT,
+            "modern", new SceneLighting(0.25f, 1.05f, new float[]{0.92f, 0.96f, 1f}, null, 0),
+            "shop", new SceneLighting(0.5f, 0.7f, new float[]{1f, 0.95f, 0.88f}, null, 0),
+            "outdoor", new SceneLighting(0.4f, 1.1f, new float[]{1f, 0.98f, 0.94f}, new float[]{0.3f, 1f, 0.4f}, 0));
+
+    // Lighting of a lightingConfigJson value (null or blank gives the default)
+    public static SceneLighting parse(String json) {
+        JsonNode node = SceneCamera.readObject(json);
+        if (node == null) {
+            return DEFAULT;
+        }
+        JsonNode type = node.has("type") ? node.get("type") : node.path("preset");
+        SceneLighting preset = PRESETS.getOrDefault(type.asText("").toLowerCase(Locale.ROOT), DEFAULT);
+        Rgba color = node.path("color").isTextual() ? Rgba.parse(node.get("color").asText()) : null;
+        Rgba background = node.path("background").isTextual() ? Rgba.parse(node.get("background").asText()) : null;
+        double[] direction = SceneCamera.vector(node.path("direction"));
+        boolean validDirection = direction != null && (direction[0] != 0 || direction[1] != 0 || direction[2] != 0);
+        return new SceneLighting(
+                (float) Math.max(0, Math.min(2, SceneCamera.finite(node.path("ambient"), preset.ambient))),
+                (float) Math.max(0, Math.min(4, SceneCamera.finite(node.path("intensity"), preset.intensity))),
+                color != null ? Shading.linearRgb(color.argb()) : preset.color,
+                validDirection ? new float[]{(float) direction[0], (float) direction[1], (float) direction[2]}
+                        : preset.direction,
+                background != null ? background.argb() : preset.background);
+    }
+}
@@ -0,0 +1,83 @@
+package com.sideforge.util.render;
+
+import com.sideforge.util.bake.PixelBuffer;
+
+/**
+ * Color helpers of the software renderer: sRGB <-> linear conversion and texture sampling.
+ * Lighting is computed in linear light; textures and output are 8-bit sRGB.
+ */
+final class Shading {
+
+    private static final float[] TO_LINEAR = new float[256];
+    private static final int TO_SRGB_STEPS = 4096;
+    private static final int[] TO_SRGB = new int[TO_SRGB_STEPS + 1];
+
+    static {
+        for (int i = 0; i < TO_LINEAR.length; i++) {
+            double c = i / 255.0;
+            TO_LINEAR[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+        }
+        for (int i = 0; i <= TO_SRGB_STEPS; i++) {
+            double c = (double) i / TO_SRGB_STEPS;
+            double s = c <= 0.0031308 ? c * 12.92 : 1.055 * Math.pow(c, 1 / 2.4) - 0.055;
+            TO_SRGB[i] = (int) Math.round(Math.max(0, Math.min(1, s)) * 255);
+        }
+    }
+
+    private Shading() {
+    }
+
+    static float linear(int channel) {
+        return TO_LINEAR[channel];
+    }
+
+    // Linear value (clamped to 0..1) to an 8-bit sRGB channel
+    static int srgb(float linear) {
+        if (!(linear > 0)) {
+            return 0;
+        }
+        return linear >= 1 ? 255 : TO_SRGB[(int) (linear * TO_SRGB_STEPS + 0.5f)];
+    }
+
+    // Linear r, g, b of an ARGB color
+    static float[] linearRgb(int argb) {
+        return new float[]{linear((argb >>> 16) & 0xff), linear((argb >>> 8) & 0xff), linear(argb & 0xff)};
+    }
+
+    // Bilinear sample of a texture at (u, v), repeating, into out as linear r, g, b and alpha
+    static void sample(PixelBuffer texture, float u, float v, float[] out) {
+        int width = texture.width();
+        int height = texture.height();
+        float x = (u - (float) Math.floor(u)) * width - 0.5f;
+        float y = (v - (float) Math.floor(v)) * height - 0.5f;
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        float fx = x - x0;
+        float fy = y - y0;
+        out[0] = out[1] = out[2] = out[3] = 0;
+        accumulate(texture, wrap(x0, width), wrap(y0, height), (1 - fx) * (1 - fy), out);
+        accumulate(texture, wrap(x0 + 1, width), wrap(y0, height), fx * (1 - fy), out);
+        accumulate(texture, wrap(x0, width), wrap(y0 + 1, height), (1 - fx) * fy, out);
+        accumulate(texture, wrap(x0 + 1, width), wrap(y0 + 1, height), fx * fy, out);
+        if (out[3] > 0) {
+            out[0] /= out[3];
+            out[1] /= out[3];
+            out[2] /= out[3];
+        }
+    }
+
+    // Helper to add a weighted premultiplied texel (linear color times alpha)
+    private static void accumulate(PixelBuffer texture, int x, int y, float weight, float[] out) {
+        int argb = texture.getArgb(x, y);
+        float alpha = (argb >>> 24) / 255f * weight;
+        out[0] += linear((argb >>> 16) & 0xff) * alpha;
+        out[1] += linear((argb >>> 8) & 0xff) * alpha;
+        out[2] += linear(argb & 0xff) * alpha;
+        out[3] += alpha;
+    }
+
+    private static int wrap(int value, int size) {
+        int wrapped = value % size;
+        return wrapped < 0 ? wrapped + size : wrapped;
+    }
+}
@@ -0,0 +1,420 @@
+package com.sideforge.util.render;
+
+import com.sideforge.util.bake.PixelBuffer;
+
+import java.util.List;
+
+/**
+ * Headless CPU renderer of triangle meshes, for scene thumbnails.
+ * ----------------------------------------------------------------
+ * Triangles are projected through a perspective camera, clipped at the near
+ * plane and scan-converted with edge functions into a depth buffer (1/z, so
+ * larger is nearer) at supersampling times the output size. Attributes
+ * (normal, uv, view position) are interpolated perspective-correctly and each
+ * covered sample is shaded in linear light:
+ * - base color = factor x texture, with the design overlay drawn over it by its alpha.
+ * - ambient + diffuse (Lambert, weakened on metals, as there is no environment to reflect).
+ * - normalized Blinn-Phong highlight, sharper for low roughness, tinted by the
+ *   base color on metals (a cheap stand-in for the glTF metallic/roughness model).
+ * Faces are not culled and normals face the viewer, as models are often not
+ * closed. Samples are box-filtered down to the output, so edges are
+ * antialiased, and composited over the lighting's background.
+ * Not thread-safe per call, but calls share no state.
+ */
+public final class SoftwareRasterizer {
+
+    // Fraction of the diffuse light a fully metallic surface keeps
+    private static final float METAL_DIFFUSE = 0.3f;
+    // Headroom around the model's bounding sphere when the camera fits it
+    private static final double FIT_MARGIN = 1.1;
+    // Camera-relative direction toward the default light (view space: x right, y up, z forward)
+    private static final float[] CAMERA_LIGHT = normalized(-0.5f, 0.7f, -0.5f);
+    // Interpolated per vertex: view-space normal (3), uv (2), view-space position (3)
+    private static final int ATTRIBUTES = 8;
+
+    private SoftwareRasterizer() {
+    }
+
+    // Render the primitives into a width x height canvas, shading supersampling^2 samples per pixel
+    public static PixelBuffer render(List<RenderPrimitive> primitives, SceneCamera camera, SceneLighting lighting,
+                                     int width, int height, int supersampling) {
+        if (width <= 0 || height <= 0 || supersampling <= 0) {
+            throw new IllegalArgumentException("Invalid render size " + width + "x" + height + "@" + supersampling);
+        }
+        Frame frame = new Frame(primitives, camera, lighting, width * supersampling, height * supersampling);
+        for (RenderPrimitive primitive : primitives) {
+            frame.draw(primitive);
+        }
+        return frame.resolve(width, height, supersampling);
+    }
+
+    private static final class Frame {
+        final int width;
+        final int height;
+        final float[] depth;
+        final float[] color;
+        final SceneLighting lighting;
+        final float[] light;
+        // View basis (right, up, forward) and eye position, in world space
+        final double[] right = new double[3];
+        final double[] up = new double[3];
+        final double[] forward = new double[3];
+        final double[] eye = new double[3];
+        final double focal;
+        final double near;
+        // Scratch space for shading
+        final float[] texel = new float[4];
+        final float[] surface = new float[4];
+
+        Frame(List<RenderPrimitive> primitives, SceneCamera camera, SceneLighting lighting, int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.depth = new float[width * height];
+            this.color = new float[width * height * 3];
+            this.lighting = lighting;
+
+            double[] center = new double[3];
+            double radius = bounds(primitives, center);
+            double[] target = camera.target() != null ? camera.target() : center;
+            double halfFov = Math.toRadians(camera.fov()) / 2;
+            if (camera.position() != null) {
+                System.arraycopy(camera.position(), 0, eye, 0, 3);
+            } else {
+                // Fit the bounding sphere into the narrower of the two fields of view
+                double halfFovX = Math.atan(Math.tan(halfFov) * width / height);
+                double distance = camera.distance() != null ? camera.distance()
+                        : radius / Math.sin(Math.min(halfFov, halfFovX)) * FIT_MARGIN;
+                double azimuth = Math.toRadians(camera.azimuth());
+                double elevation = Math.toRadians(camera.elevation());
+                eye[0] = target[0] + Math.sin(azimuth) * Math.cos(elevation) * distance;
+                eye[1] = target[1] + Math.sin(elevation) * distance;
+                eye[2] = target[2] + Math.cos(azimuth) * Math.cos(elevation) * distance;
+            }
+            for (int i = 0; i < 3; i++) {
+                forward[i] = target[i] - eye[i];
+            }
+            if (!normalize(forward)) {
+                forward[2] = -1;
+            }
+            // right = forward x worldUp, falling back to -Z as up when looking straight up or down
+            double[] worldUp = Math.abs(forward[1]) > 0.999 ? new double[]{0, 0, -Math.signum(forward[1])}
+                    : new double[]{0, 1, 0};
+            cross(forward, worldUp, right);
+            normalize(right);
+            cross(right, forward, up);
+
+            this.focal = height / 2.0 / Math.tan(halfFov);
+            double eyeDistance = Math.sqrt(square(eye[0] - center[0]) + square(eye[1] - center[1]) + square(eye[2] - center[2]));
+            this.near = Math.max((eyeDistance + radius) * 1e-4, 1e-6);
+            this.light = lighting.direction() != null ? toView(lighting.direction()) : CAMERA_LIGHT;
+        }
+
+        // Helper to draw every triangle of a primitive
+        void draw(RenderPrimitive primitive) {
+            float[] positions = primitive.positions();
+            float[] normals = primitive.normals();
+            float[] uvs = primitive.uvs();
+            int[] indices = primitive.indices();
+            int vertexCount = primitive.vertexCount();
+            // View-space position and attributes of each triangle corner, then of the clipped polygon
+            double[][] corners = new double[3][3 + ATTRIBUTES];
+            double[][] polygon = new double[4][];
+            for (int t = 0; t + 2 < indices.length; t += 3) {
+                boolean valid = true;
+                for (int k = 0; k < 3; k++) {
+                    int v = indices[t + k];
+                    if (v < 0 || v >= vertexCount) {
+                        valid = false;
+                        break;
+                    }
+                    double[] corner = corners[k];
+                    double x = positions[v * 3] - eye[0];
+                    double y = positions[v * 3 + 1] - eye[1];
+                    double z = positions[v * 3 + 2] - eye[2];
+                    corner[0] = x * right[0] + y * right[1] + z * right[2];
+                    corner[1] = x * up[0] + y * up[1] + z * up[2];
+                    corner[2] = x * forward[0] + y * forward[1] + z * forward[2];
+                    if (normals != null) {
+                        double nx = normals[v * 3], ny = normals[v * 3 + 1], nz = normals[v * 3 + 2];
+                        corner[3] = nx * right[0] + ny * right[1] + nz * right[2];
+                        corner[4] = nx * up[0] + ny * up[1] + nz * up[2];
+                        corner[5] = nx * forward[0] + ny * forward[1] + nz * forward[2];
+                    }
+                    corner[6] = uvs != null ? uvs[v * 2] : 0;
+                    corner[7] = uvs != null ? uvs[v * 2 + 1] : 0;
+                    corner[8] = corner[0];
+                    corner[9] = corner[1];
+                    corner[10] = corner[2];
+                }
+                if (!valid) {
+                    continue;
+                }
+                if (normals == null) {
+                    faceNormal(corners);
+                }
+                int count = clip(corners, polygon);
+                for (int k = 1; k + 1 < count; k++) {
+                    triangle(polygon[0], polygon[k], polygon[k + 1], primitive.material());
+                }
+            }
+        }
+
+        // Helper to clip a triangle against the near plane, returning the corner count (0, 3 or 4)
+        int clip(double[][] corners, double[][] polygon) {
+            int count = 0;
+            for (int k = 0; k < 3; k++) {
+                double[] a = corners[k];
+                double[] b = corners[(k + 1) % 3];
+                boolean aIn = a[2] >= near;
+                boolean bIn = b[2] >= near;
+                if (aIn) {
+                    polygon[count++] = a.clone();
+                }
+                if (aIn != bIn) {
+                    double s = (near - a[2]) / (b[2] - a[2]);
+                    double[] c = new double[a.length];
+                    for (int i = 0; i < a.length; i++) {
+                        c[i] = a[i] + (b[i] - a[i]) * s;
+                    }
+                    polygon[count++] = c;
+                }
+            }
+            return count;
+        }
+
+        // Helper to scan-convert one triangle (view-space corners in front of the near plane)
+        void triangle(double[] a, double[] b, double[] c, RenderMaterial material) {
+            double ax = width / 2.0 + a[0] * focal / a[2], ay = height / 2.0 - a[1] * focal / a[2];
+            double bx = width / 2.0 + b[0] * focal / b[2], by = height / 2.0 - b[1] * focal / b[2];
+            double cx = width / 2.0 + c[0] * focal / c[2], cy = height / 2.0 - c[1] * focal / c[2];
+            double area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+            if (area == 0 || !Double.isFinite(area)) {
+                return;
+            }
+            int minX = Math.max(0, (int) Math.floor(Math.min(ax, Math.min(bx, cx))));
+            int maxX = Math.min(width - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, cx))));
+            int minY = Math.max(0, (int) Math.floor(Math.min(ay, Math.min(by, cy))));
+            int maxY = Math.min(height - 1, (int) Math.ceil(Math.max(ay, Math.max(by, cy))));
+            double inverseA = 1 / a[2], inverseB = 1 / b[2], inverseC = 1 / c[2];
+            float[] attributes = new float[ATTRIBUTES];
+            for (int y = minY; y <= maxY; y++) {
+                double py = y + 0.5;
+                for (int x = minX; x <= maxX; x++) {
+                    double px = x + 0.5;
+                    // Barycentric weights from the edge functions, sign-normalized so both windings draw
+                    double wa = ((bx - px) * (cy - py) - (by - py) * (cx - px)) / area;
+                    double wb = ((cx - px) * (ay - py) - (cy - py) * (ax - px)) / area;
+                    double wc = 1 - wa - wb;
+                    if (wa < 0 || wb < 0 || wc < 0) {
+                        continue;
+                    }
+                    double inverseZ = wa * inverseA + wb * inverseB + wc * inverseC;
+                    int pixel = y * width + x;
+                    if (inverseZ <= depth[pixel]) {
+                        continue;
+                    }
+                    double z = 1 / inverseZ;
+                    for (int i = 0; i < ATTRIBUTES; i++) {
+                        attributes[i] = (float) ((wa * a[3 + i] * inverseA + wb * b[3 + i] * inverseB
+                                + wc * c[3 + i] * inverseC) * z);
+                    }
+                    if (shade(attributes, material, pixel)) {
+                        depth[pixel] = (float) inverseZ;
+                    }
+                }
+            }
+        }
+
+        // Helper to shade a sample into the color buffer; false if it is cut out (alpha below one half)
+        boolean shade(float[] attributes, RenderMaterial material, int pixel) {
+            float[] base = surface;
+            float[] factor = material.baseColor();
+            base[0] = factor[0];
+            base[1] = factor[1];
+            base[2] = factor[2];
+            base[3] = factor[3];
+            if (material.texture() != null) {
+                Shading.sample(material.texture(), attributes[3], attributes[4], texel);
+                base[0] *= texel[0];
+                base[1] *= texel[1];
+                base[2] *= texel[2];
+                base[3] *= texel[3];
+            }
+            if (material.overlay() != null) {
+                Shading.sample(material.overlay(), attributes[3], attributes[4], texel);
+                float alpha = texel[3];
+                base[0] = base[0] * (1 - alpha) + texel[0] * alpha;
+                base[1] = base[1] * (1 - alpha) + texel[1] * alpha;
+                base[2] = base[2] * (1 - alpha) + texel[2] * alpha;
+                base[3] = base[3] + (1 - base[3]) * alpha;
+            }
+            if (base[3] < 0.5f) {
+                return false;
+            }
+
+            float nx = attributes[0], ny = attributes[1], nz = attributes[2];
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            float vx = -attributes[5], vy = -attributes[6], vz = -attributes[7];
+            float viewLength = (float) Math.sqrt(vx * vx + vy * vy + vz * vz);
+            if (viewLength > 0) {
+                vx /= viewLength;
+                vy /= viewLength;
+                vz /= viewLength;
+            }
+            if (length > 0) {
+                nx /= length;
+                ny /= length;
+                nz /= length;
+            } else {
+                nx = vx;
+                ny = vy;
+                nz = vz;
+            }
+            if (nx * vx + ny * vy + nz * vz < 0) {
+                nx = -nx;
+                ny = -ny;
+                nz = -nz;
+            }
+
+            float metallic = Math.max(0, Math.min(1, material.metallic()));
+            float roughness = Math.max(0.02f, Math.min(1, material.roughness()));
+            float nDotL = Math.max(0, nx * light[0] + ny * light[1] + nz * light[2]);
+            float hx = light[0] + vx, hy = light[1] + vy, hz = light[2] + vz;
+            float halfLength = (float) Math.sqrt(hx * hx + hy * hy + hz * hz);
+            float nDotH = halfLength > 0 ? Math.max(0, (nx * hx + ny * hy + nz * hz) / halfLength) : 0;
+            // Blinn-Phong exponent of the roughness (as alpha = roughness^2) and its energy normalization
+            float alpha2 = roughness * roughness * roughness * roughness;
+            float shininess = Math.min(2048, Math.max(1, 2 / alpha2 - 2));
+            float specular = (float) ((shininess + 8) / (8 * Math.PI) * Math.pow(nDotH, shininess)) * nDotL;
+            float diffuse = (1 - (1 - METAL_DIFFUSE) * metallic) * nDotL;
+
+            float[] lightColor = lighting.color();
+            int offset = pixel * 3;
+            for (int i = 0; i < 3; i++) {
+                float direct = lighting.intensity() * lightColor[i];
+                float reflectance = 0.04f + (base[i] - 0.04f) * metallic;
+                color[offset + i] = base[i] * (lighting.ambient() + diffuse * direct) + reflectance * specular * direct;
+            }
+            return true;
+        }
+
+        // Helper to average the samples of each output pixel over the background
+        PixelBuffer resolve(int outWidth, int outHeight, int supersampling) {
+            PixelBuffer out = PixelBuffer.allocate(outWidth, outHeight);
+            int background = lighting.background();
+            float backgroundAlpha = (background >>> 24) / 255f;
+            float[] backgroundColor = Shading.linearRgb(background);
+            float samples = supersampling * supersampling;
+            for (int y = 0; y < outHeight; y++) {
+                for (int x = 0; x < outWidth; x++) {
+                    float r = 0, g = 0, b = 0;
+                    int covered = 0;
+                    for (int sy = 0; sy < supersampling; sy++) {
+                        int row = (y * supersampling + sy) * width + x * supersampling;
+                        for (int sx = 0; sx < supersampling; sx++) {
+                            int sample = row + sx;
+                            if (depth[sample] > 0) {
+                                r += Math.min(1, color[sample * 3]);
+                                g += Math.min(1, color[sample * 3 + 1]);
+                                b += Math.min(1, color[sample * 3 + 2]);
+                                covered++;
+                            }
+                        }
+                    }
+                    float coverage = covered / samples;
+                    float backdrop = (1 - coverage) * backgroundAlpha;
+                    float alpha = coverage + backdrop;
+                    if (alpha <= 0) {
+                        continue;
+                    }
+                    // Premultiplied sum of model and background, back to straight color for sRGB encoding
+                    r = (r / samples + backgroundColor[0] * backdrop) / alpha;
+                    g = (g / samples + backgroundColor[1] * backdrop) / alpha;
+                    b = (b / samples + backgroundColor[2] * backdrop) / alpha;
+                    int argb = Math.round(alpha * 255) << 24 | Shading.srgb(r) << 16 | Shading.srgb(g) << 8 | Shading.srgb(b);
+                    out.set(x, y, PixelBuffer.premultiply(argb));
+                }
+            }
+            return out;
+        }
+
+        // Helper to give the corners of a triangle without normals its face normal
+        void faceNormal(double[][] corners) {
+            double[] e1 = new double[3];
+            double[] e2 = new double[3];
+            for (int i = 0; i < 3; i++) {
+                e1[i] = corners[1][i] - corners[0][i];
+                e2[i] = corners[2][i] - corners[0][i];
+            }
+            double[] normal = new double[3];
+            cross(e1, e2, normal);
+            normalize(normal);
+            for (double[] corner : corners) {
+                System.arraycopy(normal, 0, corner, 3, 3);
+            }
+        }
+
+        // Helper to turn a world-space direction into a normalized view-space one
+        float[] toView(float[] direction) {
+            return normalized(
+                    (float) (direction[0] * right[0] + direction[1] * right[1] + direction[2] * right[2]),
+                    (float) (direction[0] * up[0] + direction[1] * up[1] + direction[2] * up[2]),
+                    (float) (direction[0] * forward[0] + direction[1] * forward[1] + direction[2] * forward[2]));
+        }
+    }
+
+    // Helper to find the center (into center) and radius of the primitives' bounding box (1 if empty)
+    private static double bounds(List<RenderPrimitive> primitives, double[] center) {
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        boolean any = false;
+        for (RenderPrimitive primitive : primitives) {
+            float[] positions = primitive.positions();
+            for (int i = 0; i + 2 < positions.length; i += 3) {
+                for (int k = 0; k < 3; k++) {
+                    if (Float.isFinite(positions[i + k])) {
+                        min[k] = Math.min(min[k], positions[i + k]);
+                        max[k] = Math.max(max[k], positions[i + k]);
+                        any = true;
+                    }
+                }
+            }
+        }
+        if (!any) {
+            return 1;
+        }
+        double radius = 0;
+        for (int k = 0; k < 3; k++) {
+            center[k] = (min[k] + max[k]) / 2;
+            radius += square(max[k] - min[k]) / 4;
+        }
+        radius = Math.sqrt(radius);
+        return radius > 0 ? radius : 1;
+    }
+
+    private static void cross(double[] a, double[] b, double[] out) {
+        out[0] = a[1] * b[2] - a[2] * b[1];
+        out[1] = a[2] * b[0] - a[0] * b[2];
+        out[2] = a[0] * b[1] - a[1] * b[0];
+    }
+
+    private static boolean normalize(double[] v) {
+        double length = Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+        if (!(length > 0)) {
+            return false;
+        }
+        v[0] /= length;
+        v[1] /= length;
+        v[2] /= length;
+        return true;
+    }
+
+    private static float[] normalized(float x, float y, float z) {
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        return length > 0 ? new float[]{x / length, y / length, z / length} : new float[]{0, 0, -1};
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
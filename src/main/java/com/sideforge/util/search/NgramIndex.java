@@ -0,0 +1,273 @@
+package com.sideforge.util.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index with a trigram dictionary for typo-tolerant lookup.
+ * ----------------------------------------------------------------
+ * Documents are ids with weighted text fields, split into lowercase tokens
+ * (letters and digits, accents folded). Per token the index keeps its postings
+ * (document -> field weight); per padded trigram ("$$m", "$mu", "mug", "ug$")
+ * the tokens containing it. A query term matches tokens:
+ * - exactly (score 1),
+ * - as a prefix, read from the sorted token dictionary,
+ * - within 1 edit (terms of 4+ chars) or 2 edits (8+ chars), verified only on
+ *   tokens sharing enough trigrams with the term.
+ * Documents must match every term and are ranked by the sum of their best
+ * match score x field weight, then by id. Searches run concurrently; an
+ * update locks the index for that one document only.
+ */
+public final class NgramIndex {
+
+    static final double EXACT_SCORE = 1.0;
+    static final double PREFIX_SCORE = 0.8;
+    static final double FUZZY_SCORE = 0.6;
+
+    // Bound on the tokens one short prefix can expand to
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Index (or re-index) a document
+    public void put(Long id, Field... fields) {
+        Map<String, Float> tokens = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : tokenize(field.text())) {
+                tokens.merge(token, field.weight(), Math::max);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            documents.put(id, tokens);
+            tokens.forEach((token, weight) -> postings.computeIfAbsent(token, t -> {
+                for (String trigram : trigrams(t)) {
+                    trigrams.computeIfAbsent(trigram, k -> new HashSet<>()).add(t);
+                }
+                return new HashMap<>();
+            }).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove a document (no-op when it is not indexed)
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            trigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ranked page of the documents matching every term of the query
+    public Result search(String query, long offset, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new Result(0, List.of());
+        }
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String term : new LinkedHashSet<>(terms)) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new Result(0, List.of());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Result(scores.size(), topHits(scores, offset, limit));
+    }
+
+    // Lowercase, accent-folded letter/digit tokens of a text
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Padded trigrams of a token: "mug" -> $$m, $mu, mug, ug$
+    static List<String> trigrams(String token) {
+        String padded = "$$" + token + "$";
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    // Edit distance (adjacent transpositions count as one edit), or max + 1 once it is exceeded
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous2;
+            previous2 = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    // Helper to score the documents matching one query term (best match per document)
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<String, Double> tokens = new HashMap<>();
+        if (postings.containsKey(term)) {
+            tokens.put(term, EXACT_SCORE);
+        }
+        int expansions = 0;
+        for (String token : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            // Closer to a whole word ranks higher: "mug" over "mugshot" for "mu"
+            tokens.put(token, PREFIX_SCORE * (0.5 + 0.5 * term.length() / token.length()));
+        }
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            List<String> termTrigrams = trigrams(term);
+            // One edit changes at most three trigrams
+            int minShared = Math.max(1, termTrigrams.size() - 3 * maxEdits);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : termTrigrams) {
+                for (String token : trigrams.getOrDefault(trigram, Set.of())) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+            shared.forEach((token, count) -> {
+                if (count >= minShared && !tokens.containsKey(token)) {
+                    int distance = editDistance(term, token, maxEdits);
+                    if (distance <= maxEdits) {
+                        tokens.put(token, FUZZY_SCORE / distance);
+                    }
+                }
+            });
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        tokens.forEach((token, score) -> postings.get(token).forEach((id, weight) ->
+                scores.merge(id, score * weight, Math::max)));
+        return scores;
+    }
+
+    private void removeDocument(Long id) {
+        Map<String, Float> tokens = documents.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens.keySet()) {
+            Map<Long, Float> ids = postings.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> trigramTokens = trigrams.get(trigram);
+                    trigramTokens.remove(token);
+                    if (trigramTokens.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    // Helper to select one page of hits without sorting every match
+    private static List<Hit> topHits(Map<Long, Double> scores, long offset, int limit) {
+        if (offset >= scores.size() || limit <= 0) {
+            return List.of();
+        }
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id);
+        int keep = (int) Math.min(scores.size(), offset + limit);
+        PriorityQueue<Hit> worstFirst = new PriorityQueue<>(keep + 1, ranking.reversed());
+        scores.forEach((id, score) -> {
+            worstFirst.add(new Hit(id, score));
+            if (worstFirst.size() > keep) {
+                worstFirst.poll();
+            }
+        });
+        List<Hit> hits = new ArrayList<>(worstFirst);
+        hits.sort(ranking);
+        return hits.subList((int) offset, hits.size());
+    }
+
+    // A text field of a document and the weight of its matches
+    public record Field(String text, float weight) {
+    }
+
+    public record Hit(Long id, double score) {
+    }
+
+    // Total number of matching documents and the requested page of them
+    public record Result(long total, List<Hit> hits) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.sideforge.util.similarity;
+
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+
+/**
+ * A design as a small fixed-length vector for similarity lookups.
+ * ----------------------------------------------------------------
+ * - Per Part, 4 values: its color in CIELAB (D65) as L/100, a/100, b/100, and
+ *   a presence flag. A part without a color sits at mid gray with the flag
+ *   off, so coloring a part or not costs about as much as any large color change.
+ * - Per MaterialType, its share of the design's materials (the default
+ *   material and each per-part material count once), times MATERIAL_WEIGHT.
+ * Euclidean distance between vectors is a metric: two designs are close when
+ * the same parts are colored alike (as perceived, not as RGB) with a similar
+ * material mix. Alpha is ignored.
+ */
+public final class PaletteEmbedding {
+
+    static final float PRESENCE_WEIGHT = 1f;
+    static final float MATERIAL_WEIGHT = 1f;
+
+    private static final Part[] PARTS = Part.values();
+    private static final MaterialType[] MATERIALS = MaterialType.values();
+    private static final int PART_DIMENSIONS = 4;
+
+    public static final int DIMENSIONS = PARTS.length * PART_DIMENSIONS + MATERIALS.length;
+
+    // Linear light of every 8-bit sRGB channel value
+    private static final double[] LINEAR = new double[256];
+
+    static {
+        for (int i = 0; i < LINEAR.length; i++) {
+            double c = i / 255.0;
+            LINEAR[i] = c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+        }
+    }
+
+    private PaletteEmbedding() {
+    }
+
+    // Vector of a design configuration
+    public static float[] of(DesignConfig config) {
+        float[] vector = new float[DIMENSIONS];
+        for (Part part : PARTS) {
+            vector[part.ordinal() * PART_DIMENSIONS] = 0.5f;
+        }
+        config.getPartsColors().forEach((part, color) -> {
+            int offset = part.ordinal() * PART_DIMENSIONS;
+            lab(color, vector, offset);
+            vector[offset + 3] = PRESENCE_WEIGHT;
+        });
+        DesignConfig.Materials materials = config.getMaterials();
+        if (materials != null) {
+            int offset = PARTS.length * PART_DIMENSIONS;
+            int count = 0;
+            if (materials.defaultMaterial() != null) {
+                vector[offset + materials.defaultMaterial().ordinal()]++;
+                count++;
+            }
+            for (MaterialType material : materials.parts().values()) {
+                vector[offset + material.ordinal()]++;
+                count++;
+            }
+            for (int i = 0; count > 0 && i < MATERIALS.length; i++) {
+                vector[offset + i] *= MATERIAL_WEIGHT / count;
+            }
+        }
+        return vector;
+    }
+
+    // Euclidean distance between two vectors
+    public static float distance(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float d = a[i] - b[i];
+            sum += d * d;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    // Euclidean distance, or infinity as soon as it is known to exceed limit
+    public static float distanceWithin(float[] a, float[] b, float limit) {
+        float bound = limit * limit;
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            float d = a[i] - b[i];
+            sum += d * d;
+            if (sum > bound) {
+                return Float.POSITIVE_INFINITY;
+            }
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    // Helper to write the scaled CIELAB coordinates of an sRGB color at offset
+    static void lab(Rgba color, float[] out, int offset) {
+        int value = color.value();
+        double r = LINEAR[value >>> 24];
+        double g = LINEAR[(value >>> 16) & 0xff];
+        double b = LINEAR[(value >>> 8) & 0xff];
+        double x = labCurve((0.4124564 * r + 0.3575761 * g + 0.1804375 * b) / 0.95047);
+        double y = labCurve(0.2126729 * r + 0.7151522 * g + 0.0721750 * b);
+        double z = labCurve((0.0193339 * r + 0.1191920 * g + 0.9503041 * b) / 1.08883);
+        out[offset] = (float) ((116 * y - 16) / 100);
+        out[offset + 1] = (float) (500 * (x - y) / 100);
+        out[offset + 2] = (float) (200 * (y - z) / 100);
+    }
+
+    private static double labCurve(double t) {
+        return t > 216.0 / 24389 ? Math.cbrt(t) : (24389.0 / 27 * t + 16) / 116;
+    }
+}
@@ -0,0 +1,293 @@
+package com.sideforge.util.similarity;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory vantage-point tree over float vectors for k-nearest-neighbour lookup.
+ * ----------------------------------------------------------------
+ * Each inner node splits its points by their distance to a vantage point: the
+ * nearer half goes inside, the rest outside, and the node keeps the range of
+ * distances found on each side. A search skips a side whose range cannot hold
+ * anything closer than the k-th best match so far (triangle inequality), so
+ * it reads a few leaves instead of every vector. Distances are Euclidean
+ * (PaletteEmbedding.distance).
+ * Updates are incremental:
+ * - put descends by distance to the leaf it belongs in, widening the ranges
+ *   on its way; a leaf over LEAF_SIZE points becomes a subtree.
+ * - Replaced and removed points stay in the tree as dead entries, skipped by
+ *   searches.
+ * The whole tree is rebuilt once it holds twice the points of its last build,
+ * or more dead entries than live points, which keeps updates amortized
+ * O(log n). Searches run concurrently; updates take the write lock.
+ */
+public final class VpTree {
+
+    static final int LEAF_SIZE = 16;
+
+    private static final Comparator<Neighbor> BY_DISTANCE =
+            Comparator.comparingDouble(Neighbor::distance).thenComparingLong(Neighbor::id);
+
+    private final Map<Long, Point> points = new HashMap<>();
+    private final Random random = new Random(42);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private int entries;
+    private int builtEntries;
+
+    // Add (or replace) the vector of an id
+    public void put(long id, float[] vector) {
+        Point point = new Point(id, vector.clone());
+        lock.writeLock().lock();
+        try {
+            points.put(id, point);
+            entries++;
+            if (entries > 2 * Math.max(builtEntries, LEAF_SIZE) || entries > 2 * points.size()) {
+                rebuild();
+            } else {
+                root = insert(root, point);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove the vector of an id (no-op if absent)
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (points.remove(id) != null && entries > 2 * points.size()) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Vector of an id, or null
+    public float[] get(long id) {
+        lock.readLock().lock();
+        try {
+            Point point = points.get(id);
+            return point != null ? point.vector().clone() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to k live entries nearest to the query, nearest first (then by id), leaving out one id
+    public List<Neighbor> nearest(float[] query, int k, long excludedId) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(k + 1, BY_DISTANCE.reversed());
+        lock.readLock().lock();
+        try {
+            search(root, query, k, excludedId, best);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    // Number of live entries
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Drop every entry
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            root = null;
+            entries = 0;
+            builtEntries = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        root = build(new ArrayList<>(points.values()));
+        entries = points.size();
+        builtEntries = entries;
+    }
+
+    private Node build(List<Point> list) {
+        Point[] array = list.toArray(new Point[0]);
+        return build(array, new float[array.length], 0, array.length);
+    }
+
+    // Helper to build the subtree of array[from, to); distances is scratch space of the same length
+    private Node build(Point[] array, float[] distances, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        if (to - from <= LEAF_SIZE) {
+            return new Node(new ArrayList<>(Arrays.asList(array).subList(from, to)));
+        }
+        swap(array, distances, from, from + random.nextInt(to - from));
+        Point vantage = array[from];
+        for (int i = from + 1; i < to; i++) {
+            distances[i] = PaletteEmbedding.distance(vantage.vector(), array[i].vector());
+        }
+        // Nearer half inside, the rest (from the median on) outside
+        int low = from + 1;
+        int median = low + (to - low) / 2;
+        select(array, distances, low, to, median);
+        Node node = new Node(vantage, distances[median]);
+        if (median > low) {
+            node.insideMin = Float.POSITIVE_INFINITY;
+            for (int i = low; i < median; i++) {
+                node.insideMin = Math.min(node.insideMin, distances[i]);
+                node.insideMax = Math.max(node.insideMax, distances[i]);
+            }
+        }
+        node.outsideMin = distances[median];
+        for (int i = median; i < to; i++) {
+            node.outsideMax = Math.max(node.outsideMax, distances[i]);
+        }
+        node.inside = build(array, distances, low, median);
+        node.outside = build(array, distances, median, to);
+        return node;
+    }
+
+    // Helper to reorder [from, to) so that index k holds the distance it would have sorted, nearer ones before it
+    private void select(Point[] array, float[] distances, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            float pivot = distances[lo + random.nextInt(hi - lo + 1)];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (distances[i] < pivot) {
+                    i++;
+                }
+                while (distances[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(array, distances, i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(Point[] array, float[] distances, int i, int j) {
+        Point point = array[i];
+        array[i] = array[j];
+        array[j] = point;
+        float distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+    }
+
+    private Node insert(Node node, Point point) {
+        if (node == null) {
+            return new Node(new ArrayList<>(List.of(point)));
+        }
+        if (node.bucket != null) {
+            node.bucket.add(point);
+            return node.bucket.size() > LEAF_SIZE ? build(node.bucket) : node;
+        }
+        float d = PaletteEmbedding.distance(node.vantage.vector(), point.vector());
+        if (d < node.radius) {
+            node.insideMin = node.inside == null ? d : Math.min(node.insideMin, d);
+            node.insideMax = node.inside == null ? d : Math.max(node.insideMax, d);
+            node.inside = insert(node.inside, point);
+        } else {
+            node.outsideMin = node.outside == null ? d : Math.min(node.outsideMin, d);
+            node.outsideMax = node.outside == null ? d : Math.max(node.outsideMax, d);
+            node.outside = insert(node.outside, point);
+        }
+        return node;
+    }
+
+    private void search(Node node, float[] query, int k, long excludedId, PriorityQueue<Neighbor> best) {
+        if (node == null) {
+            return;
+        }
+        if (node.bucket != null) {
+            for (Point point : node.bucket) {
+                float tau = best.size() < k ? Float.POSITIVE_INFINITY : best.peek().distance();
+                offer(point, PaletteEmbedding.distanceWithin(query, point.vector(), tau), k, excludedId, best);
+            }
+            return;
+        }
+        float d = PaletteEmbedding.distance(query, node.vantage.vector());
+        offer(node.vantage, d, k, excludedId, best);
+        boolean insideFirst = d < node.radius;
+        for (int side = 0; side < 2; side++) {
+            boolean inside = insideFirst == (side == 0);
+            Node child = inside ? node.inside : node.outside;
+            float min = inside ? node.insideMin : node.outsideMin;
+            float max = inside ? node.insideMax : node.outsideMax;
+            float tau = best.size() < k ? Float.POSITIVE_INFINITY : best.peek().distance();
+            if (child != null && d + tau >= min && d - tau <= max) {
+                search(child, query, k, excludedId, best);
+            }
+        }
+    }
+
+    // Helper to keep a point among the k best if it is live and not excluded
+    private void offer(Point point, float distance, int k, long excludedId, PriorityQueue<Neighbor> best) {
+        if (point.id() == excludedId || points.get(point.id()) != point) {
+            return;
+        }
+        Neighbor neighbor = new Neighbor(point.id(), distance);
+        if (best.size() < k) {
+            best.add(neighbor);
+        } else if (BY_DISTANCE.compare(neighbor, best.peek()) < 0) {
+            best.poll();
+            best.add(neighbor);
+        }
+    }
+
+    public record Neighbor(long id, float distance) {
+    }
+
+    private record Point(long id, float[] vector) {
+    }
+
+    // Inner node (vantage point, split radius and distance ranges per side) or leaf (bucket)
+    private static final class Node {
+        final List<Point> bucket;
+        final Point vantage;
+        final float radius;
+        Node inside;
+        Node outside;
+        float insideMin;
+        float insideMax;
+        float outsideMin;
+        float outsideMax;
+
+        Node(List<Point> bucket) {
+            this.bucket = bucket;
+            this.vantage = null;
+            this.radius = 0;
+        }
+
+        Node(Point vantage, float radius) {
+            this.bucket = null;
+            this.vantage = vantage;
+            this.radius = radius;
+        }
+    }
+}
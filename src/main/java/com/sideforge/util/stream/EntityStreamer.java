@@ -0,0 +1,40 @@
+package com.sideforge.util.stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Maps a streamed query to DTOs one row at a time.
+ * ----------------------------------------------------------------
+ * Repositories return Stream<Entity> with the FETCH_SIZE hint, so the JDBC
+ * driver holds one fetch of rows at a time (MySQL needs useCursorFetch=true
+ * for this). Every entity read would otherwise stay in the persistence
+ * context until the transaction ends, so the context is cleared after each
+ * fetch. Must run inside a (read-only) transaction, which keeps the cursor open.
+ */
+@Component
+public class EntityStreamer {
+
+    public static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Hand every row to the sink as a DTO, then close the stream
+    public <E, D> void forEach(Stream<E> rows, Function<E, D> mapper, Consumer<D> sink) {
+        try (rows) {
+            int[] read = {0};
+            rows.forEach(row -> {
+                sink.accept(mapper.apply(row));
+                if (++read[0] % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+}
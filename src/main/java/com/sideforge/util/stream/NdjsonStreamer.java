@@ -0,0 +1,51 @@
+package com.sideforge.util.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows to an HTTP response as newline-delimited JSON (application/x-ndjson).
+ * ----------------------------------------------------------------
+ * Each row is serialized and written as soon as the producer hands it over,
+ * so a listing of any length needs memory for one row plus the output
+ * buffer, and the client can start reading before the last row is fetched.
+ * An error after the first rows were sent can only end the response early.
+ */
+public final class NdjsonStreamer {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private NdjsonStreamer() {
+    }
+
+    // Write every row the producer emits, one JSON document per line
+    public static <T> void stream(HttpServletResponse response, ObjectMapper mapper,
+                                  Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+        ObjectWriter writer = mapper.writer();
+        try {
+            producer.accept(row -> {
+                try {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+}
@@ -85,7 +85,7 @@ class AdminControllerTest {
         updated.setId(1L);
         updated.setUsername("updatedadmin");
 
-        when(adminService.updateAdmin(eq(1L), any(AdminUpdateDTO.class))).thenReturn(updated);
+        when(adminService.updateAdmin(eq(1L), any(AdminUpdateDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/admins/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -1,8 +1,16 @@
 package com.sideforge.controller;
 
 import com.sideforge.dto.asset.*;
+import com.sideforge.enums.Part;
+import com.sideforge.service.interfaces.AssetModelCache;
+import com.sideforge.service.interfaces.AssetModelIndexService;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.AssetSearchService;
 import com.sideforge.service.interfaces.AssetService;
+import com.sideforge.util.parts.PartConfig;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -11,8 +19,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +45,24 @@ class AssetControllerTest {
     @MockBean
     private AssetService assetService;
 
+    @MockBean
+    private AssetModelService assetModelService;
+
+    @MockBean
+    private AssetModelCache assetModelCache;
+
+    @MockBean
+    private AssetModelIndexService assetModelIndexService;
+
+    @MockBean
+    private AssetPartsService assetPartsService;
+
+    @MockBean
+    private AssetSearchService assetSearchService;
+
+    @TempDir
+    Path tempDir;
+
     @WithMockUser
     @Test
     // Tests retrieving all assets returns the correct list.
@@ -39,6 +75,29 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Asset1"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests streaming all assets writes one JSON document per line, as the service emits them.
+    void streamAllAssets() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AssetResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(AssetResponseDTO.builder().id(1L).name("Asset1").build());
+            sink.accept(AssetResponseDTO.builder().id(2L).name("Asset2").build());
+            return null;
+        }).when(assetService).streamAllAssets(any());
+
+        String body = mockMvc.perform(get("/api/assets/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Asset1\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Asset2\""));
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving an asset by ID returns the correct asset.
@@ -75,7 +134,7 @@ class AssetControllerTest {
     // Tests updating an asset returns the updated asset.
     void updateAsset() throws Exception {
         AssetResponseDTO updated = AssetResponseDTO.builder().id(1L).name("UpdatedAsset").build();
-        when(assetService.updateAsset(eq(1L), any(AssetUpdateDTO.class))).thenReturn(updated);
+        when(assetService.updateAsset(eq(1L), any(AssetUpdateDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/assets/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -95,6 +154,19 @@ class AssetControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @WithMockUser
+    @Test
+    // Tests the asset summary page leaves out the parts config.
+    void getAssetSummaries() throws Exception {
+        AssetSummaryDTO asset = AssetSummaryDTO.builder().id(1L).name("Asset1").thumbnailDefault("a.png").build();
+        when(assetService.getAssetSummaries(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(asset)));
+
+        mockMvc.perform(get("/api/assets/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Asset1"))
+                .andExpect(jsonPath("$.content[0].partsConfigJson").doesNotExist());
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving a paginated list of assets returns the correct page.
@@ -127,4 +199,200 @@ class AssetControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].name").value("Asset1"));
     }
-}
\ No newline at end of file
+
+    @WithMockUser
+    @Test
+    // Tests streaming an asset model returns the full file with range support advertised.
+    void getAssetModel_full() throws Exception {
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(modelFile("0123456789"));
+
+        mockMvc.perform(get("/api/assets/1/model"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().contentType("model/gltf-binary"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a Range request returns only the requested bytes with 206.
+    void getAssetModel_range() throws Exception {
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(modelFile("0123456789"));
+
+        mockMvc.perform(get("/api/assets/1/model").header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a Range request with a stale If-Range validator returns the full file.
+    void getAssetModel_ifRangeMismatch() throws Exception {
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(modelFile("0123456789"));
+
+        mockMvc.perform(get("/api/assets/1/model")
+                        .header("Range", "bytes=2-5")
+                        .header("If-Range", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests an unsatisfiable range returns 416.
+    void getAssetModel_rangeNotSatisfiable() throws Exception {
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(modelFile("0123456789"));
+
+        mockMvc.perform(get("/api/assets/1/model").header("Range", "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a matching If-None-Match returns 304 without a body.
+    void getAssetModel_notModified() throws Exception {
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(modelFile("0123456789"));
+
+        mockMvc.perform(get("/api/assets/1/model").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a cached model is served from the mapped buffer, including ranges.
+    void getAssetModel_fromCache() throws Exception {
+        AssetModelFileDTO model = modelFile("0123456789");
+        when(assetModelService.getModel(1L, 0, false, false)).thenReturn(model);
+        when(assetModelCache.get(model)).thenReturn(ByteBuffer.wrap("abcdefghij".getBytes(StandardCharsets.US_ASCII)));
+
+        mockMvc.perform(get("/api/assets/1/model").header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 7-9/10"))
+                .andExpect(content().string("hij"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the model cache stats endpoint returns the counters.
+    void getModelCacheStats() throws Exception {
+        when(assetModelCache.getStats()).thenReturn(AssetModelCacheStatsDTO.builder().hits(5).misses(2).build());
+
+        mockMvc.perform(get("/api/assets/model-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(5))
+                .andExpect(jsonPath("$.misses").value(2));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests an explicit lod parameter is passed through and the served level is reported.
+    void getAssetModel_lodParameter() throws Exception {
+        AssetModelFileDTO model = modelFile("0123");
+        model.setLod(2);
+        when(assetModelService.getMaxLod()).thenReturn(3);
+        when(assetModelService.getModel(1L, 2, false, false)).thenReturn(model);
+
+        mockMvc.perform(get("/api/assets/1/model").param("lod", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Model-LOD", "2"))
+                .andExpect(header().doesNotExist("Accept-CH"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the Save-Data client hint selects the coarsest level and the response varies on hints.
+    void getAssetModel_saveDataHint() throws Exception {
+        when(assetModelService.getMaxLod()).thenReturn(3);
+        when(assetModelService.getModel(1L, 3, false, false)).thenReturn(modelFile("0123"));
+
+        mockMvc.perform(get("/api/assets/1/model").header("Save-Data", "on"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-CH", "Save-Data, Device-Memory, ECT"))
+                .andExpect(header().stringValues("Vary", hasItem("Save-Data, Device-Memory, ECT")));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests Accept with the quantization extension selects the quantized variant and labels it.
+    void getAssetModel_quantizedAccept() throws Exception {
+        AssetModelFileDTO model = modelFile("0123");
+        model.setQuantized(true);
+        when(assetModelService.getModel(1L, 0, true, false)).thenReturn(model);
+
+        mockMvc.perform(get("/api/assets/1/model")
+                        .header("Accept", "model/gltf-binary; ext=KHR_mesh_quantization, model/gltf-binary;q=0.9"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "model/gltf-binary; ext=KHR_mesh_quantization"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the model index endpoint returns the indexed metadata.
+    void getAssetModelIndex() throws Exception {
+        AssetModelIndexDTO index = AssetModelIndexDTO.builder()
+                .assetId(1L)
+                .glbVersion(2)
+                .materialNames(List.of("Ceramic"))
+                .partNodes(Map.of(Part.HANDLE, List.of("Mug_Handle")))
+                .build();
+        when(assetModelIndexService.getIndex(1L, false)).thenReturn(index);
+
+        mockMvc.perform(get("/api/assets/1/model/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.glbVersion").value(2))
+                .andExpect(jsonPath("$.materialNames[0]").value("Ceramic"))
+                .andExpect(jsonPath("$.partNodes.HANDLE[0]").value("Mug_Handle"))
+                .andExpect(jsonPath("$.jsonChunk").doesNotExist());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the ranked search returns the page from the search index.
+    void searchAssets() throws Exception {
+        AssetResponseDTO asset = AssetResponseDTO.builder().id(1L).name("Ceramic Mug").build();
+        when(assetSearchService.search("mug", PageRequest.of(1, 5)))
+                .thenReturn(new PageImpl<>(List.of(asset), PageRequest.of(1, 5), 6));
+
+        mockMvc.perform(get("/api/assets/search/ranked").param("q", "mug").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Ceramic Mug"))
+                .andExpect(jsonPath("$.totalElements").value(6));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the parts endpoint returns the customizable parts of the asset.
+    void getAssetParts() throws Exception {
+        AssetPartsDTO parts = AssetPartsDTO.builder()
+                .assetId(1L)
+                .version(3L)
+                .customizableParts(Set.of(Part.HANDLE))
+                .parts(Map.of(Part.HANDLE, new PartConfig(true, "Handle", List.of("white"), List.of(), null)))
+                .options(Map.of("color", "white"))
+                .build();
+        when(assetPartsService.getParts(1L)).thenReturn(parts);
+
+        mockMvc.perform(get("/api/assets/1/parts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customizableParts[0]").value("HANDLE"))
+                .andExpect(jsonPath("$.parts.HANDLE.colors[0]").value("white"))
+                .andExpect(jsonPath("$.options.color").value("white"));
+    }
+
+    // Helper to write a model file and describe it as the service would
+    private AssetModelFileDTO modelFile(String content) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("model.glb"), content);
+        return AssetModelFileDTO.builder()
+                .assetId(1L)
+                .path(file)
+                .contentLength(Files.size(file))
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .etag("\"abc\"")
+                .build();
+    }
+}
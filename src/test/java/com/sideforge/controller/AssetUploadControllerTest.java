@@ -0,0 +1,106 @@
+package com.sideforge.controller;
+
+import com.sideforge.dto.asset.*;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.service.interfaces.AssetUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AssetUploadController.class)
+class AssetUploadControllerTest {
+
+    private static final String UPLOAD_ID = "3f2c9a4e-8a1b-4d5e-9f00-123456789abc";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AssetUploadService assetUploadService;
+
+    @WithMockUser
+    @Test
+    // Tests starting an upload returns 201 with its location and chunk layout.
+    void createUpload() throws Exception {
+        AssetUploadResponseDTO upload = AssetUploadResponseDTO.builder()
+                .id(UPLOAD_ID).chunkSize(8388608).chunkCount(13).receivedChunks(List.of()).build();
+        when(assetUploadService.createUpload(any(AssetUploadRequestDTO.class))).thenReturn(upload);
+
+        mockMvc.perform(post("/api/assets/uploads").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Scan\",\"fileName\":\"scan.glb\",\"totalSize\":104857600}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/assets/uploads/" + UPLOAD_ID))
+                .andExpect(jsonPath("$.chunkCount").value(13));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a file name with a path is rejected by validation.
+    void createUpload_invalidFileName() throws Exception {
+        mockMvc.perform(post("/api/assets/uploads").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Scan\",\"fileName\":\"../scan.glb\",\"totalSize\":10}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a chunk body and its Content-Digest are passed to the service.
+    void uploadChunk() throws Exception {
+        mockMvc.perform(put("/api/assets/uploads/" + UPLOAD_ID + "/chunks/2").with(csrf())
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("Content-Digest", "sha-256=:abc=:")
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isNoContent());
+
+        verify(assetUploadService).writeChunk(eq(UPLOAD_ID), eq(2), any(), eq(3L), eq("sha-256=:abc=:"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a rejected chunk returns 400.
+    void uploadChunk_badDigest() throws Exception {
+        doThrow(new BadRequestException("Content-Digest does not match chunk 0"))
+                .when(assetUploadService).writeChunk(eq(UPLOAD_ID), eq(0), any(), anyLong(), any());
+
+        mockMvc.perform(put("/api/assets/uploads/" + UPLOAD_ID + "/chunks/0").with(csrf())
+                        .content(new byte[]{1}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests committing an upload returns the created asset.
+    void commitUpload() throws Exception {
+        when(assetUploadService.commitUpload(UPLOAD_ID))
+                .thenReturn(AssetResponseDTO.builder().id(5L).name("Scan").build());
+
+        mockMvc.perform(post("/api/assets/uploads/" + UPLOAD_ID + "/commit").with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/assets/5"))
+                .andExpect(jsonPath("$.name").value("Scan"));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests deleting an upload returns 204.
+    void deleteUpload() throws Exception {
+        mockMvc.perform(delete("/api/assets/uploads/" + UPLOAD_ID).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(assetUploadService).deleteUpload(UPLOAD_ID);
+    }
+}
@@ -85,7 +85,7 @@ class CustomerControllerTest {
         updated.setId(1L);
         updated.setUsername("updatedcustomer");
 
-        when(customerService.updateCustomer(eq(1L), any(CustomerUpdateDTO.class))).thenReturn(updated);
+        when(customerService.updateCustomer(eq(1L), any(CustomerUpdateDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/customers/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -1,8 +1,18 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.BulkItemResultDTO;
+import com.sideforge.dto.BulkResultDTO;
 import com.sideforge.dto.design.*;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.service.interfaces.DesignExportService;
+import com.sideforge.service.interfaces.DesignRevisionService;
 import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.service.interfaces.DesignSimilarityService;
+import com.sideforge.service.interfaces.DesignTextureService;
+import com.sideforge.util.glb.GlbAppender;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -11,6 +21,9 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -28,6 +41,24 @@ class DesignControllerTest {
     @MockBean
     private DesignService designService;
 
+    @MockBean
+    private DesignTextureService designTextureService;
+
+    @MockBean
+    private DesignBakeService designBakeService;
+
+    @MockBean
+    private DesignRevisionService designRevisionService;
+
+    @MockBean
+    private DesignSimilarityService designSimilarityService;
+
+    @MockBean
+    private DesignExportService designExportService;
+
+    @TempDir
+    Path tempDir;
+
     @WithMockUser
     @Test
     // Tests creating a new design returns the created design and correct location header.
@@ -48,6 +79,28 @@ class DesignControllerTest {
                 .andExpect(jsonPath("$.name").value("Design1"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests that a bulk create hands every item to the service, invalid ones included, and answers per item.
+    void createDesignsInBulk() throws Exception {
+        BulkResultDTO result = BulkResultDTO.builder().created(1).failed(1).items(List.of(
+                BulkItemResultDTO.builder().index(0).status(201).id(7L).build(),
+                BulkItemResultDTO.builder().index(1).status(400).error("ownerId: Owner is required").build())).build();
+
+        when(designService.createDesigns(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/designs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"A\",\"assetId\":1,\"ownerId\":2},{\"name\":\"B\",\"assetId\":1}]")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[1].status").value(400));
+
+        verify(designService).createDesigns(argThat(list -> list.size() == 2 && list.get(1).getOwnerId() == null));
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving a design by ID returns the correct design.
@@ -60,6 +113,44 @@ class DesignControllerTest {
                 .andExpect(jsonPath("$.name").value("Design1"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests similar designs are listed nearest first with their distance.
+    void getSimilarDesigns() throws Exception {
+        DesignResponseDTO dto = DesignResponseDTO.builder().id(2L).name("Design2").assetId(1L).build();
+        when(designSimilarityService.findSimilar(1L, 5))
+                .thenReturn(List.of(SimilarDesignDTO.builder().design(dto).distance(0.25f).build()));
+
+        mockMvc.perform(get("/api/designs/1/similar").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].design.name").value("Design2"))
+                .andExpect(jsonPath("$[0].distance").value(0.25));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the GLB export streams the written GLB with its length and ETag, and answers 304 to a matching If-None-Match.
+    void exportGlb() throws Exception {
+        GlbAppender glb = mock(GlbAppender.class);
+        Path model = tempDir.resolve("model.glb");
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(new byte[]{'g', 'l', 'T', 'F'});
+            return null;
+        }).when(glb).writeTo(eq(model), any(OutputStream.class));
+        when(designExportService.exportGlb(1L)).thenReturn(DesignGlbExportDTO.builder()
+                .designId(1L).modelPath(model).glb(glb).contentLength(4).etag("\"1-1-4-0\"").build());
+
+        mockMvc.perform(get("/api/designs/1/export.glb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "model/gltf-binary"))
+                .andExpect(header().string("ETag", "\"1-1-4-0\""))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"design-1.glb\""))
+                .andExpect(content().bytes(new byte[]{'g', 'l', 'T', 'F'}));
+
+        mockMvc.perform(get("/api/designs/1/export.glb").header("If-None-Match", "\"1-1-4-0\""))
+                .andExpect(status().isNotModified());
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving all designs returns the correct list.
@@ -77,7 +168,7 @@ class DesignControllerTest {
     // Tests updating a design returns the updated design.
     void updateDesign() throws Exception {
         DesignResponseDTO updated = DesignResponseDTO.builder().id(1L).name("Updated").assetId(1L).build();
-        when(designService.updateDesign(eq(1L), any(DesignUpdateDTO.class))).thenReturn(updated);
+        when(designService.updateDesign(eq(1L), any(DesignUpdateDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/designs/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -109,6 +200,21 @@ class DesignControllerTest {
                 .andExpect(jsonPath("$.name").value("Design1"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests the design summary page is served from the summary query.
+    void getDesignSummaries() throws Exception {
+        DesignSummaryDTO dto = DesignSummaryDTO.builder().id(1L).name("Design1").assetId(3L).build();
+        when(designService.getDesignSummaries(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(get("/api/designs/summary").param("sort", "name", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Design1"))
+                .andExpect(jsonPath("$.content[0].assetId").value(3))
+                .andExpect(jsonPath("$.content[0].materialsJson").doesNotExist());
+        verify(designService).getDesignSummaries(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving a paginated list of designs returns the correct page.
@@ -143,4 +249,66 @@ class DesignControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].name").value("Design1"));
     }
-}
\ No newline at end of file
+
+    @WithMockUser
+    @Test
+    // Tests the texture is served precompressed to clients accepting gzip.
+    void getDesignTexture_gzip() throws Exception {
+        Path file = Files.write(tempDir.resolve("texture.png.gz"), new byte[]{31, -117, 8, 0});
+        DesignTextureFileDTO texture = DesignTextureFileDTO.builder()
+                .designId(1L)
+                .path(file)
+                .contentType("image/png")
+                .contentLength(4)
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .etag("\"4-abc-gzip\"")
+                .contentEncoding("gzip")
+                .build();
+        when(designTextureService.getTexture(1L, true)).thenReturn(texture);
+
+        mockMvc.perform(get("/api/designs/1/texture").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(content().bytes(new byte[]{31, -117, 8, 0}));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the baked texture is returned as a PNG revalidated by its content-hash ETag.
+    void getBakedTexture() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        when(designBakeService.getBakedTexture(1L))
+                .thenReturn(BakedTextureDTO.builder().designId(1L).png(png).etag("\"abc\"").build());
+
+        mockMvc.perform(get("/api/designs/1/baked-texture"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().bytes(png));
+
+        mockMvc.perform(get("/api/designs/1/baked-texture").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests fetching one revision and the diff between two revisions.
+    void getDesignRevisionAndDiff() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        when(designRevisionService.getRevision(1L, 3)).thenReturn(DesignRevisionDTO.builder()
+                .designId(1L).revision(3).document(mapper.readTree("{\"name\":\"Mug\"}")).build());
+        when(designRevisionService.diffRevisions(1L, 1, 3)).thenReturn(DesignRevisionDiffDTO.builder()
+                .designId(1L).from(1).to(3).changes(mapper.readTree("{\"name\":\"Mug\"}")).build());
+
+        mockMvc.perform(get("/api/designs/1/revisions/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revision").value(3))
+                .andExpect(jsonPath("$.document.name").value("Mug"));
+        mockMvc.perform(get("/api/designs/1/revisions/diff").param("from", "1").param("to", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.name").value("Mug"));
+    }
+}
@@ -1,16 +1,30 @@
 package com.sideforge.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.scene.*;
+import com.sideforge.exception.PreconditionFailedException;
 import com.sideforge.service.interfaces.SceneService;
+import com.sideforge.service.interfaces.SceneThumbnailService;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.JsonPatches;
+import com.sideforge.util.patch.PatchFormat;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,6 +43,12 @@ class SceneControllerTest {
     @MockBean
     private SceneService sceneService;
 
+    @MockBean
+    private SceneThumbnailService sceneThumbnailService;
+
+    @TempDir
+    Path tempDir;
+
     @WithMockUser
     @Test
     // Tests creating a new scene returns the created scene and correct location header.
@@ -70,7 +90,7 @@ class SceneControllerTest {
     // Tests updating a scene returns the updated scene.
     void updateScene() throws Exception {
         SceneResponseDTO updated = SceneResponseDTO.builder().id(1L).name("Updated").ownerId(1L).designId(2L).build();
-        when(sceneService.updateScene(eq(1L), any(SceneUpdateDTO.class))).thenReturn(updated);
+        when(sceneService.updateScene(eq(1L), any(SceneUpdateDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/scenes/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -80,6 +100,57 @@ class SceneControllerTest {
                 .andExpect(jsonPath("$.name").value("Updated"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests a scene carries its version as ETag and a matching If-None-Match gets 304 without a body.
+    void getSceneById_conditional() throws Exception {
+        SceneResponseDTO dto = SceneResponseDTO.builder().id(1L).name("Scene1").version(3L)
+                .lastModified(Instant.parse("2025-01-01T10:00:00Z")).build();
+        when(sceneService.getSceneById(1L)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/scenes/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+
+        mockMvc.perform(get("/api/scenes/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @WithMockUser
+    @Test
+    // Tests If-Match is passed to the update and a stale version is rejected with 412.
+    void updateScene_ifMatch() throws Exception {
+        when(sceneService.updateScene(eq(1L), any(SceneUpdateDTO.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("The resource has changed (current ETag \"3\")"));
+
+        mockMvc.perform(put("/api/scenes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated\"}")
+                        .with(csrf()))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests a merge patch is applied by the service and answered with the new version and the changes.
+    void mergePatchScene() throws Exception {
+        PatchResultDTO result = PatchResultDTO.builder().id(1L).version(5L)
+                .changes(new ObjectMapper().readTree("{\"camera\":{\"fov\":50}}")).build();
+        when(sceneService.patchScene(eq(1L), eq(PatchFormat.MERGE_PATCH), any(JsonNode.class), eq(4L))).thenReturn(result);
+
+        mockMvc.perform(patch("/api/scenes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
+                        .contentType(JsonPatches.MERGE_PATCH_JSON)
+                        .content("{\"camera\":{\"fov\":50}}")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(jsonPath("$.changes.camera.fov").value(50));
+    }
+
     @WithMockUser
     @Test
     // Tests deleting a scene returns no content status.
@@ -107,6 +178,40 @@ class SceneControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value("Scene1"));
     }
 
+    @WithMockUser
+    @Test
+    // Tests scrolling scenes passes the cursor and returns the next cursor.
+    void scrollScenes() throws Exception {
+        SceneResponseDTO dto = SceneResponseDTO.builder().id(1L).name("Scene1").ownerId(1L).designId(2L).build();
+        CursorPageDTO<SceneResponseDTO> page = CursorPageDTO.<SceneResponseDTO>builder()
+                .content(List.of(dto)).size(1).hasNext(true).nextCursor("next").build();
+        when(sceneService.scrollScenes(new ScrollRequest("abc", 1, Sort.by(Sort.Direction.DESC, "name"), false)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/scenes/scroll")
+                        .param("cursor", "abc")
+                        .param("size", "1")
+                        .param("sort", "name")
+                        .param("sort", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Scene1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @WithMockUser
+    @Test
+    // Tests the owner's scene summaries carry no lighting or camera JSON.
+    void getSceneSummariesByOwnerId() throws Exception {
+        SceneSummaryDTO dto = SceneSummaryDTO.builder().id(1L).name("Scene1").thumbnail("t.png").ownerId(1L).designId(2L).build();
+        when(sceneService.getSceneSummariesByOwnerId(eq(1L), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(get("/api/scenes/by-owner/summary").param("ownerId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].thumbnail").value("t.png"))
+                .andExpect(jsonPath("$.content[0].lightingConfigJson").doesNotExist());
+    }
+
     @WithMockUser
     @Test
     // Tests retrieving scenes by owner ID returns the correct page.
@@ -169,4 +274,30 @@ class SceneControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("5"));
     }
-}
\ No newline at end of file
+
+    @WithMockUser
+    @Test
+    // Tests the rendered thumbnail is streamed with its ETag and revalidated with 304.
+    void getSceneThumbnail() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        Path file = Files.write(tempDir.resolve("scene-1.png"), png);
+        SceneThumbnailFileDTO thumbnail = SceneThumbnailFileDTO.builder()
+                .sceneId(1L)
+                .path(file)
+                .contentType("image/png")
+                .contentLength(png.length)
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .etag("\"4-abc\"")
+                .build();
+        when(sceneThumbnailService.getThumbnail(1L)).thenReturn(thumbnail);
+
+        mockMvc.perform(get("/api/scenes/1/thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("ETag", "\"4-abc\""))
+                .andExpect(content().bytes(png));
+
+        mockMvc.perform(get("/api/scenes/1/thumbnail").header("If-None-Match", "\"4-abc\""))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -65,7 +65,7 @@ class UserControllerTest {
         updatedUser.setId(1L);
         updatedUser.setUsername("updateduser");
 
-        when(userService.updateUser(eq(1L), any(UserUpdateDTO.class))).thenReturn(updatedUser);
+        when(userService.updateUser(eq(1L), any(UserUpdateDTO.class), isNull())).thenReturn(updatedUser);
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,20 @@
+package com.sideforge.model;
+
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The lazy LOB mappings only hold on entities enhanced by the build (hibernate-maven-plugin)
+class LazyLobEnhancementTest {
+
+    @Test
+    void asset_enhancedForLazyPartsConfig() {
+        assertTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Asset.class));
+    }
+
+    @Test
+    void scene_enhancedForLazyCameraAndLighting() {
+        assertTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Scene.class));
+    }
+}
@@ -131,7 +131,7 @@ class AdminServiceImplTest {
         when(adminRepository.findById(1L)).thenReturn(Optional.of(admin));
         when(adminRepository.save(any(Admin.class))).thenReturn(admin);
 
-        AdminResponseDTO response = adminService.updateAdmin(1L, dto);
+        AdminResponseDTO response = adminService.updateAdmin(1L, dto, null);
 
         assertEquals("updated", response.getUsername());
         assertEquals("updated@mail.com", response.getEmail());
@@ -144,7 +144,7 @@ class AdminServiceImplTest {
     void updateAdmin_notFound() {
         AdminUpdateDTO dto = AdminUpdateDTO.builder().build();
         when(adminRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> adminService.updateAdmin(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> adminService.updateAdmin(1L, dto, null));
     }
 
     @Test
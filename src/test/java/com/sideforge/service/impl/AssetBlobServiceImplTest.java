@@ -0,0 +1,202 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.model.AssetBlob;
+import com.sideforge.repository.AssetBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetBlobServiceImplTest {
+
+    // SHA-256 of "mesh"
+    private static final String MESH_HASH = "d30ca7a7a32bf5772dc5eb2a2e7bd35737eff795ad74f2479b359716b59abdfa";
+
+    @Mock
+    private AssetBlobRepository assetBlobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path assetRoot;
+
+    private AssetBlobServiceImpl assetBlobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(assetRoot.toString());
+        assetBlobService = new AssetBlobServiceImpl(assetBlobRepository, properties, transactionManager);
+    }
+
+    @Test
+    void store_newContentCreatesBlob() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+
+        String hash = assetBlobService.store("/mug.glb");
+
+        assertEquals(MESH_HASH, hash);
+        assertTrue(Files.isSameFile(assetBlobService.resolve(hash), assetRoot.resolve("mug.glb")));
+        verify(assetBlobRepository).addReference(eq(MESH_HASH), eq(4L), any());
+    }
+
+    @Test
+    void store_duplicateContentSharesBlob() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        Files.writeString(assetRoot.resolve("mug-copy.glb"), "mesh");
+
+        String first = assetBlobService.store("mug.glb");
+        String second = assetBlobService.store("mug-copy.glb");
+
+        assertEquals(first, second);
+        assertTrue(Files.isSameFile(assetRoot.resolve("mug.glb"), assetRoot.resolve("mug-copy.glb")));
+        verify(assetBlobRepository, times(2)).addReference(eq(MESH_HASH), eq(4L), any());
+        assertTrue(assetBlobService.isStored(second, "mug-copy.glb"));
+    }
+
+    @Test
+    void store_rollbackDeletesCreatedBlob() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            String hash = assetBlobService.store("mug.glb");
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            verify(assetBlobRepository).findLockedByHash(hash);
+            assertFalse(Files.exists(assetBlobService.resolve(hash)));
+            assertTrue(Files.exists(assetRoot.resolve("mug.glb")));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void store_rollbackKeepsBlobReferencedByAnotherStore() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        when(assetBlobRepository.findLockedByHash(MESH_HASH))
+                .thenReturn(Optional.of(AssetBlob.builder().hash(MESH_HASH).refCount(1).build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            String hash = assetBlobService.store("mug.glb");
+
+            // Committed by a concurrent store of the same content once the row lock was released
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            assertTrue(Files.exists(assetBlobService.resolve(hash)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void store_referenceTakenBeforeFileIsLinked() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        when(assetBlobRepository.addReference(eq(MESH_HASH), eq(4L), any())).thenAnswer(invocation -> {
+            assertFalse(Files.exists(assetBlobService.resolve(MESH_HASH)));
+            return 1;
+        });
+
+        assetBlobService.store("mug.glb");
+
+        assertTrue(Files.exists(assetBlobService.resolve(MESH_HASH)));
+    }
+
+    @Test
+    void store_missingFileIsUnmanaged() {
+        assertNull(assetBlobService.store("/assets/3d/remote.glb"));
+        verifyNoInteractions(assetBlobRepository);
+    }
+
+    @Test
+    void release_lastReferenceDeletesBlob() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        String hash = assetBlobService.store("mug.glb");
+        AssetBlob blob = AssetBlob.builder().hash(hash).size(4L).refCount(0).build();
+        when(assetBlobRepository.findById(hash)).thenReturn(Optional.of(blob));
+
+        Path lod = Files.writeString(assetBlobService.resolveVariant(hash, "lod1"), "lod");
+
+        assetBlobService.release(hash);
+
+        verify(assetBlobRepository).decrementRefCount(hash);
+        verify(assetBlobRepository).delete(blob);
+        assertFalse(Files.exists(assetBlobService.resolve(hash)));
+        assertFalse(Files.exists(lod));
+        assertTrue(Files.exists(assetRoot.resolve("mug.glb")));
+    }
+
+    @Test
+    void release_filesDeletedOnlyAfterCommit() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        String hash = assetBlobService.store("mug.glb");
+        AssetBlob blob = AssetBlob.builder().hash(hash).size(4L).refCount(0).build();
+        when(assetBlobRepository.findById(hash)).thenReturn(Optional.of(blob));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assetBlobService.release(hash);
+
+            verify(assetBlobRepository).delete(blob);
+            assertTrue(Files.exists(assetBlobService.resolve(hash)));
+            // Rolled back: the files stay
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertTrue(Files.exists(assetBlobService.resolve(hash)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertFalse(Files.exists(assetBlobService.resolve(hash)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void release_blobStoredAgainIsKept() throws Exception {
+        Files.writeString(assetRoot.resolve("mug.glb"), "mesh");
+        String hash = assetBlobService.store("mug.glb");
+        when(assetBlobRepository.findById(hash)).thenReturn(Optional.of(AssetBlob.builder().hash(hash).refCount(0).build()));
+        // Read under the row lock: a concurrent store referenced it again
+        when(assetBlobRepository.findLockedByHash(hash)).thenReturn(Optional.of(AssetBlob.builder().hash(hash).refCount(1).build()));
+
+        assetBlobService.release(hash);
+
+        assertTrue(Files.exists(assetBlobService.resolve(hash)));
+    }
+
+    @Test
+    void release_sharedBlobIsKept() throws Exception {
+        AssetBlob blob = AssetBlob.builder().hash(MESH_HASH).size(4L).refCount(1).build();
+        when(assetBlobRepository.findById(MESH_HASH)).thenReturn(Optional.of(blob));
+
+        assetBlobService.release(MESH_HASH);
+
+        verify(assetBlobRepository, never()).delete(any(AssetBlob.class));
+    }
+
+    @Test
+    void resolveVariant_nextToBlob() {
+        Path variant = assetBlobService.resolveVariant(MESH_HASH, "lod2");
+
+        assertEquals(assetBlobService.resolve(MESH_HASH).resolveSibling(MESH_HASH + ".lod2.glb"), variant);
+        assertThrows(BadRequestException.class, () -> assetBlobService.resolveVariant(MESH_HASH, "../x"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetModelCacheStatsDTO;
+import com.sideforge.dto.asset.AssetModelFileDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetModelCacheImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void get_missThenHit() throws Exception {
+        AssetModelCacheImpl cache = cache(100, 100);
+        AssetModelFileDTO model = model("mug.glb", "mesh-bytes");
+
+        ByteBuffer first = cache.get(model);
+        ByteBuffer second = cache.get(model);
+
+        assertEquals("mesh-bytes", StandardCharsets.US_ASCII.decode(first).toString());
+        assertEquals("mesh-bytes", StandardCharsets.US_ASCII.decode(second).toString());
+        assertTrue(second.isReadOnly());
+        AssetModelCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(10, stats.getUsedBytes());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedOverBudget() throws Exception {
+        AssetModelCacheImpl cache = cache(20, 20);
+        AssetModelFileDTO mug = model("mug.glb", "0123456789");
+        AssetModelFileDTO shirt = model("shirt.glb", "0123456789");
+        AssetModelFileDTO pad = model("pad.glb", "0123456789");
+
+        cache.get(mug);
+        cache.get(shirt);
+        cache.get(mug);
+        cache.get(pad);
+
+        AssetModelCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+        assertEquals(20, stats.getUsedBytes());
+
+        // mug was used more recently than shirt, so it is still cached
+        cache.get(mug);
+        assertEquals(2, cache.getStats().getHits());
+    }
+
+    @Test
+    void get_largeFileIsNotCached() throws Exception {
+        AssetModelCacheImpl cache = cache(100, 5);
+
+        assertNull(cache.get(model("big.glb", "0123456789")));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    // Helper to build a cache with the given budgets
+    private static AssetModelCacheImpl cache(long maxBytes, long maxFileBytes) {
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setCacheMaxBytes(maxBytes);
+        properties.setCacheMaxFileBytes(maxFileBytes);
+        return new AssetModelCacheImpl(properties);
+    }
+
+    // Helper to write a model file and describe it
+    private AssetModelFileDTO model(String name, String content) throws Exception {
+        Path file = Files.writeString(tempDir.resolve(name), content);
+        return AssetModelFileDTO.builder()
+                .path(file)
+                .contentLength(Files.size(file))
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .build();
+    }
+}
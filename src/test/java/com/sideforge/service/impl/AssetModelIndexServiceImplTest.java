@@ -0,0 +1,166 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.asset.AssetModelIndexDTO;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.AssetModelIndex;
+import com.sideforge.model.AssetModelNode;
+import com.sideforge.repository.AssetModelIndexRepository;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.util.glb.GlbTestFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetModelIndexServiceImplTest {
+
+    private static final String MUG_JSON = """
+            {"asset":{"version":"2.0"},
+             "buffers":[{"byteLength":48}],
+             "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36,"target":34962},
+                            {"buffer":0,"byteOffset":36,"byteLength":12,"target":34963}],
+             "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3","min":[-1,0,-2],"max":[1,2,0]},
+                          {"bufferView":1,"componentType":5125,"count":3,"type":"SCALAR"}],
+             "meshes":[{"name":"Body","primitives":[{"attributes":{"POSITION":0},"indices":1}]}],
+             "materials":[{"name":"Ceramic"},{}],
+             "nodes":[{"name":"Mug_Handle","mesh":0},{"name":"mug-left-side"},{"name":"Root"}]}""";
+
+    @Mock
+    private AssetModelIndexRepository assetModelIndexRepository;
+
+    @Mock
+    private AssetModelService assetModelService;
+
+    @InjectMocks
+    private AssetModelIndexServiceImpl assetModelIndexService;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void indexAsset_success() throws Exception {
+        Asset asset = Asset.builder().id(1L).name("Mug").build();
+        Path glb = writeGlb(MUG_JSON, 48);
+        when(assetModelService.resolvePath(asset)).thenReturn(glb);
+        when(assetModelIndexRepository.findByAsset_Id(1L)).thenReturn(Optional.empty());
+        when(assetModelIndexRepository.save(any(AssetModelIndex.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AssetModelIndex index = assetModelIndexService.indexAsset(asset);
+
+        assertSame(asset, index.getAsset());
+        assertEquals(2, index.getGlbVersion());
+        assertEquals(Files.size(glb), index.getFileLength());
+        assertEquals(2, index.getAccessorCount());
+        assertEquals(48L, index.getBinChunkLength());
+        assertEquals(1, index.getMeshes().size());
+        assertEquals(3L, index.getMeshes().get(0).getVertexCount());
+        assertEquals(1L, index.getMeshes().get(0).getTriangleCount());
+        assertEquals(-2.0, index.getMinZ());
+        assertEquals(2.0, index.getMaxY());
+        assertEquals(List.of("Ceramic", "material_1"), index.getMaterialNames());
+        assertEquals(List.of(Part.HANDLE, Part.LEFT_SIDE),
+                index.getNodes().stream().map(AssetModelNode::getPart).limit(2).toList());
+        assertNull(index.getNodes().get(2).getPart());
+        // Buffer 0 is the BIN chunk, so views carry absolute file offsets
+        assertEquals(index.getBinChunkOffset() + 36, index.getBufferViews().get(1).getFileOffset());
+    }
+
+    @Test
+    void indexAsset_replacesExistingIndex() throws Exception {
+        Asset asset = Asset.builder().id(1L).name("Mug").build();
+        AssetModelIndex existing = AssetModelIndex.builder().id(7L).asset(asset).build();
+        when(assetModelService.resolvePath(asset)).thenReturn(writeGlb(MUG_JSON, 48));
+        when(assetModelIndexRepository.findByAsset_Id(1L)).thenReturn(Optional.of(existing));
+        when(assetModelIndexRepository.save(any(AssetModelIndex.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AssetModelIndex index = assetModelIndexService.indexAsset(asset);
+
+        assertSame(existing, index);
+        assertEquals(7L, index.getId());
+        assertEquals(3, index.getNodes().size());
+    }
+
+    @Test
+    void indexAsset_noLocalFile() {
+        Asset asset = Asset.builder().id(1L).name("Mug").build();
+        when(assetModelService.resolvePath(asset)).thenReturn(tempDir.resolve("missing.glb"));
+
+        assertNull(assetModelIndexService.indexAsset(asset));
+        verify(assetModelIndexRepository).deleteByAsset_Id(1L);
+        verify(assetModelIndexRepository, never()).save(any());
+    }
+
+    @Test
+    void indexAsset_invalidGlb() throws Exception {
+        Asset asset = Asset.builder().id(1L).name("Mug").build();
+        Path file = Files.writeString(tempDir.resolve("bad.glb"), "not a glb file");
+        when(assetModelService.resolvePath(asset)).thenReturn(file);
+
+        assertThrows(BadRequestException.class, () -> assetModelIndexService.indexAsset(asset));
+        verify(assetModelIndexRepository, never()).save(any());
+    }
+
+    @Test
+    void checkModel_rejectsInvalidGlb() throws Exception {
+        Path bad = Files.writeString(tempDir.resolve("bad.glb"), "not a glb file");
+        Path good = writeGlb(MUG_JSON, 48);
+        when(assetModelService.resolvePath(argThat(asset -> asset != null && "bad.glb".equals(asset.getGlbPath())))).thenReturn(bad);
+        when(assetModelService.resolvePath(argThat(asset -> asset != null && "good.glb".equals(asset.getGlbPath())))).thenReturn(good);
+        when(assetModelService.resolvePath(argThat(asset -> asset != null && "remote.glb".equals(asset.getGlbPath()))))
+                .thenReturn(tempDir.resolve("remote.glb"));
+
+        assertThrows(BadRequestException.class, () -> assetModelIndexService.checkModel("bad.glb"));
+        assertDoesNotThrow(() -> assetModelIndexService.checkModel("good.glb"));
+        assertDoesNotThrow(() -> assetModelIndexService.checkModel("remote.glb"));
+        verifyNoInteractions(assetModelIndexRepository);
+    }
+
+    @Test
+    void getIndex_success() {
+        AssetModelIndex index = AssetModelIndex.builder()
+                .asset(Asset.builder().id(1L).build())
+                .glbVersion(2)
+                .jsonChunk("{}")
+                .meshes(List.of())
+                .nodes(List.of(AssetModelNode.builder().nodeIndex(0).name("Mug_Handle").part(Part.HANDLE).build()))
+                .materialNames(List.of())
+                .bufferViews(List.of())
+                .build();
+        when(assetModelIndexRepository.findByAsset_Id(1L)).thenReturn(Optional.of(index));
+
+        AssetModelIndexDTO dto = assetModelIndexService.getIndex(1L, false);
+
+        assertEquals(1L, dto.getAssetId());
+        assertEquals(List.of("Mug_Handle"), dto.getPartNodes().get(Part.HANDLE));
+        assertNull(dto.getJsonChunk());
+        assertEquals("{}", assetModelIndexService.getIndex(1L, true).getJsonChunk());
+    }
+
+    @Test
+    void getIndex_notFound() {
+        when(assetModelIndexRepository.findByAsset_Id(1L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> assetModelIndexService.getIndex(1L, false));
+    }
+
+    // Helper to write a GLB with the given JSON chunk and a zero-filled BIN chunk
+    private Path writeGlb(String json, int binLength) throws Exception {
+        return GlbTestFiles.write(tempDir.resolve("model.glb"), json, ByteBuffer.allocate(binLength));
+    }
+}
@@ -0,0 +1,141 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.util.glb.GlbAccessor;
+import com.sideforge.util.glb.GlbBuilder;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbPrimitives;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetModelLodServiceImplTest {
+
+    private static final String HASH = "b".repeat(64);
+
+    @Mock
+    private AssetBlobService assetBlobService;
+
+    @TempDir
+    Path blobDir;
+
+    private AssetModelLodServiceImpl assetModelLodService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setLodRatios(List.of(0.5, 0.25));
+        properties.setLodMinTriangles(100);
+        when(assetBlobService.resolve(anyString()))
+                .thenAnswer(invocation -> blobDir.resolve(invocation.getArgument(0) + ".glb"));
+        when(assetBlobService.resolveVariant(anyString(), anyString()))
+                .thenAnswer(invocation -> blobDir.resolve(invocation.getArgument(0) + "." + invocation.getArgument(1) + ".glb"));
+        assetModelLodService = new AssetModelLodServiceImpl(assetBlobService, properties);
+    }
+
+    @Test
+    void generateLods_writesDecimatedLevels() throws Exception {
+        writeGridGlb(blobDir.resolve(HASH + ".glb"), 30);
+        long original = GlbPrimitives.triangleCount(GlbFile.read(blobDir.resolve(HASH + ".glb")));
+
+        int levels = assetModelLodService.generateLods(HASH);
+
+        assertEquals(2, levels);
+        assertEquals(2, assetModelLodService.availableLevel(HASH, 5));
+        assertEquals(1, assetModelLodService.availableLevel(HASH, 1));
+        long previous = original;
+        for (int level = 1; level <= 2; level++) {
+            Path lod = blobDir.resolve(HASH + ".lod" + level + ".glb");
+            try (FileChannel channel = FileChannel.open(lod, StandardOpenOption.READ)) {
+                GlbFile glb = GlbFile.read(channel);
+                ByteBuffer bin = glb.mapBin(channel);
+                long triangles = GlbPrimitives.triangleCount(glb);
+                assertTrue(triangles < previous * 0.9, "level " + level + " has " + triangles + " triangles");
+
+                // Vertices were compacted and every attribute kept in step
+                GlbAccessor position = GlbAccessor.of(glb.getJson(), 0, bin);
+                GlbAccessor normal = GlbAccessor.of(glb.getJson(), 1, bin);
+                GlbAccessor indices = GlbAccessor.of(glb.getJson(), 2, bin);
+                assertTrue(position.getCount() < 30 * 30);
+                assertEquals(position.getCount(), normal.getCount());
+                for (int index : indices.toIntArray()) {
+                    assertTrue(index < position.getCount());
+                }
+                assertEquals(0.0, glb.getJson().at("/accessors/0/min/0").asDouble());
+                assertEquals(29.0, glb.getJson().at("/accessors/0/max/0").asDouble());
+                previous = triangles;
+            }
+        }
+    }
+
+    @Test
+    void generateLods_smallModelGetsNone() throws Exception {
+        writeGridGlb(blobDir.resolve(HASH + ".glb"), 5);
+
+        assertEquals(0, assetModelLodService.generateLods(HASH));
+        assertEquals(0, assetModelLodService.availableLevel(HASH, 2));
+        assertFalse(Files.exists(blobDir.resolve(HASH + ".lod1.glb")));
+    }
+
+    @Test
+    void generateLods_missingBlob() {
+        assertEquals(0, assetModelLodService.generateLods(HASH));
+    }
+
+    @Test
+    void availableLevel_unmanagedModel() {
+        assertEquals(0, assetModelLodService.availableLevel(null, 2));
+    }
+
+    // Helper to write a size x size grid (POSITION, NORMAL, indices) with a bumpy surface
+    static void writeGridGlb(Path target, int size) throws Exception {
+        ByteBuffer positions = ByteBuffer.allocate(size * size * 12).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer normals = ByteBuffer.allocate(size * size * 12).order(ByteOrder.LITTLE_ENDIAN);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                positions.putFloat(x).putFloat(y).putFloat((float) (Math.sin(x * 0.3) * Math.cos(y * 0.3)));
+                normals.putFloat(0).putFloat(0).putFloat(1);
+            }
+        }
+        ByteBuffer indices = ByteBuffer.allocate((size - 1) * (size - 1) * 6 * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                int v = y * size + x;
+                indices.putShort((short) v).putShort((short) (v + 1)).putShort((short) (v + size));
+                indices.putShort((short) (v + 1)).putShort((short) (v + size + 1)).putShort((short) (v + size));
+            }
+        }
+
+        ObjectNode json = new ObjectMapper().createObjectNode();
+        json.putObject("asset").put("version", "2.0");
+        GlbBuilder builder = new GlbBuilder(json, null);
+        int position = builder.addAccessor(builder.addBufferView(positions.flip(), null, 34962),
+                GlbAccessor.FLOAT, false, size * size, "VEC3",
+                new double[]{0, 0, -1}, new double[]{size - 1, size - 1, 1});
+        int normal = builder.addAccessor(builder.addBufferView(normals.flip(), null, 34962),
+                GlbAccessor.FLOAT, false, size * size, "VEC3", null, null);
+        int index = builder.addAccessor(builder.addBufferView(indices.flip(), null, 34963),
+                GlbAccessor.UNSIGNED_SHORT, false, indices.limit() / 2, "SCALAR", null, null);
+        ObjectNode primitive = json.putArray("meshes").addObject().putArray("primitives").addObject();
+        primitive.putObject("attributes").put("POSITION", position).put("NORMAL", normal);
+        primitive.put("indices", index);
+        json.putArray("nodes").addObject().put("mesh", 0);
+        builder.write(target);
+    }
+}
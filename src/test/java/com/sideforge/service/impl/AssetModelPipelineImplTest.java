@@ -0,0 +1,48 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.event.AssetModelChangedEvent;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.service.interfaces.AssetModelQuantizationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import static org.mockito.Mockito.*;
+
+class AssetModelPipelineImplTest {
+
+    @Mock
+    private AssetModelLodService assetModelLodService;
+
+    @Mock
+    private AssetModelQuantizationService assetModelQuantizationService;
+
+    @InjectMocks
+    private AssetModelPipelineImpl assetModelPipeline;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void onModelChanged_generatesLodsThenQuantizesEachLevel() {
+        String hash = "d".repeat(64);
+        when(assetModelLodService.generateLods(hash)).thenReturn(2);
+
+        assetModelPipeline.onModelChanged(new AssetModelChangedEvent(1L, hash));
+
+        InOrder order = inOrder(assetModelLodService, assetModelQuantizationService);
+        order.verify(assetModelLodService).generateLods(hash);
+        order.verify(assetModelQuantizationService).quantize(hash, 0);
+        order.verify(assetModelQuantizationService).quantize(hash, 1);
+        order.verify(assetModelQuantizationService).quantize(hash, 2);
+    }
+
+    @Test
+    void onModelChanged_unmanagedModel() {
+        assetModelPipeline.onModelChanged(new AssetModelChangedEvent(2L, null));
+
+        verifyNoInteractions(assetModelLodService, assetModelQuantizationService);
+    }
+}
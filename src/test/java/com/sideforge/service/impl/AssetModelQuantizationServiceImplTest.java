@@ -0,0 +1,100 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.util.glb.GlbAccessor;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbQuantizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetModelQuantizationServiceImplTest {
+
+    private static final String HASH = "c".repeat(64);
+
+    @Mock
+    private AssetBlobService assetBlobService;
+
+    @Mock
+    private AssetModelLodService assetModelLodService;
+
+    @TempDir
+    Path blobDir;
+
+    private AssetModelQuantizationServiceImpl assetModelQuantizationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(assetBlobService.resolveVariant(anyString(), anyString()))
+                .thenAnswer(invocation -> blobDir.resolve(invocation.getArgument(0) + "." + invocation.getArgument(1) + ".glb"));
+        when(assetModelLodService.resolveLevel(HASH, 0)).thenReturn(blobDir.resolve(HASH + ".glb"));
+        assetModelQuantizationService = new AssetModelQuantizationServiceImpl(assetBlobService, assetModelLodService);
+    }
+
+    @Test
+    void quantize_writesSmallerVariantThatDequantizes() throws Exception {
+        Path original = blobDir.resolve(HASH + ".glb");
+        AssetModelLodServiceImplTest.writeGridGlb(original, 30);
+
+        assertTrue(assetModelQuantizationService.quantize(HASH, 0));
+
+        Path variant = assetModelQuantizationService.findQuantized(HASH, 0);
+        assertEquals(blobDir.resolve(HASH + ".q.glb"), variant);
+        assertTrue(Files.size(variant) < Files.size(original));
+        try (FileChannel channel = FileChannel.open(variant, StandardOpenOption.READ)) {
+            GlbFile glb = GlbFile.read(channel);
+            ByteBuffer bin = glb.mapBin(channel);
+            JsonNode json = glb.getJson();
+            assertEquals(GlbQuantizer.EXTENSION, json.at("/extensionsRequired/0").asText());
+
+            // The mesh moved to a child node carrying the dequantization transform
+            assertFalse(json.at("/nodes/0").has("mesh"));
+            JsonNode child = json.at("/nodes/" + json.at("/nodes/0/children/0").asInt());
+            assertEquals(0, child.get("mesh").asInt());
+            double[] translation = {child.at("/translation/0").asDouble(), child.at("/translation/1").asDouble(),
+                    child.at("/translation/2").asDouble()};
+            double scale = child.at("/scale/0").asDouble();
+
+            JsonNode primitive = json.at("/meshes/0/primitives/0");
+            GlbAccessor position = GlbAccessor.of(json, primitive.at("/attributes/POSITION").asInt(), bin);
+            GlbAccessor normal = GlbAccessor.of(json, primitive.at("/attributes/NORMAL").asInt(), bin);
+            assertEquals(GlbAccessor.SHORT, position.getComponentType());
+            assertEquals(GlbAccessor.BYTE, normal.getComponentType());
+            assertEquals(30 * 30, position.getCount());
+            double tolerance = scale / 32767 + 1e-6;
+            for (int v = 0; v < position.getCount(); v++) {
+                double x = translation[0] + scale * position.getFloat(v, 0);
+                double y = translation[1] + scale * position.getFloat(v, 1);
+                double z = translation[2] + scale * position.getFloat(v, 2);
+                assertEquals(Math.rint(x), x, tolerance);
+                assertEquals(Math.rint(y), y, tolerance);
+                assertEquals(Math.sin(Math.rint(x) * 0.3) * Math.cos(Math.rint(y) * 0.3), z, tolerance);
+                assertEquals(1.0, normal.getFloat(v, 2), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void quantize_missingSource() {
+        assertFalse(assetModelQuantizationService.quantize(HASH, 0));
+        assertNull(assetModelQuantizationService.findQuantized(HASH, 0));
+    }
+
+    @Test
+    void findQuantized_unmanagedModel() {
+        assertNull(assetModelQuantizationService.findQuantized(null, 0));
+    }
+}
@@ -0,0 +1,169 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetModelFileDTO;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelLodService;
+import com.sideforge.service.interfaces.AssetModelQuantizationService;
+import com.sideforge.util.PrecompressedFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetModelServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetBlobService assetBlobService;
+
+    @Mock
+    private AssetModelLodService assetModelLodService;
+
+    @Mock
+    private AssetModelQuantizationService assetModelQuantizationService;
+
+    @TempDir
+    Path assetRoot;
+
+    private AssetModelServiceImpl assetModelService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(assetRoot.toString());
+        assetModelService = new AssetModelServiceImpl(assetRepository, assetBlobService, assetModelLodService,
+                assetModelQuantizationService, properties);
+    }
+
+    @Test
+    void getModel_success() throws Exception {
+        Files.createDirectories(assetRoot.resolve("3d"));
+        Files.write(assetRoot.resolve("3d/mug.glb"), new byte[]{1, 2, 3, 4});
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("/3d/mug.glb").build()));
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 0, false, false);
+
+        assertEquals(assetRoot.resolve("3d/mug.glb").toAbsolutePath().normalize(), model.getPath());
+        assertEquals(4, model.getContentLength());
+        assertTrue(model.getEtag().startsWith("\"4-"));
+    }
+
+    @Test
+    void getModel_fromBlobWithStrongEtag() throws Exception {
+        String hash = "a".repeat(64);
+        Path blob = Files.write(assetRoot.resolve("blob.glb"), new byte[]{1, 2});
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("mug.glb").contentHash(hash).build()));
+        when(assetBlobService.resolve(hash)).thenReturn(blob);
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 0, false, false);
+
+        assertEquals(blob, model.getPath());
+        assertEquals("\"" + hash + "\"", model.getEtag());
+    }
+
+    @Test
+    void getModel_closestGeneratedLod() throws Exception {
+        String hash = "a".repeat(64);
+        Path lod = Files.write(assetRoot.resolve("blob.lod1.glb"), new byte[]{1});
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("mug.glb").contentHash(hash).build()));
+        when(assetModelLodService.availableLevel(hash, 3)).thenReturn(1);
+        when(assetModelLodService.resolveLevel(hash, 1)).thenReturn(lod);
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 3, false, false);
+
+        assertEquals(lod, model.getPath());
+        assertEquals(1, model.getLod());
+        assertEquals("\"" + hash + "-lod1\"", model.getEtag());
+    }
+
+    @Test
+    void getModel_quantizedVariant() throws Exception {
+        String hash = "a".repeat(64);
+        Path lod = Files.write(assetRoot.resolve("blob.lod1.glb"), new byte[]{1, 2});
+        Path quantized = Files.write(assetRoot.resolve("blob.lod1-q.glb"), new byte[]{1});
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("mug.glb").contentHash(hash).build()));
+        when(assetModelLodService.availableLevel(hash, 1)).thenReturn(1);
+        when(assetModelLodService.resolveLevel(hash, 1)).thenReturn(lod);
+        when(assetModelQuantizationService.findQuantized(hash, 1)).thenReturn(quantized);
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 1, true, false);
+        AssetModelFileDTO plain = assetModelService.getModel(1L, 1, false, false);
+
+        assertEquals(quantized, model.getPath());
+        assertTrue(model.isQuantized());
+        assertEquals("\"" + hash + "-lod1-q\"", model.getEtag());
+        assertEquals(lod, plain.getPath());
+        assertFalse(plain.isQuantized());
+    }
+
+    @Test
+    void getModel_precompressedGzip() throws Exception {
+        String hash = "a".repeat(64);
+        Path blob = Files.write(assetRoot.resolve("blob.glb"), "glTF".repeat(500).getBytes());
+        PrecompressedFiles.gzip(blob);
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("mug.glb").contentHash(hash).build()));
+        when(assetBlobService.resolve(hash)).thenReturn(blob);
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 0, false, true);
+        AssetModelFileDTO identity = assetModelService.getModel(1L, 0, false, false);
+
+        assertEquals(assetRoot.resolve("blob.glb.gz"), model.getPath());
+        assertEquals("gzip", model.getContentEncoding());
+        assertEquals(Files.size(model.getPath()), model.getContentLength());
+        assertEquals("\"" + hash + "-gzip\"", model.getEtag());
+        assertEquals(blob, identity.getPath());
+        assertNull(identity.getContentEncoding());
+    }
+
+    @Test
+    void getModel_unmanagedFileHasNoLod() throws Exception {
+        Files.write(assetRoot.resolve("mug.glb"), new byte[]{1, 2});
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("mug.glb").build()));
+
+        AssetModelFileDTO model = assetModelService.getModel(1L, 2, false, false);
+
+        assertEquals(assetRoot.resolve("mug.glb"), model.getPath());
+        assertEquals(0, model.getLod());
+    }
+
+    @Test
+    void getModel_assetNotFound() {
+        when(assetRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> assetModelService.getModel(2L, 0, false, false));
+    }
+
+    @Test
+    void getModel_fileMissing() {
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("missing.glb").build()));
+        assertThrows(ResourceNotFoundException.class, () -> assetModelService.getModel(1L, 0, false, false));
+    }
+
+    @Test
+    void getModel_pathOutsideRoot() {
+        when(assetRepository.findById(1L))
+                .thenReturn(Optional.of(Asset.builder().id(1L).glbPath("../../etc/passwd").build()));
+        assertThrows(BadRequestException.class, () -> assetModelService.getModel(1L, 0, false, false));
+    }
+}
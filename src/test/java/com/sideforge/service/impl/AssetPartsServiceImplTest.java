@@ -0,0 +1,115 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.AssetPartsDTO;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.parts.DesignValidator;
+import com.sideforge.util.parts.PartsConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetPartsServiceImplTest {
+
+    private static final String CONFIG = "{\"handle\":{\"colors\":[\"white\",\"blue\"]},\"base\":false}";
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    private AssetPartsServiceImpl assetPartsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setPartsCacheSize(2);
+        assetPartsService = new AssetPartsServiceImpl(assetRepository, properties);
+    }
+
+    @Test
+    void getPartsConfig_cachedPerVersion() {
+        Asset asset = asset(1L, 0L, CONFIG);
+
+        PartsConfig first = assetPartsService.getPartsConfig(asset);
+        assertSame(first, assetPartsService.getPartsConfig(asset(1L, 0L, CONFIG)));
+
+        // A new version is parsed again
+        PartsConfig updated = assetPartsService.getPartsConfig(asset(1L, 1L, "{\"interior\":true}"));
+        assertNotSame(first, updated);
+        assertEquals(Set.of(Part.INTERIOR), updated.getCustomizableParts());
+    }
+
+    @Test
+    void getPartsConfig_boundedLru() {
+        PartsConfig first = assetPartsService.getPartsConfig(asset(1L, 0L, CONFIG));
+        assetPartsService.getPartsConfig(asset(2L, 0L, CONFIG));
+        assetPartsService.getPartsConfig(asset(1L, 0L, CONFIG));
+        assetPartsService.getPartsConfig(asset(3L, 0L, CONFIG));
+
+        // Asset 1 was used more recently than asset 2, so asset 2 was evicted
+        assertSame(first, assetPartsService.getPartsConfig(asset(1L, 0L, CONFIG)));
+    }
+
+    @Test
+    void getParts_readsOnlyVersionWhenCached() {
+        Asset asset = asset(1L, 4L, CONFIG);
+        when(assetRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+
+        AssetPartsDTO first = assetPartsService.getParts(1L);
+        AssetPartsDTO second = assetPartsService.getParts(1L);
+
+        assertEquals(Set.of(Part.HANDLE), first.getCustomizableParts());
+        assertEquals(4L, second.getVersion());
+        verify(assetRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getParts_assetNotFound() {
+        when(assetRepository.findVersionById(9L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> assetPartsService.getParts(9L));
+    }
+
+    @Test
+    void validateDesign_partsAndColors() {
+        Asset asset = asset(1L, 0L, CONFIG);
+
+        assetPartsService.validateDesign(asset, colors("{\"handle\":\"Blue\"}"));
+        assertThrows(BadRequestException.class, () -> assetPartsService.validateDesign(asset, colors("{\"handle\":\"red\"}")));
+        assertThrows(BadRequestException.class, () -> assetPartsService.validateDesign(asset, colors("{\"base\":\"white\"}")));
+        assertThrows(BadRequestException.class, () -> assetPartsService.validateDesign(asset, colors("{\"sleeve\":\"white\"}")));
+    }
+
+    @Test
+    void validateDesign_assetWithoutPartsAcceptsAnything() {
+        assetPartsService.validateDesign(asset(1L, 0L, "{\"color\":\"white\"}"), colors("{\"sleeve\":\"black\"}"));
+        assetPartsService.validateDesign(asset(2L, 0L, null), colors("{\"sleeve\":\"black\"}"));
+    }
+
+    @Test
+    void getDesignValidator_compiledOncePerVersion() {
+        DesignValidator first = assetPartsService.getDesignValidator(asset(1L, 0L, CONFIG));
+
+        assertSame(first, assetPartsService.getDesignValidator(asset(1L, 0L, CONFIG)));
+        assertNotSame(first, assetPartsService.getDesignValidator(asset(1L, 1L, CONFIG)));
+    }
+
+    private static DesignConfig colors(String partsColorsJson) {
+        return DesignConfig.of(null, partsColorsJson, null, null);
+    }
+
+    private static Asset asset(Long id, Long version, String partsConfigJson) {
+        return Asset.builder().id(id).version(version).name("Mug").partsConfigJson(partsConfigJson).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.asset.AssetResponseDTO;
+import com.sideforge.event.AssetChangedEvent;
+import com.sideforge.model.Asset;
+import com.sideforge.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.data.domain.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AssetSearchServiceImplTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @InjectMocks
+    private AssetSearchServiceImpl assetSearchService;
+
+    private final Asset mug = Asset.builder().id(1L).name("Ceramic Mug").description("White mug").build();
+    private final Asset shirt = Asset.builder().id(2L).name("T-Shirt").description("Mug print").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void rebuild_indexesAllAssets() {
+        when(assetRepository.streamAllSearchFields()).thenReturn(Stream.of(view(mug), view(shirt)));
+        when(assetRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(shirt, mug));
+
+        assetSearchService.rebuild();
+        Page<AssetResponseDTO> page = assetSearchService.search("mug", PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Ceramic Mug", "T-Shirt"), page.map(AssetResponseDTO::getName).getContent());
+        verify(assetRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void onAssetChanged_updatesIndex() {
+        assetSearchService.onAssetChanged(AssetChangedEvent.saved(1L, "Ceramic Mug", "White mug"));
+        when(assetRepository.findAllById(List.of(1L))).thenReturn(List.of(mug));
+
+        assertEquals(1, assetSearchService.search("ceramc", PageRequest.of(0, 10)).getTotalElements());
+
+        assetSearchService.onAssetChanged(AssetChangedEvent.deleted(1L));
+        assertEquals(0, assetSearchService.search("ceramic", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private static AssetRepository.SearchView view(Asset asset) {
+        return new AssetRepository.SearchView() {
+            @Override
+            public Long getId() {
+                return asset.getId();
+            }
+
+            @Override
+            public String getName() {
+                return asset.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return asset.getDescription();
+            }
+        };
+    }
+}
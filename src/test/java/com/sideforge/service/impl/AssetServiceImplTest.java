@@ -1,12 +1,18 @@
 package com.sideforge.service.impl;
 
 import com.sideforge.dto.asset.*;
+import com.sideforge.event.AssetChangedEvent;
+import com.sideforge.event.AssetModelChangedEvent;
+import com.sideforge.exception.BadRequestException;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.Asset;
 import com.sideforge.repository.AssetRepository;
+import com.sideforge.service.interfaces.AssetBlobService;
+import com.sideforge.service.interfaces.AssetModelIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.*;
@@ -19,6 +25,15 @@ class AssetServiceImplTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Mock
+    private AssetBlobService assetBlobService;
+
+    @Mock
+    private AssetModelIndexService assetModelIndexService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AssetServiceImpl assetService;
 
@@ -50,6 +65,7 @@ class AssetServiceImplTest {
 
         AssetResponseDTO response = assetService.createAsset(dto);
 
+        verify(assetBlobService).store("mug.glb");
         assertEquals("Mug", response.getName());
         assertEquals("White mug", response.getDescription());
         assertEquals("mug.glb", response.getGlbPath());
@@ -119,7 +135,7 @@ class AssetServiceImplTest {
         when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
         when(assetRepository.save(any(Asset.class))).thenReturn(asset);
 
-        AssetResponseDTO response = assetService.updateAsset(1L, dto);
+        AssetResponseDTO response = assetService.updateAsset(1L, dto, null);
 
         assertEquals("Updated mug", response.getName());
         assertEquals("Updated description", response.getDescription());
@@ -132,7 +148,7 @@ class AssetServiceImplTest {
     void updateAsset_notFound() {
         AssetUpdateDTO dto = AssetUpdateDTO.builder().build();
         when(assetRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> assetService.updateAsset(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> assetService.updateAsset(1L, dto, null));
     }
 
     @Test
@@ -145,12 +161,92 @@ class AssetServiceImplTest {
         verify(assetRepository).delete(asset);
     }
 
+    @Test
+    void createAsset_storesContentHash() {
+        AssetRequestDTO dto = AssetRequestDTO.builder().name("Mug").glbPath("mug.glb").build();
+        when(assetBlobService.store("mug.glb")).thenReturn("abc");
+        when(assetRepository.save(any(Asset.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AssetResponseDTO response = assetService.createAsset(dto);
+
+        assertEquals("abc", response.getContentHash());
+        verify(assetModelIndexService).indexAsset(any(Asset.class));
+        verify(eventPublisher).publishEvent(new AssetModelChangedEvent(null, "abc"));
+        verify(eventPublisher).publishEvent(AssetChangedEvent.saved(null, "Mug", null));
+    }
+
+    @Test
+    void createAsset_invalidGlbStoresNothing() {
+        AssetRequestDTO dto = AssetRequestDTO.builder().name("Mug").glbPath("bad.glb").build();
+        doThrow(new BadRequestException("Invalid GLB file")).when(assetModelIndexService).checkModel("bad.glb");
+
+        assertThrows(BadRequestException.class, () -> assetService.createAsset(dto));
+        verify(assetBlobService, never()).store(any());
+        verify(assetRepository, never()).save(any(Asset.class));
+        verify(assetRepository, never()).delete(any(Asset.class));
+    }
+
+    @Test
+    void updateAsset_newModelReleasesPreviousBlob() {
+        Asset asset = Asset.builder().id(1L).name("Mug").glbPath("mug.glb").contentHash("old").build();
+        AssetUpdateDTO dto = AssetUpdateDTO.builder().name("Mug").glbPath("mug2.glb").build();
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+        when(assetBlobService.isStored("old", "mug2.glb")).thenReturn(false);
+        when(assetBlobService.store("mug2.glb")).thenReturn("new");
+        when(assetRepository.save(any(Asset.class))).thenReturn(asset);
+
+        AssetResponseDTO response = assetService.updateAsset(1L, dto, null);
+
+        assertEquals("new", response.getContentHash());
+        verify(assetBlobService).release("old");
+        verify(assetModelIndexService).indexAsset(asset);
+        verify(eventPublisher).publishEvent(new AssetModelChangedEvent(1L, "new"));
+    }
+
+    @Test
+    void updateAsset_sameModelKeepsBlob() {
+        Asset asset = Asset.builder().id(1L).name("Mug").glbPath("mug.glb").contentHash("abc").build();
+        AssetUpdateDTO dto = AssetUpdateDTO.builder().name("Mug 2").glbPath("mug.glb").build();
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+        when(assetBlobService.isStored("abc", "mug.glb")).thenReturn(true);
+        when(assetRepository.save(any(Asset.class))).thenReturn(asset);
+
+        assetService.updateAsset(1L, dto, null);
+
+        verify(assetBlobService, never()).store(any());
+        verify(assetBlobService, never()).release(any());
+        verify(assetModelIndexService, never()).indexAsset(any());
+        verify(eventPublisher, never()).publishEvent(any(AssetModelChangedEvent.class));
+        verify(eventPublisher).publishEvent(AssetChangedEvent.saved(1L, "Mug 2", null));
+    }
+
+    @Test
+    void deleteAsset_releasesBlob() {
+        Asset asset = Asset.builder().id(1L).contentHash("abc").build();
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+
+        assetService.deleteAsset(1L);
+
+        verify(assetBlobService).release("abc");
+        verify(eventPublisher).publishEvent(AssetChangedEvent.deleted(1L));
+        verify(assetModelIndexService).deleteIndex(1L);
+    }
+
     @Test
     void deleteAsset_notFound() {
         when(assetRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> assetService.deleteAsset(1L));
     }
 
+    @Test
+    void getAssetSummaries_usesSummaryQuery() {
+        Page<AssetSummaryDTO> page = new PageImpl<>(List.of(AssetSummaryDTO.builder().id(1L).name("PageAsset").build()));
+        when(assetRepository.findSummaries(any(Pageable.class))).thenReturn(page);
+
+        assertSame(page, assetService.getAssetSummaries(PageRequest.of(0, 10)));
+        verify(assetRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void getAssetsPage_success() {
         Asset asset = Asset.builder().id(1L).name("PageAsset").glbPath("p.glb").build();
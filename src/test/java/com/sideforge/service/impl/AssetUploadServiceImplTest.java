@@ -0,0 +1,201 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.asset.*;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.model.AssetUpload;
+import com.sideforge.repository.AssetUploadRepository;
+import com.sideforge.service.interfaces.AssetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AssetUploadServiceImplTest {
+
+    @Mock
+    private AssetUploadRepository assetUploadRepository;
+
+    @Mock
+    private AssetService assetService;
+
+    @TempDir
+    Path assetRoot;
+
+    private AssetUploadServiceImpl assetUploadService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(assetRoot.toString());
+        properties.setUploadChunkSize(4);
+        properties.setUploadMaxBytes(100);
+        assetUploadService = new AssetUploadServiceImpl(assetUploadRepository, assetService, properties);
+        when(assetUploadRepository.save(any(AssetUpload.class))).thenAnswer(invocation -> {
+            AssetUpload upload = invocation.getArgument(0);
+            when(assetUploadRepository.findById(upload.getId())).thenReturn(Optional.of(upload));
+            return upload;
+        });
+        when(assetUploadRepository.addChunk(anyString(), anyInt())).thenAnswer(invocation -> {
+            AssetUpload upload = assetUploadRepository.findById(invocation.getArgument(0)).orElseThrow();
+            upload.getReceivedChunks().add(invocation.getArgument(1));
+            return 1;
+        });
+    }
+
+    @Test
+    void chunksInAnyOrder_commitCreatesAsset() throws Exception {
+        byte[] file = "glTF-0123456789".getBytes();
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(file.length));
+        assertEquals(4, upload.getChunkCount());
+
+        for (int index : new int[]{3, 1, 0, 2}) {
+            sendChunk(upload.getId(), index, file);
+        }
+        assertEquals(List.of(0, 1, 2, 3), assetUploadService.getUpload(upload.getId()).getReceivedChunks());
+        assertTrue(assetUploadService.getUpload(upload.getId()).isComplete());
+
+        when(assetService.createAsset(any(AssetRequestDTO.class)))
+                .thenReturn(AssetResponseDTO.builder().id(7L).build());
+        AssetResponseDTO created = assetUploadService.commitUpload(upload.getId());
+
+        assertEquals(7L, created.getId());
+        String glbPath = "uploads/" + upload.getId() + "/scan.glb";
+        assertArrayEquals(file, Files.readAllBytes(assetRoot.resolve(glbPath)));
+        verify(assetService).createAsset(argThat(request -> request.getGlbPath().equals(glbPath)
+                && request.getName().equals("Scan")));
+        verify(assetUploadRepository).delete(any(AssetUpload.class));
+    }
+
+    @Test
+    void writeChunk_digestMismatchIsNotRecorded() {
+        byte[] file = "0123456789".getBytes();
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(file.length));
+
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 0,
+                new ByteArrayInputStream(file, 0, 4), 4, digest("abcd".getBytes())));
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 0,
+                new ByteArrayInputStream(file, 0, 4), 4, null));
+
+        verify(assetUploadRepository, never()).addChunk(anyString(), anyInt());
+    }
+
+    @Test
+    void writeChunk_badResendKeepsRecordedChunk() throws Exception {
+        byte[] file = "glTF-0123456789".getBytes();
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(file.length));
+        for (int index = 0; index < 4; index++) {
+            sendChunk(upload.getId(), index, file);
+        }
+
+        byte[] corrupt = "XXXX".getBytes();
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 1,
+                new ByteArrayInputStream(corrupt), 4, digest("0123".getBytes())));
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 1,
+                new ByteArrayInputStream(corrupt, 0, 2), -1, digest(Arrays.copyOf(corrupt, 2))));
+
+        when(assetService.createAsset(any(AssetRequestDTO.class)))
+                .thenReturn(AssetResponseDTO.builder().id(7L).build());
+        assetUploadService.commitUpload(upload.getId());
+        assertArrayEquals(file, Files.readAllBytes(assetRoot.resolve("uploads/" + upload.getId() + "/scan.glb")));
+        try (var staged = Files.list(assetRoot.resolve(AssetUploadServiceImpl.UPLOAD_DIR))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void writeChunk_wrongLength() {
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(10));
+        byte[] chunk = "012345".getBytes();
+
+        // Last chunk is 2 bytes; a longer body (with or without Content-Length) is rejected
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 2,
+                new ByteArrayInputStream(chunk), chunk.length, digest(chunk)));
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 2,
+                new ByteArrayInputStream(chunk), -1, digest(chunk)));
+        assertThrows(BadRequestException.class, () -> assetUploadService.writeChunk(upload.getId(), 3,
+                new ByteArrayInputStream(chunk, 0, 2), 2, digest(Arrays.copyOf(chunk, 2))));
+    }
+
+    @Test
+    void commitUpload_missingChunks() {
+        byte[] file = "0123456789".getBytes();
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(file.length));
+        sendChunk(upload.getId(), 0, file);
+
+        assertThrows(BadRequestException.class, () -> assetUploadService.commitUpload(upload.getId()));
+        verifyNoInteractions(assetService);
+    }
+
+    @Test
+    void commitUpload_failedAssetKeepsUpload() {
+        byte[] file = "0123".getBytes();
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(file.length));
+        sendChunk(upload.getId(), 0, file);
+        when(assetService.createAsset(any(AssetRequestDTO.class))).thenThrow(new BadRequestException("Invalid GLB"));
+
+        assertThrows(BadRequestException.class, () -> assetUploadService.commitUpload(upload.getId()));
+
+        assertTrue(Files.exists(assetRoot.resolve(".uploads/" + upload.getId() + ".part")));
+        verify(assetUploadRepository, never()).delete(any(AssetUpload.class));
+    }
+
+    @Test
+    void createUpload_tooLarge() {
+        assertThrows(BadRequestException.class, () -> assetUploadService.createUpload(request(101)));
+    }
+
+    @Test
+    void purgeExpired_deletesOldUploads() {
+        AssetUploadResponseDTO upload = assetUploadService.createUpload(request(4));
+        AssetUpload stored = assetUploadRepository.findById(upload.getId()).orElseThrow();
+        when(assetUploadRepository.findByCreatedAtBefore(any(LocalDateTime.class))).thenReturn(List.of(stored));
+
+        assetUploadService.purgeExpired();
+
+        verify(assetUploadRepository).delete(stored);
+        assertFalse(Files.exists(assetRoot.resolve(".uploads/" + upload.getId() + ".part")));
+    }
+
+    @Test
+    void parseSha256_contentDigestHeader() throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest("x".getBytes());
+        String encoded = Base64.getEncoder().encodeToString(hash);
+
+        assertArrayEquals(hash, AssetUploadServiceImpl.parseSha256("sha-512=:AAAA:, sha-256=:" + encoded + ":"));
+        assertThrows(BadRequestException.class, () -> AssetUploadServiceImpl.parseSha256("sha-256=" + encoded));
+    }
+
+    private static AssetUploadRequestDTO request(long totalSize) {
+        return AssetUploadRequestDTO.builder().name("Scan").fileName("scan.glb").totalSize(totalSize).build();
+    }
+
+    // Helper to send chunk index of file (4-byte chunks) with its Content-Digest
+    private void sendChunk(String id, int index, byte[] file) {
+        byte[] chunk = Arrays.copyOfRange(file, index * 4, Math.min(file.length, index * 4 + 4));
+        assetUploadService.writeChunk(id, index, new ByteArrayInputStream(chunk), chunk.length, digest(chunk));
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            return "sha-256=:" + Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(data)) + ":";
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BakedTextureCacheImplTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+
+    @TempDir
+    Path root;
+
+    private AssetStorageProperties properties;
+    private BakedTextureCacheImpl cache;
+    private final AtomicInteger bakes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new AssetStorageProperties();
+        properties.setRoot(root.toString());
+        properties.setBakeCacheMaxBytes(1024);
+        properties.setBakeCacheDiskMaxBytes(4096);
+        cache = new BakedTextureCacheImpl(properties);
+    }
+
+    @Test
+    void get_bakesOncePerKeyAcrossDesigns() {
+        assertArrayEquals(new byte[]{1}, cache.get(1L, KEY_A, () -> bake(1)));
+        assertArrayEquals(new byte[]{1}, cache.get(2L, KEY_A, () -> bake(2)));
+
+        assertEquals(1, bakes.get());
+        assertTrue(Files.exists(file(KEY_A)));
+    }
+
+    @Test
+    void get_diskTierSurvivesRestart() {
+        cache.get(1L, KEY_A, () -> bake(1));
+
+        BakedTextureCacheImpl restarted = new BakedTextureCacheImpl(properties);
+
+        assertArrayEquals(new byte[]{1}, restarted.get(1L, KEY_A, () -> bake(2)));
+        assertEquals(1, bakes.get());
+    }
+
+    @Test
+    void invalidate_dropsOnlyUnsharedEntries() {
+        cache.get(1L, KEY_A, () -> bake(1));
+        cache.get(2L, KEY_A, () -> bake(1));
+        cache.get(3L, KEY_B, () -> bake(3));
+
+        cache.invalidate(1L);
+        cache.invalidate(3L);
+
+        assertTrue(Files.exists(file(KEY_A)));
+        assertFalse(Files.exists(file(KEY_B)));
+        cache.get(3L, KEY_B, () -> bake(3));
+        assertEquals(3, bakes.get());
+    }
+
+    @Test
+    void get_rebindingDropsPreviousKey() {
+        cache.get(1L, KEY_A, () -> bake(1));
+
+        cache.get(1L, KEY_B, () -> bake(2));
+
+        assertFalse(Files.exists(file(KEY_A)));
+        assertTrue(Files.exists(file(KEY_B)));
+    }
+
+    @Test
+    void get_diskBudgetEvictsLeastRecentlyUsed() {
+        properties.setBakeCacheDiskMaxBytes(3000);
+        cache = new BakedTextureCacheImpl(properties);
+        cache.get(1L, KEY_A, () -> new byte[2000]);
+
+        cache.get(2L, KEY_B, () -> new byte[2000]);
+
+        assertFalse(Files.exists(file(KEY_A)));
+        assertTrue(Files.exists(file(KEY_B)));
+    }
+
+    @Test
+    void get_concurrentMissesShareOneBake() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<byte[]> first = executor.submit(() -> cache.get(1L, KEY_A, () -> {
+                started.countDown();
+                await(release);
+                return bake(1);
+            }));
+            started.await();
+            Future<byte[]> second = executor.submit(() -> cache.get(2L, KEY_A, () -> bake(2)));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertArrayEquals(new byte[]{1}, first.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(new byte[]{1}, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, bakes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private byte[] bake(int value) {
+        bakes.incrementAndGet();
+        return new byte[]{(byte) value};
+    }
+
+    private Path file(String key) {
+        return root.resolve(BakedTextureCacheImpl.BAKE_DIR).resolve(key.substring(0, 2)).resolve(key + ".png");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -129,7 +129,7 @@ class CustomerServiceImplTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
         when(customerRepository.save(any(Customer.class))).thenReturn(customer);
 
-        CustomerResponseDTO response = customerService.updateCustomer(1L, dto);
+        CustomerResponseDTO response = customerService.updateCustomer(1L, dto, null);
 
         assertEquals("updated", response.getUsername());
         assertEquals("updated@mail.com", response.getEmail());
@@ -142,7 +142,7 @@ class CustomerServiceImplTest {
     void updateCustomer_notFound() {
         CustomerUpdateDTO dto = CustomerUpdateDTO.builder().build();
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(1L, dto, null));
     }
 
     @Test
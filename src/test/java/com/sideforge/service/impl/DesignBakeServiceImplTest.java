@@ -0,0 +1,156 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.BakedTextureCache;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.parts.PartsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DesignBakeServiceImplTest {
+
+    @Mock
+    private DesignRepository designRepository;
+
+    @Mock
+    private AssetPartsService assetPartsService;
+
+    @TempDir
+    Path root;
+
+    private BakedTextureCache bakedTextureCache;
+    private DesignBakeServiceImpl designBakeService;
+    private final Asset asset = Asset.builder().id(1L).name("Mug").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(root.toString());
+        properties.setBakeThreads(2);
+        properties.setBakeMaxSize(256);
+        properties.setBakeDefaultSize(128);
+        bakedTextureCache = new BakedTextureCacheImpl(properties);
+        designBakeService = new DesignBakeServiceImpl(designRepository, assetPartsService, bakedTextureCache, properties);
+        when(assetPartsService.getPartsConfig(any())).thenReturn(PartsConfig.parse(
+                "{\"handle\":{\"uv\":[0,0,0.5,0.5]},\"base\":{\"uv\":[0.5,0.5,1,1]},\"interior\":true}"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        designBakeService.shutdown();
+    }
+
+    @Test
+    void bakeTexture_partColorsAndLogoOverTexture() throws Exception {
+        write(solid(512, 512, 0xff808080), "textures/mug.png");
+        write(solid(10, 10, 0xff00ff00), "logos/logo.png");
+        Design design = design("textures/mug.png",
+                "{\"handle\":\"red\",\"interior\":\"blue\"}",
+                "{\"logo\":\"logos/logo.png\",\"part\":\"base\",\"x\":0.5,\"y\":0.5,\"scale\":2}");
+
+        BufferedImage baked = bake(design);
+
+        // Scaled down to bakeMaxSize
+        assertEquals(256, baked.getWidth());
+        assertEquals(0xffff0000, baked.getRGB(10, 10));
+        assertEquals(0xff808080, baked.getRGB(200, 60));
+        // 20x20 texels of the original texture, centered in the base region
+        assertEquals(0xff00ff00, baked.getRGB(192, 192));
+        assertEquals(0xff808080, baked.getRGB(192, 180));
+        // The interior has no UV region
+        assertEquals(0xff808080, baked.getRGB(60, 200));
+    }
+
+    @Test
+    void bakeTexture_textWithoutTexture() throws Exception {
+        Design design = design(null, null, null);
+        design.setConfig(DesignConfig.of(null, null, null,
+                "{\"text\":\"HI\",\"color\":\"white\",\"size\":48,\"part\":\"handle\"}"));
+
+        BufferedImage baked = bake(design);
+
+        assertEquals(128, baked.getWidth());
+        assertEquals(0, baked.getRGB(100, 100) >>> 24);
+        long opaque = 0;
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                opaque += (baked.getRGB(x, y) >>> 24) > 128 ? 1 : 0;
+            }
+        }
+        assertTrue(opaque > 50, "text is drawn in the handle region");
+    }
+
+    @Test
+    void bakeTexture_missingLogoIsNotFound() {
+        Design design = design(null, null, "{\"logo\":\"logos/none.png\"}");
+
+        assertThrows(ResourceNotFoundException.class, () -> designBakeService.getBakedTexture(design.getId()));
+    }
+
+    @Test
+    void getBakedTexture_keyedByBakeInputsOnly() throws Exception {
+        write(solid(64, 64, 0xff808080), "textures/mug.png");
+        Design design = design("textures/mug.png", "{\"handle\":\"red\"}", null);
+        String etag = designBakeService.getBakedTexture(7L).getEtag();
+        Path cached = root.resolve(".bakes").resolve(etag.substring(1, 3)).resolve(etag.substring(1, 65) + ".png");
+        assertTrue(Files.exists(cached));
+
+        // Same color written differently, other material: same bake
+        design.setConfig(DesignConfig.of("{\"material\":\"wool\"}", "{\"handle\":\"#FF0000\"}", null, null));
+        assertEquals(etag, designBakeService.getBakedTexture(7L).getEtag());
+
+        // A new asset version is a new bake, and the old one is dropped
+        asset.setVersion(1L);
+        String versioned = designBakeService.getBakedTexture(7L).getEtag();
+        assertNotEquals(etag, versioned);
+        assertFalse(Files.exists(cached));
+    }
+
+    private BufferedImage bake(Design design) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(designBakeService.getBakedTexture(design.getId()).getPng()));
+    }
+
+    private Design design(String texture, String colors, String logo) {
+        Design design = Design.builder().id(7L).name("Mug design").asset(asset).textureMapUrl(texture)
+                .config(DesignConfig.of(null, colors, logo, null)).build();
+        when(designRepository.findById(7L)).thenReturn(Optional.of(design));
+        return design;
+    }
+
+    private static BufferedImage solid(int width, int height, int argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    private void write(BufferedImage image, String relative) throws Exception {
+        Path path = root.resolve(relative);
+        Files.createDirectories(path.getParent());
+        ImageIO.write(image, "png", path.toFile());
+    }
+}
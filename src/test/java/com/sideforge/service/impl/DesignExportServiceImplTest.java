@@ -0,0 +1,193 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sideforge.dto.design.BakedTextureDTO;
+import com.sideforge.dto.design.DesignGlbExportDTO;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbTestFiles;
+import com.sideforge.util.parts.PartsConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DesignExportServiceImplTest {
+
+    private static final String MUG_JSON = """
+            {"asset":{"version":"2.0"},
+             "buffers":[{"byteLength":42}],
+             "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36},{"buffer":0,"byteOffset":36,"byteLength":6}],
+             "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3"},
+                          {"bufferView":1,"componentType":5123,"count":3,"type":"SCALAR"}],
+             "meshes":[{"primitives":[{"attributes":{"POSITION":0,"TEXCOORD_0":0},"indices":1,"material":0}]},
+                       {"primitives":[{"attributes":{"POSITION":0},"indices":1,"material":0}]}],
+             "materials":[{"name":"Ceramic","pbrMetallicRoughness":{"roughnessFactor":0.2}}],
+             "nodes":[{"name":"Mug","children":[1,2]},{"name":"Mug_Left_Side","mesh":0},{"name":"Mug_Handle","mesh":1}],
+             "scenes":[{"nodes":[0]}]}""";
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @Mock
+    private DesignRepository designRepository;
+
+    @Mock
+    private AssetModelService assetModelService;
+
+    @Mock
+    private AssetPartsService assetPartsService;
+
+    @Mock
+    private DesignBakeService designBakeService;
+
+    @InjectMocks
+    private DesignExportServiceImpl designExportService;
+
+    @TempDir
+    Path tempDir;
+
+    private Asset asset;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        asset = Asset.builder().id(1L).name("Mug").version(3L).build();
+    }
+
+    @Test
+    void exportGlb_embedsBakedTextureAndMaterials() throws Exception {
+        byte[] bin = new byte[42];
+        for (int i = 0; i < bin.length; i++) {
+            bin[i] = (byte) (i + 1);
+        }
+        Path model = writeGlb(MUG_JSON, bin);
+        design("{\"material\":\"cotton\",\"handle\":\"stainless steel\"}", "{\"left-side\":\"red\",\"handle\":\"blue\"}");
+        when(assetModelService.resolvePath(asset)).thenReturn(model);
+        when(assetPartsService.getPartsConfig(asset))
+                .thenReturn(PartsConfig.parse("{\"left-side\":{\"uv\":[0,0,1,1]},\"handle\":true}"));
+        when(designBakeService.getBakedTexture(7L)).thenReturn(new BakedTextureDTO(7L, PNG, "\"abc\""));
+
+        DesignGlbExportDTO export = designExportService.exportGlb(7L);
+        Path out = tempDir.resolve("export.glb");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        export.getGlb().writeTo(export.getModelPath(), bytes);
+        Files.write(out, bytes.toByteArray());
+
+        assertEquals(export.getContentLength(), bytes.size());
+        assertTrue(export.getEtag().startsWith("\"2-3-"));
+        assertTrue(export.getEtag().endsWith("-abc\""));
+        GlbFile glb = GlbFile.read(out);
+        JsonNode json = glb.getJson();
+        byte[] exportedBin = Arrays.copyOfRange(bytes.toByteArray(), (int) glb.getBinOffset(),
+                (int) (glb.getBinOffset() + glb.getBinLength()));
+        // Source views keep their bytes and offsets, the PNG follows 4-byte aligned
+        assertArrayEquals(bin, Arrays.copyOf(exportedBin, 42));
+        JsonNode imageView = json.get("bufferViews").get(json.get("images").get(0).get("bufferView").asInt());
+        assertEquals(44, imageView.get("byteOffset").asInt());
+        assertArrayEquals(PNG, Arrays.copyOfRange(exportedBin, 44, 44 + PNG.length));
+        assertEquals(44 + PNG.length, json.get("buffers").get(0).get("byteLength").asInt());
+
+        JsonNode materials = json.get("materials");
+        JsonNode side = materials.get(json.get("meshes").get(0).get("primitives").get(0).get("material").asInt());
+        assertEquals("Ceramic (design)", side.get("name").asText());
+        assertEquals(0, side.at("/pbrMetallicRoughness/baseColorTexture/index").asInt());
+        assertEquals(1.0, side.at("/pbrMetallicRoughness/baseColorFactor/0").asDouble());
+        assertEquals(0.9, side.at("/pbrMetallicRoughness/roughnessFactor").asDouble(), 1e-6);
+        // The handle has no UV region and no TEXCOORD_0: its color becomes the (linear) base color factor
+        JsonNode handle = materials.get(json.get("meshes").get(1).get("primitives").get(0).get("material").asInt());
+        assertTrue(handle.at("/pbrMetallicRoughness/baseColorTexture").isMissingNode());
+        assertEquals(0.0, handle.at("/pbrMetallicRoughness/baseColorFactor/0").asDouble());
+        assertEquals(1.0, handle.at("/pbrMetallicRoughness/baseColorFactor/2").asDouble(), 1e-6);
+        assertEquals(1.0, handle.at("/pbrMetallicRoughness/metallicFactor").asDouble());
+        assertEquals("Ceramic", materials.get(0).get("name").asText());
+    }
+
+    @Test
+    void exportGlb_skipsBakeWithoutTextureContent() throws Exception {
+        Path model = writeGlb(MUG_JSON, new byte[42]);
+        design(null, "{\"handle\":\"blue\"}");
+        when(assetModelService.resolvePath(asset)).thenReturn(model);
+        when(assetPartsService.getPartsConfig(asset)).thenReturn(PartsConfig.EMPTY);
+
+        DesignGlbExportDTO export = designExportService.exportGlb(7L);
+
+        verifyNoInteractions(designBakeService);
+        assertFalse(export.getGlb().getJson().has("images"));
+        assertEquals(42, export.getGlb().getJson().at("/buffers/0/byteLength").asInt());
+    }
+
+    @Test
+    void exportGlb_addsBinChunkForTexture() throws Exception {
+        Path model = writeGlb("""
+                {"asset":{"version":"2.0"},"buffers":[{"uri":"mesh.bin","byteLength":8}],
+                 "bufferViews":[{"buffer":0,"byteLength":8}],
+                 "meshes":[{"primitives":[{"attributes":{"TEXCOORD_0":0}}]}],
+                 "nodes":[{"name":"Mug_Left_Side","mesh":0}]}""", null);
+        design(null, "{\"left-side\":\"red\"}");
+        when(assetModelService.resolvePath(asset)).thenReturn(model);
+        when(assetPartsService.getPartsConfig(asset)).thenReturn(PartsConfig.parse("{\"left-side\":{\"uv\":[0,0,1,1]}}"));
+        when(designBakeService.getBakedTexture(7L)).thenReturn(new BakedTextureDTO(7L, PNG, "\"abc\""));
+
+        DesignGlbExportDTO export = designExportService.exportGlb(7L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        export.getGlb().writeTo(export.getModelPath(), bytes);
+        GlbFile glb = GlbFile.read(Files.write(tempDir.resolve("export.glb"), bytes.toByteArray()));
+
+        assertEquals(export.getContentLength(), bytes.size());
+        // The new BIN chunk becomes buffer 0, the external buffer moves up
+        assertEquals(PNG.length, glb.getJson().at("/buffers/0/byteLength").asInt());
+        assertEquals("mesh.bin", glb.getJson().at("/buffers/1/uri").asText());
+        assertEquals(1, glb.getJson().at("/bufferViews/0/buffer").asInt());
+        assertEquals(0, glb.getJson().at("/bufferViews/1/buffer").asInt());
+    }
+
+    @Test
+    void exportGlb_designNotFound() {
+        when(designRepository.findById(7L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> designExportService.exportGlb(7L));
+    }
+
+    @Test
+    void exportGlb_modelMissing() {
+        design(null, null);
+        when(assetModelService.resolvePath(asset)).thenReturn(tempDir.resolve("missing.glb"));
+        assertThrows(ResourceNotFoundException.class, () -> designExportService.exportGlb(7L));
+    }
+
+    @Test
+    void exportGlb_invalidGlb() throws Exception {
+        design(null, null);
+        when(assetModelService.resolvePath(asset))
+                .thenReturn(Files.writeString(tempDir.resolve("bad.glb"), "not a glb file"));
+        assertThrows(BadRequestException.class, () -> designExportService.exportGlb(7L));
+    }
+
+    private void design(String materials, String colors) {
+        Design design = Design.builder().id(7L).name("Mug design").asset(asset).version(2L)
+                .config(DesignConfig.of(materials, colors, null, null)).build();
+        when(designRepository.findById(7L)).thenReturn(Optional.of(design));
+    }
+
+    // Helper to write a GLB with the given JSON chunk and BIN chunk (none if null)
+    private Path writeGlb(String json, byte[] bin) throws Exception {
+        return GlbTestFiles.write(tempDir.resolve("model.glb"), json, bin != null ? ByteBuffer.wrap(bin) : null);
+    }
+}
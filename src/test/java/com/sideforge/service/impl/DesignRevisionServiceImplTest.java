@@ -0,0 +1,144 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.design.DesignRevisionDTO;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.model.DesignRevision;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.repository.DesignRevisionRepository;
+import com.sideforge.util.patch.JsonPatches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DesignRevisionServiceImplTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private DesignRevisionRepository designRevisionRepository;
+    @Mock
+    private DesignRepository designRepository;
+
+    private DesignRevisionServiceImpl designRevisionService;
+    private final List<DesignRevision> stored = new ArrayList<>();
+    private final Design design = Design.builder().id(1L).name("Mug").version(0L).build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        designRevisionService = new DesignRevisionServiceImpl(designRevisionRepository, designRepository);
+        when(designRepository.existsById(1L)).thenReturn(true);
+        // The repository is backed by a list so the snapshot/delta queries can be checked end to end
+        when(designRevisionRepository.save(any(DesignRevision.class))).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(designRevisionRepository.findFirstByDesign_IdOrderByRevisionDesc(1L)).thenAnswer(invocation ->
+                stored.stream().max(Comparator.comparing(DesignRevision::getRevision)));
+        when(designRevisionRepository.findFirstByDesign_IdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(eq(1L), anyInt()))
+                .thenAnswer(invocation -> stored.stream()
+                        .filter(r -> r.isSnapshot() && r.getRevision() <= (Integer) invocation.getArgument(1))
+                        .max(Comparator.comparing(DesignRevision::getRevision)));
+        when(designRevisionRepository.findByDesign_IdAndRevisionBetweenOrderByRevisionAsc(eq(1L), anyInt(), anyInt()))
+                .thenAnswer(invocation -> stored.stream()
+                        .filter(r -> r.getRevision() >= (Integer) invocation.getArgument(1)
+                                && r.getRevision() <= (Integer) invocation.getArgument(2))
+                        .toList());
+    }
+
+    @Test
+    void recordRevision_deltasWithPeriodicSnapshots() throws Exception {
+        designRevisionService.recordRevision(design, null, doc(0));
+        for (int i = 1; i < 45; i++) {
+            design.setVersion((long) i);
+            designRevisionService.recordRevision(design, doc(i - 1), doc(i));
+        }
+
+        assertEquals(45, stored.size());
+        assertEquals(List.of(1, 21, 41), stored.stream().filter(DesignRevision::isSnapshot).map(DesignRevision::getRevision).toList());
+        assertEquals(json("[{'op':'replace','path':'/name','value':'Name 2'},{'op':'replace','path':'/textConfig/text','value':'t2'}]"),
+                json(stored.get(2).getContent()));
+
+        DesignRevisionDTO revision = designRevisionService.getRevision(1L, 38);
+        assertEquals(doc(37), revision.getDocument());
+        assertEquals(37L, revision.getDesignVersion());
+        // Rebuilt from revision 21 only
+        verify(designRevisionRepository).findByDesign_IdAndRevisionBetweenOrderByRevisionAsc(1L, 21, 38);
+    }
+
+    @Test
+    void recordRevision_skipsUnchangedAndRecordsBaselineOfOldDesigns() throws Exception {
+        designRevisionService.recordRevision(design, doc(0), doc(0));
+        assertEquals(1, stored.size());
+        assertNull(stored.get(0).getDesignVersion());
+
+        designRevisionService.recordRevision(design, doc(0), doc(1));
+
+        assertEquals(2, stored.size());
+        assertEquals(doc(0), designRevisionService.getRevision(1L, 1).getDocument());
+        assertEquals(doc(1), designRevisionService.getRevision(1L, 2).getDocument());
+    }
+
+    @Test
+    void getRevision_keepsExplicitNulls() throws Exception {
+        designRevisionService.recordRevision(design, null, json("{'name':'Mug','logoConfig':{'logo':'a.png','x':0.5}}"));
+        designRevisionService.recordRevision(design, json("{'name':'Mug','logoConfig':{'logo':'a.png','x':0.5}}"),
+                json("{'name':'Mug','logoConfig':{'logo':'a.png','x':null,'custom':{'a':null}}}"));
+
+        assertEquals(json("{'name':'Mug','logoConfig':{'logo':'a.png','x':null,'custom':{'a':null}}}"),
+                designRevisionService.getRevision(1L, 2).getDocument());
+    }
+
+    @Test
+    void diffRevisions_jsonPatchBetweenRevisions() throws Exception {
+        designRevisionService.recordRevision(design, null, doc(0));
+        designRevisionService.recordRevision(design, doc(0), doc(1));
+        designRevisionService.recordRevision(design, doc(1), doc(2));
+
+        JsonNode changes = designRevisionService.diffRevisions(1L, 3, 1).getChanges();
+
+        assertEquals(json("[{'op':'replace','path':'/name','value':'Name 0'},{'op':'replace','path':'/textConfig/text','value':'t0'}]"),
+                changes);
+    }
+
+    @Test
+    void diffRevisions_keepsExplicitNulls() throws Exception {
+        JsonNode withValue = json("{'name':'Mug','logoConfig':{'logo':'a.png','custom':{'a':1}}}");
+        JsonNode withNull = json("{'name':'Mug','logoConfig':{'logo':'a.png','custom':{'a':null}}}");
+        designRevisionService.recordRevision(design, null, withValue);
+        designRevisionService.recordRevision(design, withValue, withNull);
+
+        JsonNode changes = designRevisionService.diffRevisions(1L, 1, 2).getChanges();
+
+        assertEquals(withNull, JsonPatches.apply(withValue, changes));
+    }
+
+    @Test
+    void getRevision_notFound() {
+        designRevisionService.recordRevision(design, null, MAPPER.createObjectNode().put("name", "Mug"));
+        when(designRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> designRevisionService.getRevision(1L, 2));
+        assertThrows(ResourceNotFoundException.class, () -> designRevisionService.getRevision(2L, 1));
+    }
+
+    private static JsonNode doc(int i) throws Exception {
+        return json("{'name':'Name " + i + "','materials':{'material':'ceramic'},'textConfig':{'text':'t" + i + "'}}");
+    }
+
+    private static JsonNode json(String text) throws Exception {
+        return MAPPER.readTree(text.replace('\'', '"'));
+    }
+}
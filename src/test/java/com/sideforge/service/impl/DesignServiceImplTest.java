@@ -1,14 +1,26 @@
 package com.sideforge.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.design.*;
+import com.sideforge.enums.Part;
+import com.sideforge.event.DesignBakeInputsChangedEvent;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.event.DesignTextureChangedEvent;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.Asset;
 import com.sideforge.model.Design;
 import com.sideforge.repository.AssetRepository;
 import com.sideforge.repository.DesignRepository;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignRevisionService;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+import com.sideforge.util.patch.PatchFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.*;
@@ -22,6 +34,12 @@ class DesignServiceImplTest {
     private DesignRepository designRepository;
     @Mock
     private AssetRepository assetRepository;
+    @Mock
+    private AssetPartsService assetPartsService;
+    @Mock
+    private DesignRevisionService designRevisionService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private DesignServiceImpl designService;
@@ -48,10 +66,8 @@ class DesignServiceImplTest {
                 .id(10L)
                 .name("Modern Mug Design")
                 .textureMapUrl("texture.png")
-                .materialsJson("{\"mat\":\"ceramic\"}")
-                .partsColorsJson("{\"handle\":\"blue\"}")
-                .logoConfigJson("{\"logo\":\"logo.png\"}")
-                .textConfigJson("{\"text\":\"Hello\"}")
+                .config(DesignConfig.of("{\"mat\":\"ceramic\"}", "{\"handle\":\"blue\"}",
+                        "{\"logo\":\"logo.png\"}", "{\"text\":\"Hello\"}"))
                 .asset(asset)
                 .build();
 
@@ -119,10 +135,7 @@ class DesignServiceImplTest {
                 .id(1L)
                 .name("Old Design")
                 .textureMapUrl("old.png")
-                .materialsJson("{}")
-                .partsColorsJson("{}")
-                .logoConfigJson("{}")
-                .textConfigJson("{}")
+                .config(DesignConfig.of("{}", "{}", "{}", "{}"))
                 .asset(Asset.builder().id(2L).build())
                 .build();
 
@@ -130,18 +143,113 @@ class DesignServiceImplTest {
         when(assetRepository.findById(3L)).thenReturn(Optional.of(asset));
         when(designRepository.save(any(Design.class))).thenReturn(design);
 
-        DesignResponseDTO response = designService.updateDesign(1L, dto);
+        DesignResponseDTO response = designService.updateDesign(1L, dto, null);
 
         assertEquals("Updated Design", response.getName());
         assertEquals("updated.png", response.getTextureMapUrl());
         assertEquals(3L, response.getAssetId());
+        assertEquals("{\"handle\":\"red\"}", response.getPartsColorsJson());
+        assertEquals("{\"logo\":\"newlogo.png\"}", response.getLogoConfigJson());
+        assertEquals(Rgba.parse("red"), design.getConfig().getPartsColors().get(Part.HANDLE));
+        verify(eventPublisher).publishEvent(new DesignTextureChangedEvent(1L, "updated.png"));
+        verify(eventPublisher).publishEvent(new DesignBakeInputsChangedEvent(1L));
+        verify(assetPartsService).validateDesign(asset, design.getConfig());
+        verify(designRevisionService).recordRevision(eq(design),
+                argThat(before -> before.get("name").asText().equals("Old Design")),
+                argThat(after -> after.get("name").asText().equals("Updated Design")));
+    }
+
+    @Test
+    void restoreRevision_patchesBackToRevision() throws Exception {
+        Design design = Design.builder()
+                .id(1L)
+                .name("Renamed")
+                .config(DesignConfig.of("{\"material\":\"cotton\"}", "{\"handle\":\"blue\"}", null, null))
+                .asset(Asset.builder().id(2L).build())
+                .version(3L)
+                .build();
+        when(designRepository.findById(1L)).thenReturn(Optional.of(design));
+        when(designRepository.save(design)).thenReturn(design);
+        when(designRevisionService.getRevision(1L, 1)).thenReturn(DesignRevisionDTO.builder().revision(1)
+                .document(new ObjectMapper().readTree("{\"name\":\"Mug\",\"materials\":{\"material\":\"cotton\"}}")).build());
+
+        PatchResultDTO result = designService.restoreRevision(1L, 1, 3L);
+
+        assertEquals("{\"partsColors\":null,\"name\":\"Mug\"}", result.getChanges().toString());
+        assertEquals("Mug", design.getName());
+        assertTrue(design.getConfig().getPartsColors().isEmpty());
+        verify(designRevisionService).recordRevision(eq(design), any(), any());
+    }
+
+    @Test
+    void restoreRevision_keepsExplicitNulls() throws Exception {
+        Design design = Design.builder()
+                .id(1L)
+                .name("Mug")
+                .config(DesignConfig.of(null, null, "{\"custom\":{\"a\":1}}", null))
+                .asset(Asset.builder().id(2L).build())
+                .version(3L)
+                .build();
+        when(designRepository.findById(1L)).thenReturn(Optional.of(design));
+        when(designRepository.save(design)).thenReturn(design);
+        when(designRevisionService.getRevision(1L, 1)).thenReturn(DesignRevisionDTO.builder().revision(1)
+                .document(new ObjectMapper().readTree("{\"name\":\"Mug\",\"logoConfig\":{\"custom\":{\"a\":null}}}")).build());
+
+        designService.restoreRevision(1L, 1, 3L);
+
+        // A merge patch would have replayed the null as removing "a"
+        assertEquals(new ObjectMapper().readTree("{\"custom\":{\"a\":null}}"),
+                new ObjectMapper().readTree(design.getConfig().getLogoConfigJson()));
+    }
+
+    @Test
+    void updateDesign_bakeKeptWhenOnlyNameOrMaterialsChange() {
+        Design design = Design.builder()
+                .id(1L)
+                .name("Design")
+                .config(DesignConfig.of("{\"material\":\"cotton\"}", "{\"handle\":\"red\"}", null, null))
+                .asset(Asset.builder().id(2L).build())
+                .build();
+        when(designRepository.findById(1L)).thenReturn(Optional.of(design));
+        when(designRepository.save(design)).thenReturn(design);
+
+        // Same color written as hex: the baked texture does not change either
+        designService.updateDesign(1L, DesignUpdateDTO.builder().name("Renamed")
+                .materialsJson("{\"material\":\"wool\"}").partsColorsJson("{\"handle\":\"#ff0000\"}").build(), null);
+
+        // Only the similarity index hears of the new material
+        verify(eventPublisher).publishEvent(DesignConfigChangedEvent.saved(1L, design.getConfig()));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchDesign_jsonPatchOnPartsColors() throws Exception {
+        Asset asset = Asset.builder().id(2L).build();
+        Design design = Design.builder()
+                .id(1L)
+                .name("Design")
+                .config(DesignConfig.of("{\"material\":\"cotton\"}", "{\"handle\":\"blue\"}", null, null))
+                .asset(asset)
+                .version(7L)
+                .build();
+        when(designRepository.findById(1L)).thenReturn(Optional.of(design));
+        when(designRepository.save(design)).thenReturn(design);
+
+        PatchResultDTO result = designService.patchDesign(1L, PatchFormat.JSON_PATCH, new ObjectMapper().readTree(
+                "[{\"op\":\"add\",\"path\":\"/partsColors/base\",\"value\":\"#FF0000\"}]"), null);
+
+        assertEquals("{\"partsColors\":{\"base\":\"#ff0000\"}}", result.getChanges().toString());
+        assertEquals("{\"material\":\"cotton\"}", design.getConfig().getMaterialsJson());
+        verify(assetPartsService).validateDesign(asset, design.getConfig());
+        verify(eventPublisher).publishEvent(new DesignBakeInputsChangedEvent(1L));
+        verify(eventPublisher, never()).publishEvent(any(DesignTextureChangedEvent.class));
     }
 
     @Test
     void updateDesign_notFound() {
         DesignUpdateDTO dto = DesignUpdateDTO.builder().build();
         when(designRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> designService.updateDesign(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> designService.updateDesign(1L, dto, null));
     }
 
     @Test
@@ -150,7 +258,7 @@ class DesignServiceImplTest {
         Design design = Design.builder().id(1L).build();
         when(designRepository.findById(1L)).thenReturn(Optional.of(design));
         when(assetRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> designService.updateDesign(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> designService.updateDesign(1L, dto, null));
     }
 
     @Test
@@ -161,6 +269,18 @@ class DesignServiceImplTest {
 
         assertDoesNotThrow(() -> designService.deleteDesign(1L));
         verify(designRepository).delete(design);
+        verify(eventPublisher).publishEvent(new DesignBakeInputsChangedEvent(1L));
+        verify(eventPublisher).publishEvent(DesignConfigChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void prepareCascadeDelete_dropsRevisionsAndAnnouncesDeletion() {
+        designService.prepareCascadeDelete(1L);
+
+        verify(designRevisionService).deleteRevisions(1L);
+        verify(designRepository, never()).delete(any());
+        verify(eventPublisher).publishEvent(new DesignBakeInputsChangedEvent(1L));
+        verify(eventPublisher).publishEvent(DesignConfigChangedEvent.deleted(1L));
     }
 
     @Test
@@ -194,6 +314,15 @@ class DesignServiceImplTest {
         assertEquals("BatchDesign", result.getContent().get(0).getName());
     }
 
+    @Test
+    void getDesignSummaries_usesSummaryQuery() {
+        Page<DesignSummaryDTO> page = new PageImpl<>(List.of(DesignSummaryDTO.builder().id(1L).name("Summary").build()));
+        when(designRepository.findSummaries(any(Pageable.class))).thenReturn(page);
+
+        assertSame(page, designService.getDesignSummaries(PageRequest.of(0, 10)));
+        verify(designRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void getDesignsPage_success() {
         Design design = Design.builder().id(1L).name("PagedDesign").build();
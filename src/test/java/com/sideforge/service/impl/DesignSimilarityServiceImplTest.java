@@ -0,0 +1,93 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.dto.design.SimilarDesignDTO;
+import com.sideforge.event.DesignConfigChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Design;
+import com.sideforge.repository.DesignRepository;
+import com.sideforge.util.design.DesignConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DesignSimilarityServiceImplTest {
+
+    @Mock
+    private DesignRepository designRepository;
+
+    @InjectMocks
+    private DesignSimilarityServiceImpl designSimilarityService;
+
+    private final Design blue = design(1L, "{\"handle\":\"blue\"}");
+    private final Design navy = design(2L, "{\"handle\":\"navy\"}");
+    private final Design yellow = design(3L, "{\"handle\":\"yellow\"}");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void rebuild_thenFindSimilar_nearestFirst() {
+        when(designRepository.streamAllConfigs()).thenReturn(Stream.of(view(blue), view(navy), view(yellow)));
+        when(designRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(yellow, navy));
+
+        designSimilarityService.rebuild();
+        List<SimilarDesignDTO> similar = designSimilarityService.findSimilar(1L, 5);
+
+        assertEquals(List.of(2L, 3L), similar.stream().map(s -> s.getDesign().getId()).toList());
+        assertTrue(similar.get(0).getDistance() < similar.get(1).getDistance());
+        verify(designRepository, never()).findById(any());
+    }
+
+    @Test
+    void onDesignConfigChanged_updatesIndex() {
+        designSimilarityService.onDesignConfigChanged(DesignConfigChangedEvent.saved(1L, blue.getConfig()));
+        designSimilarityService.onDesignConfigChanged(DesignConfigChangedEvent.saved(2L, navy.getConfig()));
+        when(designRepository.findAllById(List.of(2L))).thenReturn(List.of(navy));
+
+        assertEquals(1, designSimilarityService.findSimilar(1L, 5).size());
+
+        designSimilarityService.onDesignConfigChanged(DesignConfigChangedEvent.deleted(2L));
+        when(designRepository.findAllById(List.of())).thenReturn(List.of());
+        assertTrue(designSimilarityService.findSimilar(1L, 5).isEmpty());
+    }
+
+    @Test
+    void findSimilar_notIndexedYetOrMissing() {
+        designSimilarityService.onDesignConfigChanged(DesignConfigChangedEvent.saved(2L, navy.getConfig()));
+        when(designRepository.findById(1L)).thenReturn(Optional.of(blue));
+        when(designRepository.findById(9L)).thenReturn(Optional.empty());
+        when(designRepository.findAllById(List.of(2L))).thenReturn(List.of(navy));
+
+        assertEquals(2L, designSimilarityService.findSimilar(1L, 5).get(0).getDesign().getId());
+        assertThrows(ResourceNotFoundException.class, () -> designSimilarityService.findSimilar(9L, 5));
+        assertThrows(BadRequestException.class, () -> designSimilarityService.findSimilar(1L, 101));
+    }
+
+    private static Design design(Long id, String partsColorsJson) {
+        return Design.builder().id(id).name("Design " + id).config(DesignConfig.of(null, partsColorsJson, null, null)).build();
+    }
+
+    private static DesignRepository.ConfigView view(Design design) {
+        return new DesignRepository.ConfigView() {
+            @Override
+            public Long getId() {
+                return design.getId();
+            }
+
+            @Override
+            public DesignConfig getConfig() {
+                return design.getConfig();
+            }
+        };
+    }
+}
@@ -0,0 +1,254 @@
+package com.sideforge.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.config.CollaborationProperties;
+import com.sideforge.dto.design.DesignResponseDTO;
+import com.sideforge.dto.scene.SceneResponseDTO;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.service.interfaces.SceneCollaborationService;
+import com.sideforge.service.interfaces.SceneService;
+import com.sideforge.util.patch.PatchFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SceneCollaborationServiceImplTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Mock
+    private SceneService sceneService;
+
+    @Mock
+    private DesignService designService;
+
+    private SceneCollaborationServiceImpl collaborationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SceneResponseDTO scene = new SceneResponseDTO();
+        scene.setId(1L);
+        scene.setDesignId(2L);
+        scene.setCameraConfigJson("{\"fov\":60}");
+        scene.setLightingConfigJson("{\"intensity\":1}");
+        when(sceneService.getSceneById(1L)).thenReturn(scene);
+        when(sceneService.getSceneById(99L)).thenThrow(new ResourceNotFoundException("Scene not found with id: 99"));
+        DesignResponseDTO design = new DesignResponseDTO();
+        design.setId(2L);
+        design.setPartsColorsJson("{\"HANDLE\":\"#ff0000\"}");
+        when(designService.getDesignById(2L)).thenReturn(design);
+
+        // Ticks far apart: the tests drive broadcasts and saves themselves
+        CollaborationProperties properties = new CollaborationProperties();
+        properties.setBatchInterval(Duration.ofHours(1));
+        properties.setSaveInterval(Duration.ofHours(1));
+        properties.setMaxQueuedMessages(4);
+        collaborationService = new SceneCollaborationServiceImpl(sceneService, designService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        collaborationService.shutdown();
+    }
+
+    @Test
+    void join_sendsSnapshot() throws Exception {
+        RecordingEditor editor = new RecordingEditor();
+
+        long id = collaborationService.join(1L, editor);
+
+        JsonNode snapshot = MAPPER.readTree(editor.messages.get(0));
+        assertEquals("snapshot", snapshot.get("type").asText());
+        assertEquals(id, snapshot.get("clientId").asLong());
+        assertEquals(60, snapshot.at("/state/camera/fov").asInt());
+        assertEquals("#ff0000", snapshot.at("/state/design/partsColors/HANDLE").asText());
+    }
+
+    @Test
+    void join_missingScene() {
+        assertThrows(ResourceNotFoundException.class, () -> collaborationService.join(99L, new RecordingEditor()));
+    }
+
+    @Test
+    void broadcastAll_sendsOneDeltaToEveryEditor() throws Exception {
+        RecordingEditor first = new RecordingEditor();
+        RecordingEditor second = new RecordingEditor();
+        long firstId = collaborationService.join(1L, first);
+        collaborationService.join(1L, second);
+
+        collaborationService.receive(1L, firstId, "{\"id\":1,\"target\":\"camera\",\"patch\":{\"fov\":50}}");
+        collaborationService.receive(1L, firstId, "{\"id\":2,\"target\":\"camera\",\"patch\":{\"fov\":45}}");
+        collaborationService.broadcastAll();
+        collaborationService.broadcastAll();
+
+        assertEquals(2, first.messages.size());
+        assertEquals(first.messages.get(1), second.messages.get(1));
+        JsonNode delta = MAPPER.readTree(second.messages.get(1));
+        assertEquals("delta", delta.get("type").asText());
+        assertEquals(45, delta.at("/patch/camera/fov").asInt());
+        assertEquals(2, delta.at("/acks/" + firstId).asLong());
+    }
+
+    @Test
+    void broadcastAll_slowEditorHoldsUpNobodyAndIsDroppedWhenTooFarBehind() {
+        RecordingEditor fast = new RecordingEditor(false);
+        RecordingEditor stalled = new RecordingEditor(true);
+        long fastId = collaborationService.join(1L, fast);
+        collaborationService.join(1L, stalled);
+
+        for (int i = 0; i < 5; i++) {
+            collaborationService.receive(1L, fastId, "{\"target\":\"camera\",\"patch\":{\"fov\":" + (50 + i) + "}}");
+            collaborationService.broadcastAll();
+        }
+
+        assertEquals(6, fast.messages.size());
+        // Only the snapshot went out; four deltas were queued behind it and the fifth overflowed
+        assertEquals(1, stalled.messages.size());
+        assertEquals(List.of("Too far behind"), stalled.closed);
+        assertTrue(fast.closed.isEmpty());
+    }
+
+    @Test
+    void receive_malformedOperationAnsweredWithError() throws Exception {
+        RecordingEditor editor = new RecordingEditor();
+        long id = collaborationService.join(1L, editor);
+
+        collaborationService.receive(1L, id, "{\"id\":3,\"target\":\"owner\",\"patch\":{}}");
+        collaborationService.receive(1L, id, "not json");
+
+        JsonNode error = MAPPER.readTree(editor.messages.get(1));
+        assertEquals("error", error.get("type").asText());
+        assertEquals(3, error.get("id").asInt());
+        assertEquals("error", MAPPER.readTree(editor.messages.get(2)).get("type").asText());
+    }
+
+    @Test
+    void saveAll_writesCoalescedPatches() throws Exception {
+        long id = collaborationService.join(1L, new RecordingEditor());
+        collaborationService.receive(1L, id, "{\"target\":\"camera\",\"patch\":{\"fov\":50}}");
+        collaborationService.receive(1L, id, "{\"target\":\"camera\",\"patch\":{\"fov\":40}}");
+        collaborationService.receive(1L, id, "{\"target\":\"design\",\"patch\":{\"partsColors\":{\"HANDLE\":\"#00ff00\"}}}");
+
+        collaborationService.saveAll();
+        collaborationService.saveAll();
+
+        verify(sceneService).patchScene(1L, PatchFormat.MERGE_PATCH, MAPPER.readTree("{\"camera\":{\"fov\":40}}"), null);
+        verify(designService).patchDesign(2L, PatchFormat.MERGE_PATCH,
+                MAPPER.readTree("{\"partsColors\":{\"HANDLE\":\"#00ff00\"}}"), null);
+    }
+
+    @Test
+    void saveAll_retriesFailedSave() throws Exception {
+        long id = collaborationService.join(1L, new RecordingEditor());
+        collaborationService.receive(1L, id, "{\"target\":\"camera\",\"patch\":{\"fov\":50}}");
+        when(sceneService.patchScene(eq(1L), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Lock wait timeout"))
+                .thenReturn(null);
+
+        collaborationService.saveAll();
+        collaborationService.saveAll();
+
+        verify(sceneService, times(2)).patchScene(1L, PatchFormat.MERGE_PATCH, MAPPER.readTree("{\"camera\":{\"fov\":50}}"), null);
+    }
+
+    @Test
+    void saveAll_rejectedEditsAreReported() throws Exception {
+        RecordingEditor editor = new RecordingEditor();
+        long id = collaborationService.join(1L, editor);
+        collaborationService.receive(1L, id, "{\"target\":\"camera\",\"patch\":{\"fov\":50}}");
+        collaborationService.broadcastAll();
+        when(sceneService.patchScene(eq(1L), any(), any(), any())).thenThrow(new BadRequestException("Invalid camera"));
+
+        collaborationService.saveAll();
+        collaborationService.broadcastAll();
+
+        assertTrue(editor.messages.get(2).contains("Invalid camera"));
+        // Reloaded: the stored camera comes back
+        assertEquals(60, MAPPER.readTree(editor.messages.get(3)).at("/patch/camera/fov").asInt());
+    }
+
+    @Test
+    void leave_lastEditorSavesAndClosesRoom() throws Exception {
+        long id = collaborationService.join(1L, new RecordingEditor());
+        collaborationService.receive(1L, id, "{\"target\":\"lighting\",\"patch\":{\"intensity\":2}}");
+
+        collaborationService.leave(1L, id);
+
+        verify(sceneService, timeout(2000)).patchScene(1L, PatchFormat.MERGE_PATCH,
+                MAPPER.readTree("{\"lighting\":{\"intensity\":2}}"), null);
+        verify(sceneService, timeout(2000).times(1)).getSceneById(1L);
+    }
+
+    @Test
+    void leave_lastEditorWhoseSaveFailsIsClosedBySaveAll() throws Exception {
+        long id = collaborationService.join(1L, new RecordingEditor());
+        collaborationService.receive(1L, id, "{\"target\":\"lighting\",\"patch\":{\"intensity\":2}}");
+        JsonNode patch = MAPPER.readTree("{\"lighting\":{\"intensity\":2}}");
+        when(sceneService.patchScene(eq(1L), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Lock wait timeout"))
+                .thenReturn(null);
+
+        collaborationService.leave(1L, id);
+        verify(sceneService, timeout(2000)).patchScene(1L, PatchFormat.MERGE_PATCH, patch, null);
+        collaborationService.saveAll();
+
+        verify(sceneService, times(2)).patchScene(1L, PatchFormat.MERGE_PATCH, patch, null);
+        // Closed once saved: the next editor opens a new room from the stored scene
+        collaborationService.join(1L, new RecordingEditor());
+        verify(sceneService, times(2)).getSceneById(1L);
+    }
+
+    @Test
+    void onSceneChanged_deletedClosesEditors() {
+        RecordingEditor editor = new RecordingEditor();
+        collaborationService.join(1L, editor);
+
+        collaborationService.onSceneChanged(SceneChangedEvent.deleted(1L));
+
+        assertEquals(List.of("Scene deleted"), editor.closed);
+    }
+
+    // Editor that keeps what it was sent; a stalled one never finishes sending
+    private static final class RecordingEditor implements SceneCollaborationService.Editor {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<String> closed = new CopyOnWriteArrayList<>();
+        final boolean stalled;
+
+        RecordingEditor() {
+            this(false);
+        }
+
+        RecordingEditor(boolean stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public CompletionStage<Void> send(String message) {
+            messages.add(message);
+            return stalled ? new CompletableFuture<>() : CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close(String reason) {
+            closed.add(reason);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.sideforge.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.dto.PatchResultDTO;
 import com.sideforge.dto.scene.*;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.PreconditionFailedException;
 import com.sideforge.exception.ResourceNotFoundException;
 import com.sideforge.model.*;
 import com.sideforge.repository.*;
+import com.sideforge.service.interfaces.DesignService;
+import com.sideforge.util.paging.ScrollRequest;
+import com.sideforge.util.patch.PatchFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -23,6 +33,10 @@ class SceneServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private DesignRepository designRepository;
+    @Mock
+    private DesignService designService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private SceneServiceImpl sceneService;
@@ -68,6 +82,7 @@ class SceneServiceImplTest {
         assertEquals("scene.png", response.getThumbnail());
         assertEquals(10L, response.getOwnerId());
         assertEquals(20L, response.getDesignId());
+        verify(eventPublisher).publishEvent(SceneChangedEvent.saved(1L));
     }
 
     @Test
@@ -133,19 +148,79 @@ class SceneServiceImplTest {
         when(designRepository.findById(21L)).thenReturn(Optional.of(newDesign));
         when(sceneRepository.save(any(Scene.class))).thenReturn(scene);
 
-        SceneResponseDTO response = sceneService.updateScene(1L, dto);
+        SceneResponseDTO response = sceneService.updateScene(1L, dto, null);
 
         assertEquals("Updated Scene", response.getName());
         assertEquals("updated.png", response.getThumbnail());
         assertEquals(11L, response.getOwnerId());
         assertEquals(21L, response.getDesignId());
+        verify(eventPublisher).publishEvent(SceneChangedEvent.saved(1L));
     }
 
     @Test
     void updateScene_notFound() {
         SceneUpdateDTO dto = SceneUpdateDTO.builder().build();
         when(sceneRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto, null));
+    }
+
+    @Test
+    void updateScene_staleVersion() {
+        SceneUpdateDTO dto = SceneUpdateDTO.builder().name("Updated Scene").build();
+        Scene scene = Scene.builder().id(1L).name("Old Scene").version(3L).build();
+        when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
+
+        assertThrows(PreconditionFailedException.class, () -> sceneService.updateScene(1L, dto, 2L));
+        assertEquals("Old Scene", scene.getName());
+        verify(sceneRepository, never()).save(any());
+    }
+
+    @Test
+    void patchScene_mergePatchWritesOnlyChangedFields() throws Exception {
+        Scene scene = Scene.builder()
+                .id(1L)
+                .name("Scene")
+                .lightingConfigJson("{ \"type\": \"shop\" }")
+                .cameraConfigJson("{\"fov\":60,\"angle\":45}")
+                .version(4L)
+                .build();
+        when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
+        when(sceneRepository.save(scene)).thenReturn(scene);
+
+        PatchResultDTO result = sceneService.patchScene(1L, PatchFormat.MERGE_PATCH,
+                new ObjectMapper().readTree("{\"camera\":{\"fov\":50,\"angle\":null}}"), 4L);
+
+        assertEquals("{\"fov\":50}", scene.getCameraConfigJson());
+        assertEquals("{ \"type\": \"shop\" }", scene.getLightingConfigJson());
+        assertEquals("{\"camera\":{\"angle\":null,\"fov\":50}}", result.getChanges().toString());
+        verify(sceneRepository).flush();
+        verify(eventPublisher).publishEvent(SceneChangedEvent.saved(1L));
+    }
+
+    @Test
+    void patchScene_noChangeSkipsWrite() throws Exception {
+        Scene scene = Scene.builder().id(1L).name("Scene").cameraConfigJson("{\"fov\":60}").build();
+        when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
+
+        PatchResultDTO result = sceneService.patchScene(1L, PatchFormat.JSON_PATCH,
+                new ObjectMapper().readTree("[{\"op\":\"replace\",\"path\":\"/camera/fov\",\"value\":60}]"), null);
+
+        assertTrue(result.getChanges().isEmpty());
+        verify(sceneRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchScene_rejectsBlankNameAndUnknownFields() {
+        Scene scene = Scene.builder().id(1L).name("Scene").build();
+        when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertThrows(BadRequestException.class, () -> sceneService.patchScene(1L, PatchFormat.MERGE_PATCH,
+                mapper.readTree("{\"name\":\" \"}"), null));
+        assertThrows(BadRequestException.class, () -> sceneService.patchScene(1L, PatchFormat.MERGE_PATCH,
+                mapper.readTree("{\"ownerId\":2}"), null));
+        assertEquals("Scene", scene.getName());
     }
 
     @Test
@@ -154,7 +229,7 @@ class SceneServiceImplTest {
         Scene scene = Scene.builder().id(1L).build();
         when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
         when(userRepository.findById(99L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto, null));
     }
 
     @Test
@@ -163,7 +238,7 @@ class SceneServiceImplTest {
         Scene scene = Scene.builder().id(1L).build();
         when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
         when(designRepository.findById(88L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> sceneService.updateScene(1L, dto, null));
     }
 
     @Test
@@ -173,6 +248,22 @@ class SceneServiceImplTest {
         doNothing().when(sceneRepository).delete(scene);
         assertDoesNotThrow(() -> sceneService.deleteScene(1L));
         verify(sceneRepository).delete(scene);
+        verify(eventPublisher).publishEvent(SceneChangedEvent.deleted(1L));
+    }
+
+    @Test
+    void deleteScene_designWithRevisionsIsPreparedBeforeCascade() {
+        Design design = Design.builder().id(5L).build();
+        Scene scene = Scene.builder().id(1L).design(design).build();
+        when(sceneRepository.findById(1L)).thenReturn(Optional.of(scene));
+
+        sceneService.deleteScene(1L);
+
+        // Revisions reference the design: they must be gone before the scene's delete cascades into it
+        InOrder order = inOrder(designService, sceneRepository);
+        order.verify(designService).prepareCascadeDelete(5L);
+        order.verify(sceneRepository).delete(scene);
+        verify(eventPublisher).publishEvent(SceneChangedEvent.deleted(1L));
     }
 
     @Test
@@ -203,6 +294,15 @@ class SceneServiceImplTest {
         assertEquals("OwnerScene", result.getContent().get(0).getName());
     }
 
+    @Test
+    void getSceneSummariesByOwnerId_usesSummaryQuery() {
+        Page<SceneSummaryDTO> page = new PageImpl<>(List.of(SceneSummaryDTO.builder().id(1L).name("OwnerScene").build()));
+        when(sceneRepository.findSummariesByOwnerId(eq(5L), any(Pageable.class))).thenReturn(page);
+
+        assertSame(page, sceneService.getSceneSummariesByOwnerId(5L, PageRequest.of(0, 10)));
+        verify(sceneRepository, never()).findByOwner_Id(anyLong(), any(Pageable.class));
+    }
+
     @Test
     void getSceneByNameAndOwner_found() {
         Scene scene = Scene.builder().id(1L).name("MyScene").build();
@@ -232,6 +332,25 @@ class SceneServiceImplTest {
         assertEquals("BetweenScene", result.getContent().get(0).getName());
     }
 
+    @Test
+    void scrollScenesByOwnerId_countsOnlyOnRequest() {
+        Scene scene = Scene.builder().id(5L).name("OwnerScene").build();
+        when(sceneRepository.findByOwner_Id(eq(7L), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(scene), index -> ScrollPosition.forward(Map.of("id", 5L)), true));
+        when(sceneRepository.countByOwner_Id(7L)).thenReturn(3L);
+
+        CursorPageDTO<SceneResponseDTO> page = sceneService.scrollScenesByOwnerId(7L,
+                ScrollRequest.of(null, 1, new String[]{"id", "asc"}, false));
+        assertEquals("OwnerScene", page.getContent().get(0).getName());
+        assertNotNull(page.getNextCursor());
+        assertNull(page.getTotalElements());
+        verify(sceneRepository, never()).countByOwner_Id(anyLong());
+
+        page = sceneService.scrollScenesByOwnerId(7L, ScrollRequest.of(page.getNextCursor(), 1, new String[]{"id", "asc"}, true));
+        assertEquals(3L, page.getTotalElements());
+        verify(sceneRepository).findByOwner_Id(7L, ScrollPosition.forward(Map.of("id", 5L)), Sort.by("id"), Limit.of(1));
+    }
+
     @Test
     void countScenesByOwner_success() {
         when(sceneRepository.countByOwner_Id(7L)).thenReturn(3L);
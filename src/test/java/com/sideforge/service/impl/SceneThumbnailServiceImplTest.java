@@ -0,0 +1,206 @@
+package com.sideforge.service.impl;
+
+import com.sideforge.config.AssetStorageProperties;
+import com.sideforge.dto.scene.SceneThumbnailFileDTO;
+import com.sideforge.event.SceneChangedEvent;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import com.sideforge.model.Asset;
+import com.sideforge.model.Design;
+import com.sideforge.model.Scene;
+import com.sideforge.repository.SceneRepository;
+import com.sideforge.service.interfaces.AssetModelService;
+import com.sideforge.service.interfaces.AssetPartsService;
+import com.sideforge.service.interfaces.DesignBakeService;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.glb.GlbTestFiles;
+import com.sideforge.util.parts.PartsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SceneThumbnailServiceImplTest {
+
+    // One triangle facing +Z under a node of the left side part
+    private static final String MUG_JSON = """
+            {"asset":{"version":"2.0"},
+             "buffers":[{"byteLength":44}],
+             "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36},{"buffer":0,"byteOffset":36,"byteLength":6}],
+             "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3"},
+                          {"bufferView":1,"componentType":5123,"count":3,"type":"SCALAR"}],
+             "meshes":[{"primitives":[{"attributes":{"POSITION":0},"indices":1}]}],
+             "nodes":[{"name":"Mug_Left_Side","mesh":0}]}""";
+
+    @Mock
+    private SceneRepository sceneRepository;
+
+    @Mock
+    private AssetModelService assetModelService;
+
+    @Mock
+    private AssetPartsService assetPartsService;
+
+    @Mock
+    private DesignBakeService designBakeService;
+
+    @TempDir
+    Path tempDir;
+
+    private SceneThumbnailServiceImpl sceneThumbnailService;
+    private Asset asset;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(tempDir.toString());
+        properties.setThumbnailSize(32);
+        properties.setThumbnailDelay(Duration.ofMillis(100));
+        sceneThumbnailService = new SceneThumbnailServiceImpl(sceneRepository, assetModelService, assetPartsService,
+                designBakeService, properties);
+
+        asset = Asset.builder().id(1L).name("Mug").version(1L).build();
+        Design design = Design.builder().id(7L).asset(asset)
+                .config(DesignConfig.of(null, "{\"left-side\":\"#ff0000\"}", null, null)).build();
+        Scene scene = Scene.builder().id(3L).design(design)
+                .cameraConfigJson("{\"angle\":0,\"elevation\":0}")
+                .lightingConfigJson("{\"background\":\"#0000ff\"}")
+                .build();
+        SceneRepository.ViewConfigView view = mock(SceneRepository.ViewConfigView.class);
+        when(view.getCameraConfigJson()).thenReturn(scene.getCameraConfigJson());
+        when(view.getLightingConfigJson()).thenReturn(scene.getLightingConfigJson());
+        when(sceneRepository.findById(3L)).thenReturn(Optional.of(scene));
+        when(sceneRepository.findViewConfigById(3L)).thenReturn(Optional.of(view));
+        when(sceneRepository.existsById(3L)).thenReturn(true);
+        when(assetModelService.resolvePath(asset)).thenReturn(writeGlb(MUG_JSON));
+        when(assetPartsService.getPartsConfig(asset)).thenReturn(PartsConfig.EMPTY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sceneThumbnailService.shutdown();
+    }
+
+    @Test
+    void renderThumbnail_drawsDesignThroughSceneCameraAndLighting() throws Exception {
+        Path path = sceneThumbnailService.renderThumbnail(3L);
+
+        assertEquals(tempDir.resolve(SceneThumbnailServiceImpl.THUMBNAIL_DIR).resolve("scene-3.png"), path);
+        BufferedImage image = ImageIO.read(path.toFile());
+        assertEquals(32, image.getWidth());
+        assertEquals(0xFF0000FF, image.getRGB(31, 0));
+        // The triangle's lower left corner sits in the lower left quarter, in the part's color
+        int triangle = image.getRGB(10, 20);
+        assertTrue(((triangle >>> 16) & 0xff) > 150);
+        assertTrue((triangle & 0xff) < 60);
+        // Nothing to bake: no texture, logo, text or UV regions
+        verifyNoInteractions(designBakeService);
+    }
+
+    @Test
+    void getThumbnail_rendersOnceThenServesFile() {
+        SceneThumbnailFileDTO first = sceneThumbnailService.getThumbnail(3L);
+        SceneThumbnailFileDTO second = sceneThumbnailService.getThumbnail(3L);
+
+        assertEquals("image/png", first.getContentType());
+        assertEquals(first.getEtag(), second.getEtag());
+        assertTrue(first.getContentLength() > 0);
+        verify(sceneRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void getThumbnail_concurrentRequestsShareOneRender() throws Exception {
+        sceneThumbnailService.shutdown();
+        AssetStorageProperties properties = new AssetStorageProperties();
+        properties.setRoot(tempDir.toString());
+        properties.setThumbnailSize(32);
+        properties.setThumbnailThreads(2);
+        sceneThumbnailService = new SceneThumbnailServiceImpl(sceneRepository, assetModelService, assetPartsService,
+                designBakeService, properties);
+        Scene scene = sceneRepository.findById(3L).orElseThrow();
+        clearInvocations(sceneRepository);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sceneRepository.findById(3L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(scene);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<SceneThumbnailFileDTO> first = callers.submit(() -> sceneThumbnailService.getThumbnail(3L));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<SceneThumbnailFileDTO> second = callers.submit(() -> sceneThumbnailService.getThumbnail(3L));
+            // The second caller finds no file yet and must join the render in progress
+            Thread.sleep(200);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS).getEtag(), second.get(5, TimeUnit.SECONDS).getEtag());
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(sceneRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    void getThumbnail_sceneNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> sceneThumbnailService.getThumbnail(4L));
+    }
+
+    @Test
+    void renderThumbnail_unsupportedModel() throws Exception {
+        when(assetModelService.resolvePath(asset)).thenReturn(writeGlb("""
+                {"asset":{"version":"2.0"},"extensionsRequired":["KHR_draco_mesh_compression"]}"""));
+
+        assertThrows(BadRequestException.class, () -> sceneThumbnailService.renderThumbnail(3L));
+    }
+
+    @Test
+    void requestRender_debouncesBurstOfChanges() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            sceneThumbnailService.onSceneChanged(SceneChangedEvent.saved(3L));
+        }
+
+        verify(sceneRepository, timeout(2000)).findById(3L);
+        Thread.sleep(300);
+        verify(sceneRepository, times(1)).findById(3L);
+        assertTrue(Files.exists(tempDir.resolve(SceneThumbnailServiceImpl.THUMBNAIL_DIR).resolve("scene-3.png")));
+    }
+
+    @Test
+    void onSceneChanged_deletedDropsThumbnailAndPendingRender() throws Exception {
+        Path path = sceneThumbnailService.renderThumbnail(3L);
+        sceneThumbnailService.requestRender(3L);
+
+        sceneThumbnailService.onSceneChanged(SceneChangedEvent.deleted(3L));
+
+        assertFalse(Files.exists(path));
+        Thread.sleep(300);
+        verify(sceneRepository, times(1)).findById(3L);
+    }
+
+    // Helper to write a GLB with the given JSON chunk and the triangle's BIN chunk
+    private Path writeGlb(String json) throws Exception {
+        ByteBuffer bin = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        bin.putFloat(0).putFloat(0).putFloat(0).putFloat(1).putFloat(0).putFloat(0).putFloat(0).putFloat(1).putFloat(0);
+        bin.putShort((short) 0).putShort((short) 1).putShort((short) 2);
+        return GlbTestFiles.write(tempDir.resolve("model.glb"), json, bin.clear());
+    }
+}
@@ -91,7 +91,7 @@ class UserServiceImplTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
-        UserResponseDTO response = userService.updateUser(1L, dto);
+        UserResponseDTO response = userService.updateUser(1L, dto, null);
 
         assertEquals("updated", response.getUsername());
         assertEquals("updated@mail.com", response.getEmail());
@@ -102,7 +102,7 @@ class UserServiceImplTest {
     void updateUser_notFound() {
         UserUpdateDTO dto = UserUpdateDTO.builder().build();
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> userService.updateUser(1L, dto));
+        assertThrows(ResourceNotFoundException.class, () -> userService.updateUser(1L, dto, null));
     }
 
     @Test
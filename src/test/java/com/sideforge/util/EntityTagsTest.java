@@ -0,0 +1,47 @@
+package com.sideforge.util;
+
+import com.sideforge.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void ok_setsValidators() {
+        ResponseEntity<String> response = EntityTags.ok("body", 7L, Instant.parse("2025-01-01T10:00:00Z"));
+
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        assertEquals(Instant.parse("2025-01-01T10:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
+        assertEquals("body", response.getBody());
+    }
+
+    @Test
+    void ok_withoutVersion() {
+        ResponseEntity<String> response = EntityTags.ok("body", null, null);
+
+        assertNull(response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
+    }
+
+    @Test
+    void expectedVersion_parsesStrongTags() {
+        assertNull(EntityTags.expectedVersion(null));
+        assertNull(EntityTags.expectedVersion("*"));
+        assertEquals(4L, EntityTags.expectedVersion(" \"4\" "));
+        assertEquals(-1L, EntityTags.expectedVersion("W/\"4\""));
+        assertEquals(-1L, EntityTags.expectedVersion("\"4\", \"5\""));
+        assertEquals(-1L, EntityTags.expectedVersion("\"abc\""));
+    }
+
+    @Test
+    void checkVersion() {
+        assertDoesNotThrow(() -> EntityTags.checkVersion(null, 3L));
+        assertDoesNotThrow(() -> EntityTags.checkVersion(3L, 3L));
+        assertThrows(PreconditionFailedException.class, () -> EntityTags.checkVersion(2L, 3L));
+        assertThrows(PreconditionFailedException.class, () -> EntityTags.checkVersion(-1L, 3L));
+    }
+}
@@ -0,0 +1,66 @@
+package com.sideforge.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompressedFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void gzip_writesFreshSibling() throws Exception {
+        byte[] content = "glTF ".repeat(1000).getBytes();
+        Path file = Files.write(dir.resolve("model.glb"), content);
+
+        assertTrue(PrecompressedFiles.gzip(file));
+
+        Path gzip = PrecompressedFiles.findGzip(file);
+        assertEquals(dir.resolve("model.glb.gz"), gzip);
+        assertEquals(Files.getLastModifiedTime(file), Files.getLastModifiedTime(gzip));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void gzip_incompressibleFileGetsNoSibling() throws Exception {
+        byte[] content = new byte[4096];
+        new Random(1).nextBytes(content);
+        Path file = Files.write(dir.resolve("texture.jpg"), content);
+
+        assertFalse(PrecompressedFiles.gzip(file));
+        assertNull(PrecompressedFiles.findGzip(file));
+    }
+
+    @Test
+    void findGzip_staleSiblingIgnored() throws Exception {
+        Path file = Files.write(dir.resolve("texture.png"), "x".repeat(1000).getBytes());
+        assertTrue(PrecompressedFiles.gzip(file));
+
+        // The source was replaced after the sibling was written
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+
+        assertNull(PrecompressedFiles.findGzip(file));
+        assertTrue(PrecompressedFiles.gzip(file));
+        assertNotNull(PrecompressedFiles.findGzip(file));
+    }
+
+    @Test
+    void acceptsGzip_qualityValues() {
+        assertTrue(PrecompressedFiles.acceptsGzip("gzip, deflate, br"));
+        assertTrue(PrecompressedFiles.acceptsGzip("br;q=1.0, *;q=0.5"));
+        assertFalse(PrecompressedFiles.acceptsGzip("gzip;q=0, *"));
+        assertFalse(PrecompressedFiles.acceptsGzip("identity"));
+        assertFalse(PrecompressedFiles.acceptsGzip(null));
+    }
+}
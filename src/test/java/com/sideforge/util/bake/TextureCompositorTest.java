@@ -0,0 +1,81 @@
+package com.sideforge.util.bake;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextureCompositorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void composite_layersInOrderAcrossTiles() {
+        List<Layer> layers = List.of(
+                new FillLayer(new Rectangle(0, 0, 200, 150), 0xffffffff),
+                new FillLayer(new Rectangle(50, 40, 100, 80), 0xffff0000),
+                new FillLayer(new Rectangle(100, 0, 100, 150), PixelBuffer.premultiply(0x800000ff)));
+
+        PixelBuffer canvas = TextureCompositor.composite(200, 150, layers, pool);
+
+        assertEquals(0xffffffff, canvas.getArgb(10, 10));
+        assertEquals(0xffff0000, canvas.getArgb(60, 100));
+        assertEquals(0xff7f7fff, canvas.getArgb(190, 140));
+        assertEquals(0xff7f0080, canvas.getArgb(120, 100));
+    }
+
+    @Test
+    void imageLayer_scalesAndPlaces() {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xff00ff00);
+        image.setRGB(1, 0, 0xff00ff00);
+        image.setRGB(0, 1, 0xff0000ff);
+        image.setRGB(1, 1, 0xff0000ff);
+        AffineTransform transform = AffineTransform.getTranslateInstance(100, 100);
+        transform.scale(50, 50);
+
+        PixelBuffer canvas = TextureCompositor.composite(256, 256,
+                List.of(new ImageLayer(PixelBuffer.of(image), transform, false)), pool);
+
+        assertEquals(0xff00ff00, canvas.getArgb(110, 110));
+        assertEquals(0xff0000ff, canvas.getArgb(190, 190));
+        assertEquals(0, canvas.getArgb(90, 150));
+        assertEquals(0, canvas.getArgb(210, 150));
+    }
+
+    @Test
+    void pngWriter_roundTripsThroughImageIo() throws Exception {
+        PixelBuffer canvas = PixelBuffer.allocate(300, 70);
+        for (int y = 0; y < canvas.height(); y++) {
+            for (int x = 0; x < canvas.width(); x++) {
+                canvas.set(x, y, PixelBuffer.premultiply(((x * 7 + y) & 0xff) << 24 | x << 8 | y * 3));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PngWriter.write(canvas, out);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(300, decoded.getWidth());
+        assertEquals(70, decoded.getHeight());
+        for (int y = 0; y < canvas.height(); y++) {
+            for (int x = 0; x < canvas.width(); x++) {
+                assertEquals(canvas.getArgb(x, y), decoded.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+}
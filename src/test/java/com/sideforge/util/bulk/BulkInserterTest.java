@@ -0,0 +1,124 @@
+package com.sideforge.util.bulk;
+
+import com.sideforge.dto.BulkResultDTO;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkInserterTest {
+
+    record Item(@NotBlank String name) {
+    }
+
+    private PlatformTransactionManager transactionManager;
+    private EntityManager entityManager;
+    private BulkInserter inserter;
+
+    // Items "stored" by the current transaction, moved to committed on commit
+    private final List<String> pending = new ArrayList<>();
+    private final List<String> committed = new ArrayList<>();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            committed.addAll(pending);
+            pending.clear();
+            return null;
+        }).when(transactionManager).commit(any(TransactionStatus.class));
+        doAnswer(invocation -> {
+            pending.clear();
+            return null;
+        }).when(transactionManager).rollback(any(TransactionStatus.class));
+        entityManager = mock(EntityManager.class);
+        // A flush fails like a unique index when a pending item repeats a name
+        doAnswer(invocation -> {
+            List<String> all = new ArrayList<>(committed);
+            all.addAll(pending);
+            if (all.stream().distinct().count() < all.size()) {
+                throw new ConstraintViolationException("duplicate", null, "uk_name");
+            }
+            return null;
+        }).when(entityManager).flush();
+
+        inserter = new BulkInserter(transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), 3);
+        ReflectionTestUtils.setField(inserter, "entityManager", entityManager);
+    }
+
+    @Test
+    void insert_chunksAndReportsEachItem() {
+        List<Item> items = List.of(new Item("a"), new Item(""), new Item("missing"), new Item("d"),
+                new Item("bad"), new Item("f"), new Item("g"));
+
+        BulkResultDTO result = inserter.insert(items, chunk -> chunkSizes.add(chunk.size()), this::write);
+
+        assertEquals(List.of(3, 3, 1), chunkSizes);
+        assertEquals(4, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(201, 400, 404, 201, 400, 201, 201),
+                result.getItems().stream().map(item -> item.getStatus()).toList());
+        assertEquals("name: must not be blank", result.getItems().get(1).getError());
+        assertEquals(List.of("a", "d", "f", "g"), committed);
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void insert_failedChunkIsRetriedItemByItem() {
+        List<Item> items = List.of(new Item("a"), new Item("b"), new Item("a"), new Item("c"));
+
+        BulkResultDTO result = inserter.insert(items, chunk -> { }, this::write);
+
+        assertEquals(List.of(201, 201, 409, 201),
+                result.getItems().stream().map(item -> item.getStatus()).toList());
+        assertEquals("Conflicts with existing data", result.getItems().get(2).getError());
+        assertEquals(List.of("a", "b", "c"), committed);
+    }
+
+    @Test
+    void insert_rejectsEmptyAndOversizedRequests() {
+        assertThrows(BadRequestException.class, () -> inserter.insert(List.of(), chunk -> { }, this::write));
+        assertThrows(BadRequestException.class, () -> inserter.insert(null, chunk -> { }, this::write));
+        List<Item> tooMany = Collections.nCopies(BulkInserter.MAX_ITEMS + 1, new Item("x"));
+        assertThrows(BadRequestException.class, () -> inserter.insert(tooMany, chunk -> { }, this::write));
+    }
+
+    @Test
+    void referencedIds_skipsNullsAndDuplicates() {
+        List<Long> ids = IntStream.of(1, 2, 2, 3).mapToObj(Long::valueOf).collect(ArrayList::new, List::add, List::addAll);
+        ids.add(null);
+
+        assertEquals(java.util.Set.of(1L, 2L, 3L), BulkInserter.referencedIds(ids, id -> id));
+    }
+
+    private Long write(Item item) {
+        if (item.name().equals("missing")) {
+            throw new ResourceNotFoundException("Missing: " + item.name());
+        }
+        if (item.name().equals("bad")) {
+            throw new BadRequestException("Bad: " + item.name());
+        }
+        pending.add(item.name());
+        return (long) (committed.size() + pending.size());
+    }
+}
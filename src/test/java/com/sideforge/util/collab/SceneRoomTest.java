@@ -0,0 +1,115 @@
+package com.sideforge.util.collab;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sideforge.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneRoomTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SceneRoom room;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        room = new SceneRoom(1L, 2L, SceneRoom.document(json("{'fov':60,'position':[0,1,5]}"),
+                json("{'intensity':1}"), (ObjectNode) json("{'partsColors':{'HANDLE':'#ff0000'}}")));
+    }
+
+    @Test
+    void apply_sequencesOperations() throws Exception {
+        assertEquals(1, room.apply(10, json("{'id':1,'target':'camera','patch':{'fov':50}}")));
+        assertEquals(2, room.apply(11, json("{'id':7,'target':'design','patch':{'materials':{'defaultMaterial':'COTTON'}}}")));
+
+        assertEquals(json("{'camera':{'fov':50,'position':[0,1,5]},'lighting':{'intensity':1},"
+                + "'design':{'partsColors':{'HANDLE':'#ff0000'},'materials':{'defaultMaterial':'COTTON'}}}"), room.getState());
+        ObjectNode snapshot = room.snapshot(12);
+        assertEquals("snapshot", snapshot.get("type").asText());
+        assertEquals(12, snapshot.get("clientId").asLong());
+        assertEquals(2, snapshot.get("seq").asLong());
+    }
+
+    @Test
+    void drainBatch_coalescesOperationsWithAcks() throws Exception {
+        room.apply(10, json("{'id':1,'target':'camera','patch':{'fov':50}}"));
+        room.apply(10, json("{'id':2,'target':'camera','patch':{'fov':45,'near':0.1}}"));
+        room.apply(11, json("{'id':5,'target':'lighting','patch':{'intensity':null}}"));
+
+        JsonNode delta = json(room.drainBatch().toString());
+
+        assertEquals(json("{'type':'delta','seq':3,'patch':{'camera':{'fov':45,'near':0.1},'lighting':{'intensity':null}},"
+                + "'acks':{'10':2,'11':5}}"), delta);
+        assertNull(room.drainBatch());
+    }
+
+    @Test
+    void apply_rejectsMalformedOperations() {
+        assertThrows(BadRequestException.class, () -> room.apply(10, null));
+        assertThrows(BadRequestException.class, () -> room.apply(10, json("[1]")));
+        assertThrows(BadRequestException.class, () -> room.apply(10, json("{'target':'owner','patch':{}}")));
+        assertThrows(BadRequestException.class, () -> room.apply(10, json("{'target':'camera'}")));
+        assertThrows(BadRequestException.class, () -> room.apply(10, json("{'target':'design','patch':{'name':'X'}}")));
+        assertThrows(BadRequestException.class, () -> room.apply(10, json("{'id':'a','target':'camera','patch':{}}")));
+        assertEquals(0, room.getSequence());
+        assertNull(room.drainBatch());
+    }
+
+    @Test
+    void drainUnsaved_splitsSceneAndDesign() throws Exception {
+        room.apply(10, json("{'target':'camera','patch':{'fov':50}}"));
+        room.apply(10, json("{'target':'camera','patch':{'fov':40}}"));
+        room.apply(10, json("{'target':'design','patch':{'partsColors':{'HANDLE':'#00ff00'}}}"));
+
+        SceneRoom.Unsaved unsaved = room.drainUnsaved();
+
+        assertEquals(json("{'camera':{'fov':40}}"), unsaved.scene());
+        assertEquals(json("{'partsColors':{'HANDLE':'#00ff00'}}"), unsaved.design());
+        assertFalse(room.hasUnsaved());
+        assertNull(room.drainUnsaved());
+    }
+
+    @Test
+    void restoreUnsaved_keepsLaterChangesOnTop() throws Exception {
+        room.apply(10, json("{'target':'camera','patch':{'fov':50,'near':0.1}}"));
+        SceneRoom.Unsaved failed = room.drainUnsaved();
+        room.apply(10, json("{'target':'camera','patch':{'fov':40}}"));
+
+        room.restoreUnsaved(failed);
+
+        assertEquals(json("{'camera':{'fov':40,'near':0.1}}"), room.drainUnsaved().scene());
+    }
+
+    @Test
+    void drainUnsaved_deleteThenReplaceIsExact() throws Exception {
+        room.apply(10, json("{'target':'lighting','patch':null}"));
+        room.apply(10, json("{'target':'lighting','patch':{'color':'#ffffff'}}"));
+
+        JsonNode scene = room.drainUnsaved().scene();
+
+        assertEquals(json("{'lighting':{'intensity':null,'color':'#ffffff'}}"), scene);
+        assertEquals(json("{'intensity':null,'color':'#ffffff'}"), room.drainBatch().get("patch").get("lighting"));
+    }
+
+    @Test
+    void reconcile_mergesStoredChangesUnderUnsavedEdits() throws Exception {
+        room.apply(10, json("{'target':'camera','patch':{'fov':50}}"));
+        room.drainBatch();
+        ObjectNode stored = SceneRoom.document(json("{'fov':70,'position':[0,2,5]}"), json("{'intensity':1}"),
+                (ObjectNode) json("{'partsColors':{'HANDLE':'#ff0000'}}"));
+
+        assertTrue(room.reconcile(stored));
+
+        assertEquals(json("{'fov':50,'position':[0,2,5]}"), room.getState().get("camera"));
+        assertEquals(json("{'camera':{'position':[0,2,5]}}"), room.drainBatch().get("patch"));
+        assertFalse(room.reconcile(stored));
+    }
+
+    private static JsonNode json(String text) throws Exception {
+        return MAPPER.readTree(text.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,108 @@
+package com.sideforge.util.design;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DesignConfigTest {
+
+    @Test
+    void typedSections_roundTripThroughBytes() {
+        DesignConfig config = DesignConfig.of(
+                "{\"material\":\"cotton\",\"left-sleeve\":\"Denim\"}",
+                "{\"handle\":\"blue\",\"BASE\":\"#FF000080\",\"interior\":\"#0f0\"}",
+                "{\"logo\":\"/logos/a.png\",\"part\":\"chest\",\"x\":0.25,\"y\":0.5,\"scale\":1.5,\"rotation\":90}",
+                "{\"text\":\"Hello\",\"font\":\"Roboto\",\"color\":\"white\",\"size\":12.5}");
+
+        DesignConfig decoded = DesignConfig.fromBytes(config.toBytes());
+
+        assertEquals(config, decoded);
+        assertEquals(MaterialType.DENIM, decoded.getMaterial(Part.LEFT_SLEEVE));
+        assertEquals(MaterialType.COTTON, decoded.getMaterial(Part.CHEST));
+        assertEquals(0xff000080, decoded.getPartsColors().get(Part.BASE).value());
+        assertEquals(Part.CHEST, decoded.getLogo().part());
+        assertEquals(1.5f, decoded.getLogo().size());
+        assertEquals("{\"material\":\"cotton\",\"left_sleeve\":\"denim\"}", decoded.getMaterialsJson());
+        assertEquals("{\"handle\":\"blue\",\"base\":\"#ff000080\",\"interior\":\"#00ff00\"}", decoded.getPartsColorsJson());
+        assertEquals("{\"logo\":\"/logos/a.png\",\"part\":\"chest\",\"x\":0.25,\"y\":0.5,\"scale\":1.5,\"rotation\":90.0}",
+                decoded.getLogoConfigJson());
+        assertEquals("{\"text\":\"Hello\",\"font\":\"Roboto\",\"color\":\"white\",\"size\":12.5}", decoded.getTextConfigJson());
+    }
+
+    @Test
+    void untypedContent_isKept() {
+        DesignConfig config = DesignConfig.of("{\"material\":\"ceramic\",\"finish\":{\"gloss\":true}}",
+                "{\"sleeve\":\"black\",\"handle\":\"sky\"}", "[1,2]", "not json");
+
+        DesignConfig decoded = DesignConfig.fromBytes(config.toBytes());
+
+        assertNull(decoded.getMaterial(Part.HANDLE));
+        assertTrue(decoded.getPartsColors().isEmpty());
+        assertEquals("{\"material\":\"ceramic\",\"finish\":{\"gloss\":true}}", decoded.getMaterialsJson());
+        assertEquals("{\"sleeve\":\"black\",\"handle\":\"sky\"}", decoded.getPartsColorsJson());
+        assertEquals("[1,2]", decoded.getLogoConfigJson());
+        assertEquals("not json", decoded.getTextConfigJson());
+    }
+
+    @Test
+    void numbersFloatsWouldChange_stayUntyped() throws Exception {
+        DesignConfig config = DesignConfig.of(null, null,
+                "{\"logo\":\"l.png\",\"x\":0.1234567891,\"y\":0.3,\"scale\":16777217,\"rotation\":1e300}", null);
+
+        DesignConfig decoded = DesignConfig.fromBytes(config.toBytes());
+
+        assertNull(decoded.getLogo().x());
+        assertEquals(0.3f, decoded.getLogo().y());
+        assertNull(decoded.getLogo().size());
+        assertNull(decoded.getLogo().rotation());
+        JsonNode json = new ObjectMapper().readTree(decoded.getLogoConfigJson());
+        assertEquals(0.1234567891, json.get("x").doubleValue());
+        assertEquals(16777217, json.get("scale").longValue());
+        assertEquals(1e300, json.get("rotation").doubleValue());
+    }
+
+    @Test
+    void with_replacesOnlyGivenSections() {
+        DesignConfig config = DesignConfig.of("{\"material\":\"wool\"}", "{\"handle\":\"red\"}", null, null);
+
+        DesignConfig updated = config.with(null, "{\"handle\":\"navy\"}", "{\"logo\":\"l.png\"}", null);
+
+        assertEquals("{\"material\":\"wool\"}", updated.getMaterialsJson());
+        assertEquals("{\"handle\":\"navy\"}", updated.getPartsColorsJson());
+        assertEquals("{\"logo\":\"l.png\"}", updated.getLogoConfigJson());
+        assertNull(updated.getTextConfigJson());
+        assertEquals(config, config.with(null, null, null, null));
+    }
+
+    @Test
+    void encoding_isSmallerThanJson() {
+        String materials = "{\"material\":\"cotton\",\"chest\":\"polyester\"}";
+        String colors = "{\"chest\":\"#1e90ff\",\"left_sleeve\":\"white\",\"right_sleeve\":\"white\",\"collar\":\"navy\"}";
+        String logo = "{\"logo\":\"/logos/a.png\",\"part\":\"chest\",\"x\":0.25,\"y\":0.5,\"scale\":1.5}";
+        int json = (materials + colors + logo).getBytes(StandardCharsets.UTF_8).length;
+
+        assertTrue(DesignConfig.of(materials, colors, logo, null).encodedSize() * 3 < json);
+        assertEquals(5, DesignConfig.EMPTY.encodedSize());
+    }
+
+    @Test
+    void tooLarge_isBadRequest() {
+        String text = "{\"text\":\"" + "a".repeat(DesignConfig.MAX_BYTES) + "\"}";
+        assertThrows(BadRequestException.class, () -> DesignConfig.of(null, null, null, text));
+    }
+
+    @Test
+    void fromBytes_rejectsCorruptData() {
+        byte[] bytes = DesignConfig.of(null, "{\"handle\":\"#123456\"}", null, null).toBytes();
+        assertThrows(IllegalArgumentException.class, () -> DesignConfig.fromBytes(new byte[]{9}));
+        assertThrows(IllegalArgumentException.class,
+                () -> DesignConfig.fromBytes(java.util.Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+}
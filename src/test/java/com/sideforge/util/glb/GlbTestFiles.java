@@ -0,0 +1,38 @@
+package com.sideforge.util.glb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * GLB fixtures for tests: the JSON chunk is written as given, so fixtures
+ * can also describe files GlbBuilder would not produce (external buffers,
+ * no BIN chunk, unsupported extensions).
+ */
+public final class GlbTestFiles {
+
+    private GlbTestFiles() {
+    }
+
+    // Write a GLB with the given JSON chunk and BIN chunk (position to limit; none if null)
+    public static Path write(Path target, String json, ByteBuffer bin) throws IOException {
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        int jsonPadded = (jsonBytes.length + 3) & ~3;
+        int binPadded = bin != null ? (bin.remaining() + 3) & ~3 : 0;
+        int length = GlbFile.HEADER_LENGTH + GlbFile.CHUNK_HEADER_LENGTH + jsonPadded
+                + (bin != null ? GlbFile.CHUNK_HEADER_LENGTH + binPadded : 0);
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(GlbFile.MAGIC).putInt(2).putInt(length);
+        buffer.putInt(jsonPadded).putInt(GlbFile.CHUNK_JSON).put(jsonBytes);
+        for (int i = jsonBytes.length; i < jsonPadded; i++) {
+            buffer.put((byte) ' ');
+        }
+        if (bin != null) {
+            buffer.putInt(binPadded).putInt(GlbFile.CHUNK_BIN).put(bin.duplicate());
+        }
+        return Files.write(target, buffer.array());
+    }
+}
@@ -0,0 +1,92 @@
+package com.sideforge.util.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshSimplifierTest {
+
+    @Test
+    void simplify_reachesTargetAndKeepsBorder() {
+        int size = 20;
+        float[] positions = grid(size);
+        int[] indices = gridIndices(size);
+        int target = indices.length / 10 / 3 * 3;
+
+        int[] simplified = MeshSimplifier.simplify(positions, indices, target);
+
+        assertTrue(simplified.length <= target);
+        assertTrue(simplified.length > 0);
+        float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int t = 0; t < simplified.length; t += 3) {
+            // No triangle was turned over (grid faces +Z)
+            assertTrue(normalZ(positions, simplified[t], simplified[t + 1], simplified[t + 2]) > 0);
+            for (int k = 0; k < 3; k++) {
+                int vertex = simplified[t + k];
+                minX = Math.min(minX, positions[vertex * 3]);
+                maxX = Math.max(maxX, positions[vertex * 3]);
+                minY = Math.min(minY, positions[vertex * 3 + 1]);
+                maxY = Math.max(maxY, positions[vertex * 3 + 1]);
+            }
+        }
+        // Corners are held by two border planes, so the outline survives
+        assertEquals(0f, minX);
+        assertEquals(size - 1f, maxX);
+        assertEquals(0f, minY);
+        assertEquals(size - 1f, maxY);
+    }
+
+    @Test
+    void simplify_targetAboveInputKeepsMesh() {
+        int[] indices = gridIndices(4);
+
+        int[] simplified = MeshSimplifier.simplify(grid(4), indices, indices.length);
+
+        assertArrayEquals(indices, simplified);
+    }
+
+    @Test
+    void simplify_rejectsInvalidIndices() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshSimplifier.simplify(grid(2), new int[]{0, 1, 9}, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshSimplifier.simplify(grid(2), new int[]{0, 1}, 3));
+    }
+
+    // Helper to build a flat size x size vertex grid on the XY plane
+    private static float[] grid(int size) {
+        float[] positions = new float[size * size * 3];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int v = (y * size + x) * 3;
+                positions[v] = x;
+                positions[v + 1] = y;
+            }
+        }
+        return positions;
+    }
+
+    // Helper to triangulate the grid counter-clockwise (normals along +Z)
+    private static int[] gridIndices(int size) {
+        int[] indices = new int[(size - 1) * (size - 1) * 6];
+        int i = 0;
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                int v = y * size + x;
+                indices[i++] = v;
+                indices[i++] = v + 1;
+                indices[i++] = v + size;
+                indices[i++] = v + 1;
+                indices[i++] = v + size + 1;
+                indices[i++] = v + size;
+            }
+        }
+        return indices;
+    }
+
+    private static float normalZ(float[] p, int a, int b, int c) {
+        float ux = p[b * 3] - p[a * 3], uy = p[b * 3 + 1] - p[a * 3 + 1];
+        float vx = p[c * 3] - p[a * 3], vy = p[c * 3 + 1] - p[a * 3 + 1];
+        return ux * vy - uy * vx;
+    }
+}
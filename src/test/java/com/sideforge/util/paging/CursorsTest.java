@@ -0,0 +1,80 @@
+package com.sideforge.util.paging;
+
+import com.sideforge.dto.CursorPageDTO;
+import com.sideforge.enums.PreferredLanguage;
+import com.sideforge.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorsTest {
+
+    private final Sort sort = Sort.by(Sort.Direction.DESC, "createdAt")
+            .and(Sort.by("preferredLanguage")).and(Sort.by("name")).and(Sort.by("id"));
+
+    @Test
+    void encode_decodeRoundTripKeepsTypes() {
+        Map<String, Object> keys = new HashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2025, 3, 1, 12, 30));
+        keys.put("preferredLanguage", PreferredLanguage.FR);
+        keys.put("name", null);
+        keys.put("id", 42L);
+
+        String cursor = Cursors.encode(ScrollPosition.forward(keys), sort);
+        KeysetScrollPosition position = Cursors.decode(cursor, sort);
+
+        assertEquals(keys, position.getKeys());
+        assertEquals(List.of("createdAt", "preferredLanguage", "name", "id"), List.copyOf(position.getKeys().keySet()));
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_rejectsOtherSortOrTampering() {
+        String cursor = Cursors.encode(ScrollPosition.forward(Map.of("id", 7L)), Sort.by("id"));
+
+        assertThrows(BadRequestException.class, () -> Cursors.decode(cursor, Sort.by("name").and(Sort.by("id"))));
+        assertThrows(BadRequestException.class, () -> Cursors.decode("not a cursor", Sort.by("id")));
+        assertThrows(BadRequestException.class, () -> Cursors.decode(encodeRaw("[[\"id\",\"l\",\"seven\"]]"), Sort.by("id")));
+        assertThrows(BadRequestException.class,
+                () -> Cursors.decode(encodeRaw("[[\"id\",\"e:java.lang.Thread$State\",\"NEW\"]]"), Sort.by("id")));
+    }
+
+    @Test
+    void scrollRequest_appendsIdAndBuildsPage() {
+        ScrollRequest request = ScrollRequest.of(null, 2, new String[]{"name", "asc"}, false);
+        assertEquals(Sort.by("name").and(Sort.by("id")), request.sort());
+        assertTrue(request.position().isInitial());
+
+        Window<String> window = Window.from(List.of("a", "b"),
+                index -> ScrollPosition.forward(Map.of("name", List.of("a", "b").get(index), "id", index + 1L)), true);
+        CursorPageDTO<String> page = request.toPage(window, String::toUpperCase, () -> fail("count not requested"));
+
+        assertEquals(List.of("A", "B"), page.getContent());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        assertEquals(Map.of("name", "b", "id", 2L),
+                ScrollRequest.of(page.getNextCursor(), 2, new String[]{"name", "asc"}, false).position() instanceof KeysetScrollPosition keyset
+                        ? keyset.getKeys() : null);
+    }
+
+    @Test
+    void scrollRequest_lastPageHasNoCursor() {
+        ScrollRequest request = ScrollRequest.of(null, 2, new String[]{"id", "desc"}, true);
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), request.sort());
+
+        CursorPageDTO<String> page = request.toPage(Window.from(List.of("a"), index -> ScrollPosition.keyset()),
+                s -> s, () -> 1L);
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(1L, page.getTotalElements());
+    }
+
+    private static String encodeRaw(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes());
+    }
+}
@@ -0,0 +1,71 @@
+package com.sideforge.util.parts;
+
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.util.design.DesignConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DesignValidatorTest {
+
+    private static final DesignValidator SHIRT = DesignValidator.compile(1L, PartsConfig.parse(
+            "{\"chest\":{\"colors\":[\"white\",\"#1e90ff\"],\"materials\":[\"cotton\",\"polyester\"]},"
+                    + "\"left_sleeve\":true,\"collar\":false}"));
+
+    @Test
+    void partsColors_customizablePartsAndAllowedColors() {
+        assertValid(SHIRT, null, "{\"chest\":\"#FFF\",\"left-sleeve\":\"red\"}", null, null);
+        assertValid(SHIRT, null, "{\"chest\":\"#1E90FF\"}", null, null);
+
+        assertInvalid(SHIRT, null, "{\"chest\":\"black\"}", null, null, "Color 'black' is not allowed on part CHEST");
+        assertInvalid(SHIRT, null, "{\"collar\":\"white\"}", null, null, "Part 'collar' is not customizable on asset 1");
+        assertInvalid(SHIRT, null, "{\"handle\":\"white\"}", null, null, "Part 'handle' is not customizable on asset 1");
+        assertInvalid(SHIRT, null, "{\"sleeve\":\"white\"}", null, null, "Part 'sleeve' is not customizable on asset 1");
+        assertInvalid(SHIRT, null, "{\"chest\":\"sky\"}", null, null, "Color \"sky\" of part 'chest' is not a color");
+        assertInvalid(SHIRT, null, "[\"chest\"]", null, null, "Parts colors must be a JSON object");
+    }
+
+    @Test
+    void materials_perPartAndDefault() {
+        assertValid(SHIRT, "{\"chest\":\"polyester\",\"left_sleeve\":\"wool\",\"finish\":{\"gloss\":true}}", null, null, null);
+        assertValid(SHIRT, "{\"material\":\"cotton\"}", null, null, null);
+        // The default does not reach a part that sets its own material
+        assertValid(SHIRT, "{\"material\":\"wool\",\"chest\":\"cotton\"}", null, null, null);
+
+        assertInvalid(SHIRT, "{\"chest\":\"wool\"}", null, null, null, "Material 'wool' is not allowed on part CHEST");
+        assertInvalid(SHIRT, "{\"material\":\"wool\"}", null, null, null, "(default material)");
+        assertInvalid(SHIRT, "{\"collar\":\"cotton\"}", null, null, null, "Part 'collar' is not customizable");
+        assertInvalid(SHIRT, "{\"chest\":\"velvet\"}", null, null, null, "Material \"velvet\" of 'chest' is unknown");
+    }
+
+    @Test
+    void placements_partAndBounds() {
+        assertValid(SHIRT, null, null, "{\"logo\":\"/l.png\",\"part\":\"chest\",\"x\":0,\"y\":1,\"scale\":10,\"rotation\":-90}",
+                "{\"text\":\"Hi\",\"size\":48,\"x\":0.5}");
+
+        assertInvalid(SHIRT, null, null, "{\"part\":\"collar\"}", null, "Part 'collar' is not customizable");
+        assertInvalid(SHIRT, null, null, "{\"x\":1.5}", null, "Logo position must be within [0, 1]");
+        assertInvalid(SHIRT, null, null, "{\"scale\":0}", null, "Logo size must be positive");
+        assertInvalid(SHIRT, null, null, null, "{\"size\":600}", "Text size must be positive and at most 512.0");
+        assertInvalid(SHIRT, null, null, null, "{\"rotation\":720}", "Text rotation must be within [-360, 360] degrees");
+    }
+
+    @Test
+    void assetWithoutParts_onlyChecksPlacementBounds() {
+        DesignValidator any = DesignValidator.compile(2L, PartsConfig.parse("{\"color\":\"white\"}"));
+
+        assertValid(any, "{\"material\":\"oak\"}", "{\"sleeve\":\"sky\"}", "{\"part\":\"collar\"}", null);
+        assertInvalid(any, null, null, "{\"y\":-0.1}", null, "Logo position must be within [0, 1]");
+    }
+
+    private static void assertValid(DesignValidator validator, String materials, String colors, String logo, String text) {
+        assertDoesNotThrow(() -> validator.validate(DesignConfig.of(materials, colors, logo, text)));
+    }
+
+    private static void assertInvalid(DesignValidator validator, String materials, String colors, String logo, String text,
+                                      String message) {
+        DesignConfig design = DesignConfig.of(materials, colors, logo, text);
+        BadRequestException e = assertThrows(BadRequestException.class, () -> validator.validate(design));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package com.sideforge.util.parts;
+
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartsConfigTest {
+
+    @Test
+    void parse_partsAndOptions() {
+        PartsConfig config = PartsConfig.parse("{\"handle\":true,\"base\":false,"
+                + "\"left-sleeve\":{\"label\":\"Left sleeve\",\"colors\":[\"white\",\"black\"]},\"color\":\"white\",\"size\":2}");
+
+        assertEquals(Set.of(Part.HANDLE, Part.LEFT_SLEEVE), config.getCustomizableParts());
+        assertFalse(config.isCustomizable(Part.BASE));
+        assertEquals(List.of(Part.LEFT_SLEEVE, Part.HANDLE, Part.BASE), List.copyOf(config.getParts().keySet()));
+        assertEquals("Left sleeve", config.get(Part.LEFT_SLEEVE).label());
+        assertTrue(config.get(Part.LEFT_SLEEVE).allowsColor("Black"));
+        assertFalse(config.get(Part.LEFT_SLEEVE).allowsColor("red"));
+        assertTrue(config.get(Part.HANDLE).allowsColor("red"));
+        assertEquals("white", config.getOptions().get("color"));
+        assertEquals("2", config.getOptions().get("size"));
+    }
+
+    @Test
+    void parse_emptyConfig() {
+        assertSame(PartsConfig.EMPTY, PartsConfig.parse(null));
+        assertSame(PartsConfig.EMPTY, PartsConfig.parse(" "));
+    }
+
+    @Test
+    void parse_rejectsInvalidConfig() {
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{handle"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("[\"handle\"]"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"handle\":\"yes\"}"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"handle\":{\"colors\":\"red\"}}"));
+    }
+
+    @Test
+    void parse_uvRegions() {
+        PartsConfig config = PartsConfig.parse("{\"handle\":{\"uv\":[0,0.5,0.25,1]},\"base\":true}");
+
+        assertEquals(new UvRect(0, 0.5, 0.25, 1), config.get(Part.HANDLE).uv());
+        assertNull(config.get(Part.BASE).uv());
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"handle\":{\"uv\":[0,0,1]}}"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"handle\":{\"uv\":[0.5,0,0.25,1]}}"));
+    }
+
+    @Test
+    void parse_materialsAndColorsAreChecked() {
+        PartsConfig config = PartsConfig.parse("{\"chest\":{\"materials\":[\"cotton\",\"Stainless steel\"]}}");
+
+        assertEquals(List.of(MaterialType.COTTON, MaterialType.STAINLESS_STEEL), config.get(Part.CHEST).materials());
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"chest\":{\"materials\":[\"velvet\"]}}"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"chest\":{\"materials\":\"cotton\"}}"));
+        assertThrows(BadRequestException.class, () -> PartsConfig.parse("{\"chest\":{\"colors\":[\"sky\"]}}"));
+    }
+
+    @Test
+    void partForNodeName_prefersLongestPart() {
+        assertEquals(Part.LEFT_CHEST, PartsConfig.partForNodeName("Tshirt.Left Chest"));
+        assertEquals(Part.CHEST, PartsConfig.partForNodeName("tshirt_chest_01"));
+        assertNull(PartsConfig.partForNodeName("Basement"));
+        assertNull(PartsConfig.partForNodeName(null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sideforge.util.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sideforge.exception.BadRequestException;
+import com.sideforge.exception.PatchConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPatchesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void mergePatch_rfc7386Example() throws Exception {
+        JsonNode target = json("{'title':'Goodbye!','author':{'givenName':'John','familyName':'Doe'},'tags':['example','sample'],'content':'This will be unchanged'}");
+        JsonNode patch = json("{'title':'Hello!','phoneNumber':'+01-123-456-7890','author':{'familyName':null},'tags':['example']}");
+
+        JsonNode result = JsonPatches.mergePatch(target, patch);
+
+        assertEquals(json("{'title':'Hello!','author':{'givenName':'John'},'tags':['example'],'content':'This will be unchanged','phoneNumber':'+01-123-456-7890'}"), result);
+        assertEquals("Goodbye!", target.get("title").asText());
+    }
+
+    @Test
+    void apply_operations() throws Exception {
+        JsonNode target = json("{'camera':{'fov':60,'position':[0,1,2]},'a/b':1,'m~n':2}");
+        JsonNode patch = json("["
+                + "{'op':'test','path':'/camera/fov','value':60.0},"
+                + "{'op':'replace','path':'/camera/fov','value':45},"
+                + "{'op':'add','path':'/camera/position/1','value':9},"
+                + "{'op':'add','path':'/camera/position/-','value':3},"
+                + "{'op':'remove','path':'/a~1b'},"
+                + "{'op':'move','from':'/m~0n','path':'/n'},"
+                + "{'op':'copy','from':'/camera/fov','path':'/fov'}]");
+
+        JsonNode result = JsonPatches.apply(target, patch);
+
+        assertEquals(json("{'camera':{'fov':45,'position':[0,9,1,2,3]},'n':2,'fov':45}"), result);
+        assertEquals(60, target.at("/camera/fov").asInt());
+    }
+
+    @Test
+    void apply_failures() throws Exception {
+        JsonNode target = json("{'camera':{'fov':60},'list':[1]}");
+
+        assertThrows(PatchConflictException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'test','path':'/camera/fov','value':45}]")));
+        assertThrows(PatchConflictException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'remove','path':'/camera/zoom'}]")));
+        assertThrows(PatchConflictException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'add','path':'/list/2','value':0}]")));
+        assertThrows(BadRequestException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'rotate','path':'/camera'}]")));
+        assertThrows(BadRequestException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'add','path':'/camera/x'}]")));
+        assertThrows(BadRequestException.class,
+                () -> JsonPatches.apply(target, json("[{'op':'move','from':'/camera','path':'/camera/inner'}]")));
+        assertThrows(BadRequestException.class, () -> JsonPatches.apply(target, json("{'op':'remove'}")));
+    }
+
+    @Test
+    void diff_onlyChangedMembers() throws Exception {
+        JsonNode before = json("{'name':'A','camera':{'fov':60,'far':100},'lighting':{'type':'shop'},'thumb':'t.png'}");
+        JsonNode after = json("{'name':'A','camera':{'fov':45.0,'far':100.0},'lighting':{'type':'shop'}}");
+
+        assertEquals(json("{'thumb':null,'camera':{'fov':45.0}}"), JsonPatches.diff(before, after));
+        assertTrue(JsonPatches.diff(before, before).isEmpty());
+    }
+
+    @Test
+    void storedText_roundTrip() {
+        assertNull(JsonPatches.toNode(null));
+        assertEquals("not json", JsonPatches.toNode("not json").asText());
+        assertEquals("not json", JsonPatches.toJson(JsonPatches.toNode("not json")));
+        assertEquals("{\"a\":1}", JsonPatches.toJson(JsonPatches.toNode("{ \"a\": 1 }")));
+        assertNull(JsonPatches.toJson(MAPPER.nullNode()));
+    }
+
+    @Test
+    void requireFields() throws Exception {
+        assertDoesNotThrow(() -> JsonPatches.requireFields(json("{'name':'A'}"), Set.of("name")));
+        assertThrows(BadRequestException.class, () -> JsonPatches.requireFields(json("{'owner':1}"), Set.of("name")));
+        assertThrows(BadRequestException.class, () -> JsonPatches.requireFields(json("[]"), Set.of("name")));
+    }
+
+    @Test
+    void diffOperations_replaysExactly() throws Exception {
+        JsonNode before = json("{'a':1,'b':{'c':'x','d':[1,2]},'e':'gone','a/b':0}");
+        JsonNode after = json("{'a':null,'b':{'c':null,'d':[2],'f':{'g':null}},'a/b':1}");
+
+        JsonNode operations = JsonPatches.diffOperations(before, after);
+
+        assertEquals(after, JsonPatches.apply(before, operations));
+        assertTrue(JsonPatches.diffOperations(after, after).isEmpty());
+    }
+
+    private static JsonNode json(String text) throws Exception {
+        return MAPPER.readTree(text.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sideforge.util.render;
+
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.glb.GlbFile;
+import com.sideforge.util.glb.GlbTestFiles;
+import com.sideforge.util.parts.PartsConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlbSceneLoaderTest {
+
+    // Triangle (0,0,0) (1,0,0) (0,1,0) with +Z normals: positions, indices, normals
+    private static final String BUFFERS = """
+            "buffers":[{"byteLength":80}],
+            "bufferViews":[{"buffer":0,"byteOffset":0,"byteLength":36},{"buffer":0,"byteOffset":36,"byteLength":6},
+                           {"buffer":0,"byteOffset":44,"byteLength":36}],
+            "accessors":[{"bufferView":0,"componentType":5126,"count":3,"type":"VEC3"},
+                         {"bufferView":1,"componentType":5123,"count":3,"type":"SCALAR"},
+                         {"bufferView":2,"componentType":5126,"count":3,"type":"VEC3"}],""";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_appliesNodeTransformsAndDesign() throws Exception {
+        // Root: translate (0,0,5), scale 2; child: 90 degrees about Z
+        GlbFile glb = glb("""
+                {"asset":{"version":"2.0"},""" + BUFFERS + """
+                 "meshes":[{"primitives":[{"attributes":{"POSITION":0,"NORMAL":2},"indices":1,"material":0}]}],
+                 "materials":[{"pbrMetallicRoughness":{"baseColorFactor":[0.5,0.5,0.5,1],"metallicFactor":0.2}}],
+                 "nodes":[{"name":"Mug","translation":[0,0,5],"scale":[2,2,2],"children":[1]},
+                          {"name":"Mug_Left_Side","mesh":0,"rotation":[0,0,0.70710677,0.70710677]}],
+                 "scenes":[{"nodes":[0]}]}""");
+        DesignConfig design = DesignConfig.of("{\"material\":\"cotton\"}", "{\"left-side\":\"#ff0000\"}", null, null);
+
+        List<RenderPrimitive> primitives = GlbSceneLoader.load(glb, bin(), design, PartsConfig.EMPTY, null);
+
+        assertEquals(1, primitives.size());
+        RenderPrimitive primitive = primitives.get(0);
+        assertArrayEquals(new float[]{0, 0, 5, 0, 2, 5, -2, 0, 5}, primitive.positions(), 1e-5f);
+        assertArrayEquals(new float[]{0, 0, 1, 0, 0, 1, 0, 0, 1}, primitive.normals(), 1e-5f);
+        assertArrayEquals(new int[]{0, 1, 2}, primitive.indices());
+        assertNull(primitive.uvs());
+        // The part color replaces the factor, the design's material sets metallic/roughness
+        RenderMaterial material = primitive.material();
+        assertArrayEquals(new float[]{1, 0, 0, 1}, material.baseColor(), 1e-6f);
+        assertEquals(0f, material.metallic());
+        assertEquals(0.9f, material.roughness(), 1e-6f);
+    }
+
+    @Test
+    void load_rootsWithoutSceneAndMirroredNormals() throws Exception {
+        GlbFile glb = glb("""
+                {"asset":{"version":"2.0"},""" + BUFFERS + """
+                 "meshes":[{"primitives":[{"attributes":{"POSITION":0,"NORMAL":2},"indices":1,"material":0},
+                                          {"attributes":{"POSITION":0},"indices":1,"mode":1}]}],
+                 "materials":[{"pbrMetallicRoughness":{"baseColorFactor":[0.5,0.5,0.5,1],"metallicFactor":0.2}}],
+                 "nodes":[{"name":"Mirror","mesh":0,"scale":[-1,1,1]}]}""");
+
+        List<RenderPrimitive> primitives = GlbSceneLoader.load(glb, bin(), DesignConfig.of(null, null, null, null),
+                PartsConfig.EMPTY, null);
+
+        // The line primitive is skipped; outside any part the source material is kept
+        assertEquals(1, primitives.size());
+        assertArrayEquals(new float[]{0, 0, 0, -1, 0, 0, 0, 1, 0}, primitives.get(0).positions(), 1e-6f);
+        assertArrayEquals(new float[]{0, 0, 1, 0, 0, 1, 0, 0, 1}, primitives.get(0).normals(), 1e-6f);
+        assertArrayEquals(new float[]{0.5f, 0.5f, 0.5f, 1}, primitives.get(0).material().baseColor());
+        assertEquals(0.2f, primitives.get(0).material().metallic(), 1e-6f);
+        assertEquals(1f, primitives.get(0).material().roughness());
+    }
+
+    private static ByteBuffer bin() {
+        ByteBuffer bin = ByteBuffer.allocate(80).order(ByteOrder.LITTLE_ENDIAN);
+        bin.putFloat(0).putFloat(0).putFloat(0).putFloat(1).putFloat(0).putFloat(0).putFloat(0).putFloat(1).putFloat(0);
+        bin.putShort((short) 0).putShort((short) 1).putShort((short) 2).putShort((short) 0);
+        for (int i = 0; i < 3; i++) {
+            bin.putFloat(0).putFloat(0).putFloat(1);
+        }
+        return bin.flip();
+    }
+
+    // Helper to read a GLB with the given JSON chunk (the BIN data is passed to the loader directly)
+    private GlbFile glb(String json) throws Exception {
+        return GlbFile.read(GlbTestFiles.write(tempDir.resolve("model.glb"), json, null));
+    }
+}
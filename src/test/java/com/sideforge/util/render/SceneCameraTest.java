@@ -0,0 +1,33 @@
+package com.sideforge.util.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneCameraTest {
+
+    @Test
+    void parse_readsAndClampsValues() {
+        SceneCamera camera = SceneCamera.parse(
+                "{\"angle\":90,\"elevation\":120,\"fov\":5,\"distance\":3,\"target\":[0,1,0]}");
+
+        assertEquals(90, camera.azimuth());
+        assertEquals(89, camera.elevation());
+        assertEquals(10, camera.fov());
+        assertEquals(3.0, camera.distance());
+        assertNull(camera.position());
+        assertArrayEquals(new double[]{0, 1, 0}, camera.target());
+    }
+
+    @Test
+    void parse_fallsBackToDefaults() {
+        assertSame(SceneCamera.DEFAULT, SceneCamera.parse(null));
+        assertSame(SceneCamera.DEFAULT, SceneCamera.parse("not json"));
+        assertSame(SceneCamera.DEFAULT, SceneCamera.parse("[1,2,3]"));
+
+        SceneCamera camera = SceneCamera.parse("{\"azimuth\":\"left\",\"distance\":-1,\"position\":[1,2]}");
+        assertEquals(SceneCamera.DEFAULT.azimuth(), camera.azimuth());
+        assertNull(camera.distance());
+        assertNull(camera.position());
+    }
+}
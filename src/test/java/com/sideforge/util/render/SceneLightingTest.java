@@ -0,0 +1,32 @@
+package com.sideforge.util.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneLightingTest {
+
+    @Test
+    void parse_presetWithOverrides() {
+        SceneLighting lighting = SceneLighting.parse(
+                "{\"type\":\"outdoor\",\"intensity\":9,\"color\":\"#ff0000\",\"background\":\"white\"}");
+
+        assertEquals(0.4f, lighting.ambient());
+        assertEquals(4f, lighting.intensity());
+        assertArrayEquals(new float[]{1f, 0f, 0f}, lighting.color());
+        assertArrayEquals(new float[]{0.3f, 1f, 0.4f}, lighting.direction());
+        assertEquals(0xFFFFFFFF, lighting.background());
+    }
+
+    @Test
+    void parse_fallsBackToPreset() {
+        assertSame(SceneLighting.DEFAULT, SceneLighting.parse(""));
+
+        SceneLighting lighting = SceneLighting.parse(
+                "{\"preset\":\"unknown\",\"color\":\"not a color\",\"direction\":[0,0,0],\"ambient\":\"x\"}");
+        assertEquals(SceneLighting.DEFAULT.ambient(), lighting.ambient());
+        assertArrayEquals(SceneLighting.DEFAULT.color(), lighting.color());
+        assertNull(lighting.direction());
+        assertEquals(0, lighting.background());
+    }
+}
@@ -0,0 +1,94 @@
+package com.sideforge.util.render;
+
+import com.sideforge.util.bake.PixelBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoftwareRasterizerTest {
+
+    private static final SceneCamera FRONT = new SceneCamera(0, 0, 40, null, null, null);
+
+    @Test
+    void render_fitsModelAndLeavesBackgroundTransparent() {
+        PixelBuffer image = SoftwareRasterizer.render(List.of(quad(0, 1, new float[]{1, 0, 0, 1})),
+                FRONT, SceneLighting.DEFAULT, 64, 64, 2);
+
+        int center = image.getArgb(32, 32);
+        assertEquals(255, center >>> 24);
+        assertTrue(((center >>> 16) & 0xff) > 150);
+        assertTrue(((center >>> 8) & 0xff) < 40);
+        assertEquals(0, image.getArgb(1, 1) >>> 24);
+        // Edges are antialiased: some pixel is only partly covered
+        boolean partial = false;
+        for (int x = 0; x < 64; x++) {
+            int alpha = image.getArgb(x, 32) >>> 24;
+            partial |= alpha > 0 && alpha < 255;
+        }
+        assertTrue(partial);
+    }
+
+    @Test
+    void render_nearerSurfaceWins() {
+        RenderPrimitive back = quad(0, 1, new float[]{1, 0, 0, 1});
+        RenderPrimitive front = quad(0.5f, 0.5f, new float[]{0, 1, 0, 1});
+
+        for (List<RenderPrimitive> order : List.of(List.of(back, front), List.of(front, back))) {
+            int center = SoftwareRasterizer.render(order, FRONT, SceneLighting.DEFAULT, 64, 64, 1).getArgb(32, 32);
+            assertTrue(((center >>> 8) & 0xff) > ((center >>> 16) & 0xff));
+        }
+    }
+
+    @Test
+    void render_usesBackgroundAndTexture() {
+        PixelBuffer texture = PixelBuffer.allocate(2, 2);
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 2; x++) {
+                texture.set(x, y, 0xFF0000FF);
+            }
+        }
+        RenderPrimitive quad = quad(0, 1, new float[]{1, 1, 1, 1});
+        RenderPrimitive textured = new RenderPrimitive(quad.positions(), quad.normals(),
+                new float[]{0, 0, 1, 0, 1, 1, 0, 1},
+                quad.indices(), new RenderMaterial(new float[]{1, 1, 1, 1}, texture, null, 0, 0.8f));
+
+        PixelBuffer image = SoftwareRasterizer.render(List.of(textured), FRONT,
+                SceneLighting.parse("{\"background\":\"#00ff00\"}"), 32, 32, 1);
+
+        assertEquals(0xFF00FF00, image.getArgb(0, 0));
+        int center = image.getArgb(16, 16);
+        assertTrue((center & 0xff) > 150);
+        assertTrue(((center >>> 16) & 0xff) < 40);
+    }
+
+    @Test
+    void render_clipsTrianglesBehindCamera() {
+        // A floor running under the camera: only the part in front of it is drawn
+        RenderPrimitive floor = new RenderPrimitive(
+                new float[]{-5, -1, -5, 5, -1, -5, 5, -1, 5, -5, -1, 5}, null, null,
+                new int[]{0, 1, 2, 0, 2, 3}, RenderMaterial.DEFAULT);
+        SceneCamera inside = new SceneCamera(0, 0, 60, null, new double[]{0, 0, 2}, new double[]{0, 0, 0});
+
+        PixelBuffer image = SoftwareRasterizer.render(List.of(floor), inside, SceneLighting.DEFAULT, 32, 32, 1);
+
+        assertEquals(255, image.getArgb(16, 31) >>> 24);
+        assertEquals(0, image.getArgb(16, 0) >>> 24);
+    }
+
+    @Test
+    void render_invalidSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SoftwareRasterizer.render(List.of(), FRONT, SceneLighting.DEFAULT, 0, 64, 1));
+    }
+
+    // Helper to build a square of half-size size at depth z facing +Z
+    private static RenderPrimitive quad(float z, float size, float[] color) {
+        return new RenderPrimitive(
+                new float[]{-size, -size, z, size, -size, z, size, size, z, -size, size, z},
+                new float[]{0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 1},
+                null, new int[]{0, 1, 2, 0, 2, 3},
+                new RenderMaterial(color, null, null, 0, 0.8f));
+    }
+}
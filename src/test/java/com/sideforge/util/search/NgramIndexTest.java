@@ -0,0 +1,90 @@
+package com.sideforge.util.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+
+    private NgramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex();
+        put(1L, "Ceramic Mug", "White coffee mug");
+        put(2L, "Travel Mug", "Insulated steel tumbler");
+        put(3L, "T-Shirt", "Cotton tee with a mug print");
+        put(4L, "Café Poster", "Matte paper");
+    }
+
+    @Test
+    void search_ranksNameMatchesFirst() {
+        NgramIndex.Result result = index.search("mug", 0, 10);
+
+        assertEquals(3, result.total());
+        assertEquals(List.of(1L, 2L, 3L), ids(result));
+    }
+
+    @Test
+    void search_requiresEveryTerm() {
+        assertEquals(List.of(2L), ids(index.search("travel MUG", 0, 10)));
+        assertEquals(0, index.search("travel poster", 0, 10).total());
+    }
+
+    @Test
+    void search_prefixAndAccents() {
+        assertEquals(List.of(1L), ids(index.search("cera", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("cafe", 0, 10)));
+    }
+
+    @Test
+    void search_toleratesTypos() {
+        assertEquals(List.of(1L), ids(index.search("ceramci", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("insualted", 0, 10)));
+        // Short terms must match exactly or as prefixes
+        assertEquals(0, index.search("mog", 0, 10).total());
+    }
+
+    @Test
+    void search_paginates() {
+        NgramIndex.Result page = index.search("mug", 1, 1);
+
+        assertEquals(3, page.total());
+        assertEquals(List.of(2L), ids(page));
+        assertTrue(index.search("mug", 3, 10).hits().isEmpty());
+    }
+
+    @Test
+    void putAndRemove_updateIncrementally() {
+        put(2L, "Travel Bottle", "Insulated steel");
+        assertEquals(List.of(1L, 3L), ids(index.search("mug", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("bottle", 0, 10)));
+
+        index.remove(2L);
+        assertEquals(0, index.search("bottle", 0, 10).total());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void search_blankQuery() {
+        assertEquals(0, index.search(" - ", 0, 10).total());
+    }
+
+    @Test
+    void editDistance_countsTranspositionsOnce() {
+        assertEquals(1, NgramIndex.editDistance("mug", "mgu", 2));
+        assertEquals(2, NgramIndex.editDistance("poster", "potser!", 2));
+        assertEquals(3, NgramIndex.editDistance("mug", "poster", 2));
+    }
+
+    private void put(Long id, String name, String description) {
+        index.put(id, new NgramIndex.Field(name, 2f), new NgramIndex.Field(description, 1f));
+    }
+
+    private static List<Long> ids(NgramIndex.Result result) {
+        return result.hits().stream().map(NgramIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sideforge.util.similarity;
+
+import com.sideforge.enums.MaterialType;
+import com.sideforge.enums.Part;
+import com.sideforge.util.design.DesignConfig;
+import com.sideforge.util.design.Rgba;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaletteEmbeddingTest {
+
+    @Test
+    void lab_referenceColors() {
+        float[] lab = new float[3];
+
+        PaletteEmbedding.lab(Rgba.parse("white"), lab, 0);
+        assertArrayEquals(new float[]{1f, 0f, 0f}, lab, 1e-3f);
+
+        PaletteEmbedding.lab(Rgba.parse("#ff0000"), lab, 0);
+        assertArrayEquals(new float[]{0.5324f, 0.8009f, 0.6720f}, lab, 1e-3f);
+    }
+
+    @Test
+    void of_colorsAndMaterialMix() {
+        float[] vector = PaletteEmbedding.of(DesignConfig.of("{\"material\":\"cotton\",\"chest\":\"wool\"}",
+                "{\"chest\":\"black\"}", null, null));
+
+        int chest = Part.CHEST.ordinal() * 4;
+        int back = Part.BACK.ordinal() * 4;
+        int materials = Part.values().length * 4;
+        assertEquals(PaletteEmbedding.DIMENSIONS, vector.length);
+        assertArrayEquals(new float[]{0f, 0f, 0f, PaletteEmbedding.PRESENCE_WEIGHT},
+                Arrays.copyOfRange(vector, chest, chest + 4), 1e-6f);
+        assertArrayEquals(new float[]{0.5f, 0f, 0f, 0f}, Arrays.copyOfRange(vector, back, back + 4));
+        assertEquals(0.5f, vector[materials + MaterialType.COTTON.ordinal()]);
+        assertEquals(0.5f, vector[materials + MaterialType.WOOL.ordinal()]);
+    }
+
+    @Test
+    void distance_followsPerceivedColor() {
+        float[] navy = PaletteEmbedding.of(DesignConfig.of(null, "{\"handle\":\"navy\"}", null, null));
+        float[] blue = PaletteEmbedding.of(DesignConfig.of(null, "{\"handle\":\"blue\"}", null, null));
+        float[] yellow = PaletteEmbedding.of(DesignConfig.of(null, "{\"handle\":\"yellow\"}", null, null));
+        float[] sameAsHex = PaletteEmbedding.of(DesignConfig.of(null, "{\"handle\":\"#0000ff\"}", null, null));
+
+        assertEquals(0f, PaletteEmbedding.distance(blue, sameAsHex));
+        assertTrue(PaletteEmbedding.distance(blue, navy) < PaletteEmbedding.distance(blue, yellow));
+    }
+}
@@ -0,0 +1,81 @@
+package com.sideforge.util.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VpTreeTest {
+
+    private static final int DIMENSIONS = 8;
+
+    @Test
+    void nearest_matchesBruteForceThroughUpdates() {
+        Random random = new Random(7);
+        VpTree tree = new VpTree();
+        Map<Long, float[]> vectors = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            put(tree, vectors, id, vector(random));
+            // Replace and remove some along the way, as design saves and deletes do
+            if (id % 7 == 0) {
+                put(tree, vectors, id / 2, vector(random));
+            }
+            if (id % 11 == 0) {
+                tree.remove(id / 3);
+                vectors.remove(id / 3);
+            }
+        }
+
+        assertEquals(vectors.size(), tree.size());
+        for (int i = 0; i < 50; i++) {
+            long excluded = 1 + random.nextInt(2000);
+            float[] query = vectors.containsKey(excluded) ? vectors.get(excluded) : vector(random);
+            assertEquals(bruteForce(vectors, query, 10, excluded), tree.nearest(query, 10, excluded));
+        }
+    }
+
+    @Test
+    void nearest_smallAndEdgeCases() {
+        VpTree tree = new VpTree();
+        assertTrue(tree.nearest(new float[DIMENSIONS], 5, -1).isEmpty());
+
+        tree.put(1, new float[DIMENSIONS]);
+        tree.put(2, new float[DIMENSIONS]);
+        float[] far = new float[DIMENSIONS];
+        far[0] = 3;
+        tree.put(3, far);
+
+        List<VpTree.Neighbor> neighbors = tree.nearest(new float[DIMENSIONS], 5, 1);
+        assertEquals(List.of(new VpTree.Neighbor(2, 0f), new VpTree.Neighbor(3, 3f)), neighbors);
+        assertTrue(tree.nearest(far, 0, -1).isEmpty());
+        assertArrayEquals(far, tree.get(3));
+        assertNull(tree.get(4));
+
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertTrue(tree.nearest(far, 1, -1).isEmpty());
+    }
+
+    private static void put(VpTree tree, Map<Long, float[]> vectors, long id, float[] vector) {
+        tree.put(id, vector);
+        vectors.put(id, vector);
+    }
+
+    private static float[] vector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+
+    private static List<VpTree.Neighbor> bruteForce(Map<Long, float[]> vectors, float[] query, int k, long excluded) {
+        return vectors.entrySet().stream()
+                .filter(entry -> entry.getKey() != excluded)
+                .map(entry -> new VpTree.Neighbor(entry.getKey(), PaletteEmbedding.distance(query, entry.getValue())))
+                .sorted(Comparator.comparingDouble(VpTree.Neighbor::distance).thenComparingLong(VpTree.Neighbor::id))
+                .limit(k)
+                .toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sideforge.util.stream;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EntityStreamerTest {
+
+    @Test
+    void forEach_mapsEveryRowAndClearsAfterEachFetch() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EntityStreamer streamer = new EntityStreamer();
+        ReflectionTestUtils.setField(streamer, "entityManager", entityManager);
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> rows = IntStream.range(0, EntityStreamer.FETCH_SIZE * 2 + 1).boxed()
+                .onClose(() -> closed.set(true));
+        List<String> sink = new ArrayList<>();
+
+        streamer.forEach(rows, row -> "row" + row, sink::add);
+
+        assertEquals(EntityStreamer.FETCH_SIZE * 2 + 1, sink.size());
+        assertEquals("row0", sink.get(0));
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+}